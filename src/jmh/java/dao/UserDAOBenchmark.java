@@ -0,0 +1,46 @@
+package dao;
+
+import entity.UserEntity;
+import model.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures logging in with the right and with a wrong password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDAOBenchmark {
+
+	private final UserDAO userDAO = new UserDAO();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkData.ensureSeeded();
+	}
+
+	@Benchmark
+	public UserEntity authenticate() {
+		return userDAO.authenticate(BenchmarkData.STUDENT, BenchmarkData.PASSWORD);
+	}
+
+	@Benchmark
+	public UserEntity authenticateWithWrongPassword() {
+		return userDAO.authenticate(BenchmarkData.STUDENT, "wrongPassword");
+	}
+}
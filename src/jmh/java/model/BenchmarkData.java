@@ -0,0 +1,163 @@
+package model;
+
+import datasource.MariaDBConnection;
+import dto.AssignmentDTO;
+import dto.Event;
+import dto.GroupDTO;
+import dto.LocationDTO;
+import dto.RecurrenceDTO;
+import dto.SubjectDTO;
+import dto.TeachingSessionDTO;
+import dto.UserDTO;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the database the benchmarks run against with a term of a small department: a teacher with groups,
+ * students that belong to several groups each, locations, weekly classes, single classes and assignments.
+ * <p>
+ * The data is only seeded when it is missing, so every forked benchmark JVM after the first one starts right
+ * away. Seeding deletes everything else in the database first, like the tests do, so the benchmarks must not
+ * be run against a database with data that should be kept.
+ * </p>
+ */
+public final class BenchmarkData {
+
+	public static final String TEACHER = "benchmarkTeacher";
+	public static final String PASSWORD = "benchmarkPassword";
+	public static final String STUDENT = studentName(0);
+	public static final String GROUP = "benchmarkGroup0";
+	public static final String LOCALE = "en";
+	// A Monday, the seeded classes run for the TERM_WEEKS weeks after it
+	public static final LocalDate TERM_START = LocalDate.of(2025, 9, 1);
+	public static final int TERM_WEEKS = 14;
+
+	private static final int SUBJECTS = 4;
+	private static final int LOCATIONS = 20;
+	private static final int GROUPS = 8;
+	private static final int STUDENTS = 80;
+	private static final int WEEKLY_CLASSES_PER_GROUP = 5;
+	private static final int SINGLE_CLASSES_PER_GROUP = 40;
+	private static final int ASSIGNMENTS_PER_GROUP = 20;
+
+	private static final UserModel userModel = new UserModel();
+	private static final SubjectModel subjectModel = new SubjectModel();
+	private static final LocationModel locationModel = new LocationModel();
+	private static final GroupModel groupModel = new GroupModel();
+	private static final TimetableModel timetableModel = new TimetableModel();
+	private static final EventModel eventModel = new EventModel();
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Seeds the database unless it already holds the benchmark data, and logs in as the teacher.
+	 */
+	public static synchronized void ensureSeeded() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new IllegalStateException("The benchmark database is not available", e);
+		}
+
+		if (!userModel.isUsernameTaken(studentName(STUDENTS - 1))) {
+			seed();
+		}
+		loginAs(TEACHER);
+	}
+
+	/**
+	 * Logs in as one of the seeded users.
+	 *
+	 * @param username The username of the teacher or a student
+	 */
+	public static void loginAs(String username) {
+		if (!userModel.authenticate(username, PASSWORD)) {
+			throw new IllegalStateException("Could not log in as " + username);
+		}
+	}
+
+	private static void seed() {
+		eventModel.deleteAllEvents();
+		locationModel.deleteAllLocations();
+		subjectModel.deleteAllSubjects();
+		userModel.deleteAllUsers();
+		timetableModel.deleteAllTimetables();
+
+		userModel.register(user(TEACHER, "BT000000000", "TEACHER"));
+		loginAs(TEACHER);
+		long teacherId = userModel.fetchCurrentUserId();
+
+		for (int i = 0; i < SUBJECTS; i++) {
+			subjectModel.addSubject(new SubjectDTO("Subject " + i, subjectCode(i)));
+		}
+		for (int i = 0; i < LOCATIONS; i++) {
+			locationModel.addLocation(new LocationDTO(locationName(i), "Campus " + i % 2, "Building " + i % 4));
+		}
+
+		List<GroupDTO> groups = new ArrayList<>();
+		for (int i = 0; i < GROUPS; i++) {
+			GroupDTO group = new GroupDTO("benchmarkGroup" + i, "BG" + i, 40, teacherId, subjectCode(i % SUBJECTS));
+			groupModel.addGroup(group);
+			groups.add(group);
+		}
+
+		for (int i = 0; i < STUDENTS; i++) {
+			String username = studentName(i);
+			userModel.register(user(username, "BS%09d".formatted(i), "STUDENT"));
+			// Every student belongs to three groups, so each view of a week spans several timetables
+			for (int offset : new int[]{0, 1, 3}) {
+				groupModel.addStudentToGroup(groups.get((i + offset) % GROUPS), username);
+			}
+		}
+
+		List<Event> events = new ArrayList<>();
+		LocalDateTime termStart = TERM_START.atTime(8, 0);
+		for (int g = 0; g < GROUPS; g++) {
+			GroupDTO group = groups.get(g);
+			long timetableId = timetableModel.fetchTimetableForGroup(group.name());
+			RecurrenceDTO weekly = new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1,
+			                                         termStart.plusWeeks(TERM_WEEKS));
+
+			for (int i = 0; i < WEEKLY_CLASSES_PER_GROUP; i++) {
+				// One class every weekday, each group in its own room and hour
+				LocalDateTime start = termStart.plusDays(i).plusHours(g);
+				events.add(new TeachingSessionDTO(null, start, start.plusHours(1), locationName(g),
+				                                  group.subjectCode(), "Weekly class " + i, timetableId, LOCALE,
+				                                  weekly, null));
+			}
+			for (int i = 0; i < SINGLE_CLASSES_PER_GROUP; i++) {
+				LocalDateTime start = termStart.plusWeeks(i % TERM_WEEKS).plusDays(i % 5).withHour(17);
+				events.add(new TeachingSessionDTO(null, start, start.plusMinutes(45), locationName(GROUPS + g),
+				                                  group.subjectCode(), "Class " + i, timetableId, LOCALE));
+			}
+			for (int i = 0; i < ASSIGNMENTS_PER_GROUP; i++) {
+				LocalDateTime deadline = termStart.plusDays(i * 7L * TERM_WEEKS / ASSIGNMENTS_PER_GROUP).plusHours(15);
+				events.add(new AssignmentDTO(null, "Homework", deadline.minusWeeks(1), deadline, "Assignment " + i,
+				                             group.subjectCode(), "Assignment " + i, timetableId, LOCALE));
+			}
+		}
+		eventModel.addEvents(events);
+	}
+
+	private static UserDTO user(String username, String socialNumber, String role) {
+		return new UserDTO(username, PASSWORD, "Bench", "Mark", LocalDateTime.of(2000, 1, 1, 0, 0), socialNumber,
+		                   role);
+	}
+
+	static String studentName(int index) {
+		return "benchmarkStudent" + index;
+	}
+
+	static String subjectCode(int index) {
+		return "BENCH" + index;
+	}
+
+	static String locationName(int index) {
+		return "Benchmark room " + index;
+	}
+}
@@ -0,0 +1,116 @@
+package model;
+
+import dto.AssignmentDTO;
+import dto.GroupDTO;
+import dto.RecurrenceDTO;
+import dto.TeachingSessionDTO;
+import dto.UserDTO;
+import entity.AssignmentEntity;
+import entity.Role;
+import entity.SubjectEntity;
+import entity.TeachingSessionEntity;
+import entity.TimetableEntity;
+import entity.UserEntity;
+import entity.UserGroupEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversions between DTOs and entities, and the expansion of a weekly series over a term.
+ * The subjects, locations and timetables the entities refer to are served from the reference data cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+	private final EventModel eventModel = new EventModel();
+	private final GroupModel groupModel = new GroupModel();
+	private final UserModel userModel = new UserModel();
+
+	private TeachingSessionDTO teachingSession;
+	private TeachingSessionDTO series;
+	private AssignmentDTO assignment;
+	private UserDTO user;
+	private UserEntity userEntity;
+	private TimetableEntity timetable;
+	private UserGroupEntity group;
+	private LocalDateTime termStart;
+	private LocalDateTime termEnd;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkData.ensureSeeded();
+		long timetableId = new TimetableModel().fetchTimetableForGroup(BenchmarkData.GROUP);
+
+		termStart = BenchmarkData.TERM_START.atStartOfDay();
+		termEnd = termStart.plusWeeks(BenchmarkData.TERM_WEEKS);
+		LocalDateTime start = termStart.plusHours(10);
+		teachingSession = new TeachingSessionDTO(null, start, start.plusHours(2), BenchmarkData.locationName(0),
+		                                         BenchmarkData.subjectCode(0), "Lecture", timetableId,
+		                                         BenchmarkData.LOCALE);
+		series = new TeachingSessionDTO(1L, start, start.plusHours(2), BenchmarkData.locationName(0),
+		                                BenchmarkData.subjectCode(0), "Lecture", timetableId, BenchmarkData.LOCALE,
+		                                new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1, termEnd), null);
+		assignment = new AssignmentDTO(null, "Homework", start, start.plusWeeks(1), "Assignment",
+		                               BenchmarkData.subjectCode(0), "Homework", timetableId, BenchmarkData.LOCALE);
+
+		timetable = new TimetableEntity();
+		timetable.setId(timetableId);
+		user = new UserDTO("user", "password", "First", "Last", LocalDateTime.of(2000, 1, 1, 0, 0), "BA123456789",
+		                   "TEACHER");
+		userEntity = new UserEntity("First", "Last", "user", "password", Timestamp.valueOf(user.dateOfBirth()),
+		                            "BA123456789", Role.TEACHER, timetable);
+		userEntity.setId(1L);
+		group = new UserGroupEntity("Group", "G1", 30, userEntity, new HashSet<>(),
+		                            new SubjectEntity("Subject", BenchmarkData.subjectCode(0)), timetable);
+	}
+
+	@Benchmark
+	public TeachingSessionEntity teachingSessionToEntity() {
+		return eventModel.convertToTeachingSessionEntity(teachingSession);
+	}
+
+	@Benchmark
+	public AssignmentEntity assignmentToEntity() {
+		return eventModel.convertToAssignmentEntity(assignment);
+	}
+
+	@Benchmark
+	public GroupDTO groupToDTO() {
+		return groupModel.convertToGroupDTO(group);
+	}
+
+	@Benchmark
+	public UserDTO userToDTO() {
+		return userModel.convertToDTO(userEntity);
+	}
+
+	@Benchmark
+	public UserEntity userToEntity() {
+		return userModel.convertToEntity(user, timetable);
+	}
+
+	@Benchmark
+	public List<TeachingSessionDTO> expandSeriesOverTerm() {
+		return RecurrenceExpander.expand(List.of(series), List.of(), termStart, termEnd);
+	}
+}
@@ -0,0 +1,93 @@
+package model;
+
+import dto.Event;
+import dto.TeachingSessionDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the events of a week for a student of three groups, with and without the week cache,
+ * and adding a teaching session including its validation and double-booking check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventModelBenchmark {
+
+	// Far after the seeded term, so the added sessions neither conflict with it nor show up in the fetched week
+	private static final LocalDateTime ADDED_START = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+	private final EventModel eventModel = new EventModel();
+	private LocalDateTime weekStart;
+	private LocalDateTime weekEnd;
+	private long timetableId;
+	private long addedSessions;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkData.ensureSeeded();
+		BenchmarkData.loginAs(BenchmarkData.STUDENT);
+		weekStart = BenchmarkData.TERM_START.plusWeeks(3).atStartOfDay();
+		weekEnd = weekStart.plusWeeks(1);
+		timetableId = new TimetableModel().fetchTimetableForUser();
+		deleteAddedSessions();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		deleteAddedSessions();
+	}
+
+	private void deleteAddedSessions() {
+		eventModel.fetchEventsByTimetable(ADDED_START, ADDED_START.plusYears(10), timetableId)
+		          .forEach(eventModel::deleteEvent);
+	}
+
+	@Benchmark
+	public List<Event> fetchEventsByUser() {
+		return eventModel.fetchEventsByUser(weekStart, weekEnd);
+	}
+
+	@Benchmark
+	public List<Event> fetchEventsByUserUncached() {
+		EventCache.invalidateAll();
+		return eventModel.fetchEventsByUser(weekStart, weekEnd);
+	}
+
+	@Benchmark
+	public List<Event> fetchEventsByUserAndLocale() {
+		return eventModel.fetchEventsByUserAndLocale(weekStart, weekEnd, BenchmarkData.LOCALE);
+	}
+
+	@Benchmark
+	public List<Event> fetchEventsByUserAndLocaleUncached() {
+		EventCache.invalidateAll();
+		return eventModel.fetchEventsByUserAndLocale(weekStart, weekEnd, BenchmarkData.LOCALE);
+	}
+
+	@Benchmark
+	public void addEvent() {
+		// Back to back in the student's own timetable, so no session is double-booked
+		LocalDateTime start = ADDED_START.plusHours(addedSessions++);
+		eventModel.addEvent(new TeachingSessionDTO(null, start, start.plusHours(1), null,
+		                                           BenchmarkData.subjectCode(0), "Benchmark", timetableId,
+		                                           BenchmarkData.LOCALE));
+	}
+}
@@ -0,0 +1,53 @@
+package model;
+
+import dto.GroupDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures adding a student to a group of thirty. The student is removed again after every invocation,
+ * outside of the measured time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupModelBenchmark {
+
+	// Not one of the three seeded groups of this student
+	private static final String STUDENT = BenchmarkData.studentName(2);
+
+	private final GroupModel groupModel = new GroupModel();
+	private GroupDTO group;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkData.ensureSeeded();
+		group = groupModel.fetchGroupByName(BenchmarkData.GROUP);
+		removeStudent();
+	}
+
+	@TearDown(Level.Invocation)
+	public void removeStudent() {
+		groupModel.removeStudentFromGroup(group, STUDENT);
+	}
+
+	@Benchmark
+	public void addStudentToGroup() {
+		groupModel.addStudentToGroup(group, STUDENT);
+	}
+}
@@ -0,0 +1,46 @@
+package model;
+
+import dto.LocationDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search for free rooms during a seeded week, answered from the occupancy index once it is loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationModelBenchmark {
+
+	private final LocationModel locationModel = new LocationModel();
+	private LocalDateTime windowStart;
+	private LocalDateTime windowEnd;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		BenchmarkData.ensureSeeded();
+		windowStart = BenchmarkData.TERM_START.plusWeeks(3).atTime(11, 0);
+		windowEnd = windowStart.plusHours(1);
+	}
+
+	@Benchmark
+	public List<LocationDTO> fetchAvailableLocations() {
+		return locationModel.fetchAvailableLocations(windowStart, windowEnd, null, null, null);
+	}
+}
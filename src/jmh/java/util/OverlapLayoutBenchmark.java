@@ -0,0 +1,59 @@
+package util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the layout of a busy timetable week: 500 random events over 7 day columns of 48 half-hour rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OverlapLayoutBenchmark {
+
+	private static final int DAYS = 7;
+	private static final int ROWS = 48;
+	private static final int EVENTS_PER_WEEK = 500;
+
+	private record Interval(int start, int end) {
+	}
+
+	private final List<List<Interval>> week = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		for (int day = 0; day < DAYS; day++) {
+			week.add(new ArrayList<>());
+		}
+		for (int i = 0; i < EVENTS_PER_WEEK; i++) {
+			int start = 1 + random.nextInt(ROWS);
+			week.get(random.nextInt(DAYS)).add(new Interval(start, Math.min(ROWS, start + random.nextInt(6))));
+		}
+	}
+
+	@Benchmark
+	public void layoutWeek(Blackhole blackhole) {
+		for (List<Interval> day : week) {
+			blackhole.consume(OverlapLayout.layout(day, Interval::start, Interval::end));
+		}
+	}
+}
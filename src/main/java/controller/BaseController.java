@@ -69,4 +69,13 @@ public class BaseController {
 	public LocaleController getLocaleController() {
 		return new LocaleController();
 	}
+
+	/**
+	 * Provides access to the settings controller.
+	 *
+	 * @return A new SettingsController instance
+	 */
+	public SettingsController getSettingsController() {
+		return new SettingsController();
+	}
 }
@@ -1,9 +1,12 @@
 package controller;
 
+import dto.ConflictDTO;
 import dto.Event;
+import dto.TeachingSessionDTO;
 import model.EventModel;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +23,7 @@ public class EventController {
 	 * @param startDate The beginning of the time interval to fetch events from
 	 * @param endDate   The end of the time interval to fetch events from
 	 * @return A list of events for the user in the specified time frame
+	 * @throws jakarta.persistence.PersistenceException if the events cannot be loaded
 	 */
 	public List<Event> fetchEventsByUser(LocalDateTime startDate, LocalDateTime endDate) {
 		return eventModel.fetchEventsByUser(startDate, endDate);
@@ -32,20 +36,71 @@ public class EventController {
 	 * @param endDate    The end of the time interval to fetch events from
 	 * @param localeCode The locale code to filter events by
 	 * @return A list of events matching the criteria
+	 * @throws jakarta.persistence.PersistenceException if the events cannot be loaded
 	 */
 	public List<Event> fetchEventsByUserAndLocale(LocalDateTime startDate, LocalDateTime endDate, String localeCode) {
 		return eventModel.fetchEventsByUserAndLocale(startDate, endDate, localeCode);
 	}
 
+	/**
+	 * Retrieves the events of all users within a time period.
+	 *
+	 * @param startDate The beginning of the time interval to fetch events from
+	 * @param endDate   The end of the time interval to fetch events from
+	 * @return A list of the events of every timetable in the specified time frame
+	 * @throws jakarta.persistence.PersistenceException if the database cannot be queried
+	 */
+	public List<Event> fetchAllEvents(LocalDateTime startDate, LocalDateTime endDate) {
+		return eventModel.fetchAllEvents(startDate, endDate);
+	}
+
+	/**
+	 * Finds the teaching sessions a new or changed teaching session would be double-booked with.
+	 * Cheap enough to call while the session is being edited.
+	 *
+	 * @param teachingSession The teaching session to check
+	 * @return The conflicts, empty if the session can be saved
+	 */
+	public List<ConflictDTO> findConflicts(TeachingSessionDTO teachingSession) {
+		return eventModel.findConflicts(teachingSession);
+	}
+
+	/**
+	 * Finds every double booking among the teaching sessions of all timetables within a time period.
+	 *
+	 * @param startDate The beginning of the time period, for example the start of a term
+	 * @param endDate   The end of the time period
+	 * @return The conflicts within the period
+	 */
+	public List<ConflictDTO> auditConflicts(LocalDateTime startDate, LocalDateTime endDate) {
+		return eventModel.auditConflicts(startDate, endDate);
+	}
+
 	/**
 	 * Creates a new event for the current user.
 	 *
 	 * @param event The event data to add
+	 * @throws IllegalArgumentException if the event data is invalid or the teaching session is double-booked
 	 */
 	public void addEvent(Event event) {
 		eventModel.addEvent(event);
 	}
 
+	/**
+	 * Creates many events at once, for example the schedule of a whole term.
+	 * The events are validated first and then inserted in batches, all of them or none.
+	 * Unlike {@link #addEvent(Event)}, the teaching sessions are not checked for double bookings; use
+	 * {@link #findConflicts(TeachingSessionDTO)} before or {@link #auditConflicts} after the import for that.
+	 *
+	 * @param events The event data to add
+	 * @return The stored events with their IDs, in the order they were given
+	 * @throws IllegalArgumentException if the data of any event is invalid
+	 * @throws jakarta.persistence.PersistenceException if the events cannot be stored
+	 */
+	public List<Event> addEvents(Collection<? extends Event> events) {
+		return eventModel.addEvents(events);
+	}
+
 	/**
 	 * Updates an existing event's information.
 	 *
@@ -64,6 +119,25 @@ public class EventController {
 		eventModel.deleteEvent(event);
 	}
 
+	/**
+	 * Registers a listener that is told whenever the events of a user may have changed.
+	 * The listener runs on the thread that made the change, so it should only schedule work.
+	 *
+	 * @param listener The listener to run after a change
+	 */
+	public void addEventChangeListener(Runnable listener) {
+		eventModel.addChangeListener(listener);
+	}
+
+	/**
+	 * Removes a listener registered with {@link #addEventChangeListener(Runnable)}.
+	 *
+	 * @param listener The listener to remove
+	 */
+	public void removeEventChangeListener(Runnable listener) {
+		eventModel.removeChangeListener(listener);
+	}
+
 	/**
 	 * Deletes all events from the system.
 	 * This is a maintenance operation and should be used with caution.
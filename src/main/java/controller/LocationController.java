@@ -1,8 +1,10 @@
 package controller;
 
 import dto.LocationDTO;
+import dto.TeachingSessionDTO;
 import model.LocationModel;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -22,6 +24,34 @@ public class LocationController {
 		return locationModel.fetchAllLocations();
 	}
 
+	/**
+	 * Retrieves the locations that are free during a time window.
+	 *
+	 * @param start    The beginning of the window
+	 * @param end      The end of the window
+	 * @param campus   The campus to search, or null for any campus
+	 * @param building The building to search, or null for any building
+	 * @return A list of the free location DTOs
+	 */
+	public List<LocationDTO> fetchAvailableLocations(LocalDateTime start, LocalDateTime end, String campus,
+	                                                 String building) {
+		return locationModel.fetchAvailableLocations(start, end, campus, building, null);
+	}
+
+	/**
+	 * Retrieves the locations that are free during a time window when a teaching session is moved there.
+	 * The location the session currently occupies is not counted as taken by the session itself.
+	 *
+	 * @param start        The beginning of the window
+	 * @param end          The end of the window
+	 * @param movedSession The teaching session or occurrence being moved
+	 * @return A list of the free location DTOs
+	 */
+	public List<LocationDTO> fetchAvailableLocations(LocalDateTime start, LocalDateTime end,
+	                                                 TeachingSessionDTO movedSession) {
+		return locationModel.fetchAvailableLocations(start, end, null, null, movedSession);
+	}
+
 	/**
 	 * Creates a new location in the system.
 	 *
@@ -0,0 +1,57 @@
+package controller;
+
+import datasource.ConnectionPoolStats;
+import datasource.DaoMethodStats;
+import datasource.MariaDBConnection;
+import model.UserPreferences;
+
+import java.util.List;
+
+/**
+ * Controller class for the application settings stored on this device.
+ * Provides methods to get and set display preferences that are not tied to the user's account.
+ */
+public class SettingsController {
+	/**
+	 * Checks whether the timetable draws its events on a canvas instead of one label per event.
+	 *
+	 * @return true if the canvas renderer is selected
+	 */
+	public boolean isCanvasTimetable() {
+		return UserPreferences.isCanvasTimetable();
+	}
+
+	/**
+	 * Selects how the timetable draws its events.
+	 *
+	 * @param canvasTimetable true to draw events on a canvas, false to use one label per event
+	 */
+	public void setCanvasTimetable(boolean canvasTimetable) {
+		UserPreferences.setCanvasTimetable(canvasTimetable);
+	}
+
+	/**
+	 * Fetches the metrics of every DAO method called since the application started or the metrics were reset.
+	 *
+	 * @return one entry per DAO method, the slowest on average first
+	 */
+	public List<DaoMethodStats> fetchDaoMetrics() {
+		return MariaDBConnection.getDaoMetrics();
+	}
+
+	/**
+	 * Fetches the current state of the database connection pool.
+	 *
+	 * @return the connection pool statistics
+	 */
+	public ConnectionPoolStats fetchPoolStats() {
+		return MariaDBConnection.getPoolStats();
+	}
+
+	/**
+	 * Clears the metrics of every DAO method.
+	 */
+	public void resetDaoMetrics() {
+		MariaDBConnection.resetDaoMetrics();
+	}
+}
@@ -1,7 +1,17 @@
 package controller;
 
+import dto.ScheduleProgressDTO;
+import dto.TeachingSessionDTO;
+import dto.TermPlanDTO;
 import model.TimetableModel;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * Controller class for managing timetables in the system.
  * Provides methods to fetch and delete timetables by interacting with the TimetableModel.
@@ -29,6 +39,34 @@ public class TimetableController {
 		return timetableModel.fetchTimetableForGroup(groupName);
 	}
 
+	/**
+	 * Retrieves the users who see each of the given timetables: the owner of a personal timetable,
+	 * and the students and teacher of a group timetable.
+	 *
+	 * @param timetableIds The IDs of the timetables
+	 * @return The IDs of the users of each timetable
+	 * @throws jakarta.persistence.PersistenceException if the database cannot be queried
+	 */
+	public Map<Long, Set<Long>> fetchUserIdsByTimetableIds(Collection<Long> timetableIds) {
+		return timetableModel.fetchUserIdsByTimetableIds(timetableIds);
+	}
+
+	/**
+	 * Generates and stores the weekly teaching sessions of a term without double bookings.
+	 * This runs for up to the time budget and should not be called on the JavaFX application thread.
+	 *
+	 * @param plan       The term, the required weekly hours of each group, room capacities and teacher availability
+	 * @param timeBudget The wall-clock time the search may take
+	 * @param progress   Called with the best timetable found so far, from the search threads
+	 * @return The stored teaching sessions, with their IDs
+	 * @throws IllegalArgumentException if no timetable without double bookings is found within the budget
+	 * @throws jakarta.persistence.PersistenceException if the teaching sessions cannot be stored
+	 */
+	public List<TeachingSessionDTO> generateTermTimetable(TermPlanDTO plan, Duration timeBudget,
+	                                                      Consumer<ScheduleProgressDTO> progress) {
+		return timetableModel.generateTermTimetable(plan, timeBudget, progress);
+	}
+
 	/**
 	 * Deletes all timetables from the system.
 	 * This is a maintenance operation and should be used with caution.
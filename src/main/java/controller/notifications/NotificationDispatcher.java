@@ -0,0 +1,168 @@
+package controller.notifications;
+
+import controller.EventController;
+import controller.TimetableController;
+import dto.AssignmentDTO;
+import dto.Event;
+import dto.TeachingSessionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+/**
+ * Headless service that sends the notifications of every user from a single scan of upcoming events.
+ * <p>
+ * Instead of every client loading its own events, the dispatcher wakes up once per tick and loads the
+ * teaching sessions and assignments of all timetables whose notification thresholds were reached since the
+ * previous tick. The users of the affected timetables are resolved with one query per kind of membership, and
+ * each user is notified through the {@link NotificationAware} registered for them, so the cost of a tick depends
+ * on the number of upcoming events, not on the number of users.
+ * </p>
+ * <p>
+ * There is no transport that delivers these notifications to the clients yet, so every client still runs its
+ * own {@link NotificationService} and polls the database for its user. Until clients rely on the dispatcher
+ * instead, running it adds one scan per tick rather than replacing the scans of the clients.
+ * </p>
+ * <p>
+ * Ticks cover consecutive windows, so each threshold is reached in exactly one tick and no delivery state has
+ * to be stored. The scan queries report database errors instead of returning nothing, and the window only moves
+ * forward after a successful scan, so a tick that fails is retried as part of the next one.
+ * </p>
+ */
+public class NotificationDispatcher {
+	private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+	private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
+	private final List<Integer> notificationTimes = NotificationService.NOTIFICATION_TIMES;
+	private final int earliestNotification = Collections.min(notificationTimes);
+	private final int latestNotification = Collections.max(notificationTimes);
+
+	private final EventController eventController;
+	private final TimetableController timetableController;
+	private final LongFunction<NotificationAware> recipients;
+	private final Duration tick;
+	private LocalDateTime lastTick;
+
+	/**
+	 * Creates a new dispatcher. It does nothing until {@link #start()} is called.
+	 *
+	 * @param eventController     the controller used to scan upcoming events
+	 * @param timetableController the controller used to resolve the users of each timetable
+	 * @param recipients          returns the component notifying a user, or null if the user is not reachable
+	 * @param tick                how often upcoming events are scanned
+	 */
+	public NotificationDispatcher(EventController eventController, TimetableController timetableController,
+	                              LongFunction<NotificationAware> recipients, Duration tick) {
+		this.eventController = eventController;
+		this.timetableController = timetableController;
+		this.recipients = recipients;
+		this.tick = tick;
+	}
+
+	/**
+	 * Starts scanning once per tick. Thresholds reached before the dispatcher started are not notified.
+	 */
+	public void start() {
+		executorService.execute(() -> lastTick = LocalDateTime.now());
+		executorService.scheduleAtFixedRate(this::dispatch, tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	private void dispatch() {
+		lastTick = tick(lastTick, LocalDateTime.now());
+	}
+
+	/**
+	 * Runs one tick, notifying the thresholds reached since the end of the last successful tick.
+	 *
+	 * @param from the end of the last successful tick
+	 * @param now  the current time
+	 * @return where the next tick starts: now if the scan succeeded, otherwise from, so the window is scanned again
+	 */
+	LocalDateTime tick(LocalDateTime from, LocalDateTime now) {
+		try {
+			dispatch(from, now);
+			return now;
+		} catch (RuntimeException e) {
+			logger.error("Error dispatching notifications, retrying from {}: {}", from, e.getMessage());
+			return from;
+		}
+	}
+
+	/**
+	 * Notifies the users of every event that has a notification threshold within a window.
+	 * An event with several thresholds in the same window is notified once.
+	 *
+	 * @param from the end of the previous window, exclusive
+	 * @param to   the end of this window, inclusive
+	 * @return the number of notifications sent
+	 * @throws jakarta.persistence.PersistenceException if the events or their users cannot be loaded, before
+	 *                                                  anything is sent
+	 */
+	int dispatch(LocalDateTime from, LocalDateTime to) {
+		List<Event> dueEvents = new ArrayList<>();
+		for (Event event : eventController.fetchAllEvents(from.plusMinutes(earliestNotification),
+		                                                  to.plusMinutes(latestNotification))) {
+			LocalDateTime eventTime = NotificationService.getEventTime(event);
+			if (eventTime != null && hasThresholdWithin(eventTime, from, to)) {
+				dueEvents.add(event);
+			}
+		}
+
+		if (dueEvents.isEmpty()) {
+			return 0;
+		}
+
+		Map<Long, Set<Long>> usersByTimetable = timetableController.fetchUserIdsByTimetableIds(
+				dueEvents.stream().map(NotificationDispatcher::getTimetableId).distinct().toList());
+
+		int sent = 0;
+		for (Event event : dueEvents) {
+			int minutes = NotificationService.minutesUntil(to, NotificationService.getEventTime(event));
+
+			for (long userId : usersByTimetable.getOrDefault(getTimetableId(event), Set.of())) {
+				NotificationAware recipient = recipients.apply(userId);
+				if (recipient != null) {
+					recipient.notify(event, minutes);
+					sent++;
+				}
+			}
+		}
+		return sent;
+	}
+
+	private boolean hasThresholdWithin(LocalDateTime eventTime, LocalDateTime from, LocalDateTime to) {
+		for (int time : notificationTimes) {
+			LocalDateTime dueAt = eventTime.minusMinutes(time);
+			if (dueAt.isAfter(from) && !dueAt.isAfter(to)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static long getTimetableId(Event event) {
+		return switch (event) {
+			case TeachingSessionDTO teachingSessionDTO -> teachingSessionDTO.timetableId();
+			case AssignmentDTO assignmentDTO -> assignmentDTO.timetableId();
+			default -> throw new IllegalArgumentException("Unknown event type: " + event.getClass().getName());
+		};
+	}
+
+	/**
+	 * Stops the dispatcher and its scheduled executor.
+	 */
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+}
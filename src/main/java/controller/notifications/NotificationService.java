@@ -1,34 +1,83 @@
 package controller.notifications;
 
 import controller.EventController;
+import controller.UserController;
 import dto.AssignmentDTO;
 import dto.Event;
 import dto.TeachingSessionDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service responsible for managing and sending notifications for upcoming events.
- * Periodically checks for events within the next hour and sends notifications
- * at configured time thresholds before each event.
+ * <p>
+ * Upcoming events are loaded once and every notification threshold of every event is put in a queue
+ * ordered by the instant it is due. A single timer is armed for the head of the queue, so each notification
+ * is sent when its threshold is reached instead of at the next polling interval.
+ * </p>
+ * <p>
+ * The events are only loaded again when an event, group, subject or location changes in this application,
+ * when {@link #reset()} is called, or once an hour so the lookahead window keeps moving and changes made
+ * by other clients are picked up. A load that fails is retried after a minute, and the notifications already
+ * queued for the same user are kept and sent meanwhile.
+ * </p>
+ * <p>
+ * Sent thresholds are recorded in a {@link NotificationStateStore} before the notification is shown,
+ * so restarting the client does not send them again.
+ * All state is confined to the single scheduler thread.
+ * </p>
  */
 public class NotificationService {
 	private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
-	private static final int NOTIFICATION_CHECK = 60; // 1 minute
+	private static final Duration REFRESH_INTERVAL = Duration.ofHours(1);
+	private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+	/**
+	 * Minutes before an event at which a notification is sent, also used by {@link NotificationDispatcher}.
+	 * The order defines the bits of {@link NotificationStatus}, so new thresholds must be added at the end.
+	 */
+	static final List<Integer> NOTIFICATION_TIMES = List.of(5, 10, 30, 60);
 
 	private final ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor();
-	private final List<NotificationStatus> notificationStatuses = new ArrayList<>();
-	private final List<Integer> notificationTimes = List.of(5, 10, 30, 60);
+	private final PriorityQueue<PendingNotification> pendingNotifications =
+			new PriorityQueue<>(Comparator.comparing(PendingNotification::dueAt));
+	private final NotificationStateStore notificationStatuses = new NotificationStateStore();
+	private final List<Integer> notificationTimes = NOTIFICATION_TIMES;
+	private final Duration lookahead =
+			REFRESH_INTERVAL.plusMinutes(notificationTimes.stream().mapToInt(Integer::intValue).max().orElse(0));
+
+	private final Duration retryDelay;
+	private final AtomicBoolean reloadRequested = new AtomicBoolean();
+	private final Runnable changeListener = this::requestReload;
+	private ScheduledFuture<?> nextNotification;
+	private ScheduledFuture<?> nextReload;
+	private Long queuedUserId;
 
 	private final NotificationAware notificationAware;
 	private final EventController eventController;
+	private final UserController userController = new UserController();
+
+	/**
+	 * A notification threshold of an event that has not been sent yet.
+	 *
+	 * @param dueAt     the instant the threshold is reached
+	 * @param event     the upcoming event
+	 * @param threshold the index of the threshold in the notification times
+	 */
+	private record PendingNotification(LocalDateTime dueAt, Event event, int threshold) {
+	}
 
 	/**
 	 * Creates a new notification service that sends notifications to the specified recipient.
@@ -37,102 +86,187 @@ public class NotificationService {
 	 * @param eventController   the controller used to fetch upcoming events
 	 */
 	public NotificationService(NotificationAware notificationAware, EventController eventController) {
+		this(notificationAware, eventController, RETRY_DELAY);
+	}
+
+	/**
+	 * Creates a new notification service that retries a failed load after the given delay.
+	 *
+	 * @param notificationAware the component that will receive notifications
+	 * @param eventController   the controller used to fetch upcoming events
+	 * @param retryDelay        the delay before a failed load is tried again
+	 */
+	NotificationService(NotificationAware notificationAware, EventController eventController, Duration retryDelay) {
 		this.notificationAware = notificationAware;
 		this.eventController = eventController;
-		startExecutor();
+		this.retryDelay = retryDelay;
+		eventController.addEventChangeListener(changeListener);
+		requestReload();
 	}
 
 	/**
-	 * Starts the scheduled task that checks for events requiring notifications.
+	 * Schedules loading the upcoming events again. Several requests made before the load starts
+	 * are served by a single load.
 	 */
-	private void startExecutor() {
-		executorService.scheduleAtFixedRate(
-				this::checkNotifications,
-				0,
-				NOTIFICATION_CHECK,
-				java.util.concurrent.TimeUnit.SECONDS
-		);
+	private void requestReload() {
+		if (reloadRequested.compareAndSet(false, true) && !executorService.isShutdown()) {
+			executorService.execute(this::reload);
+		}
 	}
 
 	/**
-	 * Checks for upcoming events and sends notifications if appropriate.
-	 * Notifications are sent at 60, 30, 10, and 5 minutes before an event.
-	 * Each notification threshold is only triggered once per event.
+	 * Loads the events within the lookahead window and queues their notification thresholds.
+	 * The queue is only replaced once the events are loaded, so a failed load does not drop the notifications
+	 * of the same user that are already queued.
 	 */
-	private synchronized void checkNotifications() {
+	private void reload() {
+		reloadRequested.set(false);
 		LocalDateTime now = LocalDateTime.now();
-		LocalDateTime oneHourLater = now.plusHours(1);
-		List<Event> events = eventController.fetchEventsByUser(now, oneHourLater);
 
-		clearPastEvents(now);
+		Long userId = null;
+		List<Event> events;
+		try {
+			userId = userController.fetchCurrentUserId();
+			events = eventController.fetchEventsByUser(now, now.plus(lookahead));
+		} catch (RuntimeException e) {
+			logger.error("Error loading upcoming events: {}", e.getMessage());
+			if (userId == null || !userId.equals(queuedUserId)) {
+				// The queued notifications belong to a user who has logged out
+				pendingNotifications.clear();
+				scheduleNextNotification(now);
+			}
+			scheduleReload(retryDelay);
+			return;
+		}
 
+		notificationStatuses.useUser(userId);
+		queuedUserId = userId;
+		clearPastEvents(now);
+		pendingNotifications.clear();
 		for (Event event : events) {
-			NotificationStatus status = notificationStatuses.stream()
-			                                                .filter(ns -> ns.getEvent().equals(event))
-			                                                .findFirst()
-			                                                .orElseGet(() -> {
-				                                                NotificationStatus newStatus =
-						                                                new NotificationStatus(event);
-				                                                notificationStatuses.add(newStatus);
-				                                                return newStatus;
-			                                                });
-
-			LocalDateTime eventTime;
-			switch (event) {
-				case AssignmentDTO assignmentDTO -> eventTime = assignmentDTO.deadline();
-				case TeachingSessionDTO teachingSessionDTO -> eventTime = teachingSessionDTO.startDate();
-				default -> {
-					logger.info("Unknown event type: {}", event.getClass().getName());
-					continue;
-				}
+			queueNotifications(event, now);
+		}
+
+		scheduleReload(REFRESH_INTERVAL);
+		sendDueNotifications();
+	}
+
+	/**
+	 * Queues every threshold of an event that has not been notified yet.
+	 * Thresholds that have already passed are queued as due now.
+	 *
+	 * @param event the upcoming event
+	 * @param now   the current time
+	 */
+	private void queueNotifications(Event event, LocalDateTime now) {
+		LocalDateTime eventTime = getEventTime(event);
+		if (eventTime == null || eventTime.isBefore(now)) {
+			return;
+		}
+
+		NotificationStatus status = notificationStatuses.get(event, eventTime);
+		for (int threshold = 0; threshold < notificationTimes.size(); threshold++) {
+			if (!status.isNotified(threshold)) {
+				LocalDateTime dueAt = eventTime.minusMinutes(notificationTimes.get(threshold));
+				pendingNotifications.add(new PendingNotification(dueAt.isBefore(now) ? now : dueAt, event, threshold));
 			}
+		}
+	}
+
+	/**
+	 * Sends the notifications that are due and arms the timer for the next one.
+	 * Notifications are sent at 60, 30, 10, and 5 minutes before an event.
+	 * Each notification threshold is only triggered once per event, and thresholds of an event that are
+	 * reached at the same time result in a single notification.
+	 */
+	private void sendDueNotifications() {
+		LocalDateTime now = LocalDateTime.now();
+
+		Set<Event> dueEvents = new LinkedHashSet<>();
+		while (!pendingNotifications.isEmpty() && !pendingNotifications.peek().dueAt().isAfter(now)) {
+			PendingNotification notification = pendingNotifications.poll();
+			LocalDateTime eventTime = getEventTime(notification.event());
+			NotificationStatus status = notificationStatuses.get(notification.event(), eventTime);
 
-			int minutesUntilEvent = (int) ChronoUnit.MINUTES.between(now, eventTime);
-
-			boolean notified = false;
-			for (int time : notificationTimes) {
-				if (minutesUntilEvent <= time && !status.isNotified(time)) {
-					if (!notified) {
-						notificationAware.notify(event, minutesUntilEvent);
-						notified = true;
-					}
-					status.setNotified(time);
-				}
+			if (!status.isNotified(notification.threshold())) {
+				status.setNotified(notification.threshold());
+				notificationStatuses.save(notification.event(), eventTime, status);
+				dueEvents.add(notification.event());
 			}
 		}
+
+		// Persist before notifying, a crash in between loses a notification rather than repeating it
+		if (!dueEvents.isEmpty()) {
+			notificationStatuses.flush();
+		}
+		dueEvents.forEach(event -> notificationAware.notify(event, minutesUntil(now, getEventTime(event))));
+		scheduleNextNotification(now);
+	}
+
+	private void scheduleNextNotification(LocalDateTime now) {
+		if (nextNotification != null) {
+			nextNotification.cancel(false);
+			nextNotification = null;
+		}
+
+		PendingNotification next = pendingNotifications.peek();
+		if (next != null && !executorService.isShutdown()) {
+			long delay = Math.max(0, Duration.between(now, next.dueAt()).toMillis());
+			nextNotification = executorService.schedule(this::sendDueNotifications, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void scheduleReload(Duration delay) {
+		if (nextReload != null) {
+			nextReload.cancel(false);
+		}
+		if (!executorService.isShutdown()) {
+			nextReload = executorService.schedule(this::requestReload, delay.toMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns the whole minutes left until an event, rounded up so a notification sent exactly at its
+	 * threshold reports the threshold itself.
+	 */
+	static int minutesUntil(LocalDateTime now, LocalDateTime eventTime) {
+		long seconds = Duration.between(now, eventTime).toSeconds();
+		return (int) Math.max(0, (seconds + 59) / 60);
+	}
+
+	static LocalDateTime getEventTime(Event event) {
+		return switch (event) {
+			case AssignmentDTO assignmentDTO -> assignmentDTO.deadline();
+			case TeachingSessionDTO teachingSessionDTO -> teachingSessionDTO.startDate();
+			default -> {
+				logger.info("Unknown event type: {}", event.getClass().getName());
+				yield null;
+			}
+		};
 	}
 
 	/**
-	 * Removes events that have already occurred from the notification tracking list.
+	 * Removes events that have already occurred from the notification state store.
 	 *
 	 * @param now the current time
 	 */
 	private void clearPastEvents(LocalDateTime now) {
-		notificationStatuses.removeIf(status -> {
-			LocalDateTime eventTime;
-			if (status.getEvent() instanceof AssignmentDTO assignmentDTO) {
-				eventTime = assignmentDTO.deadline();
-			} else if (status.getEvent() instanceof TeachingSessionDTO teachingSessionDTO) {
-				eventTime = teachingSessionDTO.startDate();
-			} else {
-				logger.info("Unknown event type: {}", status.getEvent().getClass().getName());
-				return true; // Remove unknown event types
-			}
-			return eventTime.isBefore(now);
-		});
+		notificationStatuses.prune(now);
 	}
 
 	/**
-	 * Clears all tracked notification statuses.
+	 * Loads the notification state of the logged-in user and the upcoming events again,
+	 * for example after another user has logged in.
 	 */
-	public synchronized void reset() {
-		notificationStatuses.clear();
+	public void reset() {
+		requestReload();
 	}
 
 	/**
 	 * Shuts down the notification service and its scheduled executor.
 	 */
 	public void shutdown() {
-		executorService.shutdown();
+		eventController.removeEventChangeListener(changeListener);
+		executorService.shutdownNow();
 	}
 }
@@ -0,0 +1,144 @@
+package controller.notifications;
+
+import dto.AssignmentDTO;
+import dto.Event;
+import dto.TeachingSessionDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.prefs.BackingStoreException;
+import java.util.prefs.Preferences;
+
+/**
+ * Remembers which notifications were sent for each event, so a restarted client does not send them again.
+ * <p>
+ * Statuses are keyed by the event type, ID and time, and kept in memory for constant-time lookups.
+ * Every change is written to a Preferences node of the logged-in user before the notification is shown.
+ * An event moved to another time gets a new key and is notified again; the old entry is pruned once its
+ * time has passed.
+ * </p>
+ * <p>
+ * Not thread-safe, the store is only used from the notification scheduler thread.
+ * </p>
+ */
+class NotificationStateStore {
+	private static final Logger logger = LoggerFactory.getLogger(NotificationStateStore.class);
+	private static final Preferences root =
+			Preferences.userNodeForPackage(NotificationStateStore.class).node("notifications");
+
+	private final Map<EventKey, NotificationStatus> statuses = new HashMap<>();
+	private Preferences node;
+	private long userId;
+
+	/**
+	 * Identifies an event occurrence in the store.
+	 *
+	 * @param type the event type, {@code S} for teaching sessions and {@code A} for assignments
+	 * @param id   the event ID
+	 * @param time the time the event starts or is due
+	 */
+	private record EventKey(char type, long id, LocalDateTime time) {
+
+		private static EventKey of(Event event, LocalDateTime time) {
+			return switch (event) {
+				case TeachingSessionDTO teachingSession -> new EventKey('S', teachingSession.id(), time);
+				case AssignmentDTO assignment -> new EventKey('A', assignment.id(), time);
+				default -> throw new IllegalArgumentException("Unknown event type: " + event.getClass().getName());
+			};
+		}
+
+		private static EventKey parse(String key) {
+			String[] parts = key.split("\\|", 3);
+			return new EventKey(parts[0].charAt(0), Long.parseLong(parts[1]), LocalDateTime.parse(parts[2]));
+		}
+
+		@Override
+		public String toString() {
+			return type + "|" + id + "|" + time;
+		}
+	}
+
+	/**
+	 * Loads the statuses of a user, unless they are already loaded.
+	 *
+	 * @param userId the ID of the logged-in user
+	 */
+	void useUser(long userId) {
+		if (node != null && this.userId == userId) {
+			return;
+		}
+
+		this.userId = userId;
+		this.node = root.node(String.valueOf(userId));
+		statuses.clear();
+
+		try {
+			for (String key : node.keys()) {
+				try {
+					statuses.put(EventKey.parse(key), new NotificationStatus(node.getInt(key, 0)));
+				} catch (RuntimeException e) {
+					// Not written by this store, drop it
+					node.remove(key);
+				}
+			}
+		} catch (BackingStoreException e) {
+			logger.error("Error loading notification state: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the status of an event, creating an empty one if no notification was sent for it yet.
+	 *
+	 * @param event the event
+	 * @param time  the time the event starts or is due
+	 * @return the status of the event
+	 */
+	NotificationStatus get(Event event, LocalDateTime time) {
+		return statuses.computeIfAbsent(EventKey.of(event, time), key -> new NotificationStatus(0));
+	}
+
+	/**
+	 * Writes the status of an event. Call {@link #flush()} before acting on it.
+	 *
+	 * @param event  the event
+	 * @param time   the time the event starts or is due
+	 * @param status the status to store
+	 */
+	void save(Event event, LocalDateTime time, NotificationStatus status) {
+		node.putInt(EventKey.of(event, time).toString(), status.getNotifiedMask());
+	}
+
+	/**
+	 * Forces the written statuses to the backing store.
+	 */
+	void flush() {
+		try {
+			node.flush();
+		} catch (BackingStoreException e) {
+			logger.error("Error saving notification state: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Removes the statuses of events whose time has passed, from memory and from the backing store.
+	 *
+	 * @param now the current time
+	 */
+	void prune(LocalDateTime now) {
+		boolean removed = statuses.keySet().removeIf(key -> {
+			if (key.time().isBefore(now)) {
+				node.remove(key.toString());
+				return true;
+			}
+			return false;
+		});
+
+		if (removed) {
+			flush();
+		}
+	}
+}
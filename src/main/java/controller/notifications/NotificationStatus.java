@@ -1,52 +1,46 @@
 package controller.notifications;
 
-import dto.Event;
-
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Tracks notification status for a specific event.
- * Maintains information about which notifications have been sent for different time thresholds.
+ * The thresholds a notification has been sent for are kept as a bitmask, one bit per threshold.
  */
 public class NotificationStatus {
-	private final Event event;
-	private final Map<Integer, Boolean> statusMap = new HashMap<>();
+	private int notifiedMask;
 
 	/**
-	 * Creates a new notification status tracker for the specified event.
+	 * Creates a new notification status tracker.
 	 *
-	 * @param event the event for which to track notification status
+	 * @param notifiedMask the bitmask of thresholds already notified, 0 for a new event
 	 */
-	public NotificationStatus(Event event) {
-		this.event = event;
+	public NotificationStatus(int notifiedMask) {
+		this.notifiedMask = notifiedMask;
 	}
 
 	/**
-	 * Returns the event associated with this notification status.
+	 * Returns the bitmask of thresholds a notification has been sent for.
 	 *
-	 * @return the associated event
+	 * @return the notified thresholds, bit {@code i} standing for threshold {@code i}
 	 */
-	public Event getEvent() {
-		return event;
+	public int getNotifiedMask() {
+		return notifiedMask;
 	}
 
 	/**
-	 * Checks if a notification has been sent for the specified time threshold.
+	 * Checks if a notification has been sent for the specified threshold.
 	 *
-	 * @param minutes the time threshold in minutes
+	 * @param threshold the index of the threshold
 	 * @return true if a notification has been sent, false otherwise
 	 */
-	public boolean isNotified(int minutes) {
-		return statusMap.getOrDefault(minutes, false);
+	public boolean isNotified(int threshold) {
+		return (notifiedMask & (1 << threshold)) != 0;
 	}
 
 	/**
-	 * Marks that a notification has been sent for the specified time threshold.
+	 * Marks that a notification has been sent for the specified threshold.
 	 *
-	 * @param minutes the time threshold in minutes
+	 * @param threshold the index of the threshold
 	 */
-	public void setNotified(int minutes) {
-		statusMap.put(minutes, true);
+	public void setNotified(int threshold) {
+		notifiedMask |= 1 << threshold;
 	}
 }
@@ -1,14 +1,18 @@
 package dao;
 
 import datasource.MariaDBConnection;
+import dto.AssignmentDTO;
 import entity.AssignmentEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,6 +23,24 @@ public class AssignmentDAO {
 
 	private static final Logger logger = LoggerFactory.getLogger(AssignmentDAO.class);
 	private static final String ERROR_MESSAGE = "Error: ";
+	private static final String USER_ID = "userId";
+
+	/**
+	 * Projects the columns of an {@link AssignmentDTO} straight from the query, without loading managed entities.
+	 */
+	private static final String DTO_SELECT =
+			"SELECT a.id AS id, a.type AS type, a.publishingDate AS publishingDate, a.deadline AS deadline, " +
+			"a.name AS name, sub.code AS subjectCode, a.description AS description, a.timetable.id AS timetableId, " +
+			"a.localeCode AS localeCode FROM AssignmentEntity a JOIN a.subject sub " +
+			"WHERE a.deadline BETWEEN :start AND :end";
+
+	/**
+	 * Restricts a query to every timetable the user can see: their own, their groups' and the groups they teach.
+	 */
+	private static final String USER_TIMETABLES_FILTER =
+			" AND (a.timetable.id IN (SELECT u.timetable.id FROM UserEntity u WHERE u.id = :userId) OR " +
+			"a.timetable.id IN (SELECT g.timetable.id FROM UserGroupEntity g JOIN g.students st WHERE st.id = :userId) OR " +
+			"a.timetable.id IN (SELECT g.timetable.id FROM UserGroupEntity g WHERE g.teacher.id = :userId))";
 	private static final EntityManagerFactory emf =
 			MariaDBConnection.getEntityManagerFactory();
 
@@ -52,6 +74,17 @@ public class AssignmentDAO {
 		}
 	}
 
+	/**
+	 * Persists many new assignment entities in a single transaction, in JDBC batches.
+	 * Either all the entities are stored or none of them are, see {@link BatchPersister#persistAll(Collection[])}.
+	 *
+	 * @param assignments The assignment entities to persist.
+	 * @throws PersistenceException if the entities cannot be stored; nothing is stored then.
+	 */
+	public void persistAll(final Collection<AssignmentEntity> assignments) {
+		BatchPersister.persistAll(assignments);
+	}
+
 	/**
 	 * Updates an existing assignment entity in the database.
 	 *
@@ -216,4 +249,131 @@ public class AssignmentDAO {
 			}
 		}
 	}
+
+	/**
+	 * Finds the assignments of every timetable that are due within a given time period,
+	 * projected directly into DTOs. Used to scan upcoming deadlines for all users at once.
+	 *
+	 * @param start The start timestamp of the period.
+	 * @param end   The end timestamp of the period.
+	 * @return A list of assignment DTOs matching the criteria.
+	 * @throws PersistenceException if the database cannot be queried, so a failed scan is not taken for an empty one
+	 */
+	public List<AssignmentDTO> findAllDTOsDuringPeriod(final Timestamp start, final Timestamp end) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT, Tuple.class)
+			         .setParameter("start", start).setParameter("end", end)
+			         .getResultStream().map(this::convertToDTO).toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds all assignments for a specific timetable ID that fall within a given time period,
+	 * projected directly into DTOs.
+	 *
+	 * @param timetableId The ID of the timetable.
+	 * @param start       The start timestamp of the period.
+	 * @param end         The end timestamp of the period.
+	 * @return A list of assignment DTOs matching the criteria, or an empty list if none are found or an error occurs.
+	 */
+	public List<AssignmentDTO> findAllDTOsByTimetableIdDuringPeriod(final Long timetableId, final Timestamp start,
+	                                                              final Timestamp end) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT + " AND a.timetable.id = :timetableId", Tuple.class)
+			         .setParameter("timetableId", timetableId).setParameter("start", start).setParameter("end", end)
+			         .getResultStream().map(this::convertToDTO).toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			return List.of();
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds all assignments in any timetable of a user that fall within a given time period,
+	 * projected directly into DTOs.
+	 * <p>
+	 * The user's own timetable, the timetables of groups the user studies in and the timetables of groups
+	 * the user teaches are resolved inside the same statement, so the whole period is loaded in a single
+	 * round trip. Only the columns of the DTO are read, so no entities are registered in the persistence context.
+	 * </p>
+	 *
+	 * @param userId The ID of the user.
+	 * @param start  The start timestamp of the period.
+	 * @param end    The end timestamp of the period.
+	 * @return A list of assignment DTOs matching the criteria.
+	 * @throws PersistenceException if the database cannot be queried, so a failed load is not cached as an empty one
+	 */
+	public List<AssignmentDTO> findAllDTOsByUserIdDuringPeriod(final Long userId, final Timestamp start,
+	                                                         final Timestamp end) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT + USER_TIMETABLES_FILTER, Tuple.class)
+			         .setParameter(USER_ID, userId).setParameter("start", start).setParameter("end", end)
+			         .getResultStream().map(this::convertToDTO).toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds all assignments in any timetable of a user that match a locale and fall within a given time period,
+	 * projected directly into DTOs.
+	 * Like {@link #findAllDTOsByUserIdDuringPeriod(Long, Timestamp, Timestamp)}, this runs as a single statement.
+	 *
+	 * @param userId     The ID of the user.
+	 * @param start      The start timestamp of the period.
+	 * @param end        The end timestamp of the period.
+	 * @param localeCode The locale code (e.g., "en_US", "fi_FI").
+	 * @return A list of assignment DTOs matching the criteria.
+	 * @throws PersistenceException if the database cannot be queried, so a failed load is not cached as an empty one
+	 */
+	public List<AssignmentDTO> findAllDTOsByUserIdAndLocaleDuringPeriod(final Long userId, final Timestamp start,
+	                                                                  final Timestamp end, final String localeCode) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT + USER_TIMETABLES_FILTER + " AND a.localeCode = :localeCode", Tuple.class)
+			         .setParameter(USER_ID, userId).setParameter("start", start).setParameter("end", end)
+			         .setParameter("localeCode", localeCode).getResultStream().map(this::convertToDTO).toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Converts a row selected with the DTO projection into an assignment DTO.
+	 *
+	 * @param tuple The projected row.
+	 * @return The corresponding assignment DTO.
+	 */
+	private AssignmentDTO convertToDTO(final Tuple tuple) {
+		return new AssignmentDTO(tuple.get("id", Long.class), tuple.get("type", String.class),
+		                         tuple.get("publishingDate", Timestamp.class).toLocalDateTime(),
+		                         tuple.get("deadline", Timestamp.class).toLocalDateTime(),
+		                         tuple.get("name", String.class), tuple.get("subjectCode", String.class),
+		                         tuple.get("description", String.class), tuple.get("timetableId", Long.class),
+		                         tuple.get("localeCode", String.class));
+	}
 }
@@ -0,0 +1,70 @@
+package dao;
+
+import datasource.MariaDBConnection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+
+/**
+ * Inserts many new entities in a single transaction, for the persistAll methods of the DAOs and for writes that
+ * span several kinds of entities.
+ */
+public final class BatchPersister {
+
+	private static final Logger logger = LoggerFactory.getLogger(BatchPersister.class);
+
+	private static final EntityManagerFactory emf = MariaDBConnection.getEntityManagerFactory();
+
+	/**
+	 * Number of inserts sent to the database at a time, as configured by hibernate.jdbc.batch_size.
+	 * When JDBC batching is turned off, every insert is a round trip of its own and the context is flushed after it.
+	 */
+	private static final int BATCH_SIZE =
+			Math.max(1, emf.unwrap(SessionFactory.class).getSessionFactoryOptions().getJdbcBatchSize());
+
+	private BatchPersister() {
+	}
+
+	/**
+	 * Persists new entities of any kind in one transaction.
+	 * <p>
+	 * The inserts are sent to the database in JDBC batches, and the persistence context is flushed and cleared
+	 * after every batch so its size stays constant however many entities are inserted. The entities get their
+	 * IDs as they are inserted. If any insert fails, the transaction is rolled back and the error is rethrown,
+	 * so either all the entities are stored or none of them are.
+	 * </p>
+	 *
+	 * @param entities The entities to persist, inserted collection by collection.
+	 * @throws PersistenceException if the entities cannot be stored; nothing is stored then.
+	 */
+	public static void persistAll(final Collection<?>... entities) {
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+		try {
+			int count = 0;
+			for (Collection<?> collection : entities) {
+				for (Object entity : collection) {
+					em.persist(entity);
+					if (++count % BATCH_SIZE == 0) {
+						em.flush();
+						em.clear();
+					}
+				}
+			}
+			em.getTransaction().commit();
+		} catch (Exception e) {
+			em.getTransaction().rollback();
+			logger.error("Error: ", e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+}
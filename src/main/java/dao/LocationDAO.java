@@ -5,9 +5,11 @@ import entity.LocationEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -17,12 +19,13 @@ import java.util.List;
 public class LocationDAO {
 
 	private static final String ERROR_MESSAGE = "Error: ";
-
 	private static final Logger logger = LoggerFactory.getLogger(LocationDAO.class);
 
 	private static final EntityManagerFactory emf =
 			MariaDBConnection.getEntityManagerFactory();
 
+	private static final String CACHEABLE = "org.hibernate.cacheable";
+
 	/**
 	 * Logs an error message using the configured logger.
 	 *
@@ -55,6 +58,17 @@ public class LocationDAO {
 		}
 	}
 
+	/**
+	 * Persists many new location entities in a single transaction, in JDBC batches.
+	 * Either all the entities are stored or none of them are, see {@link BatchPersister#persistAll(Collection[])}.
+	 *
+	 * @param locations The location entities to persist.
+	 * @throws PersistenceException if the entities cannot be stored; nothing is stored then.
+	 */
+	public void persistAll(final Collection<LocationEntity> locations) {
+		BatchPersister.persistAll(locations);
+	}
+
 	/**
 	 * Updates an existing location entity in the database.
 	 * The method starts a transaction, merges the entity, and commits the transaction.
@@ -100,13 +114,15 @@ public class LocationDAO {
 
 	/**
 	 * Retrieves all location entities from the database.
+	 * The result is kept in the query cache until a location is changed.
 	 *
 	 * @return A list of all location entities or an empty list if none are found
 	 */
 	public List<LocationEntity> findAll() {
 		EntityManager em = emf.createEntityManager();
 		try {
-			return em.createQuery("SELECT l FROM LocationEntity l", LocationEntity.class).getResultList();
+			return em.createQuery("SELECT l FROM LocationEntity l", LocationEntity.class).setHint(CACHEABLE, true)
+			         .getResultList();
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return List.of();
@@ -119,6 +135,7 @@ public class LocationDAO {
 
 	/**
 	 * Finds a location entity by its name.
+	 * The result is kept in the query cache until a location is changed.
 	 *
 	 * @param name The name of the location to find
 	 * @return The location entity if found, null otherwise
@@ -127,7 +144,7 @@ public class LocationDAO {
 		EntityManager em = emf.createEntityManager();
 		try {
 			return em.createQuery("SELECT l FROM LocationEntity l WHERE l.name = :name", LocationEntity.class)
-			         .setParameter("name", name).getSingleResult();
+			         .setParameter("name", name).setHint(CACHEABLE, true).getSingleResult();
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return null;
@@ -141,7 +158,8 @@ public class LocationDAO {
 	/**
 	 * Deletes a location entity from the database.
 	 * This method first deletes all teaching sessions associated with the location
-	 * and then removes the location entity itself.
+	 * and then removes the location entity itself. A location that a moved occurrence of another
+	 * teaching session still uses is not deleted, and the transaction is rolled back.
 	 *
 	 * @param location The location entity to be deleted
 	 */
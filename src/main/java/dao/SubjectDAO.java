@@ -5,9 +5,11 @@ import entity.SubjectEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +22,7 @@ public class SubjectDAO {
 	private static final Logger logger = LoggerFactory.getLogger(SubjectDAO.class);
 	private static final EntityManagerFactory emf = MariaDBConnection.getEntityManagerFactory();
 	private static final String SUBJECT = "subject";
+	private static final String CACHEABLE = "org.hibernate.cacheable";
 
 	/**
 	 * Logs an error message using the configured logger.
@@ -53,6 +56,17 @@ public class SubjectDAO {
 		}
 	}
 
+	/**
+	 * Persists many new subject entities in a single transaction, in JDBC batches.
+	 * Either all the entities are stored or none of them are, see {@link BatchPersister#persistAll(Collection[])}.
+	 *
+	 * @param subjects The subject entities to persist.
+	 * @throws PersistenceException if the entities cannot be stored; nothing is stored then.
+	 */
+	public void persistAll(final Collection<SubjectEntity> subjects) {
+		BatchPersister.persistAll(subjects);
+	}
+
 	/**
 	 * Updates an existing subject entity in the database.
 	 * The method starts a transaction, merges the entity, and commits the transaction.
@@ -84,7 +98,6 @@ public class SubjectDAO {
 	 */
 	public SubjectEntity findById(final Long id) {
 		EntityManager em = emf.createEntityManager();
-		em.getTransaction().begin();
 		try {
 			return em.find(SubjectEntity.class, id);
 		} catch (NoResultException e) {
@@ -114,7 +127,8 @@ public class SubjectDAO {
 			                      "s IN (SELECT g.subject FROM UserGroupEntity g JOIN g.students u WHERE u.id = :userId) " +
 			                      "OR " +
 			                      "s IN (SELECT g.subject FROM UserGroupEntity g WHERE g.teacher.id = :userId) ",
-			                      SubjectEntity.class).setParameter("userId", userId).getResultList();
+			                      SubjectEntity.class).setParameter("userId", userId).setHint(CACHEABLE, true)
+			         .getResultList();
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return List.of();
@@ -127,16 +141,16 @@ public class SubjectDAO {
 
 	/**
 	 * Finds a subject entity by its code.
+	 * The result is kept in the query cache until a subject is changed.
 	 *
 	 * @param code The code of the subject to find
 	 * @return The subject entity if found, null otherwise
 	 */
 	public SubjectEntity findByCode(final String code) {
 		EntityManager em = emf.createEntityManager();
-		em.getTransaction().begin();
 		try {
 			return em.createQuery("SELECT s FROM SubjectEntity s WHERE s.code = :code", SubjectEntity.class)
-			         .setParameter("code", code).getSingleResult();
+			         .setParameter("code", code).setHint(CACHEABLE, true).getSingleResult();
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return null;
@@ -149,14 +163,15 @@ public class SubjectDAO {
 
 	/**
 	 * Retrieves all subject entities from the database.
+	 * The result is kept in the query cache until a subject is changed.
 	 *
 	 * @return A list of all subject entities or an empty list if none are found
 	 */
 	public List<SubjectEntity> findAll() {
 		EntityManager em = emf.createEntityManager();
-		em.getTransaction().begin();
 		try {
-			return em.createQuery("SELECT s FROM SubjectEntity s", SubjectEntity.class).getResultList();
+			return em.createQuery("SELECT s FROM SubjectEntity s", SubjectEntity.class).setHint(CACHEABLE, true)
+			         .getResultList();
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return List.of();
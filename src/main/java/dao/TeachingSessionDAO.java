@@ -1,14 +1,19 @@
 package dao;
 
 import datasource.MariaDBConnection;
+import dto.RecurrenceDTO;
+import dto.TeachingSessionDTO;
 import entity.TeachingSessionEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,6 +26,29 @@ public class TeachingSessionDAO {
 	private static final Logger logger = LoggerFactory.getLogger(TeachingSessionDAO.class);
 
 	private static final String ERROR_MESSAGE = "Error: ";
+	private static final String USER_ID = "userId";
+
+	/**
+	 * Projects the columns of a {@link TeachingSessionDTO} straight from the query, without loading managed entities.
+	 * Besides the sessions starting within the period, every recurring session that may have an occurrence in the
+	 * period is selected once, so the caller can expand its occurrences.
+	 */
+	private static final String DTO_SELECT =
+			"SELECT t.id AS id, t.startDate AS startDate, t.endDate AS endDate, l.name AS locationName, " +
+			"sub.code AS subjectCode, t.description AS description, t.timetable.id AS timetableId, " +
+			"t.localeCode AS localeCode, t.recurrenceFrequency AS recurrenceFrequency, " +
+			"t.recurrenceInterval AS recurrenceInterval, t.recurrenceUntil AS recurrenceUntil " +
+			"FROM TeachingSessionEntity t JOIN t.subject sub LEFT JOIN t.location l " +
+			"WHERE (t.startDate BETWEEN :start AND :end OR (t.recurrenceFrequency IS NOT NULL AND " +
+			"t.startDate <= :end AND (t.recurrenceUntil IS NULL OR t.recurrenceUntil >= :start)))";
+
+	/**
+	 * Restricts a query to every timetable the user can see: their own, their groups' and the groups they teach.
+	 */
+	private static final String USER_TIMETABLES_FILTER =
+			" AND (t.timetable.id IN (SELECT u.timetable.id FROM UserEntity u WHERE u.id = :userId) OR " +
+			"t.timetable.id IN (SELECT g.timetable.id FROM UserGroupEntity g JOIN g.students st WHERE st.id = :userId) OR " +
+			"t.timetable.id IN (SELECT g.timetable.id FROM UserGroupEntity g WHERE g.teacher.id = :userId))";
 
 	/**
 	 * Logs an error message using the configured logger.
@@ -52,6 +80,17 @@ public class TeachingSessionDAO {
 		}
 	}
 
+	/**
+	 * Persists many new teaching session entities in a single transaction, in JDBC batches.
+	 * Either all the entities are stored or none of them are, see {@link BatchPersister#persistAll(Collection[])}.
+	 *
+	 * @param teachingSessions The teaching session entities to persist.
+	 * @throws PersistenceException if the entities cannot be stored; nothing is stored then.
+	 */
+	public void persistAll(final Collection<TeachingSessionEntity> teachingSessions) {
+		BatchPersister.persistAll(teachingSessions);
+	}
+
 	/**
 	 * Updates an existing teaching session entity in the database.
 	 *
@@ -297,4 +336,166 @@ public class TeachingSessionDAO {
 			}
 		}
 	}
+
+	/**
+	 * Finds the teaching sessions of every timetable that start within a given time period,
+	 * projected directly into DTOs. Used to scan upcoming sessions for all users at once.
+	 *
+	 * @param start The start timestamp of the period.
+	 * @param end   The end timestamp of the period.
+	 * @return A list of teaching session DTOs matching the criteria.
+	 * @throws PersistenceException if the database cannot be queried, so a failed scan is not taken for an empty one
+	 */
+	public List<TeachingSessionDTO> findAllDTOsDuringPeriod(final Timestamp start, final Timestamp end) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT, Tuple.class)
+			         .setParameter("start", start).setParameter("end", end)
+			         .getResultStream().map(this::convertToDTO).toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds all teaching sessions for a specific timetable ID that fall within a given time period,
+	 * projected directly into DTOs.
+	 *
+	 * @param id    The ID of the timetable.
+	 * @param start The start timestamp of the period.
+	 * @param end   The end timestamp of the period.
+	 * @return A list of teaching session DTOs matching the criteria, or an empty list if none are found or an error occurs.
+	 */
+	public List<TeachingSessionDTO> findAllDTOsByTimetableIdDuringPeriod(final Long id, final Timestamp start,
+	                                                                   final Timestamp end) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT + " AND t.timetable.id = :timetableId", Tuple.class)
+			         .setParameter("timetableId", id)
+			         .setParameter("start", start)
+			         .setParameter("end", end)
+			         .getResultStream()
+			         .map(this::convertToDTO)
+			         .toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			return List.of();
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds all teaching sessions in any timetable of a user that fall within a given time period,
+	 * projected directly into DTOs.
+	 * <p>
+	 * The user's own timetable, the timetables of groups the user studies in and the timetables of groups
+	 * the user teaches are resolved inside the same statement, so the whole period is loaded in a single
+	 * round trip. Only the columns of the DTO are read, so no entities are registered in the persistence context.
+	 * </p>
+	 *
+	 * @param userId The ID of the user.
+	 * @param start  The start timestamp of the period.
+	 * @param end    The end timestamp of the period.
+	 * @return A list of teaching session DTOs matching the criteria.
+	 * @throws PersistenceException if the database cannot be queried, so a failed load is not cached as an empty one
+	 */
+	public List<TeachingSessionDTO> findAllDTOsByUserIdDuringPeriod(final Long userId, final Timestamp start,
+	                                                              final Timestamp end) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT + USER_TIMETABLES_FILTER, Tuple.class)
+			         .setParameter(USER_ID, userId)
+			         .setParameter("start", start)
+			         .setParameter("end", end)
+			         .getResultStream()
+			         .map(this::convertToDTO)
+			         .toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds all teaching sessions in any timetable of a user that match a locale and fall within a given time period,
+	 * projected directly into DTOs.
+	 * Like {@link #findAllDTOsByUserIdDuringPeriod(Long, Timestamp, Timestamp)}, this runs as a single statement.
+	 *
+	 * @param userId     The ID of the user.
+	 * @param start      The start timestamp of the period.
+	 * @param end        The end timestamp of the period.
+	 * @param localeCode The locale code (e.g., "en_US", "fi_FI").
+	 * @return A list of teaching session DTOs matching the criteria.
+	 * @throws PersistenceException if the database cannot be queried, so a failed load is not cached as an empty one
+	 */
+	public List<TeachingSessionDTO> findAllDTOsByUserIdAndLocaleDuringPeriod(final Long userId, final Timestamp start,
+	                                                                       final Timestamp end,
+	                                                                       final String localeCode) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery(DTO_SELECT + USER_TIMETABLES_FILTER + " AND t.localeCode = :localeCode", Tuple.class)
+			         .setParameter(USER_ID, userId)
+			         .setParameter("start", start)
+			         .setParameter("end", end)
+			         .setParameter("localeCode", localeCode)
+			         .getResultStream()
+			         .map(this::convertToDTO)
+			         .toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Converts a row selected with the DTO projection into a teaching session DTO.
+	 *
+	 * @param tuple The projected row.
+	 * @return The corresponding teaching session DTO.
+	 */
+	private TeachingSessionDTO convertToDTO(final Tuple tuple) {
+		return new TeachingSessionDTO(tuple.get("id", Long.class),
+		                              tuple.get("startDate", Timestamp.class).toLocalDateTime(),
+		                              tuple.get("endDate", Timestamp.class).toLocalDateTime(),
+		                              tuple.get("locationName", String.class),
+		                              tuple.get("subjectCode", String.class),
+		                              tuple.get("description", String.class),
+		                              tuple.get("timetableId", Long.class),
+		                              tuple.get("localeCode", String.class),
+		                              convertToRecurrence(tuple), null);
+	}
+
+	/**
+	 * Reads the recurrence rule of a row selected with the DTO projection.
+	 *
+	 * @param tuple The projected row.
+	 * @return The recurrence of the teaching session, or null if it does not repeat.
+	 */
+	private RecurrenceDTO convertToRecurrence(final Tuple tuple) {
+		String frequency = tuple.get("recurrenceFrequency", String.class);
+		if (frequency == null) {
+			return null;
+		}
+
+		Timestamp until = tuple.get("recurrenceUntil", Timestamp.class);
+		return new RecurrenceDTO(RecurrenceDTO.Frequency.valueOf(frequency),
+		                         tuple.get("recurrenceInterval", Integer.class),
+		                         until == null ? null : until.toLocalDateTime());
+	}
 }
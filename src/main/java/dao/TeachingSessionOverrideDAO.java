@@ -0,0 +1,149 @@
+package dao;
+
+import datasource.MariaDBConnection;
+import dto.TeachingSessionOverrideDTO;
+import entity.TeachingSessionOverrideEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Tuple;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * TeachingSessionOverrideDAO is a Data Access Object (DAO) class that provides methods to interact with the database
+ * for the {@link TeachingSessionOverrideEntity}, the changed and cancelled occurrences of recurring teaching sessions.
+ */
+public class TeachingSessionOverrideDAO {
+
+	private static final EntityManagerFactory emf = MariaDBConnection.getEntityManagerFactory();
+	private static final Logger logger = LoggerFactory.getLogger(TeachingSessionOverrideDAO.class);
+
+	private static final String ERROR_MESSAGE = "Error: ";
+
+	/**
+	 * Logs an error message using the configured logger.
+	 *
+	 * @param e The exception to log.
+	 */
+	private void logErrorMessage(final Exception e) {
+		logger.error(ERROR_MESSAGE, e);
+	}
+
+	/**
+	 * Stores the change to an occurrence, replacing any earlier change to the same occurrence.
+	 *
+	 * @param override The override entity to store.
+	 */
+	public void save(final TeachingSessionOverrideEntity override) {
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+		try {
+			List<TeachingSessionOverrideEntity> existing =
+					em.createQuery("SELECT o FROM TeachingSessionOverrideEntity o WHERE " +
+					               "o.teachingSession.id = :teachingSessionId AND o.originalStart = :originalStart",
+					               TeachingSessionOverrideEntity.class)
+					  .setParameter("teachingSessionId", override.getTeachingSession().getId())
+					  .setParameter("originalStart", override.getOriginalStart())
+					  .getResultList();
+
+			if (!existing.isEmpty()) {
+				override.setId(existing.getFirst().getId());
+			}
+			em.merge(override);
+			em.getTransaction().commit();
+		} catch (Exception e) {
+			em.getTransaction().rollback();
+			logErrorMessage(e);
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds the overrides of the given teaching sessions whose occurrence would start, or now starts,
+	 * within a given time period, projected directly into DTOs.
+	 *
+	 * @param teachingSessionIds The IDs of the recurring teaching sessions.
+	 * @param start              The start timestamp of the period.
+	 * @param end                The end timestamp of the period.
+	 * @return A list of override DTOs matching the criteria.
+	 * @throws PersistenceException if the database cannot be queried, so a failed load is not cached as an empty one
+	 */
+	public List<TeachingSessionOverrideDTO> findAllDTOsByTeachingSessionIdsDuringPeriod(
+			final Collection<Long> teachingSessionIds, final Timestamp start, final Timestamp end) {
+		if (teachingSessionIds.isEmpty()) {
+			return List.of();
+		}
+
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery("SELECT o.teachingSession.id AS teachingSessionId, o.originalStart AS originalStart, " +
+			                      "o.cancelled AS cancelled, o.startDate AS startDate, o.endDate AS endDate, " +
+			                      "l.name AS locationName, o.description AS description " +
+			                      "FROM TeachingSessionOverrideEntity o LEFT JOIN o.location l " +
+			                      "WHERE o.teachingSession.id IN :teachingSessionIds AND " +
+			                      "(o.originalStart BETWEEN :start AND :end OR o.startDate BETWEEN :start AND :end)",
+			                      Tuple.class)
+			         .setParameter("teachingSessionIds", teachingSessionIds)
+			         .setParameter("start", start)
+			         .setParameter("end", end)
+			         .getResultStream()
+			         .map(this::convertToDTO)
+			         .toList();
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Deletes all override entities from the database.
+	 */
+	public void deleteAll() {
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+		try {
+			em.createQuery("DELETE FROM TeachingSessionOverrideEntity").executeUpdate();
+			em.getTransaction().commit();
+		} catch (Exception e) {
+			em.getTransaction().rollback();
+			logErrorMessage(e);
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Converts a projected row into an override DTO.
+	 *
+	 * @param tuple The projected row.
+	 * @return The corresponding override DTO.
+	 */
+	private TeachingSessionOverrideDTO convertToDTO(final Tuple tuple) {
+		return new TeachingSessionOverrideDTO(tuple.get("teachingSessionId", Long.class),
+		                                      tuple.get("originalStart", Timestamp.class).toLocalDateTime(),
+		                                      tuple.get("cancelled", Boolean.class),
+		                                      toLocalDateTime(tuple.get("startDate", Timestamp.class)),
+		                                      toLocalDateTime(tuple.get("endDate", Timestamp.class)),
+		                                      tuple.get("locationName", String.class),
+		                                      tuple.get("description", String.class));
+	}
+
+	private static LocalDateTime toLocalDateTime(final Timestamp timestamp) {
+		return timestamp == null ? null : timestamp.toLocalDateTime();
+	}
+}
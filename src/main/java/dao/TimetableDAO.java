@@ -1,13 +1,21 @@
 package dao;
 
 import datasource.MariaDBConnection;
+import entity.Role;
 import entity.TimetableEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * TimetableDAO is a Data Access Object (DAO) class that provides methods to interact with the database
@@ -114,6 +122,68 @@ public class TimetableDAO {
 		}
 	}
 
+	/**
+	 * Finds the users of many timetables at once: the owner of a personal timetable, and the students and
+	 * the teacher of a group timetable. Each kind of membership is resolved with one query for all timetables.
+	 *
+	 * @param timetableIds The IDs of the timetables
+	 * @return The IDs of the users of each timetable; timetables without users are left out
+	 * @throws PersistenceException if the database cannot be queried, so no user is silently left out
+	 */
+	public Map<Long, Set<Long>> findUserIdsByTimetableIds(final Collection<Long> timetableIds) {
+		if (timetableIds.isEmpty()) {
+			return Map.of();
+		}
+
+		EntityManager em = emf.createEntityManager();
+		try {
+			Map<Long, Set<Long>> usersByTimetable = new HashMap<>();
+			for (String query : List.of(
+					"SELECT u.timetable.id, u.id FROM UserEntity u WHERE u.timetable.id IN :ids",
+					"SELECT g.timetable.id, st.id FROM UserGroupEntity g JOIN g.students st WHERE g.timetable.id IN :ids",
+					"SELECT g.timetable.id, g.teacher.id FROM UserGroupEntity g WHERE g.timetable.id IN :ids")) {
+				em.createQuery(query, Tuple.class).setParameter("ids", timetableIds).getResultStream()
+				  .forEach(row -> usersByTimetable.computeIfAbsent(row.get(0, Long.class), id -> new HashSet<>())
+				                                  .add(row.get(1, Long.class)));
+			}
+			return usersByTimetable;
+		} catch (Exception e) {
+			logErrorMessage(e);
+			throw e;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
+	/**
+	 * Finds the teacher of every timetable that has one: the teacher of a group timetable, and the owner of
+	 * the personal timetable of a teacher.
+	 *
+	 * @return The ID of the teacher of each timetable; timetables without a teacher are left out
+	 */
+	public Map<Long, Long> findAllTeacherIdsByTimetableId() {
+		EntityManager em = emf.createEntityManager();
+		try {
+			Map<Long, Long> teachersByTimetable = new HashMap<>();
+			em.createQuery("SELECT u.timetable.id, u.id FROM UserEntity u WHERE u.role = :role", Tuple.class)
+			  .setParameter("role", Role.TEACHER).getResultStream()
+			  .forEach(row -> teachersByTimetable.put(row.get(0, Long.class), row.get(1, Long.class)));
+			em.createQuery("SELECT g.timetable.id, g.teacher.id FROM UserGroupEntity g", Tuple.class)
+			  .getResultStream()
+			  .forEach(row -> teachersByTimetable.put(row.get(0, Long.class), row.get(1, Long.class)));
+			return teachersByTimetable;
+		} catch (Exception e) {
+			logErrorMessage(e);
+			return Map.of();
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
 	/**
 	 * Finds a timetable entity by its ID.
 	 *
@@ -1,13 +1,16 @@
 package dao;
 
 import datasource.MariaDBConnection;
+import entity.TimetableEntity;
 import entity.UserEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.List;
 
 import static util.PasswordHashUtil.verifyPassword;
@@ -57,6 +60,20 @@ public class UserDAO {
 		}
 	}
 
+	/**
+	 * Persists many new user entities in a single transaction, together with their new personal timetables.
+	 * Users and timetables have identity IDs, so each row is inserted with its own statement.
+	 * Either all the users are stored or none of them are, see {@link BatchPersister#persistAll(Collection[])}.
+	 *
+	 * @param users The user entities to persist.
+	 * @throws PersistenceException if the users cannot be stored; nothing is stored then.
+	 */
+	public void persistAll(final Collection<UserEntity> users) {
+		List<TimetableEntity> timetables =
+				users.stream().map(UserEntity::getTimetable).filter(timetable -> timetable.getId() == null).toList();
+		BatchPersister.persistAll(timetables, users);
+	}
+
 	/**
 	 * Updates an existing user entity in the database.
 	 * The method starts a transaction, merges the entity, and commits the transaction.
@@ -133,7 +150,8 @@ public class UserDAO {
 	public UserEntity findByUsername(final String username) {
 		EntityManager em = emf.createEntityManager();
 		try {
-			return em.createQuery("SELECT u FROM UserEntity u WHERE u.username = :username", UserEntity.class)
+			return em.createQuery("SELECT u FROM UserEntity u JOIN FETCH u.timetable WHERE u.username = :username",
+			                      UserEntity.class)
 			         .setParameter("username", username)
 			         .getSingleResult();
 		} catch (NoResultException e) {
@@ -154,7 +172,7 @@ public class UserDAO {
 	public List<UserEntity> findAll() {
 		EntityManager em = emf.createEntityManager();
 		try {
-			return em.createQuery("SELECT u FROM UserEntity u", UserEntity.class).getResultList();
+			return em.createQuery("SELECT u FROM UserEntity u JOIN FETCH u.timetable", UserEntity.class).getResultList();
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return List.of();
@@ -1,14 +1,18 @@
 package dao;
 
 import datasource.MariaDBConnection;
+import entity.TimetableEntity;
 import entity.UserGroupEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * UserGroupDAO is a Data Access Object (DAO) class that provides methods to interact with the database
@@ -19,7 +23,11 @@ public class UserGroupDAO {
 	private static final String ERROR_MESSAGE = "Error: ";
 	private static final Logger logger = LoggerFactory.getLogger(UserGroupDAO.class);
 
+	// Loads the eagerly fetched associations in the same query, instead of one query per group and association
+	private static final String FETCH_ASSOCIATIONS =
+			"JOIN FETCH g.teacher t JOIN FETCH t.timetable JOIN FETCH g.timetable LEFT JOIN FETCH g.subject ";
 	private static final EntityManagerFactory emf = MariaDBConnection.getEntityManagerFactory();
+	private static final String LOAD_GRAPH = "jakarta.persistence.loadgraph";
 
 	/**
 	 * Logs an error message using the configured logger.
@@ -32,7 +40,8 @@ public class UserGroupDAO {
 
 	/**
 	 * Persists a new user group entity or updates an existing one in the database.
-	 * If the entity has an ID and exists, it's merged; otherwise, it's persisted.
+	 * If the entity has an ID, it's merged, which loads the stored group in the same transaction;
+	 * otherwise, it's persisted.
 	 *
 	 * @param userGroup The user group entity to persist or update.
 	 */
@@ -40,7 +49,7 @@ public class UserGroupDAO {
 		EntityManager em = emf.createEntityManager();
 		em.getTransaction().begin();
 		try {
-			if (userGroup.getId() == null || findById(userGroup.getId()) == null) {
+			if (userGroup.getId() == null) {
 				em.persist(userGroup);
 			} else {
 				em.merge(userGroup);
@@ -56,8 +65,29 @@ public class UserGroupDAO {
 		}
 	}
 
+	/**
+	 * Persists many new user group entities in a single transaction, together with their new timetables and
+	 * the membership of their students.
+	 * <p>
+	 * Groups and timetables have identity IDs and are inserted one statement at a time, while the memberships are
+	 * inserted in JDBC batches. The students must already be stored. Either all the groups are stored or none of
+	 * them are, see {@link BatchPersister#persistAll(Collection[])}.
+	 * </p>
+	 *
+	 * @param userGroups The user group entities to persist.
+	 * @throws PersistenceException if the groups cannot be stored; nothing is stored then.
+	 */
+	public void persistAll(final Collection<UserGroupEntity> userGroups) {
+		List<TimetableEntity> timetables = userGroups.stream()
+		                                             .map(UserGroupEntity::getTimetable)
+		                                             .filter(timetable -> timetable.getId() == null)
+		                                             .toList();
+		BatchPersister.persistAll(timetables, userGroups);
+	}
+
 	/**
 	 * Finds a user group entity by its ID.
+	 * The students of the group are loaded with it using the {@link UserGroupEntity#WITH_STUDENTS} entity graph.
 	 *
 	 * @param id The ID of the user group to find.
 	 * @return The found user group entity, or null if not found or an error occurs.
@@ -65,7 +95,8 @@ public class UserGroupDAO {
 	public UserGroupEntity findById(final Long id) {
 		EntityManager em = emf.createEntityManager();
 		try {
-			return em.find(UserGroupEntity.class, id);
+			return em.find(UserGroupEntity.class, id,
+			               Map.of(LOAD_GRAPH, em.getEntityGraph(UserGroupEntity.WITH_STUDENTS)));
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return null;
@@ -85,7 +116,8 @@ public class UserGroupDAO {
 	public UserGroupEntity findByTimetableId(final long timetableId) {
 		EntityManager em = emf.createEntityManager();
 		try {
-			return em.createQuery("SELECT g FROM UserGroupEntity g WHERE g.timetable.id = :timetableId",
+			return em.createQuery("SELECT g FROM UserGroupEntity g " + FETCH_ASSOCIATIONS
+			                      + "WHERE g.timetable.id = :timetableId",
 			                      UserGroupEntity.class)
 			         .setParameter("timetableId", timetableId)
 			         .getSingleResult();
@@ -108,7 +140,8 @@ public class UserGroupDAO {
 	public UserGroupEntity findByName(final String groupName) {
 		EntityManager em = emf.createEntityManager();
 		try {
-			return em.createQuery("SELECT g FROM UserGroupEntity g WHERE g.name = :groupName", UserGroupEntity.class)
+			return em.createQuery("SELECT g FROM UserGroupEntity g " + FETCH_ASSOCIATIONS + "WHERE g.name = :groupName",
+			                      UserGroupEntity.class)
 			         .setParameter("groupName", groupName)
 			         .getSingleResult();
 		} catch (NoResultException e) {
@@ -121,6 +154,32 @@ public class UserGroupDAO {
 		}
 	}
 
+	/**
+	 * Finds a user group entity by its name together with its students.
+	 * Use this instead of {@link #findByName(String)} when the members of the group are needed,
+	 * since the students are not loaded by default.
+	 *
+	 * @param groupName The name of the user group.
+	 * @return The found user group entity with its students, or null if not found or an error occurs.
+	 */
+	public UserGroupEntity findByNameWithStudents(final String groupName) {
+		EntityManager em = emf.createEntityManager();
+		try {
+			return em.createQuery("SELECT g FROM UserGroupEntity g " + FETCH_ASSOCIATIONS + "WHERE g.name = :groupName",
+			                      UserGroupEntity.class)
+			         .setParameter("groupName", groupName)
+			         .setHint(LOAD_GRAPH, em.getEntityGraph(UserGroupEntity.WITH_STUDENTS))
+			         .getSingleResult();
+		} catch (NoResultException e) {
+			logErrorMessage(e);
+			return null;
+		} finally {
+			if (em.isOpen()) {
+				em.close();
+			}
+		}
+	}
+
 	/**
 	 * Finds all user group entities associated with a specific user ID (either as a teacher or a student).
 	 *
@@ -132,6 +191,7 @@ public class UserGroupDAO {
 		try {
 			return em.createQuery(
 					         "SELECT DISTINCT g FROM UserGroupEntity g "
+					         + FETCH_ASSOCIATIONS
 					         + "WHERE g.teacher.id = :userId "
 					         + "OR "
 					         + "g IN (SELECT g2 FROM UserGroupEntity g2 JOIN g2.students s WHERE s.id = :userId)",
@@ -156,7 +216,8 @@ public class UserGroupDAO {
 	public List<UserGroupEntity> findAll() {
 		EntityManager em = emf.createEntityManager();
 		try {
-			return em.createQuery("SELECT u FROM UserGroupEntity u", UserGroupEntity.class).getResultList();
+			return em.createQuery("SELECT g FROM UserGroupEntity g " + FETCH_ASSOCIATIONS, UserGroupEntity.class)
+			         .getResultList();
 		} catch (NoResultException e) {
 			logErrorMessage(e);
 			return List.of();
@@ -169,7 +230,7 @@ public class UserGroupDAO {
 
 	/**
 	 * Deletes a user group entity from the database.
-	 * This method also removes the group from the collections of its associated students.
+	 * The memberships of its students in the belongs_to table are removed along with the group.
 	 *
 	 * @param userGroup The user group entity to delete.
 	 */
@@ -177,8 +238,10 @@ public class UserGroupDAO {
 		EntityManager em = emf.createEntityManager();
 		em.getTransaction().begin();
 		try {
-			userGroup.getStudents().forEach(student -> student.getGroups().remove(userGroup));
-			em.remove(em.contains(userGroup) ? userGroup : em.merge(userGroup));
+			UserGroupEntity managedGroup = em.find(UserGroupEntity.class, userGroup.getId());
+			if (managedGroup != null) {
+				em.remove(managedGroup);
+			}
 			em.getTransaction().commit();
 		} catch (Exception e) {
 			em.getTransaction().rollback();
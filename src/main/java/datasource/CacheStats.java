@@ -0,0 +1,19 @@
+package datasource;
+
+/**
+ * Snapshot of the Hibernate second-level and query cache counters.
+ * <p>
+ * All values are accumulated since the EntityManagerFactory was created or the statistics were last cleared.
+ * </p>
+ *
+ * @param secondLevelHits   entity lookups answered from the second-level cache
+ * @param secondLevelMisses entity lookups that were not found in the second-level cache
+ * @param secondLevelPuts   entities put into the second-level cache
+ * @param queryHits         cacheable queries answered from the query cache
+ * @param queryMisses       cacheable queries that had to be executed
+ * @param queryPuts         query results put into the query cache
+ */
+public record CacheStats(
+		long secondLevelHits, long secondLevelMisses, long secondLevelPuts,
+		long queryHits, long queryMisses, long queryPuts) {
+}
@@ -0,0 +1,29 @@
+package datasource;
+
+/**
+ * Snapshot of the connection pool behind {@link MariaDBConnection}.
+ * <p>
+ * Counts are read from the pool at the moment the snapshot is taken, while the acquisition figures
+ * are accumulated since the pool was started. The values are intended for sizing the pool.
+ * </p>
+ *
+ * @param activeConnections         connections currently borrowed by the application
+ * @param idleConnections           connections currently idle in the pool
+ * @param totalConnections          total number of connections held by the pool
+ * @param maximumPoolSize           the most connections the pool opens, from DB_POOL_MAX_SIZE
+ * @param threadsAwaitingConnection threads currently blocked waiting for a connection
+ * @param acquisitions              number of connections handed out since the pool started
+ * @param averageAcquireMillis      average time spent waiting for a connection, in milliseconds
+ * @param maxAcquireMillis          longest time spent waiting for a connection, in milliseconds
+ * @param timeouts                  number of acquisitions that timed out
+ */
+public record ConnectionPoolStats(
+		int activeConnections, int idleConnections, int totalConnections, int maximumPoolSize,
+		int threadsAwaitingConnection, long acquisitions, double averageAcquireMillis, double maxAcquireMillis,
+		long timeouts) {
+
+	/**
+	 * Snapshot used when the pool has not been started yet.
+	 */
+	static final ConnectionPoolStats EMPTY = new ConnectionPoolStats(0, 0, 0, 0, 0, 0, 0, 0, 0);
+}
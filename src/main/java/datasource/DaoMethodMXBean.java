@@ -0,0 +1,43 @@
+package datasource;
+
+/**
+ * JMX view of the metrics of one DAO method, registered as {@code stms:type=DaoMethod,name=<Class.method>}.
+ */
+public interface DaoMethodMXBean {
+
+	long getCalls();
+
+	long getStatements();
+
+	long getRows();
+
+	long getCommits();
+
+	long getRollbacks();
+
+	double getAverageMillis();
+
+	double getP50Millis();
+
+	double getP95Millis();
+
+	double getP99Millis();
+
+	double getMaxMillis();
+
+	double getAverageAcquireMillis();
+
+	/**
+	 * Returns the upper bounds of the latency buckets, the overflow bucket excluded.
+	 *
+	 * @return the bounds in milliseconds
+	 */
+	double[] getLatencyBucketBoundsMillis();
+
+	/**
+	 * Returns the number of calls in each latency bucket.
+	 *
+	 * @return one count per bound, followed by the count of calls slower than the last bound
+	 */
+	long[] getLatencyBucketCounts();
+}
@@ -0,0 +1,27 @@
+package datasource;
+
+/**
+ * Snapshot of the database work done by one DAO method.
+ * <p>
+ * All values are accumulated since the method was first called or the metrics were last reset.
+ * A call is the lifetime of the entity manager the method opens, from its creation until it is closed.
+ * </p>
+ *
+ * @param method        the DAO method, as the simple class name and method name, e.g. UserDAO.findAll
+ * @param calls         the number of calls
+ * @param statements    JDBC statements and batches executed
+ * @param rows          rows read from the result sets
+ * @param commits       transactions committed
+ * @param rollbacks     transactions rolled back
+ * @param averageMillis the average latency of a call
+ * @param p50Millis     the median latency, estimated from the histogram buckets
+ * @param p95Millis     the 95th percentile latency, estimated from the histogram buckets
+ * @param p99Millis     the 99th percentile latency, estimated from the histogram buckets
+ * @param maxMillis     the longest call
+ * @param acquireMillis the average time a call waited for a JDBC connection
+ */
+public record DaoMethodStats(
+		String method, long calls, long statements, long rows, long commits, long rollbacks,
+		double averageMillis, double p50Millis, double p95Millis, double p99Millis, double maxMillis,
+		double acquireMillis) {
+}
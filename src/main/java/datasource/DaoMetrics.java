@@ -0,0 +1,267 @@
+package datasource;
+
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import util.LatencyHistogram;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the metrics of every DAO method reported by {@link DaoMetricsListener} and publishes them over JMX.
+ * <p>
+ * Each method gets its own {@code stms:type=DaoMethod} bean the first time it is called, and the Hibernate
+ * statistics of the whole application are published as {@code stms:type=Database}.
+ * </p>
+ */
+final class DaoMetrics {
+
+	private static final Logger logger = LoggerFactory.getLogger(DaoMetrics.class);
+
+	private static final String DATABASE_BEAN = "stms:type=Database";
+
+	private static final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+	private DaoMetrics() {
+	}
+
+	/**
+	 * Adds a finished call to the metrics of its method.
+	 *
+	 * @param method       the DAO method, e.g. UserDAO.findAll
+	 * @param nanos        the latency of the call
+	 * @param acquireNanos the time spent waiting for a JDBC connection
+	 * @param statements   the JDBC statements and batches executed
+	 * @param rows         the rows read
+	 * @param commits      the transactions committed
+	 * @param rollbacks    the transactions rolled back
+	 */
+	static void record(String method, long nanos, long acquireNanos, long statements, long rows, long commits,
+	                   long rollbacks) {
+		MethodMetrics metrics = methods.computeIfAbsent(method, DaoMetrics::register);
+		metrics.latency.record(nanos);
+		metrics.acquireNanos.add(acquireNanos);
+		metrics.statements.add(statements);
+		metrics.rows.add(rows);
+		metrics.commits.add(commits);
+		metrics.rollbacks.add(rollbacks);
+	}
+
+	/**
+	 * Returns the metrics of every DAO method called so far.
+	 *
+	 * @return one snapshot per method, the slowest on average first
+	 */
+	static List<DaoMethodStats> snapshot() {
+		return methods.entrySet()
+		              .stream()
+		              .map(entry -> entry.getValue().toStats(entry.getKey()))
+		              .sorted(Comparator.comparingDouble(DaoMethodStats::averageMillis).reversed())
+		              .toList();
+	}
+
+	/**
+	 * Forgets the metrics of every method and unregisters their beans.
+	 * <p>
+	 * Each bean is unregistered while its entry is removed, so a call recorded at the same time either lands in
+	 * the old metrics or registers a new bean once the old one is gone.
+	 * </p>
+	 */
+	static void reset() {
+		methods.keySet().forEach(method -> methods.computeIfPresent(method, (name, metrics) -> {
+			unregister(methodBeanName(name));
+			return null;
+		}));
+	}
+
+	/**
+	 * Publishes the Hibernate statistics of an EntityManagerFactory, replacing those of an earlier one.
+	 *
+	 * @param statistics the statistics of the current EntityManagerFactory
+	 */
+	static void registerDatabase(Statistics statistics) {
+		unregister(DATABASE_BEAN);
+		register(new DatabaseBean(statistics), DATABASE_BEAN);
+	}
+
+	private static MethodMetrics register(String method) {
+		MethodMetrics metrics = new MethodMetrics();
+		register(metrics, methodBeanName(method));
+		return metrics;
+	}
+
+	private static String methodBeanName(String method) {
+		return "stms:type=DaoMethod,name=" + ObjectName.quote(method);
+	}
+
+	private static void register(Object bean, String name) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName objectName = new ObjectName(name);
+			if (!server.isRegistered(objectName)) {
+				server.registerMBean(bean, objectName);
+			}
+		} catch (JMException e) {
+			logger.warn("Could not register {}: {}", name, e.getMessage());
+		}
+	}
+
+	private static void unregister(String name) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName objectName = new ObjectName(name);
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+		} catch (JMException e) {
+			logger.warn("Could not unregister {}: {}", name, e.getMessage());
+		}
+	}
+
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	private static final class MethodMetrics implements DaoMethodMXBean {
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final LongAdder acquireNanos = new LongAdder();
+		private final LongAdder statements = new LongAdder();
+		private final LongAdder rows = new LongAdder();
+		private final LongAdder commits = new LongAdder();
+		private final LongAdder rollbacks = new LongAdder();
+
+		private DaoMethodStats toStats(String method) {
+			return new DaoMethodStats(method, getCalls(), getStatements(), getRows(), getCommits(), getRollbacks(),
+			                          getAverageMillis(), getP50Millis(), getP95Millis(), getP99Millis(),
+			                          getMaxMillis(), getAverageAcquireMillis());
+		}
+
+		@Override
+		public long getCalls() {
+			return latency.getCount();
+		}
+
+		@Override
+		public long getStatements() {
+			return statements.sum();
+		}
+
+		@Override
+		public long getRows() {
+			return rows.sum();
+		}
+
+		@Override
+		public long getCommits() {
+			return commits.sum();
+		}
+
+		@Override
+		public long getRollbacks() {
+			return rollbacks.sum();
+		}
+
+		@Override
+		public double getAverageMillis() {
+			return latency.getAverageMillis();
+		}
+
+		@Override
+		public double getP50Millis() {
+			return latency.getPercentileMillis(50);
+		}
+
+		@Override
+		public double getP95Millis() {
+			return latency.getPercentileMillis(95);
+		}
+
+		@Override
+		public double getP99Millis() {
+			return latency.getPercentileMillis(99);
+		}
+
+		@Override
+		public double getMaxMillis() {
+			return latency.getMaxMillis();
+		}
+
+		@Override
+		public double getAverageAcquireMillis() {
+			long calls = latency.getCount();
+			return calls == 0 ? 0 : toMillis(acquireNanos.sum()) / calls;
+		}
+
+		@Override
+		public double[] getLatencyBucketBoundsMillis() {
+			return LatencyHistogram.getBoundsMillis();
+		}
+
+		@Override
+		public long[] getLatencyBucketCounts() {
+			return latency.getBucketCounts();
+		}
+	}
+
+	private record DatabaseBean(Statistics statistics) implements DatabaseMXBean {
+		@Override
+		public long getSessionsOpened() {
+			return statistics.getSessionOpenCount();
+		}
+
+		@Override
+		public long getTransactions() {
+			return statistics.getTransactionCount();
+		}
+
+		@Override
+		public long getSuccessfulTransactions() {
+			return statistics.getSuccessfulTransactionCount();
+		}
+
+		@Override
+		public long getStatementsPrepared() {
+			return statistics.getPrepareStatementCount();
+		}
+
+		@Override
+		public long getQueriesExecuted() {
+			return statistics.getQueryExecutionCount();
+		}
+
+		@Override
+		public long getSlowestQueryMillis() {
+			return statistics.getQueryExecutionMaxTime();
+		}
+
+		@Override
+		public String getSlowestQuery() {
+			return statistics.getQueryExecutionMaxTimeQueryString();
+		}
+
+		@Override
+		public long getSecondLevelCacheHits() {
+			return statistics.getSecondLevelCacheHitCount();
+		}
+
+		@Override
+		public long getSecondLevelCacheMisses() {
+			return statistics.getSecondLevelCacheMissCount();
+		}
+
+		@Override
+		public void reset() {
+			statistics.clear();
+			DaoMetrics.reset();
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package datasource;
+
+import org.hibernate.BaseSessionEventListener;
+
+import java.io.Serial;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the database work of the DAO method that opened a Hibernate session.
+ * <p>
+ * Hibernate creates one listener per session, as configured by hibernate.session.events.auto in
+ * persistence.xml. The listener attributes the session to the method of the {@code dao} package called from
+ * outside the package, times it until it is closed, and reports it to {@link DaoMetrics}. Sessions opened
+ * outside the DAOs are not measured.
+ * </p>
+ * <p>
+ * Hibernate does not report the rows it reads, so they are counted by {@link RowCountingDataSource} into the
+ * innermost measured session open on the current thread. A session takes part from the moment it first acquires a
+ * connection, since only then can it read rows.
+ * </p>
+ * <p>
+ * Most DAO methods log their errors and return an empty result instead of throwing, so a session that rolled
+ * back a transaction or had a JDBC call fail is also counted as a failed call of its thread, see
+ * {@link #failedCalls()}.
+ * </p>
+ */
+public class DaoMetricsListener extends BaseSessionEventListener {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private static final String DAO_PACKAGE = "dao.";
+
+	private static final StackWalker stackWalker = StackWalker.getInstance();
+
+	private static final ThreadLocal<Deque<DaoMetricsListener>> openListeners =
+			ThreadLocal.withInitial(ArrayDeque::new);
+
+	private static final ThreadLocal<AtomicLong> failedCalls = ThreadLocal.withInitial(AtomicLong::new);
+
+	private final String method;
+	private final long startNanos = System.nanoTime();
+	private long acquireStartNanos;
+	private long acquireNanos;
+	private long statements;
+	private long rows;
+	private long commits;
+	private long rollbacks;
+	private boolean failed;
+	private boolean registered;
+
+	/**
+	 * Creates a listener for a session being opened on the current thread.
+	 */
+	public DaoMetricsListener() {
+		// The outermost of the DAO frames closest to Hibernate, so a session opened by a helper of the dao
+		// package such as BatchPersister counts for the DAO method that called it
+		method = stackWalker.walk(frames -> frames.dropWhile(frame -> !isDaoFrame(frame))
+		                                          .takeWhile(DaoMetricsListener::isDaoFrame)
+		                                          .reduce((inner, outer) -> outer)
+		                                          .map(frame -> frame.getClassName().substring(DAO_PACKAGE.length())
+		                                                        + "." + frame.getMethodName())
+		                                          .orElse(null));
+	}
+
+	private static boolean isDaoFrame(StackWalker.StackFrame frame) {
+		return frame.getClassName().startsWith(DAO_PACKAGE);
+	}
+
+	/**
+	 * Counts a row read on the current thread against the innermost measured session.
+	 */
+	static void countRow() {
+		DaoMetricsListener listener = openListeners.get().peek();
+		if (listener != null) {
+			listener.rows++;
+		}
+	}
+
+	/**
+	 * Marks the innermost measured session open on the current thread as failed, after one of its JDBC calls
+	 * threw.
+	 */
+	static void countFailure() {
+		DaoMetricsListener listener = openListeners.get().peek();
+		if (listener != null) {
+			listener.failed = true;
+		}
+	}
+
+	/**
+	 * Returns the number of measured DAO calls made on the current thread that failed, whether or not the DAO
+	 * method reported the error to its caller.
+	 *
+	 * @return the failed calls since the thread started
+	 */
+	static long failedCalls() {
+		return failedCalls.get().get();
+	}
+
+	@Override
+	public void transactionCompletion(boolean successful) {
+		if (successful) {
+			commits++;
+		} else {
+			rollbacks++;
+		}
+	}
+
+	@Override
+	public void jdbcConnectionAcquisitionStart() {
+		// Rows and failures are only counted through a connection, so the session is registered once it needs one
+		if (method != null && !registered) {
+			openListeners.get().push(this);
+			registered = true;
+		}
+		acquireStartNanos = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcConnectionAcquisitionEnd() {
+		acquireNanos += System.nanoTime() - acquireStartNanos;
+	}
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		statements++;
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		statements++;
+	}
+
+	@Override
+	public void end() {
+		if (method == null) {
+			return;
+		}
+
+		openListeners.get().remove(this);
+		if (failed || rollbacks > 0) {
+			failedCalls.get().incrementAndGet();
+		}
+		DaoMetrics.record(method, System.nanoTime() - startNanos, acquireNanos, statements, rows, commits,
+		                  rollbacks);
+	}
+}
@@ -0,0 +1,31 @@
+package datasource;
+
+/**
+ * JMX view of the Hibernate statistics of the whole application, registered as {@code stms:type=Database}.
+ * The connection pool registers its own beans under {@code com.zaxxer.hikari}.
+ */
+public interface DatabaseMXBean {
+
+	long getSessionsOpened();
+
+	long getTransactions();
+
+	long getSuccessfulTransactions();
+
+	long getStatementsPrepared();
+
+	long getQueriesExecuted();
+
+	long getSlowestQueryMillis();
+
+	String getSlowestQuery();
+
+	long getSecondLevelCacheHits();
+
+	long getSecondLevelCacheMisses();
+
+	/**
+	 * Clears the Hibernate statistics and the metrics of every DAO method.
+	 */
+	void reset();
+}
@@ -1,7 +1,12 @@
 package datasource;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,7 +15,9 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Provides database connectivity for the STMS application with MariaDB.
@@ -19,6 +26,18 @@ import java.util.Map;
  * It reads configuration from environment variables with fallback to default values,
  * handles database verification, and provides centralized access to the EntityManagerFactory.
  * </p>
+ * <p>
+ * Connections are served by a bounded HikariCP pool that is handed to Hibernate as its DataSource.
+ * The pool can be tuned through the DB_POOL_* environment variables and inspected with {@link #getPoolStats()}.
+ * </p>
+ * <p>
+ * Subjects, locations and timetables are kept in Hibernate's second-level cache, configured in ehcache.xml.
+ * The cache counters can be inspected with {@link #getCacheStats()}.
+ * </p>
+ * <p>
+ * The calls, latency, statements, rows and transactions of every DAO method are measured by
+ * {@link DaoMetricsListener}, published over JMX and returned by {@link #getDaoMetrics()}.
+ * </p>
  */
 public class MariaDBConnection {
 
@@ -55,11 +74,88 @@ public class MariaDBConnection {
 	 */
 	private static final Logger logger = LoggerFactory.getLogger(MariaDBConnection.class);
 
+	/**
+	 * Maximum number of pooled connections from DB_POOL_MAX_SIZE or default 20.
+	 */
+	private static final int POOL_MAX_SIZE = readIntEnv("DB_POOL_MAX_SIZE", 20);
+
+	/**
+	 * Minimum number of idle pooled connections from DB_POOL_MIN_IDLE or default 2.
+	 */
+	private static final int POOL_MIN_IDLE = readIntEnv("DB_POOL_MIN_IDLE", 2);
+
+	/**
+	 * Maximum lifetime of a pooled connection in milliseconds from DB_POOL_MAX_LIFETIME or default 30 minutes.
+	 * Kept below MariaDB's wait_timeout so the server never closes a connection the pool still holds.
+	 */
+	private static final long POOL_MAX_LIFETIME = readIntEnv("DB_POOL_MAX_LIFETIME", 1_800_000);
+
+	/**
+	 * Idle timeout of a pooled connection in milliseconds from DB_POOL_IDLE_TIMEOUT or default 10 minutes.
+	 */
+	private static final long POOL_IDLE_TIMEOUT = readIntEnv("DB_POOL_IDLE_TIMEOUT", 600_000);
+
+	/**
+	 * Maximum time to wait for a connection in milliseconds from DB_POOL_CONNECTION_TIMEOUT or default 10 seconds.
+	 */
+	private static final long POOL_CONNECTION_TIMEOUT = readIntEnv("DB_POOL_CONNECTION_TIMEOUT", 10_000);
+
+	/**
+	 * Time a connection may be held before it is reported as a possible leak, in milliseconds,
+	 * from DB_POOL_LEAK_DETECTION or default 30 seconds. A value of 0 disables leak detection.
+	 */
+	private static final long POOL_LEAK_DETECTION = readIntEnv("DB_POOL_LEAK_DETECTION", 30_000);
+
+	/**
+	 * Query used to validate pooled connections before they are handed out.
+	 */
+	private static final String VALIDATION_QUERY = "SELECT 1";
+
+	/**
+	 * Tables whose ids are handed out from the id_generator table, each under its own table name.
+	 */
+	private static final List<String> POOLED_ID_TABLES = List.of("teaching_session", "assignment");
+
+	/**
+	 * Number of ids reserved at a time, must match the allocationSize of the entities' table generators.
+	 */
+	private static final int ID_ALLOCATION_SIZE = 50;
+
 	/**
 	 * Singleton instance of the JPA EntityManagerFactory.
 	 */
 	private static EntityManagerFactory emf = null;
 
+	/**
+	 * Connection pool backing the EntityManagerFactory.
+	 */
+	private static HikariDataSource dataSource = null;
+
+	/**
+	 * Acquisition metrics collected from the connection pool.
+	 */
+	private static PoolMetricsTracker metricsTracker = null;
+
+	/**
+	 * Reads an integer environment variable, falling back to a default if it is missing or malformed.
+	 *
+	 * @param name         the name of the environment variable
+	 * @param defaultValue the value to use if the variable is not set or is not a number
+	 * @return the configured value or the default
+	 */
+	private static int readIntEnv(String name, int defaultValue) {
+		String value = System.getenv(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			logger.warn("Invalid value for {}: {}, using {}", name, value, defaultValue);
+			return defaultValue;
+		}
+	}
+
 	/**
 	 * Gets the singleton instance of the JPA EntityManagerFactory.
 	 * <p>
@@ -72,17 +168,145 @@ public class MariaDBConnection {
 	 */
 	public static synchronized EntityManagerFactory getEntityManagerFactory() {
 		if (emf == null || !emf.isOpen()) {
-			Map<String, String> props = new HashMap<>();
-			props.put("jakarta.persistence.jdbc.url",
-			          "jdbc:mariadb://" + DB_HOST + ":" + DB_PORT + "/stms?useUnicode=true&characterEncoding=UTF-8");
-			props.put("jakarta.persistence.jdbc.user", USER);
-			props.put("jakarta.persistence.jdbc.password", PASSWORD);
+			if (dataSource == null || dataSource.isClosed()) {
+				dataSource = createDataSource();
+			}
+
+			Map<String, Object> props = new HashMap<>();
+			props.put("jakarta.persistence.nonJtaDataSource", RowCountingDataSource.wrap(dataSource));
 
 			emf = Persistence.createEntityManagerFactory("stms", props);
+			DaoMetrics.registerDatabase(emf.unwrap(SessionFactory.class).getStatistics());
+			alignIdGenerators();
 		}
 		return emf;
 	}
 
+	/**
+	 * Moves the id generators past the ids already in use.
+	 * <p>
+	 * Teaching sessions and assignments used to get AUTO_INCREMENT ids, and rows may still be inserted by
+	 * scripts that rely on it. Hibernate hands out a whole block of ids below the stored value at a time,
+	 * so the stored value is kept at least one block above the highest id in each table. The generators
+	 * are only ever moved forward, so clients starting at the same time cannot hand out an id twice.
+	 * </p>
+	 */
+	private static void alignIdGenerators() {
+		try (Connection conn = dataSource.getConnection();
+		     Statement statement = conn.createStatement()
+		) {
+			for (String table : POOLED_ID_TABLES) {
+				statement.addBatch(
+						"INSERT INTO id_generator (name, next_val) SELECT '" + table + "', COALESCE(MAX(id), 0) + " +
+						(ID_ALLOCATION_SIZE + 1) + " FROM " + table +
+						" ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))");
+			}
+			statement.executeBatch();
+		} catch (SQLException e) {
+			logger.error("Error aligning id generators: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Creates the pooled DataSource used by Hibernate.
+	 * <p>
+	 * The pool is bounded, keeps a minimum number of idle connections, retires connections before
+	 * MariaDB's wait_timeout, validates connections with a lightweight query and reports connections
+	 * that are held for suspiciously long.
+	 * </p>
+	 *
+	 * @return a new HikariDataSource connected to the STMS database
+	 */
+	private static HikariDataSource createDataSource() {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName("stms-pool");
+		config.setDriverClassName("org.mariadb.jdbc.Driver");
+		config.setJdbcUrl(
+				"jdbc:mariadb://" + DB_HOST + ":" + DB_PORT + "/stms?useUnicode=true&characterEncoding=UTF-8");
+		config.setUsername(USER);
+		config.setPassword(PASSWORD);
+
+		config.setMaximumPoolSize(POOL_MAX_SIZE);
+		config.setMinimumIdle(Math.min(POOL_MIN_IDLE, POOL_MAX_SIZE));
+		config.setMaxLifetime(POOL_MAX_LIFETIME);
+		config.setIdleTimeout(POOL_IDLE_TIMEOUT);
+		config.setConnectionTimeout(POOL_CONNECTION_TIMEOUT);
+		config.setLeakDetectionThreshold(POOL_LEAK_DETECTION);
+		config.setConnectionTestQuery(VALIDATION_QUERY);
+		config.setValidationTimeout(TimeUnit.SECONDS.toMillis(3));
+		config.setRegisterMbeans(true);
+
+		// Fail lazily so the application can still start and verify the database
+		config.setInitializationFailTimeout(-1);
+
+		metricsTracker = new PoolMetricsTracker();
+		config.setMetricsTrackerFactory(metricsTracker);
+
+		return new HikariDataSource(config);
+	}
+
+	/**
+	 * Returns a snapshot of the connection pool state.
+	 * <p>
+	 * The snapshot contains the active, idle and total connection counts, the number of threads
+	 * waiting for a connection and the accumulated acquisition wait times, which can be used to size the pool.
+	 * </p>
+	 *
+	 * @return the current pool statistics, or an empty snapshot if the pool has not been started
+	 */
+	public static synchronized ConnectionPoolStats getPoolStats() {
+		if (dataSource == null || dataSource.isClosed() || dataSource.getHikariPoolMXBean() == null) {
+			return ConnectionPoolStats.EMPTY;
+		}
+
+		HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+		return new ConnectionPoolStats(pool.getActiveConnections(), pool.getIdleConnections(),
+		                               pool.getTotalConnections(), dataSource.getMaximumPoolSize(),
+		                               pool.getThreadsAwaitingConnection(),
+		                               metricsTracker.getAcquisitions(), metricsTracker.getAverageAcquireMillis(),
+		                               metricsTracker.getMaxAcquireMillis(), metricsTracker.getTimeouts());
+	}
+
+	/**
+	 * Returns a snapshot of the second-level and query cache counters.
+	 *
+	 * @return the current cache statistics
+	 */
+	public static CacheStats getCacheStats() {
+		Statistics statistics = getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		return new CacheStats(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+		                      statistics.getSecondLevelCachePutCount(), statistics.getQueryCacheHitCount(),
+		                      statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+	}
+
+	/**
+	 * Returns a snapshot of the metrics of every DAO method called so far.
+	 * The same metrics are published over JMX as stms:type=DaoMethod beans.
+	 *
+	 * @return one entry per DAO method, the slowest on average first
+	 */
+	public static List<DaoMethodStats> getDaoMetrics() {
+		return DaoMetrics.snapshot();
+	}
+
+	/**
+	 * Returns the number of DAO calls made on the current thread that failed: they rolled back their transaction
+	 * or a statement they ran threw. Many DAO methods only log their errors, so a caller that needs to know whether
+	 * a call worked compares this count before and after it.
+	 *
+	 * @return the failed DAO calls of the current thread
+	 */
+	public static long getFailedDaoCalls() {
+		return DaoMetricsListener.failedCalls();
+	}
+
+	/**
+	 * Clears the metrics of every DAO method, for instance before measuring a single workload.
+	 */
+	public static void resetDaoMetrics() {
+		DaoMetrics.reset();
+	}
+
 	/**
 	 * Verifies that the STMS database exists and creates it if it doesn't.
 	 * <p>
@@ -111,7 +335,7 @@ public class MariaDBConnection {
 	 * <p>
 	 * This method should be called when the application is shutting down or
 	 * when database connections are no longer needed to properly release resources.
-	 * It safely closes the EntityManagerFactory if it exists and is open.
+	 * It safely closes the EntityManagerFactory and the connection pool if they are open.
 	 * </p>
 	 */
 	public void terminate() {
@@ -119,6 +343,9 @@ public class MariaDBConnection {
 			if (emf != null && emf.isOpen()) {
 				emf.close();
 			}
+			if (dataSource != null && !dataSource.isClosed()) {
+				dataSource.close();
+			}
 		} catch (Exception e) {
 			logger.error("Error closing database resources: {}", e.getMessage());
 		}
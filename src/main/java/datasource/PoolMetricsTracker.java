@@ -0,0 +1,83 @@
+package datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects connection acquisition timings from the Hikari pool.
+ * <p>
+ * Hikari reports every borrow through {@link IMetricsTracker#recordConnectionAcquiredNanos(long)}.
+ * The tracker keeps running totals so {@link MariaDBConnection#getPoolStats()} can report
+ * the acquisition wait without an external metrics library.
+ * </p>
+ */
+class PoolMetricsTracker implements MetricsTrackerFactory {
+
+	private final LongAdder acquisitions = new LongAdder();
+	private final LongAdder acquireNanos = new LongAdder();
+	private final AtomicLong maxAcquireNanos = new AtomicLong();
+	private final LongAdder timeouts = new LongAdder();
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		return new IMetricsTracker() {
+			@Override
+			public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+				acquisitions.increment();
+				acquireNanos.add(elapsedAcquiredNanos);
+				maxAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+			}
+
+			@Override
+			public void recordConnectionTimeout() {
+				timeouts.increment();
+			}
+		};
+	}
+
+	/**
+	 * Returns the number of connections handed out by the pool.
+	 *
+	 * @return the acquisition count
+	 */
+	long getAcquisitions() {
+		return acquisitions.sum();
+	}
+
+	/**
+	 * Returns the average time spent waiting for a connection.
+	 *
+	 * @return the average wait in milliseconds, or 0 if no connection has been acquired yet
+	 */
+	double getAverageAcquireMillis() {
+		long count = acquisitions.sum();
+		return count == 0 ? 0 : toMillis(acquireNanos.sum()) / count;
+	}
+
+	/**
+	 * Returns the longest time spent waiting for a connection.
+	 *
+	 * @return the maximum wait in milliseconds
+	 */
+	double getMaxAcquireMillis() {
+		return toMillis(maxAcquireNanos.get());
+	}
+
+	/**
+	 * Returns the number of acquisitions that timed out.
+	 *
+	 * @return the timeout count
+	 */
+	long getTimeouts() {
+		return timeouts.sum();
+	}
+
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
@@ -0,0 +1,79 @@
+package datasource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+
+/**
+ * Wraps the DataSource handed to Hibernate so every row read from a result set is counted by
+ * {@link DaoMetricsListener#countRow()}, and every JDBC call that fails by {@link DaoMetricsListener#countFailure()}.
+ * <p>
+ * The connections, statements and result sets it returns are proxies that forward every call, so Hibernate and
+ * the pool see no difference. Only {@link ResultSet#next()} does extra work, a thread-local lookup per row.
+ * </p>
+ */
+final class RowCountingDataSource {
+
+	private RowCountingDataSource() {
+	}
+
+	/**
+	 * Wraps a DataSource.
+	 *
+	 * @param dataSource the DataSource to read from
+	 * @return a DataSource whose result sets count their rows
+	 */
+	static DataSource wrap(DataSource dataSource) {
+		return proxy(DataSource.class, dataSource);
+	}
+
+	private static <T> T proxy(Class<T> type, T target) {
+		return type.cast(Proxy.newProxyInstance(RowCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+		                                        new Forwarder(target)));
+	}
+
+	private record Forwarder(Object target) implements InvocationHandler {
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result;
+			try {
+				result = method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof SQLException && !(cause instanceof SQLFeatureNotSupportedException)) {
+					DaoMetricsListener.countFailure();
+				}
+				throw cause;
+			}
+
+			if (result == null) {
+				return null;
+			}
+			if (target instanceof ResultSet && method.getName().equals("next")) {
+				if ((Boolean) result) {
+					DaoMetricsListener.countRow();
+				}
+				return result;
+			}
+			// Statements are created by connections, and result sets by statements
+			Class<?> type = method.getReturnType();
+			if ((type == Connection.class || Statement.class.isAssignableFrom(type) || type == ResultSet.class)
+			    && type.isInstance(result)) {
+				return wrapAs(type, result);
+			}
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> T wrapAs(Class<T> type, Object result) {
+			return proxy(type, (T) result);
+		}
+	}
+}
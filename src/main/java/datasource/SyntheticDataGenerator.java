@@ -0,0 +1,363 @@
+package datasource;
+
+import dao.AssignmentDAO;
+import dao.LocationDAO;
+import dao.SubjectDAO;
+import dao.TeachingSessionDAO;
+import dao.TeachingSessionOverrideDAO;
+import dao.TimetableDAO;
+import dao.UserDAO;
+import dao.UserGroupDAO;
+import dto.RecurrenceDTO;
+import entity.AssignmentEntity;
+import entity.LocationEntity;
+import entity.Role;
+import entity.SubjectEntity;
+import entity.TeachingSessionEntity;
+import entity.TimetableEntity;
+import entity.UserEntity;
+import entity.UserGroupEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Fills the database with a synthetic university, to reproduce the load of production-sized data.
+ * <p>
+ * The generated data only depends on the {@link Config}, so two runs with the same seed produce the same
+ * users, groups, memberships, locations, subjects, teaching sessions and assignments, and measurements
+ * taken on them can be compared. Only the password salts and the database IDs differ between runs.
+ * </p>
+ * <p>
+ * Everything is inserted through the DAO layer, each kind of entity in one batched transaction. The existing
+ * data in the database is deleted first. The sessions are placed at random, so unlike a real timetable they
+ * contain double bookings.
+ * </p>
+ */
+public class SyntheticDataGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+	private static final String[] FIRST_NAMES = {
+			"Aiko", "Bopha", "Chris", "Dara", "Emma", "Haruto", "Jonas", "Kanya", "Laura", "Mika", "Noah", "Sokha",
+			"Sofia", "Takumi", "Veasna", "Yui"
+	};
+	private static final String[] LAST_NAMES = {
+			"Chan", "Heng", "Ito", "Korhonen", "Lim", "Meas", "Nieminen", "Sato", "Smith", "Suzuki", "Virtanen", "Yamada"
+	};
+	private static final String[] SUBJECT_AREAS = {
+			"Mathematics", "Physics", "Chemistry", "Programming", "Databases", "Networks", "Economics", "Design",
+			"English", "Japanese", "Khmer", "History"
+	};
+	private static final String[] CAMPUSES = {"Karamalmi", "Myllypuro", "Myyrmäki"};
+	private static final String[] ASSIGNMENT_TYPES = {"Homework", "Project", "Essay", "Exam"};
+	private static final Map<String, String> SESSION_DESCRIPTIONS =
+			Map.of("en-US", "Lecture", "ja-JP", "講義", "km-KH", "ការបង្រៀន");
+
+	private final SubjectDAO subjectDAO = new SubjectDAO();
+	private final LocationDAO locationDAO = new LocationDAO();
+	private final UserDAO userDAO = new UserDAO();
+	private final UserGroupDAO userGroupDAO = new UserGroupDAO();
+	private final TimetableDAO timetableDAO = new TimetableDAO();
+	private final TeachingSessionDAO teachingSessionDAO = new TeachingSessionDAO();
+	private final TeachingSessionOverrideDAO teachingSessionOverrideDAO = new TeachingSessionOverrideDAO();
+	private final AssignmentDAO assignmentDAO = new AssignmentDAO();
+
+	/**
+	 * What to generate.
+	 *
+	 * @param seed                  The seed all generated values are derived from
+	 * @param users                 The number of users, teachers included
+	 * @param teachers              The number of users that are teachers
+	 * @param groups                The number of groups, each filled up to its capacity with students
+	 * @param locations             The number of locations
+	 * @param subjects              The number of subjects
+	 * @param termStart             The first day of the term
+	 * @param termWeeks             The length of the term in weeks
+	 * @param weeklyClassesPerGroup The number of weekly recurring teaching sessions of each group
+	 * @param singleClassesPerGroup The number of teaching sessions of each group that do not repeat
+	 * @param assignmentsPerGroup   The number of assignments of each group
+	 * @param localeCodes           The locale codes the events are spread over
+	 * @param password              The password of every generated user
+	 */
+	public record Config(long seed, int users, int teachers, int groups, int locations, int subjects,
+	                     LocalDate termStart, int termWeeks, int weeklyClassesPerGroup, int singleClassesPerGroup,
+	                     int assignmentsPerGroup, List<String> localeCodes, String password) {
+
+		public Config {
+			if (teachers < 1 || users <= teachers) {
+				throw new IllegalArgumentException("There must be at least one teacher and one student.");
+			}
+			if (groups > 0 && (locations < 1 || subjects < 1)) {
+				throw new IllegalArgumentException("Groups need at least one location and one subject.");
+			}
+			if (termWeeks < 1 || localeCodes.isEmpty()) {
+				throw new IllegalArgumentException("The term needs at least one week and one locale.");
+			}
+			localeCodes = List.copyOf(localeCodes);
+		}
+
+		/**
+		 * Returns the size of a university: 20 000 users, 800 full groups, 300 locations and 400 subjects,
+		 * with a 16-week term of classes and assignments in every supported locale.
+		 *
+		 * @param seed The seed all generated values are derived from
+		 * @return The configuration
+		 */
+		public static Config university(long seed) {
+			return new Config(seed, 20_000, 500, 800, 300, 400, LocalDate.of(2025, 9, 1), 16, 3, 8, 10,
+			                  List.of("en-US", "ja-JP", "km-KH"), "password");
+		}
+	}
+
+	/**
+	 * The number of stored rows of each kind.
+	 */
+	public record Summary(int users, int groups, int memberships, int locations, int subjects, int teachingSessions,
+	                      int assignments) {
+	}
+
+	/**
+	 * Deletes all data and generates a new data set.
+	 * <p>
+	 * Each kind of row is stored in a transaction of its own, and the first one that fails ends the run, so the
+	 * returned counts are only reached once every row has been stored.
+	 * </p>
+	 *
+	 * @param config What to generate
+	 * @return The number of stored rows of each kind
+	 * @throws jakarta.persistence.PersistenceException if a kind of row cannot be stored; the kinds stored before
+	 *                                                  it are kept, and the next run deletes them
+	 */
+	public Summary generate(Config config) {
+		Random random = new Random(config.seed());
+		long startedAt = System.nanoTime();
+
+		deleteAll();
+
+		List<SubjectEntity> subjects = generateSubjects(config);
+		subjectDAO.persistAll(subjects);
+		List<LocationEntity> locations = generateLocations(config);
+		locationDAO.persistAll(locations);
+		logProgress("subjects and locations", startedAt);
+
+		List<UserEntity> users = generateUsers(config, random);
+		userDAO.persistAll(users);
+		logProgress("users", startedAt);
+
+		List<UserEntity> teachers = users.subList(0, config.teachers());
+		List<UserEntity> students = users.subList(config.teachers(), users.size());
+		List<UserGroupEntity> groups = generateGroups(config, random, teachers, students, subjects);
+		userGroupDAO.persistAll(groups);
+		logProgress("groups", startedAt);
+
+		List<TeachingSessionEntity> teachingSessions = generateTeachingSessions(config, random, groups, locations);
+		teachingSessionDAO.persistAll(teachingSessions);
+		List<AssignmentEntity> assignments = generateAssignments(config, random, groups);
+		assignmentDAO.persistAll(assignments);
+		logProgress("teaching sessions and assignments", startedAt);
+
+		int memberships = groups.stream().mapToInt(group -> group.getStudents().size()).sum();
+		return new Summary(users.size(), groups.size(), memberships, locations.size(), subjects.size(),
+		                   teachingSessions.size(), assignments.size());
+	}
+
+	private void deleteAll() {
+		assignmentDAO.deleteAll();
+		teachingSessionOverrideDAO.deleteAll();
+		teachingSessionDAO.deleteAll();
+		// Also deletes the groups and users that refer to the timetables
+		timetableDAO.deleteAll();
+		locationDAO.deleteAll();
+		subjectDAO.deleteAll();
+	}
+
+	private static void logProgress(String step, long startedAt) {
+		logger.info("Generated {} after {} ms", step, (System.nanoTime() - startedAt) / 1_000_000);
+	}
+
+	private static List<SubjectEntity> generateSubjects(Config config) {
+		List<SubjectEntity> subjects = new ArrayList<>(config.subjects());
+		for (int i = 0; i < config.subjects(); i++) {
+			String area = SUBJECT_AREAS[i % SUBJECT_AREAS.length];
+			subjects.add(new SubjectEntity(area + " " + (i / SUBJECT_AREAS.length + 1), "SUB%04d".formatted(i)));
+		}
+		return subjects;
+	}
+
+	private static List<LocationEntity> generateLocations(Config config) {
+		List<LocationEntity> locations = new ArrayList<>(config.locations());
+		for (int i = 0; i < config.locations(); i++) {
+			String campus = CAMPUSES[i % CAMPUSES.length];
+			String building = String.valueOf((char) ('A' + i / CAMPUSES.length % 6));
+			locations.add(new LocationEntity("%s %s%03d".formatted(campus, building, i), campus, building));
+		}
+		return locations;
+	}
+
+	private static List<UserEntity> generateUsers(Config config, Random random) {
+		List<UserEntity> users = new ArrayList<>(config.users());
+		for (int i = 0; i < config.users(); i++) {
+			boolean teacher = i < config.teachers();
+			String username = teacher ? "teacher" + i : "student" + (i - config.teachers());
+			LocalDateTime dateOfBirth = LocalDate.of(teacher ? 1960 : 1995, 1, 1)
+			                                     .plusDays(random.nextInt(teacher ? 12_000 : 3_000))
+			                                     .atStartOfDay();
+
+			users.add(new UserEntity(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+			                         LAST_NAMES[random.nextInt(LAST_NAMES.length)], username, config.password(),
+			                         Timestamp.valueOf(dateOfBirth), "%s%010d".formatted(teacher ? "T" : "S", i),
+			                         teacher ? Role.TEACHER : Role.STUDENT, new TimetableEntity()));
+		}
+		return users;
+	}
+
+	/**
+	 * Generates groups with a random teacher, subject and capacity, each filled with distinct random students.
+	 */
+	private static List<UserGroupEntity> generateGroups(Config config, Random random, List<UserEntity> teachers,
+	                                                    List<UserEntity> students, List<SubjectEntity> subjects) {
+		int[] order = new int[students.size()];
+		Arrays.setAll(order, i -> i);
+
+		List<UserGroupEntity> groups = new ArrayList<>(config.groups());
+		for (int i = 0; i < config.groups(); i++) {
+			int capacity = Math.min(15 + random.nextInt(26), students.size());
+			// The first entries of a partial Fisher-Yates shuffle are a uniform sample without repetition
+			Set<UserEntity> members = new HashSet<>();
+			for (int j = 0; j < capacity; j++) {
+				int k = j + random.nextInt(order.length - j);
+				int swapped = order[j];
+				order[j] = order[k];
+				order[k] = swapped;
+				members.add(students.get(order[j]));
+			}
+
+			groups.add(new UserGroupEntity("Group %04d".formatted(i), "G%04d".formatted(i), capacity,
+			                               teachers.get(random.nextInt(teachers.size())), members,
+			                               subjects.get(random.nextInt(subjects.size())), new TimetableEntity()));
+		}
+		return groups;
+	}
+
+	private static List<TeachingSessionEntity> generateTeachingSessions(Config config, Random random,
+	                                                                    List<UserGroupEntity> groups,
+	                                                                    List<LocationEntity> locations) {
+		LocalDateTime termEnd = config.termStart().plusWeeks(config.termWeeks()).atStartOfDay();
+		List<TeachingSessionEntity> teachingSessions = new ArrayList<>();
+
+		for (UserGroupEntity group : groups) {
+			Supplier<LocalDateTime> classStart = () -> config.termStart()
+			                                                 .with(DayOfWeek.MONDAY)
+			                                                 .plusDays(random.nextInt(5))
+			                                                 .atTime(8 + random.nextInt(9), 15 * random.nextInt(4));
+
+			for (int i = 0; i < config.weeklyClassesPerGroup() + config.singleClassesPerGroup(); i++) {
+				boolean weekly = i < config.weeklyClassesPerGroup();
+				LocalDateTime start = classStart.get();
+				if (!weekly) {
+					start = start.plusWeeks(random.nextInt(config.termWeeks()));
+				}
+				String localeCode = config.localeCodes().get(random.nextInt(config.localeCodes().size()));
+
+				TeachingSessionEntity teachingSession = new TeachingSessionEntity();
+				teachingSession.setStartDate(Timestamp.valueOf(start));
+				teachingSession.setEndDate(Timestamp.valueOf(start.plusMinutes(45L * (1 + random.nextInt(3)))));
+				teachingSession.setLocation(locations.get(random.nextInt(locations.size())));
+				teachingSession.setSubject(group.getSubject());
+				teachingSession.setTimetable(group.getTimetable());
+				teachingSession.setLocaleCode(localeCode);
+				teachingSession.setDescription(SESSION_DESCRIPTIONS.getOrDefault(localeCode, "Lecture"));
+				if (weekly) {
+					teachingSession.setRecurrenceFrequency(RecurrenceDTO.Frequency.WEEKLY.name());
+					teachingSession.setRecurrenceInterval(1);
+					teachingSession.setRecurrenceUntil(Timestamp.valueOf(termEnd));
+				}
+				teachingSessions.add(teachingSession);
+			}
+		}
+		return teachingSessions;
+	}
+
+	private static List<AssignmentEntity> generateAssignments(Config config, Random random,
+	                                                          List<UserGroupEntity> groups) {
+		int termDays = config.termWeeks() * 7;
+		List<AssignmentEntity> assignments = new ArrayList<>();
+
+		for (UserGroupEntity group : groups) {
+			for (int i = 0; i < config.assignmentsPerGroup(); i++) {
+				LocalDateTime deadline = config.termStart().plusDays(random.nextInt(termDays)).atTime(23, 59);
+				String type = ASSIGNMENT_TYPES[random.nextInt(ASSIGNMENT_TYPES.length)];
+
+				AssignmentEntity assignment = new AssignmentEntity();
+				assignment.setName(type + " " + (i + 1));
+				assignment.setType(type);
+				assignment.setDescription(group.getSubject().getName() + " " + type.toLowerCase());
+				assignment.setPublishingDate(Timestamp.valueOf(deadline.minusDays(7L + random.nextInt(14))));
+				assignment.setDeadline(Timestamp.valueOf(deadline));
+				assignment.setSubject(group.getSubject());
+				assignment.setTimetable(group.getTimetable());
+				assignment.setLocaleCode(config.localeCodes().get(random.nextInt(config.localeCodes().size())));
+				assignments.add(assignment);
+			}
+		}
+		return assignments;
+	}
+
+	/**
+	 * Parses options such as {@code --seed=7 --users=5000} over the university-sized defaults.
+	 *
+	 * @param args The options, other arguments are ignored
+	 * @return The configuration
+	 * @throws IllegalArgumentException if an option is unknown or its value is not valid
+	 */
+	public static Config parseConfig(String... args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (arg.startsWith("--") && separator > 2) {
+				options.put(arg.substring(2, separator), arg.substring(separator + 1));
+			}
+		}
+
+		Config defaults = Config.university(Long.parseLong(options.getOrDefault("seed", "42")));
+		for (String option : options.keySet()) {
+			if (!Set.of("seed", "users", "teachers", "groups", "locations", "subjects", "term-start", "term-weeks",
+			            "weekly-classes", "single-classes", "assignments", "locales", "password").contains(option)) {
+				throw new IllegalArgumentException("Unknown option --" + option);
+			}
+		}
+
+		return new Config(
+				defaults.seed(),
+				intOption(options, "users", defaults.users()),
+				intOption(options, "teachers", defaults.teachers()),
+				intOption(options, "groups", defaults.groups()),
+				intOption(options, "locations", defaults.locations()),
+				intOption(options, "subjects", defaults.subjects()),
+				options.containsKey("term-start") ? LocalDate.parse(options.get("term-start")) : defaults.termStart(),
+				intOption(options, "term-weeks", defaults.termWeeks()),
+				intOption(options, "weekly-classes", defaults.weeklyClassesPerGroup()),
+				intOption(options, "single-classes", defaults.singleClassesPerGroup()),
+				intOption(options, "assignments", defaults.assignmentsPerGroup()),
+				options.containsKey("locales") ? List.of(options.get("locales").split(",")) : defaults.localeCodes(),
+				options.getOrDefault("password", defaults.password()));
+	}
+
+	private static int intOption(Map<String, String> options, String name, int defaultValue) {
+		return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+	}
+}
@@ -0,0 +1,21 @@
+package dto;
+
+/**
+ * Data Transfer Object (DTO) representing two teaching sessions that are booked at overlapping times
+ * although they need the same location, timetable or teacher.
+ *
+ * @param kind             What both sessions need at the same time
+ * @param event            The teaching session or occurrence that was checked
+ * @param conflictingEvent The teaching session or occurrence it overlaps with
+ */
+public record ConflictDTO(Kind kind, TeachingSessionDTO event, TeachingSessionDTO conflictingEvent) {
+
+	/**
+	 * What two overlapping teaching sessions both need.
+	 */
+	public enum Kind {
+		LOCATION,
+		TIMETABLE,
+		TEACHER
+	}
+}
@@ -0,0 +1,54 @@
+package dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing how a teaching session repeats, in the spirit of an iCalendar RRULE.
+ * A series is stored once and its occurrences are expanded only for the period that is being viewed.
+ *
+ * @param frequency The unit the series repeats in
+ * @param interval  The number of units between two occurrences, 1 for every week or day
+ * @param until     The last moment an occurrence may start, or null if the series does not end
+ */
+public record RecurrenceDTO(Frequency frequency, int interval, LocalDateTime until) {
+
+	/**
+	 * The unit a series repeats in.
+	 */
+	public enum Frequency {
+		DAILY,
+		WEEKLY
+	}
+
+	public RecurrenceDTO {
+		if (frequency == null) {
+			throw new IllegalArgumentException("Recurrence frequency cannot be null.");
+		}
+		if (interval < 1) {
+			throw new IllegalArgumentException("Recurrence interval must be at least 1.");
+		}
+	}
+
+	/**
+	 * Returns the start of an occurrence of a series.
+	 *
+	 * @param seriesStart The start of the first occurrence
+	 * @param index       The 0-based index of the occurrence
+	 * @return The start of the occurrence
+	 */
+	public LocalDateTime occurrenceStart(LocalDateTime seriesStart, long index) {
+		return switch (frequency) {
+			case DAILY -> seriesStart.plusDays(index * interval);
+			case WEEKLY -> seriesStart.plusWeeks(index * interval);
+		};
+	}
+
+	/**
+	 * Returns the number of days between two occurrences.
+	 *
+	 * @return The length of one step of the series in days
+	 */
+	public long stepDays() {
+		return frequency == Frequency.WEEKLY ? 7L * interval : interval;
+	}
+}
@@ -0,0 +1,14 @@
+package dto;
+
+import java.time.Duration;
+
+/**
+ * Data Transfer Object (DTO) reporting the progress of a term timetable generation.
+ *
+ * @param elapsed   The time spent searching so far
+ * @param conflicts The number of double bookings left in the best timetable found so far
+ * @param penalty   How unevenly the best timetable spreads the hours of a subject over the week
+ * @param finished  Whether the search has ended
+ */
+public record ScheduleProgressDTO(Duration elapsed, int conflicts, int penalty, boolean finished) {
+}
@@ -6,8 +6,31 @@ import java.time.LocalDateTime;
  * Data Transfer Object (DTO) representing a teaching session event.
  * Contains session scheduling information, location details, and descriptive content.
  * Implements the {@link Event} interface for integration with the timetable system.
+ * <p>
+ * A recurring teaching session carries its {@link RecurrenceDTO}. The occurrences of a series that are shown
+ * in a timetable share the ID of the series and also carry the original start of the occurrence, which
+ * identifies the occurrence when it is changed or cancelled on its own.
+ * </p>
  */
 public record TeachingSessionDTO(
 		Long id, LocalDateTime startDate, LocalDateTime endDate, String locationName, String subjectCode,
-		String description, long timetableId, String localeCode) implements Event {
+		String description, long timetableId, String localeCode, RecurrenceDTO recurrence,
+		LocalDateTime originalStart) implements Event {
+
+	/**
+	 * Creates a teaching session that does not repeat.
+	 */
+	public TeachingSessionDTO(Long id, LocalDateTime startDate, LocalDateTime endDate, String locationName,
+	                          String subjectCode, String description, long timetableId, String localeCode) {
+		this(id, startDate, endDate, locationName, subjectCode, description, timetableId, localeCode, null, null);
+	}
+
+	/**
+	 * Returns whether this is a single occurrence of a recurring teaching session.
+	 *
+	 * @return true if the session was expanded from a series
+	 */
+	public boolean isOccurrence() {
+		return originalStart != null;
+	}
 }
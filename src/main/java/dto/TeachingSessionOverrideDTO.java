@@ -0,0 +1,20 @@
+package dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) representing a change to a single occurrence of a recurring teaching session.
+ * Fields that are null keep the value of the series.
+ *
+ * @param teachingSessionId The ID of the recurring teaching session
+ * @param originalStart     The start the occurrence would have without the change
+ * @param cancelled         Whether the occurrence was cancelled
+ * @param startDate         The new start of the occurrence
+ * @param endDate           The new end of the occurrence
+ * @param locationName      The new location of the occurrence
+ * @param description       The new description of the occurrence
+ */
+public record TeachingSessionOverrideDTO(
+		long teachingSessionId, LocalDateTime originalStart, boolean cancelled, LocalDateTime startDate,
+		LocalDateTime endDate, String locationName, String description) {
+}
@@ -0,0 +1,52 @@
+package dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Data Transfer Object (DTO) describing the teaching that a generated term timetable must contain.
+ * Each requirement is scheduled as weekly one-hour teaching sessions that repeat until the end of the term.
+ *
+ * @param termStart           The first day of the term
+ * @param termEnd             The last day of the term
+ * @param localeCode          The locale code of the generated teaching sessions
+ * @param requirements        The weekly hours of each group and subject
+ * @param roomCapacities      The number of seats of each location by name, locations without an entry have no limit
+ * @param teacherUnavailable  The weekly hours each teacher cannot teach, by teacher ID
+ */
+public record TermPlanDTO(LocalDate termStart, LocalDate termEnd, String localeCode,
+                          List<Requirement> requirements, Map<String, Integer> roomCapacities,
+                          Map<Long, Set<WeeklySlot>> teacherUnavailable) {
+
+	/**
+	 * The teaching a group needs every week.
+	 *
+	 * @param groupName   The name of the group
+	 * @param subjectCode The subject that is taught
+	 * @param weeklyHours The number of one-hour teaching sessions per week
+	 */
+	public record Requirement(String groupName, String subjectCode, int weeklyHours) {
+	}
+
+	/**
+	 * An hour of the teaching week.
+	 *
+	 * @param day   The day of the week
+	 * @param start The start of the hour
+	 */
+	public record WeeklySlot(DayOfWeek day, LocalTime start) {
+	}
+
+	public TermPlanDTO {
+		if (termStart == null || termEnd == null || termEnd.isBefore(termStart.plusDays(6))) {
+			throw new IllegalArgumentException("The term must last at least one week.");
+		}
+		requirements = List.copyOf(requirements);
+		roomCapacities = roomCapacities == null ? Map.of() : Map.copyOf(roomCapacities);
+		teacherUnavailable = teacherUnavailable == null ? Map.of() : Map.copyOf(teacherUnavailable);
+	}
+}
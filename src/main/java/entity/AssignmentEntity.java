@@ -5,19 +5,29 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.sql.Timestamp;
 import java.util.Objects;
 
 
 @Entity
-@Table(name = "assignment")
+// Range lookups by deadline, per timetable and locale
+@Table(name = "assignment", indexes = {
+		@Index(name = "idx_assignment_deadline", columnList = "deadline"),
+		@Index(name = "idx_assignment_timetable_deadline", columnList = "timetable_id, deadline"),
+		@Index(name = "idx_assignment_timetable_locale_deadline", columnList = "timetable_id, locale_code, deadline")
+})
 public class AssignmentEntity {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// Ids are handed out in blocks of 50 so inserts can be batched, see MariaDBConnection#alignIdGenerators
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "assignment_id")
+	@TableGenerator(name = "assignment_id", table = "id_generator", pkColumnName = "name", valueColumnName = "next_val",
+	                pkColumnValue = "assignment", allocationSize = 50)
 	private Long id;
 
 	@Column(nullable = false)
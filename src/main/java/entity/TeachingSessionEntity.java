@@ -5,20 +5,32 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.sql.Timestamp;
 import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "teaching_session")
+// Range lookups by period, per timetable and locale; series are found by their frequency
+@Table(name = "teaching_session", indexes = {
+		@Index(name = "idx_teaching_session_start", columnList = "start_date"),
+		@Index(name = "idx_teaching_session_timetable_start", columnList = "timetable_id, start_date"),
+		@Index(name = "idx_teaching_session_timetable_locale_start",
+		       columnList = "timetable_id, locale_code, start_date"),
+		@Index(name = "idx_teaching_session_recurrence", columnList = "recurrence_frequency, start_date")
+})
 public class TeachingSessionEntity {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	// Ids are handed out in blocks of 50 so inserts can be batched, see MariaDBConnection#alignIdGenerators
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "teaching_session_id")
+	@TableGenerator(name = "teaching_session_id", table = "id_generator", pkColumnName = "name", valueColumnName = "next_val",
+	                pkColumnValue = "teaching_session", allocationSize = 50)
 	private Long id;
 
 	@Column(name = "start_date", nullable = false)
@@ -48,6 +60,16 @@ public class TeachingSessionEntity {
 	@Column(nullable = false, name = "locale_code")
 	private String localeCode;
 
+	// A recurring session is stored as one row, its occurrences are expanded when a period is loaded
+	@Column(name = "recurrence_frequency")
+	private String recurrenceFrequency;
+
+	@Column(name = "recurrence_interval")
+	private Integer recurrenceInterval;
+
+	@Column(name = "recurrence_until")
+	private Timestamp recurrenceUntil;
+
 	public TeachingSessionEntity() {
 	}
 
@@ -134,6 +156,30 @@ public class TeachingSessionEntity {
 		this.localeCode = localeCode;
 	}
 
+	public String getRecurrenceFrequency() {
+		return recurrenceFrequency;
+	}
+
+	public void setRecurrenceFrequency(String recurrenceFrequency) {
+		this.recurrenceFrequency = recurrenceFrequency;
+	}
+
+	public Integer getRecurrenceInterval() {
+		return recurrenceInterval;
+	}
+
+	public void setRecurrenceInterval(Integer recurrenceInterval) {
+		this.recurrenceInterval = recurrenceInterval;
+	}
+
+	public Timestamp getRecurrenceUntil() {
+		return recurrenceUntil;
+	}
+
+	public void setRecurrenceUntil(Timestamp recurrenceUntil) {
+		this.recurrenceUntil = recurrenceUntil;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -0,0 +1,150 @@
+package entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+/**
+ * A change to one occurrence of a recurring teaching session, identified by the start the occurrence would
+ * otherwise have. The occurrence is either cancelled or moved, relocated or described differently;
+ * columns that are null keep the value of the series.
+ */
+@Entity
+@Table(name = "teaching_session_override",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"teaching_session_id", "original_start"}))
+public class TeachingSessionOverrideEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// Removed by the database with the series, since teaching sessions are also deleted with bulk statements
+	@ManyToOne(optional = false)
+	@JoinColumn(name = "teaching_session_id", nullable = false)
+	@OnDelete(action = OnDeleteAction.CASCADE)
+	private TeachingSessionEntity teachingSession;
+
+	@Column(name = "original_start", nullable = false)
+	private Timestamp originalStart;
+
+	@Column(nullable = false)
+	private boolean cancelled;
+
+	@Column(name = "start_date")
+	private Timestamp startDate;
+
+	@Column(name = "end_date")
+	private Timestamp endDate;
+
+	@ManyToOne
+	@JoinColumn(name = "location_id")
+	private LocationEntity location;
+
+	@Column
+	private String description;
+
+	public TeachingSessionOverrideEntity() {
+	}
+
+	public TeachingSessionOverrideEntity(TeachingSessionEntity teachingSession, Timestamp originalStart,
+	                                     boolean cancelled) {
+		this.teachingSession = teachingSession;
+		this.originalStart = originalStart;
+		this.cancelled = cancelled;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public TeachingSessionEntity getTeachingSession() {
+		return teachingSession;
+	}
+
+	public void setTeachingSession(TeachingSessionEntity teachingSession) {
+		this.teachingSession = teachingSession;
+	}
+
+	public Timestamp getOriginalStart() {
+		return originalStart;
+	}
+
+	public void setOriginalStart(Timestamp originalStart) {
+		this.originalStart = originalStart;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	public void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+
+	public Timestamp getStartDate() {
+		return startDate;
+	}
+
+	public void setStartDate(Timestamp startDate) {
+		this.startDate = startDate;
+	}
+
+	public Timestamp getEndDate() {
+		return endDate;
+	}
+
+	public void setEndDate(Timestamp endDate) {
+		this.endDate = endDate;
+	}
+
+	public LocationEntity getLocation() {
+		return location;
+	}
+
+	public void setLocation(LocationEntity location) {
+		this.location = location;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (o == null || getClass() != o.getClass()) {
+			return false;
+		}
+
+		TeachingSessionOverrideEntity that = (TeachingSessionOverrideEntity) o;
+
+		return Objects.equals(id, that.id)
+				&& Objects.equals(teachingSession, that.teachingSession)
+				&& Objects.equals(originalStart, that.originalStart);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id, teachingSession, originalStart);
+	}
+}
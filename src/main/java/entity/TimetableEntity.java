@@ -1,14 +1,19 @@
 package entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 
 @Entity
 @Table(name = "timetable")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "timetable")
 public class TimetableEntity {
 
 	@Id
@@ -56,12 +56,12 @@ public class UserEntity {
 	@JoinColumn(name = "timetable_id", nullable = false)
 	private TimetableEntity timetable;
 
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "belongs_to", joinColumns = @JoinColumn(name = "user_id"),
 	           inverseJoinColumns = @JoinColumn(name = "group_id"))
 	private Set<UserGroupEntity> groups;
 
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "teaches", joinColumns = @JoinColumn(name = "user_id"),
 	           inverseJoinColumns = @JoinColumn(name = "teaching_session_id"))
 	private Set<TeachingSessionEntity> teachingSessions;
@@ -10,6 +10,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import java.util.Objects;
@@ -17,8 +19,14 @@ import java.util.Set;
 
 @Entity
 @Table(name = "user_group")
+@NamedEntityGraph(name = UserGroupEntity.WITH_STUDENTS, attributeNodes = @NamedAttributeNode("students"))
 public class UserGroupEntity {
 
+	/**
+	 * Name of the entity graph that loads the group together with its students.
+	 */
+	public static final String WITH_STUDENTS = "UserGroupEntity.students";
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
@@ -36,7 +44,7 @@ public class UserGroupEntity {
 	@JoinColumn(name = "teacher_id", nullable = false)
 	private UserEntity teacher;
 
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "belongs_to", joinColumns = @JoinColumn(name = "group_id"),
 	           inverseJoinColumns = @JoinColumn(name = "user_id"))
 	private Set<UserEntity> students;
@@ -138,7 +146,8 @@ public class UserGroupEntity {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(id, name, code, capacity, teacher, students, subject, timetable);
+		// Students are lazy and deliberately left out so hashing never triggers a load
+		return Objects.hash(id, name, code, capacity, teacher, subject, timetable);
 	}
 
 	@Override
@@ -155,7 +164,6 @@ public class UserGroupEntity {
 				&& Objects.equals(code, userGroup.code)
 				&& Objects.equals(capacity, userGroup.capacity)
 				&& Objects.equals(teacher, userGroup.teacher)
-				&& Objects.equals(students, userGroup.students)
 				&& Objects.equals(subject, userGroup.subject)
 				&& Objects.equals(timetable, userGroup.timetable);
 	}
@@ -0,0 +1,56 @@
+package loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies and errors of one operation from many threads.
+ * Every latency is kept, so the percentiles are exact rather than estimated from buckets.
+ */
+final class LatencyRecorder {
+
+	private long[] latencies = new long[1024];
+	private int count;
+	private int errors;
+
+	/**
+	 * Records a completed operation.
+	 *
+	 * @param nanos   The latency of the operation in nanoseconds
+	 * @param success false if the operation failed
+	 */
+	synchronized void record(long nanos, boolean success) {
+		if (count == latencies.length) {
+			latencies = Arrays.copyOf(latencies, count * 2);
+		}
+		latencies[count++] = nanos;
+		if (!success) {
+			errors++;
+		}
+	}
+
+	synchronized int count() {
+		return count;
+	}
+
+	synchronized int errors() {
+		return errors;
+	}
+
+	/**
+	 * Returns the latencies at the given percentiles, using the nearest-rank method.
+	 *
+	 * @param percentiles The percentiles, between 0 and 100
+	 * @return The latencies in nanoseconds, in the order of the percentiles, all 0 if nothing was recorded
+	 */
+	synchronized long[] percentiles(double... percentiles) {
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+
+		long[] values = new long[percentiles.length];
+		for (int i = 0; i < percentiles.length && count > 0; i++) {
+			int rank = (int) Math.ceil(percentiles[i] / 100 * count);
+			values[i] = sorted[Math.max(rank, 1) - 1];
+		}
+		return values;
+	}
+}
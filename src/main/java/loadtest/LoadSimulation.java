@@ -0,0 +1,475 @@
+package loadtest;
+
+import controller.EventController;
+import controller.GroupController;
+import controller.TimetableController;
+import controller.UserController;
+import datasource.MariaDBConnection;
+import dto.AssignmentDTO;
+import dto.Event;
+import dto.GroupDTO;
+import model.UserPreferences;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Simulates many users of the application at once, to find how many clients one database can serve.
+ * <p>
+ * Every client runs on its own virtual thread and goes through the controllers like the user interface does:
+ * it logs in, browses weeks of the term, opens groups and, if it is a teacher, adds and edits assignments,
+ * with a random think time between the actions. After a number of actions it logs out and in as another user.
+ * The clients use the accounts made by {@link datasource.SyntheticDataGenerator}, and the assignments they add
+ * are left in the database.
+ * </p>
+ * <p>
+ * The latency of every operation is recorded after the warm-up, and reported with its percentiles, throughput
+ * and error rate. An operation fails when it throws, or when one of the DAO calls it makes fails even though the
+ * DAO only logged the error, see {@link MariaDBConnection#getFailedDaoCalls()}.
+ * </p>
+ * <p>
+ * All clients share the caches and the connection pool of this one process, at most DB_POOL_MAX_SIZE connections
+ * and 20 by default. A sweep therefore finds the limit of that pool and of this process, not of the database
+ * server; several processes are needed to load the server as many installations of the application would.
+ * </p>
+ */
+public class LoadSimulation {
+
+	private static final String LOCALE_CODE = "en-US";
+	private static final String ADDED_DESCRIPTION = "Added by the load simulation";
+
+	private final Config config;
+
+	/**
+	 * The operations whose latencies are reported.
+	 */
+	public enum Operation {
+		LOGIN, BROWSE_WEEK, OPEN_GROUP, ADD_EVENT, EDIT_EVENT
+	}
+
+	/**
+	 * How the clients behave.
+	 *
+	 * @param clientCounts  The numbers of concurrent clients to run with, one after another
+	 * @param duration      How long each number of clients is measured
+	 * @param warmup        How long the clients run before the measurement starts
+	 * @param thinkTime     The mean pause between two actions of a client, exponentially distributed
+	 * @param teacherShare  The share of clients that log in as teachers, between 0 and 1
+	 * @param students      The number of student accounts, named student0, student1, ...
+	 * @param teachers      The number of teacher accounts, named teacher0, teacher1, ...
+	 * @param password      The password of all accounts
+	 * @param termStart     The first day of the term the clients browse
+	 * @param termWeeks     The number of weeks of the term
+	 * @param seed          The seed of the choices of the clients
+	 */
+	public record Config(List<Integer> clientCounts, Duration duration, Duration warmup, Duration thinkTime,
+	                     double teacherShare, int students, int teachers, String password, LocalDate termStart,
+	                     int termWeeks, long seed) {
+
+		public Config {
+			if (clientCounts.isEmpty() || clientCounts.stream().anyMatch(clients -> clients < 1)) {
+				throw new IllegalArgumentException("Every step needs at least one client.");
+			}
+			if (teacherShare < 0 || teacherShare > 1 || students < 1 || teachers < 1 || termWeeks < 1) {
+				throw new IllegalArgumentException("The clients need accounts and a term to browse.");
+			}
+			clientCounts = List.copyOf(clientCounts);
+		}
+
+		/**
+		 * Returns a run of 50 clients on the data generated with the default size, one in ten of them teachers,
+		 * thinking two seconds on average between their actions.
+		 *
+		 * @return The configuration
+		 */
+		public static Config defaults() {
+			return new Config(List.of(50), Duration.ofSeconds(60), Duration.ofSeconds(10), Duration.ofSeconds(2),
+			                  0.1, 19_500, 500, "password", LocalDate.of(2025, 9, 1), 16, 42);
+		}
+	}
+
+	/**
+	 * The latencies of one operation.
+	 *
+	 * @param operation The operation
+	 * @param count     The number of times the operation was completed
+	 * @param errors    The number of times the operation threw or a DAO call it made failed
+	 * @param p50       The median latency
+	 * @param p95       The 95th percentile of the latency
+	 * @param p99       The 99th percentile of the latency
+	 */
+	public record OperationStats(Operation operation, int count, int errors, Duration p50, Duration p95,
+	                             Duration p99) {
+	}
+
+	/**
+	 * The result of running a number of clients.
+	 *
+	 * @param clients    The number of concurrent clients
+	 * @param duration   The measured time
+	 * @param operations The latencies of every operation that was run
+	 * @param poolSize   The maximum size of the connection pool all the clients shared
+	 */
+	public record Report(int clients, Duration duration, List<OperationStats> operations, int poolSize) {
+
+		/**
+		 * Returns the number of operations completed per second, failed ones included.
+		 *
+		 * @return The throughput
+		 */
+		public double throughput() {
+			return operations.stream().mapToInt(OperationStats::count).sum() / (duration.toMillis() / 1000.0);
+		}
+
+		/**
+		 * Returns the share of operations that failed.
+		 *
+		 * @return The error rate between 0 and 1, 0 if nothing was run
+		 */
+		public double errorRate() {
+			int count = operations.stream().mapToInt(OperationStats::count).sum();
+			int errors = operations.stream().mapToInt(OperationStats::errors).sum();
+			return count == 0 ? 0 : (double) errors / count;
+		}
+
+		/**
+		 * Formats the report as a table with one line per operation.
+		 *
+		 * @return The table
+		 */
+		public String format() {
+			StringBuilder table = new StringBuilder();
+			table.append("%d clients: %.1f operations/s, %.2f %% errors%n".formatted(clients, throughput(),
+			                                                                       errorRate() * 100));
+			table.append("All clients share the caches of one process and its pool of at most %d connections%n"
+					             .formatted(poolSize));
+			table.append("%-12s %8s %7s %10s %10s %10s%n".formatted("operation", "count", "errors", "p50 ms",
+			                                                       "p95 ms", "p99 ms"));
+			for (OperationStats stats : operations) {
+				table.append("%-12s %8d %7d %10.1f %10.1f %10.1f%n".formatted(
+						stats.operation(), stats.count(), stats.errors(), stats.p50().toNanos() / 1e6,
+						stats.p95().toNanos() / 1e6, stats.p99().toNanos() / 1e6));
+			}
+			return table.toString();
+		}
+	}
+
+	public LoadSimulation(Config config) {
+		this.config = config;
+	}
+
+	/**
+	 * Runs the configured numbers of clients one after another.
+	 *
+	 * @param onReport Called with the report of each number of clients as soon as it is done
+	 * @return One report per number of clients
+	 */
+	public List<Report> sweep(Consumer<Report> onReport) {
+		List<Report> reports = new ArrayList<>();
+		for (int clients : config.clientCounts()) {
+			Report report = run(clients);
+			onReport.accept(report);
+			reports.add(report);
+		}
+		return reports;
+	}
+
+	/**
+	 * Runs a number of clients concurrently for the warm-up and the measured time.
+	 *
+	 * @param clients The number of concurrent clients
+	 * @return The latencies of the operations completed in the measured time
+	 */
+	public Report run(int clients) {
+		Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new LatencyRecorder());
+		}
+
+		long measureFrom = System.nanoTime() + config.warmup().toNanos();
+		long until = measureFrom + config.duration().toNanos();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				Client client = new Client(new Random(config.seed() * 31 + i), recorders, measureFrom, until);
+				executor.submit(client::run);
+			}
+		}
+
+		List<OperationStats> operations = new ArrayList<>();
+		recorders.forEach((operation, recorder) -> {
+			if (recorder.count() > 0) {
+				long[] percentiles = recorder.percentiles(50, 95, 99);
+				operations.add(new OperationStats(operation, recorder.count(), recorder.errors(),
+				                                  Duration.ofNanos(percentiles[0]), Duration.ofNanos(percentiles[1]),
+				                                  Duration.ofNanos(percentiles[2])));
+			}
+		});
+		int poolSize = MariaDBConnection.getPoolStats().maximumPoolSize();
+		return new Report(clients, config.duration(), operations, poolSize);
+	}
+
+	/**
+	 * Finds the number of clients from which adding clients stops adding throughput. With a fixed think time
+	 * the throughput should grow in proportion to the clients; a step is saturated when it grows less than half
+	 * as much, or when more than one in a hundred operations fails.
+	 *
+	 * @param reports The reports of a sweep, ordered by the number of clients
+	 * @return The number of clients of the first saturated step, empty if no step is saturated
+	 */
+	public static OptionalInt findSaturationPoint(List<Report> reports) {
+		for (int i = 0; i < reports.size(); i++) {
+			Report report = reports.get(i);
+			if (report.errorRate() > 0.01) {
+				return OptionalInt.of(report.clients());
+			}
+			if (i > 0) {
+				Report previous = reports.get(i - 1);
+				double throughputGrowth = report.throughput() / previous.throughput();
+				double clientGrowth = (double) report.clients() / previous.clients();
+				if (throughputGrowth - 1 < (clientGrowth - 1) / 2) {
+					return OptionalInt.of(report.clients());
+				}
+			}
+		}
+		return OptionalInt.empty();
+	}
+
+	/**
+	 * One simulated user, with the controllers a window of the application would have.
+	 */
+	private final class Client {
+
+		private final UserController userController = new UserController();
+		private final EventController eventController = new EventController();
+		private final GroupController groupController = new GroupController();
+		private final TimetableController timetableController = new TimetableController();
+
+		private final Random random;
+		private final Map<Operation, LatencyRecorder> recorders;
+		private final long measureFrom;
+		private final long until;
+		private List<Event> browsedWeek = List.of();
+
+		private Client(Random random, Map<Operation, LatencyRecorder> recorders, long measureFrom, long until) {
+			this.random = random;
+			this.recorders = recorders;
+			this.measureFrom = measureFrom;
+			this.until = until;
+		}
+
+		private void run() {
+			UserPreferences.useThreadSession();
+			try {
+				while (System.nanoTime() < until) {
+					boolean teacher = random.nextDouble() < config.teacherShare();
+					String username = teacher
+					                  ? "teacher" + random.nextInt(config.teachers())
+					                  : "student" + random.nextInt(config.students());
+
+					if (measure(Operation.LOGIN, () -> userController.authenticateUser(username, config.password()))) {
+						int actions = 5 + random.nextInt(20);
+						for (int i = 0; i < actions && think(); i++) {
+							act(teacher);
+						}
+						userController.logout();
+					}
+					think();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				UserPreferences.clearThreadSession();
+			}
+		}
+
+		/**
+		 * Runs one action, the ones a teacher cannot do yet fall back to browsing.
+		 */
+		private void act(boolean teacher) {
+			int choice = random.nextInt(100);
+			if (teacher && choice < 15) {
+				if (addEvent()) {
+					return;
+				}
+			} else if (teacher && choice < 30) {
+				if (editEvent()) {
+					return;
+				}
+			}
+			if (choice >= 70) {
+				measure(Operation.OPEN_GROUP, this::openGroup);
+			} else {
+				measure(Operation.BROWSE_WEEK, this::browseWeek);
+			}
+		}
+
+		private boolean browseWeek() {
+			LocalDateTime weekStart = config.termStart().plusWeeks(random.nextInt(config.termWeeks())).atStartOfDay();
+			browsedWeek = eventController.fetchEventsByUser(weekStart, weekStart.plusWeeks(1));
+			return true;
+		}
+
+		private boolean openGroup() {
+			List<GroupDTO> groups = groupController.fetchGroupsByUser();
+			if (!groups.isEmpty()) {
+				String name = groups.get(random.nextInt(groups.size())).name();
+				groupController.fetchGroupByName(name);
+				userController.fetchStudentsInGroup(name);
+			}
+			return true;
+		}
+
+		/**
+		 * Adds an assignment to one of the teacher's groups.
+		 *
+		 * @return false if the teacher has no group
+		 */
+		private boolean addEvent() {
+			long teacherId = userController.fetchCurrentUserId();
+			List<GroupDTO> groups = groupController.fetchGroupsByUser()
+			                                       .stream()
+			                                       .filter(group -> group.teacherId() == teacherId)
+			                                       .toList();
+			if (groups.isEmpty()) {
+				return false;
+			}
+
+			GroupDTO group = groups.get(random.nextInt(groups.size()));
+			LocalDateTime deadline = config.termStart()
+			                               .plusDays(random.nextInt(config.termWeeks() * 7))
+			                               .atTime(23, 59);
+			measure(Operation.ADD_EVENT, () -> {
+				Long timetableId = timetableController.fetchTimetableForGroup(group.name());
+				eventController.addEvent(new AssignmentDTO(null, "Homework", deadline.minusWeeks(1), deadline,
+				                                           "Load test", group.subjectCode(), ADDED_DESCRIPTION,
+				                                           timetableId, LOCALE_CODE));
+				return true;
+			});
+			return true;
+		}
+
+		/**
+		 * Changes the description of an assignment of the last browsed week.
+		 *
+		 * @return false if the week has no assignment
+		 */
+		private boolean editEvent() {
+			List<AssignmentDTO> assignments = browsedWeek.stream()
+			                                             .filter(AssignmentDTO.class::isInstance)
+			                                             .map(AssignmentDTO.class::cast)
+			                                             .toList();
+			if (assignments.isEmpty()) {
+				return false;
+			}
+
+			AssignmentDTO assignment = assignments.get(random.nextInt(assignments.size()));
+			measure(Operation.EDIT_EVENT, () -> {
+				eventController.updateEvent(new AssignmentDTO(
+						assignment.id(), assignment.type(), assignment.publishingDate(), assignment.deadline(),
+						assignment.assignmentName(), assignment.subjectCode(), ADDED_DESCRIPTION,
+						assignment.timetableId(), assignment.localeCode()));
+				return true;
+			});
+			return true;
+		}
+
+		/**
+		 * Runs an operation and records its latency once the warm-up is over.
+		 *
+		 * @return true if the operation returned true, did not throw and none of its DAO calls failed
+		 */
+		private boolean measure(Operation operation, BooleanSupplier action) {
+			long failedDaoCalls = MariaDBConnection.getFailedDaoCalls();
+			long start = System.nanoTime();
+			boolean success;
+			try {
+				success = action.getAsBoolean();
+			} catch (RuntimeException e) {
+				success = false;
+			}
+			long end = System.nanoTime();
+			success &= MariaDBConnection.getFailedDaoCalls() == failedDaoCalls;
+
+			if (start >= measureFrom && end <= until) {
+				recorders.get(operation).record(end - start, success);
+			}
+			return success;
+		}
+
+		/**
+		 * Pauses for a random think time, cut short at the end of the run.
+		 *
+		 * @return false if the run is over
+		 */
+		private boolean think() throws InterruptedException {
+			double mean = config.thinkTime().toNanos();
+			long pause = (long) Math.min(-mean * Math.log(1 - random.nextDouble()), 5 * mean);
+			long remaining = until - System.nanoTime();
+			if (remaining <= 0) {
+				return false;
+			}
+			Thread.sleep(Duration.ofNanos(Math.min(pause, remaining)));
+			return System.nanoTime() < until;
+		}
+	}
+
+	/**
+	 * Parses options such as {@code --clients=10,50,100 --duration=30} over the defaults.
+	 * Durations are given in seconds, the think time in milliseconds.
+	 *
+	 * @param args The options, other arguments are ignored
+	 * @return The configuration
+	 * @throws IllegalArgumentException if an option is unknown or its value is not valid
+	 */
+	public static Config parseConfig(String... args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (arg.startsWith("--") && separator > 2) {
+				options.put(arg.substring(2, separator), arg.substring(separator + 1));
+			}
+		}
+
+		for (String option : options.keySet()) {
+			if (!Set.of("clients", "duration", "warmup", "think-time", "teacher-share", "students", "teachers",
+			            "password", "term-start", "term-weeks", "seed").contains(option)) {
+				throw new IllegalArgumentException("Unknown option --" + option);
+			}
+		}
+
+		Config defaults = Config.defaults();
+		return new Config(
+				options.containsKey("clients")
+				? Arrays.stream(options.get("clients").split(",")).map(Integer::valueOf).toList()
+				: defaults.clientCounts(),
+				options.containsKey("duration")
+				? Duration.ofSeconds(Long.parseLong(options.get("duration"))) : defaults.duration(),
+				options.containsKey("warmup")
+				? Duration.ofSeconds(Long.parseLong(options.get("warmup"))) : defaults.warmup(),
+				options.containsKey("think-time")
+				? Duration.ofMillis(Long.parseLong(options.get("think-time"))) : defaults.thinkTime(),
+				options.containsKey("teacher-share")
+				? Double.parseDouble(options.get("teacher-share")) : defaults.teacherShare(),
+				options.containsKey("students") ? Integer.parseInt(options.get("students")) : defaults.students(),
+				options.containsKey("teachers") ? Integer.parseInt(options.get("teachers")) : defaults.teachers(),
+				options.getOrDefault("password", defaults.password()),
+				options.containsKey("term-start") ? LocalDate.parse(options.get("term-start")) : defaults.termStart(),
+				options.containsKey("term-weeks")
+				? Integer.parseInt(options.get("term-weeks")) : defaults.termWeeks(),
+				options.containsKey("seed") ? Long.parseLong(options.get("seed")) : defaults.seed());
+	}
+}
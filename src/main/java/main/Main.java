@@ -1,11 +1,20 @@
 package main;
 
+import controller.BaseController;
+import controller.notifications.NotificationDispatcher;
 import datasource.MariaDBConnection;
+import datasource.SyntheticDataGenerator;
 import javafx.application.Application;
+import loadtest.LoadSimulation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import view.View;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
 /*
  * main.Main initializes view which initializes controller which initializes model
  * Two-way data binding is not supported due to this schema and should not be needed
@@ -14,6 +23,9 @@ import view.View;
 public class Main {
 
 	private static final Logger logger = LoggerFactory.getLogger(Main.class);
+	private static final String DISPATCHER_MODE = "--notification-dispatcher";
+	private static final String GENERATOR_MODE = "--generate-data";
+	private static final String LOAD_SIMULATION_MODE = "--simulate-load";
 
 	public static void main(String[] args) {
 		try {
@@ -21,6 +33,61 @@ public class Main {
 		} catch (Exception e) {
 			logger.error("Error verifying database: {}", e.getMessage());
 		}
-		Application.launch(View.class);
+
+		if (Arrays.asList(args).contains(DISPATCHER_MODE)) {
+			startNotificationDispatcher();
+		} else if (Arrays.asList(args).contains(GENERATOR_MODE)) {
+			generateData(args);
+		} else if (Arrays.asList(args).contains(LOAD_SIMULATION_MODE)) {
+			simulateLoad(args);
+		} else {
+			Application.launch(View.class);
+		}
+	}
+
+	/*
+	 * Runs without a window and finds the notifications of all users from one scan per minute.
+	 * Delivery to the users is not wired up yet, so notifications are only logged and clients keep polling.
+	 */
+	private static void startNotificationDispatcher() {
+		BaseController baseController = new BaseController();
+		NotificationDispatcher dispatcher = new NotificationDispatcher(
+				baseController.getEventController(), baseController.getTimetableController(),
+				userId -> (event, time) -> logger.info("Notify user {} in {} minutes: {}", userId, time, event),
+				Duration.ofMinutes(1));
+
+		dispatcher.start();
+		Runtime.getRuntime().addShutdownHook(new Thread(dispatcher::shutdown));
+		logger.info("Notification dispatcher started");
+	}
+
+	/*
+	 * Replaces all data in the database with a synthetic data set, configured by options such as --seed=7.
+	 */
+	private static void generateData(String[] args) {
+		SyntheticDataGenerator.Config config = SyntheticDataGenerator.parseConfig(args);
+		logger.info("Generating data with seed {}", config.seed());
+		SyntheticDataGenerator.Summary summary = new SyntheticDataGenerator().generate(config);
+		logger.info("Generated {}", summary);
+		new MariaDBConnection().terminate();
+	}
+
+	/*
+	 * Runs simulated clients against the database and prints a report for every number of clients.
+	 * The report goes to the standard output because it is the result of the run, not a log message.
+	 */
+	private static void simulateLoad(String[] args) {
+		LoadSimulation.Config config = LoadSimulation.parseConfig(args);
+		List<LoadSimulation.Report> reports =
+				new LoadSimulation(config).sweep(report -> System.out.println(report.format()));
+		if (reports.size() > 1) {
+			OptionalInt saturationPoint = LoadSimulation.findSaturationPoint(reports);
+			if (saturationPoint.isPresent()) {
+				System.out.println("Saturated at " + saturationPoint.getAsInt() + " clients");
+			} else {
+				System.out.println("Not saturated at " + config.clientCounts().getLast() + " clients");
+			}
+		}
+		new MariaDBConnection().terminate();
 	}
 }
@@ -0,0 +1,90 @@
+package model;
+
+import dto.ConflictDTO;
+import dto.TeachingSessionDTO;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Finds every pair of double-booked teaching sessions among many, for example the whole schedule of a term.
+ * <p>
+ * The sessions are grouped by the location, the timetable and the teacher they need. Each group is swept once
+ * in order of start while the sessions that are still running are kept in a queue ordered by end, so every
+ * session is compared only with the sessions it actually overlaps. With n sessions and k conflicts this takes
+ * O(n log n + k).
+ * </p>
+ * <p>
+ * Sessions that touch, where one ends when the other starts, do not conflict. Two sessions in the same
+ * timetable are reported once as a timetable conflict and not again as a conflict of their teacher.
+ * </p>
+ */
+final class ConflictDetector {
+
+	private static final Comparator<TeachingSessionDTO> BY_START =
+			Comparator.comparing(TeachingSessionDTO::startDate).thenComparing(TeachingSessionDTO::endDate);
+
+	private ConflictDetector() {
+	}
+
+	/**
+	 * Finds the conflicts among teaching sessions.
+	 *
+	 * @param teachingSessions   The teaching sessions and expanded occurrences to check
+	 * @param teacherByTimetable The ID of the teacher of each timetable that has one
+	 * @return The conflicts, with the session that starts first as the event of each
+	 */
+	static List<ConflictDTO> findConflicts(List<TeachingSessionDTO> teachingSessions,
+	                                       Map<Long, Long> teacherByTimetable) {
+		List<ConflictDTO> conflicts = new ArrayList<>();
+
+		sweepGroups(teachingSessions, TeachingSessionDTO::locationName, ConflictDTO.Kind.LOCATION, conflicts);
+		sweepGroups(teachingSessions, TeachingSessionDTO::timetableId, ConflictDTO.Kind.TIMETABLE, conflicts);
+		sweepGroups(teachingSessions, teachingSession -> teacherByTimetable.get(teachingSession.timetableId()),
+		            ConflictDTO.Kind.TEACHER, conflicts);
+
+		return conflicts;
+	}
+
+	private static void sweepGroups(List<TeachingSessionDTO> teachingSessions,
+	                                Function<TeachingSessionDTO, ?> groupKey, ConflictDTO.Kind kind,
+	                                List<ConflictDTO> conflicts) {
+		Map<Object, List<TeachingSessionDTO>> groups = new HashMap<>();
+		for (TeachingSessionDTO teachingSession : teachingSessions) {
+			Object key = groupKey.apply(teachingSession);
+			if (key != null) {
+				groups.computeIfAbsent(key, k -> new ArrayList<>()).add(teachingSession);
+			}
+		}
+
+		for (List<TeachingSessionDTO> group : groups.values()) {
+			if (group.size() > 1) {
+				sweep(group, kind, conflicts);
+			}
+		}
+	}
+
+	private static void sweep(List<TeachingSessionDTO> group, ConflictDTO.Kind kind, List<ConflictDTO> conflicts) {
+		group.sort(BY_START);
+		PriorityQueue<TeachingSessionDTO> running = new PriorityQueue<>(
+				Comparator.comparing(TeachingSessionDTO::endDate));
+
+		for (TeachingSessionDTO teachingSession : group) {
+			while (!running.isEmpty() && !running.peek().endDate().isAfter(teachingSession.startDate())) {
+				running.poll();
+			}
+
+			for (TeachingSessionDTO other : running) {
+				if (kind != ConflictDTO.Kind.TEACHER || other.timetableId() != teachingSession.timetableId()) {
+					conflicts.add(new ConflictDTO(kind, other, teachingSession));
+				}
+			}
+			running.add(teachingSession);
+		}
+	}
+}
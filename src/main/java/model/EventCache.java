@@ -0,0 +1,250 @@
+package model;
+
+import dto.AssignmentDTO;
+import dto.Event;
+import dto.TeachingSessionDTO;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Caches the events of a user one week at a time, from Monday 00:00:00 to Sunday 23:59:59.
+ * <p>
+ * A request that falls within one week, or spans two consecutive weeks, is answered from the cached weeks
+ * and filtered down to the requested period. Longer periods are loaded straight from the database.
+ * After every cached request the previous and the next week are loaded in the background, so moving
+ * between weeks does not wait for the database.
+ * </p>
+ * <p>
+ * Writing an event invalidates the weeks it belongs to for every user and locale. Changes that can affect
+ * many events, such as renaming a subject or changing group membership, invalidate the whole cache, along
+ * with the {@link OccupancyIndex}. Every invalidation is passed on to the registered change listeners.
+ * </p>
+ */
+final class EventCache {
+
+	/**
+	 * Loads the events of a fixed user and locale for a period.
+	 */
+	@FunctionalInterface
+	interface EventLoader {
+		List<Event> load(LocalDateTime start, LocalDateTime end);
+	}
+
+	private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+	private static final int MAX_WEEKS = 64;
+	private static final int MAX_CACHED_SPAN_WEEKS = 2;
+
+	private static final Map<WeekKey, CachedWeek> weeks = new ConcurrentHashMap<>();
+	private static final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+	private static final ExecutorService prefetcher =
+			Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("event-prefetch-", 0).factory());
+	private static final Set<CompletableFuture<Void>> runningPrefetches = ConcurrentHashMap.newKeySet();
+
+	private EventCache() {
+	}
+
+	private record WeekKey(long userId, LocalDate monday, String localeCode) {
+	}
+
+	private record CachedWeek(CompletableFuture<List<Event>> events, long loadedAt) {
+
+		private boolean isExpired(long now) {
+			return now - loadedAt >= TIME_TO_LIVE.toNanos();
+		}
+	}
+
+	/**
+	 * Returns the events of a user within a period, using the cached weeks where possible.
+	 *
+	 * @param userId     The ID of the user
+	 * @param localeCode The locale the events are filtered by, or null for all locales
+	 * @param start      The beginning of the period
+	 * @param end        The end of the period
+	 * @param loader     Loads the events of the user and locale from the database, throwing if it cannot
+	 * @return The events within the period
+	 * @throws RuntimeException the exception of the loader; a week that failed to load is not cached
+	 */
+	static List<Event> fetch(long userId, String localeCode, LocalDateTime start, LocalDateTime end,
+	                         EventLoader loader) {
+		LocalDate firstWeek = mondayOf(start);
+		LocalDate lastWeek = mondayOf(end);
+
+		if (ChronoUnit.WEEKS.between(firstWeek, lastWeek) >= MAX_CACHED_SPAN_WEEKS) {
+			return loader.load(start, end);
+		}
+
+		List<Event> events = new ArrayList<>();
+		for (LocalDate monday = firstWeek; !monday.isAfter(lastWeek); monday = monday.plusWeeks(1)) {
+			for (Event event : getWeek(new WeekKey(userId, monday, localeCode), loader)) {
+				LocalDateTime date = dateOf(event);
+				if (!date.isBefore(start) && !date.isAfter(end)) {
+					events.add(event);
+				}
+			}
+		}
+
+		prefetch(new WeekKey(userId, firstWeek.minusWeeks(1), localeCode), loader);
+		prefetch(new WeekKey(userId, lastWeek.plusWeeks(1), localeCode), loader);
+
+		return events;
+	}
+
+	/**
+	 * Drops every cached week the event belongs to, for all users and locales.
+	 * A week that contains an older version of the event is dropped as well, so moving an event to another
+	 * week invalidates both. Weeks that are still loading are dropped since they may have missed the change.
+	 *
+	 * @param event The event that was added, updated or deleted
+	 */
+	static void invalidate(Event event) {
+		LocalDate monday = mondayOf(dateOf(event));
+		Long id = idOf(event);
+
+		weeks.entrySet().removeIf(entry -> {
+			CompletableFuture<List<Event>> events = entry.getValue().events();
+			return entry.getKey().monday().equals(monday) || !events.isDone() ||
+			       (id != null && events.getNow(List.of()).stream().anyMatch(
+					       cached -> cached.getClass() == event.getClass() && Objects.equals(idOf(cached), id)));
+		});
+		notifyChangeListeners();
+	}
+
+	/**
+	 * Drops every cached week and the room occupancy, which the same changes can move or remove sessions from.
+	 */
+	static void invalidateAll() {
+		weeks.clear();
+		OccupancyIndex.invalidate();
+		notifyChangeListeners();
+	}
+
+	/**
+	 * Waits until the weeks being prefetched in the background are loaded, including the ones dropped from the
+	 * cache while loading, so tests can count the queries of a fetch without racing its prefetches.
+	 */
+	static void awaitPrefetches() {
+		while (!runningPrefetches.isEmpty()) {
+			runningPrefetches.forEach(prefetch -> prefetch.exceptionally(e -> null).join());
+		}
+	}
+
+	/**
+	 * Registers a listener that is run on the writing thread whenever events may have changed.
+	 *
+	 * @param listener The listener to run, which should return quickly
+	 */
+	static void addChangeListener(Runnable listener) {
+		changeListeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener registered with {@link #addChangeListener(Runnable)}.
+	 *
+	 * @param listener The listener to remove
+	 */
+	static void removeChangeListener(Runnable listener) {
+		changeListeners.remove(listener);
+	}
+
+	private static void notifyChangeListeners() {
+		changeListeners.forEach(Runnable::run);
+	}
+
+	private static List<Event> getWeek(WeekKey key, EventLoader loader) {
+		long now = System.nanoTime();
+		CachedWeek cached = weeks.get(key);
+
+		if (cached == null || cached.isExpired(now)) {
+			CachedWeek loading = new CachedWeek(new CompletableFuture<>(), now);
+			boolean owner = cached == null ? weeks.putIfAbsent(key, loading) == null : weeks.replace(key, cached, loading);
+			cached = owner ? loading : weeks.getOrDefault(key, loading);
+
+			if (owner) {
+				evictOldest();
+				complete(key, loading, loader);
+			}
+		}
+
+		try {
+			return cached.events().join();
+		} catch (CompletionException e) {
+			weeks.remove(key, cached);
+			throw e.getCause() instanceof RuntimeException cause ? cause : e;
+		}
+	}
+
+	private static void prefetch(WeekKey key, EventLoader loader) {
+		long now = System.nanoTime();
+		CachedWeek cached = weeks.get(key);
+
+		if (cached != null && !cached.isExpired(now)) {
+			return;
+		}
+
+		CachedWeek loading = new CachedWeek(new CompletableFuture<>(), now);
+		boolean owner = cached == null ? weeks.putIfAbsent(key, loading) == null : weeks.replace(key, cached, loading);
+
+		if (owner) {
+			evictOldest();
+			CompletableFuture<Void> prefetch =
+					CompletableFuture.runAsync(() -> complete(key, loading, loader), prefetcher);
+			runningPrefetches.add(prefetch);
+			prefetch.whenComplete((result, e) -> runningPrefetches.remove(prefetch));
+		}
+	}
+
+	private static void complete(WeekKey key, CachedWeek week, EventLoader loader) {
+		try {
+			LocalDateTime start = key.monday().atStartOfDay();
+			week.events().complete(List.copyOf(loader.load(start, start.plusWeeks(1).minusSeconds(1))));
+		} catch (RuntimeException e) {
+			weeks.remove(key, week);
+			week.events().completeExceptionally(e);
+		}
+	}
+
+	private static void evictOldest() {
+		while (weeks.size() > MAX_WEEKS) {
+			weeks.entrySet().stream()
+			     .min(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+			     .ifPresent(oldest -> weeks.remove(oldest.getKey(), oldest.getValue()));
+		}
+	}
+
+	private static LocalDate mondayOf(LocalDateTime dateTime) {
+		return dateTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+	}
+
+	private static LocalDateTime dateOf(Event event) {
+		return switch (event) {
+			case TeachingSessionDTO teachingSession -> teachingSession.startDate();
+			case AssignmentDTO assignment -> assignment.deadline();
+			default -> throw new IllegalArgumentException("Unknown event type: " + event.getClass().getName());
+		};
+	}
+
+	private static Long idOf(Event event) {
+		return switch (event) {
+			case TeachingSessionDTO teachingSession -> teachingSession.id();
+			case AssignmentDTO assignment -> assignment.id();
+			default -> null;
+		};
+	}
+}
@@ -2,17 +2,27 @@ package model;
 
 import dao.*;
 import dto.AssignmentDTO;
+import dto.ConflictDTO;
 import dto.Event;
+import dto.RecurrenceDTO;
 import dto.TeachingSessionDTO;
+import dto.TeachingSessionOverrideDTO;
 import entity.AssignmentEntity;
 import entity.SubjectEntity;
 import entity.TeachingSessionEntity;
-import entity.TimetableEntity;
+import entity.TeachingSessionOverrideEntity;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Manages calendar events for users, including teaching sessions and assignments.
@@ -23,30 +33,76 @@ public class EventModel {
 
 	private static final AssignmentDAO assignmentDAO = new AssignmentDAO();
 	private static final TeachingSessionDAO teachingSessionDAO = new TeachingSessionDAO();
+	private static final TeachingSessionOverrideDAO teachingSessionOverrideDAO = new TeachingSessionOverrideDAO();
 	private static final TimetableDAO timetableDAO = new TimetableDAO();
 
 	private static final UserModel userModel = new UserModel();
 
 	/**
 	 * Retrieves all events for the current user within a specified time period.
+	 * Periods of up to two consecutive weeks are served from the week cache, see {@link EventCache}.
 	 *
 	 * @param startDate The beginning of the time period
 	 * @param endDate   The end of the time period
 	 * @return A list of events (teaching sessions and assignments) for the user
+	 * @throws jakarta.persistence.PersistenceException if the events cannot be loaded; the failure is not cached
 	 */
 	public List<Event> fetchEventsByUser(LocalDateTime startDate, LocalDateTime endDate) {
-		List<Event> events = new ArrayList<>();
-
 		long userId = userModel.fetchCurrentUserId();
 
-		List<TimetableEntity> timetables = timetableDAO.findAllByUserId(userId);
+		return EventCache.fetch(userId, null, startDate, endDate,
+		                        (start, end) -> loadEventsByUser(userId, start, end));
+	}
 
-		for (TimetableEntity timetable : timetables) {
-			List<Event> eventsByTimetable = fetchEventsByTimetable(startDate, endDate, timetable.getId());
-			events.addAll(eventsByTimetable);
-		}
+	/**
+	 * Loads all events of a user within a time period from the database.
+	 * The events of all the user's timetables are loaded with one query per event type.
+	 *
+	 * @param userId    The ID of the user
+	 * @param startDate The beginning of the time period
+	 * @param endDate   The end of the time period
+	 * @return A list of events (teaching sessions and assignments) for the user
+	 */
+	private List<Event> loadEventsByUser(long userId, LocalDateTime startDate, LocalDateTime endDate) {
+		List<TeachingSessionDTO> teachingSessions =
+				teachingSessionDAO.findAllDTOsByUserIdDuringPeriod(userId, Timestamp.valueOf(startDate),
+				                                                   Timestamp.valueOf(endDate));
+		List<AssignmentDTO> assignments =
+				assignmentDAO.findAllDTOsByUserIdDuringPeriod(userId, Timestamp.valueOf(startDate),
+				                                              Timestamp.valueOf(endDate));
+
+		return convertToEvents(expandRecurrences(teachingSessions, startDate, endDate), assignments);
+	}
 
-		return events;
+	/**
+	 * Retrieves the events of every timetable within a time period, bypassing the per-user week cache.
+	 * Used by the notification dispatcher, which serves all users from one scan.
+	 *
+	 * @param startDate The beginning of the time period
+	 * @param endDate   The end of the time period
+	 * @return A list of events (teaching sessions and assignments) of all timetables
+	 * @throws jakarta.persistence.PersistenceException if the database cannot be queried
+	 */
+	public List<Event> fetchAllEvents(LocalDateTime startDate, LocalDateTime endDate) {
+		List<AssignmentDTO> assignments =
+				assignmentDAO.findAllDTOsDuringPeriod(Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
+
+		return convertToEvents(loadAllTeachingSessions(startDate, endDate), assignments);
+	}
+
+	/**
+	 * Loads the teaching sessions of every timetable within a time period, with recurring sessions expanded
+	 * into their occurrences. Used to find occupied rooms and double bookings, see {@link OccupancyIndex}.
+	 *
+	 * @param startDate The beginning of the time period
+	 * @param endDate   The end of the time period
+	 * @return The teaching sessions and occurrences of all timetables that start within the period
+	 */
+	List<TeachingSessionDTO> loadAllTeachingSessions(LocalDateTime startDate, LocalDateTime endDate) {
+		List<TeachingSessionDTO> teachingSessions =
+				teachingSessionDAO.findAllDTOsDuringPeriod(Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
+
+		return expandRecurrences(teachingSessions, startDate, endDate);
 	}
 
 	/**
@@ -58,105 +114,140 @@ public class EventModel {
 	 * @return A list of events (teaching sessions and assignments) for the timetable
 	 */
 	public List<Event> fetchEventsByTimetable(LocalDateTime startDate, LocalDateTime endDate, long timetableId) {
-		List<Event> events = new ArrayList<>();
-
-		List<TeachingSessionEntity> teachingSessions =
-				teachingSessionDAO.findAllByTimetableIdDuringPeriod(timetableId, Timestamp.valueOf(startDate),
-				                                                    Timestamp.valueOf(endDate));
-
-		if (teachingSessions != null) {
-			for (TeachingSessionEntity teachingSession : teachingSessions) {
-				events.add(convertToTeachingSessionDTO(teachingSession));
-			}
-		}
-
-		List<AssignmentEntity> assignments =
-				assignmentDAO.findAllByTimetableIdDuringPeriod(timetableId, Timestamp.valueOf(startDate),
-				                                               Timestamp.valueOf(endDate));
-
-		if (assignments != null) {
-			for (AssignmentEntity assignment : assignments) {
-				events.add(convertToAssignmentDTO(assignment));
-			}
-		}
-		return events;
+		List<TeachingSessionDTO> teachingSessions =
+				teachingSessionDAO.findAllDTOsByTimetableIdDuringPeriod(timetableId, Timestamp.valueOf(startDate),
+				                                                        Timestamp.valueOf(endDate));
+		List<AssignmentDTO> assignments =
+				assignmentDAO.findAllDTOsByTimetableIdDuringPeriod(timetableId, Timestamp.valueOf(startDate),
+				                                                   Timestamp.valueOf(endDate));
+
+		return convertToEvents(expandRecurrences(teachingSessions, startDate, endDate), assignments);
 	}
 
 	/**
 	 * Retrieves all events for the current user within a specified time period and locale.
+	 * Periods of up to two consecutive weeks are served from the week cache, see {@link EventCache}.
 	 *
 	 * @param startDate  The beginning of the time period
 	 * @param endDate    The end of the time period
 	 * @param localeCode The locale code to filter events by
 	 * @return A list of events (teaching sessions and assignments) matching the criteria
+	 * @throws jakarta.persistence.PersistenceException if the events cannot be loaded; the failure is not cached
 	 */
 	public List<Event> fetchEventsByUserAndLocale(LocalDateTime startDate, LocalDateTime endDate, String localeCode) {
-		List<Event> events = new ArrayList<>();
-
 		long userId = userModel.fetchCurrentUserId();
 
-		List<TimetableEntity> timetables = timetableDAO.findAllByUserId(userId);
-
-		for (TimetableEntity timetable : timetables) {
-			List<Event> eventsByTimetable =
-					fetchEventsByTimetableAndLocale(startDate, endDate, timetable.getId(), localeCode);
-			events.addAll(eventsByTimetable);
-		}
-
-		return events;
+		return EventCache.fetch(userId, localeCode, startDate, endDate,
+		                        (start, end) -> loadEventsByUserAndLocale(userId, start, end, localeCode));
 	}
 
 	/**
-	 * Retrieves events for a specific timetable and locale within a time period.
+	 * Loads all events of a user within a time period and locale from the database.
+	 * The events of all the user's timetables are loaded with one query per event type.
 	 *
-	 * @param startDate   The beginning of the time period
-	 * @param endDate     The end of the time period
-	 * @param timetableId The ID of the timetable
-	 * @param localeCode  The locale code to filter events by
-	 * @return A list of events matching the criteria
+	 * @param userId     The ID of the user
+	 * @param startDate  The beginning of the time period
+	 * @param endDate    The end of the time period
+	 * @param localeCode The locale code to filter events by
+	 * @return A list of events (teaching sessions and assignments) matching the criteria
 	 */
-	private List<Event> fetchEventsByTimetableAndLocale(LocalDateTime startDate, LocalDateTime endDate,
-	                                                    Long timetableId, String localeCode) {
-		List<Event> events = new ArrayList<>();
-
-		List<TeachingSessionEntity> teachingSessions =
-				teachingSessionDAO.findAllByLocaleDuringPeriod(Timestamp.valueOf(startDate), Timestamp.valueOf(endDate),
-				                                               localeCode, timetableId);
+	private List<Event> loadEventsByUserAndLocale(long userId, LocalDateTime startDate, LocalDateTime endDate,
+	                                              String localeCode) {
+		List<TeachingSessionDTO> teachingSessions =
+				teachingSessionDAO.findAllDTOsByUserIdAndLocaleDuringPeriod(userId, Timestamp.valueOf(startDate),
+				                                                            Timestamp.valueOf(endDate), localeCode);
+		List<AssignmentDTO> assignments =
+				assignmentDAO.findAllDTOsByUserIdAndLocaleDuringPeriod(userId, Timestamp.valueOf(startDate),
+				                                                       Timestamp.valueOf(endDate), localeCode);
+
+		return convertToEvents(expandRecurrences(teachingSessions, startDate, endDate), assignments);
+	}
 
-		if (teachingSessions != null) {
-			for (TeachingSessionEntity teachingSession : teachingSessions) {
-				events.add(convertToTeachingSessionDTO(teachingSession));
-			}
+	/**
+	 * Expands the recurring teaching sessions among the loaded ones into their occurrences within the period,
+	 * applying their changed and cancelled occurrences. The overrides are only queried when a series was loaded.
+	 *
+	 * @param teachingSessions The teaching sessions loaded for the period
+	 * @param startDate        The beginning of the time period
+	 * @param endDate          The end of the time period
+	 * @return The teaching sessions and occurrences that start within the period
+	 */
+	private List<TeachingSessionDTO> expandRecurrences(List<TeachingSessionDTO> teachingSessions,
+	                                                   LocalDateTime startDate, LocalDateTime endDate) {
+		List<Long> seriesIds = teachingSessions.stream()
+		                                       .filter(teachingSession -> teachingSession.recurrence() != null)
+		                                       .map(TeachingSessionDTO::id)
+		                                       .toList();
+		if (seriesIds.isEmpty()) {
+			return teachingSessions;
 		}
 
-		List<AssignmentEntity> assignments =
-				assignmentDAO.findAllByLocaleDuringPeriod(Timestamp.valueOf(startDate), Timestamp.valueOf(endDate),
-				                                          localeCode, timetableId);
+		List<TeachingSessionOverrideDTO> overrides =
+				teachingSessionOverrideDAO.findAllDTOsByTeachingSessionIdsDuringPeriod(
+						seriesIds, Timestamp.valueOf(startDate), Timestamp.valueOf(endDate));
+		return RecurrenceExpander.expand(teachingSessions, overrides, startDate, endDate);
+	}
 
-		if (assignments != null) {
-			for (AssignmentEntity assignment : assignments) {
-				events.add(convertToAssignmentDTO(assignment));
-			}
-		}
+	/**
+	 * Finds the teaching sessions that would be double-booked with a new or changed teaching session: sessions
+	 * in the same location, in the same timetable, or taught by the same teacher at an overlapping time.
+	 * The check runs in memory against the {@link OccupancyIndex}, so it is cheap enough to repeat while the
+	 * session is being edited, but it can miss the changes of other clients and has to load the index first
+	 * when it is cold or expired. Saving a session checks it against the database again.
+	 *
+	 * @param teachingSessionDTO The teaching session, occurrence or series to check
+	 * @return The conflicts, empty if the session can be saved
+	 */
+	public List<ConflictDTO> findConflicts(TeachingSessionDTO teachingSessionDTO) {
+		return OccupancyIndex.findConflicts(teachingSessionDTO);
+	}
 
+	/**
+	 * Finds every double booking among the teaching sessions of all timetables within a time period,
+	 * for example to audit the schedule of a whole term, see {@link ConflictDetector}.
+	 *
+	 * @param startDate The beginning of the time period
+	 * @param endDate   The end of the time period
+	 * @return The conflicts, with the session that starts first as the event of each
+	 */
+	public List<ConflictDTO> auditConflicts(LocalDateTime startDate, LocalDateTime endDate) {
+		return ConflictDetector.findConflicts(loadAllTeachingSessions(startDate, endDate),
+		                                      timetableDAO.findAllTeacherIdsByTimetableId());
+	}
+
+	/**
+	 * Combines projected teaching sessions and assignments into a single list of events.
+	 *
+	 * @param teachingSessions The teaching sessions to include
+	 * @param assignments      The assignments to include
+	 * @return A list containing the teaching sessions followed by the assignments
+	 */
+	private List<Event> convertToEvents(List<TeachingSessionDTO> teachingSessions, List<AssignmentDTO> assignments) {
+		List<Event> events = new ArrayList<>(teachingSessions.size() + assignments.size());
+		events.addAll(teachingSessions);
+		events.addAll(assignments);
 		return events;
 	}
 
 	/**
 	 * Adds a new event (teaching session or assignment) to the system.
+	 * A teaching session is first checked for double bookings against the sessions stored in the database.
 	 *
 	 * @param event The event to add (must be TeachingSessionDTO or AssignmentDTO)
-	 * @throws IllegalArgumentException if the event data is invalid
+	 * @throws IllegalArgumentException if the event data is invalid or the teaching session is double-booked
 	 */
 	public void addEvent(Event event) {
 		if (event instanceof TeachingSessionDTO teachingSessionDTO) {
 			try {
 				isValidTeachingSession(teachingSessionDTO);
+				isFreeOfConflicts(List.of(teachingSessionDTO));
 			} catch (IllegalArgumentException e) {
 				throw new IllegalArgumentException("Invalid teaching session data: " + e.getMessage());
 			}
 			TeachingSessionEntity entity = convertToTeachingSessionEntity(teachingSessionDTO);
 			teachingSessionDAO.persist(entity);
+			invalidate(teachingSessionDTO);
+			OccupancyIndex.put(withId(teachingSessionDTO, entity.getId()));
 		} else if (event instanceof AssignmentDTO assignmentDTO) {
 			try {
 				isValidAssignment(assignmentDTO);
@@ -165,24 +256,86 @@ public class EventModel {
 			}
 			AssignmentEntity entity = convertToAssignmentEntity(assignmentDTO);
 			assignmentDAO.persist(entity);
+			EventCache.invalidate(event);
 		}
 	}
 
+	/**
+	 * Adds many events at once, for example the schedule of a whole term.
+	 * <p>
+	 * Every event is validated before anything is stored. The teaching sessions and the assignments are then
+	 * inserted together in one batched transaction, so either all the events are stored or none of them are,
+	 * and the event cache is invalidated once at the end.
+	 * </p>
+	 * <p>
+	 * Unlike {@link #addEvent(Event)}, the teaching sessions are not checked for double bookings: this is a bulk
+	 * import, and an imported schedule may knowingly overlap. Callers that need the check can run
+	 * {@link #findConflicts(TeachingSessionDTO)} first, or {@link #auditConflicts} afterwards.
+	 * </p>
+	 *
+	 * @param events The events to add (each must be a TeachingSessionDTO or an AssignmentDTO)
+	 * @return The stored events with their IDs, in the order they were given
+	 * @throws IllegalArgumentException if the data of any event is invalid
+	 * @throws jakarta.persistence.PersistenceException if the events cannot be stored; none of them are stored then
+	 */
+	public List<Event> addEvents(Collection<? extends Event> events) {
+		List<TeachingSessionEntity> teachingSessions = new ArrayList<>();
+		List<AssignmentEntity> assignments = new ArrayList<>();
+		// The IDs are only known once the entities are inserted
+		List<Supplier<Event>> storedEvents = new ArrayList<>();
+
+		for (Event event : events) {
+			if (event instanceof TeachingSessionDTO teachingSessionDTO) {
+				try {
+					isValidTeachingSession(teachingSessionDTO);
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("Invalid teaching session data: " + e.getMessage());
+				}
+				TeachingSessionEntity entity = convertToTeachingSessionEntity(teachingSessionDTO);
+				teachingSessions.add(entity);
+				storedEvents.add(() -> withId(teachingSessionDTO, entity.getId()));
+			} else if (event instanceof AssignmentDTO assignmentDTO) {
+				try {
+					isValidAssignment(assignmentDTO);
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("Invalid assignment data: " + e.getMessage());
+				}
+				AssignmentEntity entity = convertToAssignmentEntity(assignmentDTO);
+				assignments.add(entity);
+				storedEvents.add(() -> withId(assignmentDTO, entity.getId()));
+			}
+		}
+
+		if (!storedEvents.isEmpty()) {
+			BatchPersister.persistAll(teachingSessions, assignments);
+			EventCache.invalidateAll();
+		}
+		return storedEvents.stream().map(Supplier::get).toList();
+	}
+
 	/**
 	 * Updates an existing event in the system.
+	 * An occurrence of a recurring teaching session is changed on its own, the rest of the series is kept.
+	 * A teaching session is first checked for double bookings against the sessions stored in the database.
 	 *
 	 * @param event The event to update (must be TeachingSessionDTO or AssignmentDTO)
-	 * @throws IllegalArgumentException if the event data is invalid
+	 * @throws IllegalArgumentException if the event data is invalid or the teaching session is double-booked
 	 */
 	public void updateEvent(Event event) {
 		if (event instanceof TeachingSessionDTO teachingSessionDTO) {
 			try {
 				isValidTeachingSession(teachingSessionDTO);
+				isFreeOfConflicts(List.of(teachingSessionDTO));
 			} catch (IllegalArgumentException e) {
 				throw new IllegalArgumentException("Invalid teaching session data: " + e.getMessage());
 			}
-			TeachingSessionEntity entity = convertToTeachingSessionEntity(teachingSessionDTO);
-			teachingSessionDAO.update(entity);
+			if (teachingSessionDTO.isOccurrence()) {
+				teachingSessionOverrideDAO.save(convertToOverrideEntity(teachingSessionDTO, false));
+			} else {
+				teachingSessionDAO.update(convertToTeachingSessionEntity(teachingSessionDTO));
+			}
+			invalidate(teachingSessionDTO);
+			OccupancyIndex.put(teachingSessionDTO);
 		} else if (event instanceof AssignmentDTO assignmentDTO) {
 			try {
 				isValidAssignment(assignmentDTO);
@@ -191,11 +344,13 @@ public class EventModel {
 			}
 			AssignmentEntity entity = convertToAssignmentEntity(assignmentDTO);
 			assignmentDAO.update(entity);
+			EventCache.invalidate(event);
 		}
 	}
 
 	/**
 	 * Deletes an event from the system.
+	 * An occurrence of a recurring teaching session is cancelled on its own, the rest of the series is kept.
 	 *
 	 * @param event The event to delete (must be TeachingSessionDTO or AssignmentDTO)
 	 * @throws IllegalArgumentException if the event data is invalid
@@ -207,8 +362,13 @@ public class EventModel {
 			} catch (IllegalArgumentException e) {
 				throw new IllegalArgumentException("Invalid teaching session data: " + e.getMessage());
 			}
-			TeachingSessionEntity entity = convertToTeachingSessionEntity(teachingSessionDTO);
-			teachingSessionDAO.delete(entity);
+			if (teachingSessionDTO.isOccurrence()) {
+				teachingSessionOverrideDAO.save(convertToOverrideEntity(teachingSessionDTO, true));
+			} else {
+				teachingSessionDAO.delete(convertToTeachingSessionEntity(teachingSessionDTO));
+			}
+			invalidate(teachingSessionDTO);
+			OccupancyIndex.remove(teachingSessionDTO);
 		} else if (event instanceof AssignmentDTO assignmentDTO) {
 			try {
 				isValidAssignment(assignmentDTO);
@@ -217,6 +377,7 @@ public class EventModel {
 			}
 			AssignmentEntity entity = convertToAssignmentEntity(assignmentDTO);
 			assignmentDAO.delete(entity);
+			EventCache.invalidate(event);
 		}
 	}
 
@@ -226,7 +387,7 @@ public class EventModel {
 	 * @param dto The AssignmentDTO to convert
 	 * @return The corresponding AssignmentEntity
 	 */
-	private AssignmentEntity convertToAssignmentEntity(AssignmentDTO dto) {
+	AssignmentEntity convertToAssignmentEntity(AssignmentDTO dto) {
 		AssignmentEntity entity = new AssignmentEntity();
 
 		if (dto.id() != null) {
@@ -244,39 +405,21 @@ public class EventModel {
 
 		entity.setDeadline(Timestamp.valueOf(dto.deadline()));
 
-		SubjectDAO subjectDAO = new SubjectDAO();
-		TimetableDAO timeTableDAO = new TimetableDAO();
-
-		SubjectEntity subjectEntity = subjectDAO.findByCode(dto.subjectCode());
+		SubjectEntity subjectEntity = ReferenceDataCache.findSubjectByCode(dto.subjectCode());
 		entity.setSubject(subjectEntity);
-		entity.setTimetable(timeTableDAO.findById(dto.timetableId()));
+		entity.setTimetable(ReferenceDataCache.findTimetableById(dto.timetableId()));
 		entity.setLocaleCode(dto.localeCode());
 
 		return entity;
 	}
 
-	/**
-	 * Converts an AssignmentEntity to an AssignmentDTO.
-	 *
-	 * @param entity The AssignmentEntity to convert
-	 * @return The corresponding AssignmentDTO
-	 */
-	private AssignmentDTO convertToAssignmentDTO(AssignmentEntity entity) {
-		return new AssignmentDTO(entity.getId(), entity.getType(), entity.getPublishingDate().toLocalDateTime(),
-		                         entity.getDeadline().toLocalDateTime(), entity.getName(),
-		                         entity.getSubject().getCode(),
-		                         entity.getDescription() == null ? null : entity.getDescription(),
-		                         entity.getTimetable().getId(),
-		                         entity.getLocaleCode());
-	}
-
 	/**
 	 * Converts a TeachingSessionDTO to a TeachingSessionEntity.
 	 *
 	 * @param dto The TeachingSessionDTO to convert
 	 * @return The corresponding TeachingSessionEntity
 	 */
-	private TeachingSessionEntity convertToTeachingSessionEntity(TeachingSessionDTO dto) {
+	TeachingSessionEntity convertToTeachingSessionEntity(TeachingSessionDTO dto) {
 		TeachingSessionEntity entity = new TeachingSessionEntity();
 
 		if (dto.id() != null) {
@@ -291,35 +434,99 @@ public class EventModel {
 		entity.setEndDate(Timestamp.valueOf(dto.endDate()));
 
 		if (dto.locationName() != null) {
-			LocationDAO locationDAO = new LocationDAO();
-			entity.setLocation(locationDAO.findByName(dto.locationName()));
+			entity.setLocation(ReferenceDataCache.findLocationByName(dto.locationName()));
 		}
 
-		SubjectDAO subjectDAO = new SubjectDAO();
-		entity.setSubject(subjectDAO.findByCode(dto.subjectCode()));
-
-		TimetableDAO timeTableDAO = new TimetableDAO();
-		entity.setTimetable(timeTableDAO.findById(dto.timetableId()));
+		entity.setSubject(ReferenceDataCache.findSubjectByCode(dto.subjectCode()));
+		entity.setTimetable(ReferenceDataCache.findTimetableById(dto.timetableId()));
 
 		entity.setLocaleCode(dto.localeCode());
 
+		RecurrenceDTO recurrence = dto.recurrence();
+		if (recurrence != null) {
+			entity.setRecurrenceFrequency(recurrence.frequency().name());
+			entity.setRecurrenceInterval(recurrence.interval());
+			entity.setRecurrenceUntil(recurrence.until() == null ? null : Timestamp.valueOf(recurrence.until()));
+		}
+
 		return entity;
 	}
 
 	/**
-	 * Converts a TeachingSessionEntity to a TeachingSessionDTO.
+	 * Converts an occurrence of a recurring teaching session into the override that changes or cancels it.
+	 * Only the time, location and description of an occurrence can differ from its series.
+	 *
+	 * @param dto       The changed occurrence
+	 * @param cancelled Whether the occurrence is cancelled
+	 * @return The corresponding TeachingSessionOverrideEntity
+	 */
+	private TeachingSessionOverrideEntity convertToOverrideEntity(TeachingSessionDTO dto, boolean cancelled) {
+		TeachingSessionEntity series = new TeachingSessionEntity();
+		series.setId(dto.id());
+
+		TeachingSessionOverrideEntity entity =
+				new TeachingSessionOverrideEntity(series, Timestamp.valueOf(dto.originalStart()), cancelled);
+		if (!cancelled) {
+			entity.setStartDate(Timestamp.valueOf(dto.startDate()));
+			entity.setEndDate(Timestamp.valueOf(dto.endDate()));
+			entity.setDescription(dto.description());
+			if (dto.locationName() != null) {
+				entity.setLocation(ReferenceDataCache.findLocationByName(dto.locationName()));
+			}
+		}
+		return entity;
+	}
+
+	/**
+	 * Returns a copy of a new teaching session with the ID it was stored with.
+	 *
+	 * @param dto The teaching session as it was added
+	 * @param id  The generated ID, or null if it was not stored
+	 * @return The teaching session with its ID
+	 */
+	private TeachingSessionDTO withId(TeachingSessionDTO dto, Long id) {
+		return new TeachingSessionDTO(id, dto.startDate(), dto.endDate(), dto.locationName(), dto.subjectCode(),
+		                              dto.description(), dto.timetableId(), dto.localeCode(), dto.recurrence(),
+		                              dto.originalStart());
+	}
+
+	private AssignmentDTO withId(AssignmentDTO dto, Long id) {
+		return new AssignmentDTO(id, dto.type(), dto.publishingDate(), dto.deadline(), dto.assignmentName(),
+		                         dto.subjectCode(), dto.description(), dto.timetableId(), dto.localeCode());
+	}
+
+	/**
+	 * Invalidates the cached weeks a teaching session belongs to. A new or changed series can add occurrences
+	 * to any week, so it invalidates the whole cache.
+	 *
+	 * @param teachingSessionDTO The teaching session that was written
+	 */
+	private void invalidate(TeachingSessionDTO teachingSessionDTO) {
+		if (teachingSessionDTO.recurrence() != null && !teachingSessionDTO.isOccurrence()) {
+			EventCache.invalidateAll();
+		} else {
+			EventCache.invalidate(teachingSessionDTO);
+		}
+	}
+
+	/**
+	 * Registers a listener that is run whenever events may have changed, for example after an event was
+	 * added, updated or deleted, or after a change to groups, subjects or locations.
+	 * The listener runs on the thread that made the change.
+	 *
+	 * @param listener The listener to run
+	 */
+	public void addChangeListener(Runnable listener) {
+		EventCache.addChangeListener(listener);
+	}
+
+	/**
+	 * Removes a listener registered with {@link #addChangeListener(Runnable)}.
 	 *
-	 * @param entity The TeachingSessionEntity to convert
-	 * @return The corresponding TeachingSessionDTO
+	 * @param listener The listener to remove
 	 */
-	private TeachingSessionDTO convertToTeachingSessionDTO(TeachingSessionEntity entity) {
-		return new TeachingSessionDTO(entity.getId(), entity.getStartDate().toLocalDateTime(),
-		                              entity.getEndDate().toLocalDateTime(),
-		                              entity.getLocation() == null ? null : entity.getLocation().getName(),
-		                              entity.getSubject().getCode(),
-		                              entity.getDescription() == null ? null : entity.getDescription(),
-		                              entity.getTimetable().getId(),
-		                              entity.getLocaleCode());
+	public void removeChangeListener(Runnable listener) {
+		EventCache.removeChangeListener(listener);
 	}
 
 	/**
@@ -328,6 +535,7 @@ public class EventModel {
 	public void deleteAllEvents() {
 		assignmentDAO.deleteAll();
 		teachingSessionDAO.deleteAll();
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -352,6 +560,89 @@ public class EventModel {
 		if (teachingSessionDTO.timetableId() <= 0) {
 			throw new IllegalArgumentException("Timetable ID cannot be less than or equal to 0.");
 		}
+		if (teachingSessionDTO.isOccurrence()) {
+			if (teachingSessionDTO.id() == null || teachingSessionDTO.recurrence() == null) {
+				throw new IllegalArgumentException("An occurrence must belong to a recurring teaching session.");
+			}
+		} else if (teachingSessionDTO.recurrence() != null && teachingSessionDTO.recurrence().until() != null &&
+		           teachingSessionDTO.recurrence().until().isBefore(teachingSessionDTO.startDate())) {
+			throw new IllegalArgumentException("Recurrence cannot end before the first occurrence.");
+		}
+	}
+
+	/**
+	 * Checks that teaching sessions are not double-booked with each other or with the stored ones.
+	 *
+	 * @param teachingSessions The teaching sessions to check
+	 * @throws IllegalArgumentException describing the first conflict if there is one
+	 */
+	private void isFreeOfConflicts(List<TeachingSessionDTO> teachingSessions) {
+		List<ConflictDTO> conflicts = findStoredConflicts(teachingSessions);
+		if (conflicts.isEmpty()) {
+			return;
+		}
+
+		ConflictDTO conflict = conflicts.getFirst();
+		TeachingSessionDTO other = conflict.conflictingEvent();
+		String period = other.startDate() + " - " + other.endDate();
+		throw new IllegalArgumentException(switch (conflict.kind()) {
+			case LOCATION -> "Location " + other.locationName() + " is already booked at " + period + ".";
+			case TIMETABLE -> "The timetable already has a teaching session at " + period + ".";
+			case TEACHER -> "The teacher already has a teaching session at " + period + ".";
+		});
+	}
+
+	/**
+	 * Finds the double bookings that new or changed teaching sessions would cause with each other or with the
+	 * sessions stored in the database now. Unlike {@link #findConflicts(TeachingSessionDTO)} this queries the
+	 * database, so it sees the writes of other clients; two clients saving at the same instant can still both
+	 * pass. A series is checked with its occurrences within the weeks the {@link OccupancyIndex} covers.
+	 *
+	 * @param teachingSessions The teaching sessions, occurrences or series about to be stored
+	 * @return The conflicts, with the checked session or occurrence first in each
+	 */
+	private List<ConflictDTO> findStoredConflicts(List<TeachingSessionDTO> teachingSessions) {
+		List<TeachingSessionDTO> candidates = new ArrayList<>();
+		List<Predicate<TeachingSessionDTO>> replaced = new ArrayList<>();
+		for (TeachingSessionDTO teachingSession : teachingSessions) {
+			if (teachingSession.recurrence() != null && !teachingSession.isOccurrence()) {
+				LocalDateTime start = teachingSession.startDate();
+				candidates.addAll(RecurrenceExpander.expand(List.of(teachingSession), List.of(), start,
+				                                            start.plusWeeks(OccupancyIndex.LOADED_WEEKS)));
+			} else {
+				candidates.add(teachingSession);
+			}
+			if (teachingSession.id() != null) {
+				replaced.add(OccupancyIndex.sameSessionAs(teachingSession));
+			}
+		}
+		if (candidates.isEmpty()) {
+			return List.of();
+		}
+
+		LocalDateTime start = candidates.stream().map(TeachingSessionDTO::startDate).min(Comparator.naturalOrder())
+		                                .orElseThrow();
+		LocalDateTime end = candidates.stream().map(TeachingSessionDTO::endDate).max(Comparator.naturalOrder())
+		                              .orElseThrow();
+		List<TeachingSessionDTO> sessions = new ArrayList<>(candidates);
+		for (TeachingSessionDTO stored : loadAllTeachingSessions(start.minus(OccupancyIndex.LOAD_MARGIN), end)) {
+			// The stored version of a changed session is replaced, not double-booked
+			if (replaced.stream().noneMatch(isReplaced -> isReplaced.test(stored))) {
+				sessions.add(stored);
+			}
+		}
+
+		Set<TeachingSessionDTO> isCandidate = Collections.newSetFromMap(new IdentityHashMap<>());
+		isCandidate.addAll(candidates);
+		return ConflictDetector.findConflicts(sessions, timetableDAO.findAllTeacherIdsByTimetableId())
+		                       .stream()
+		                       .filter(conflict -> isCandidate.contains(conflict.event()) ||
+		                                           isCandidate.contains(conflict.conflictingEvent()))
+		                       .map(conflict -> isCandidate.contains(conflict.event())
+		                                        ? conflict
+		                                        : new ConflictDTO(conflict.kind(), conflict.conflictingEvent(),
+		                                                          conflict.event()))
+		                       .toList();
 	}
 
 	/**
@@ -130,6 +130,8 @@ public class GroupModel {
 				                    subject, timetable);
 
 		userGroupDAO.persist(group);
+		// The teacher of the new timetable is only known to the index once it is loaded again
+		OccupancyIndex.invalidate();
 	}
 
 	/**
@@ -151,7 +153,7 @@ public class GroupModel {
 			throw new IllegalArgumentException("Only teachers can update groups");
 		}
 
-		UserGroupEntity existingGroup = userGroupDAO.findByName(currentName);
+		UserGroupEntity existingGroup = userGroupDAO.findByNameWithStudents(currentName);
 
 		if (existingGroup == null) {
 			throw new IllegalArgumentException("Group does not exist.");
@@ -178,6 +180,7 @@ public class GroupModel {
 		existingGroup.setTimetable(existingGroup.getTimetable());
 
 		userGroupDAO.persist(existingGroup);
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -192,7 +195,7 @@ public class GroupModel {
 			throw new IllegalArgumentException("Only teachers can add student to group");
 		}
 
-		UserGroupEntity existingGroup = userGroupDAO.findByName(groupDTO.name());
+		UserGroupEntity existingGroup = userGroupDAO.findByNameWithStudents(groupDTO.name());
 
 		if (existingGroup == null) {
 			throw new IllegalArgumentException("Group does not exist.");
@@ -215,6 +218,7 @@ public class GroupModel {
 		existingGroup.getStudents().add(student);
 		existingGroup.setTimetable(existingGroup.getTimetable());
 		userGroupDAO.persist(existingGroup);
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -229,7 +233,7 @@ public class GroupModel {
 			throw new IllegalArgumentException("Only teachers can remove student from group");
 		}
 
-		UserGroupEntity existingGroup = userGroupDAO.findByName(groupDTO.name());
+		UserGroupEntity existingGroup = userGroupDAO.findByNameWithStudents(groupDTO.name());
 
 		if (existingGroup == null) {
 			throw new IllegalArgumentException("Group does not exist.");
@@ -243,6 +247,7 @@ public class GroupModel {
 
 		existingGroup.getStudents().remove(user);
 		userGroupDAO.persist(existingGroup);
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -264,6 +269,8 @@ public class GroupModel {
 
 		userGroupDAO.delete(existingGroup);
 		timetableDAO.delete(existingGroup.getTimetable());
+		ReferenceDataCache.invalidateTimetable(existingGroup.getTimetable().getId());
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -293,7 +300,7 @@ public class GroupModel {
 	 * @param group The entity to convert
 	 * @return A GroupDTO representation of the entity
 	 */
-	private GroupDTO convertToGroupDTO(UserGroupEntity group) {
+	GroupDTO convertToGroupDTO(UserGroupEntity group) {
 		return new GroupDTO(group.getName(), group.getCode(), group.getCapacity(), group.getTeacher().getId(),
 		                    group.getSubject().getCode());
 	}
@@ -2,8 +2,10 @@ package model;
 
 import dao.LocationDAO;
 import dto.LocationDTO;
+import dto.TeachingSessionDTO;
 import entity.LocationEntity;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -34,6 +36,39 @@ public class LocationModel {
 		return locations;
 	}
 
+	/**
+	 * Finds the locations that are free during a time window, optionally limited to one campus or building.
+	 * The search is answered from the {@link OccupancyIndex}, so only the first search in a term, or the
+	 * first one after the index was dropped, reads the locations and teaching sessions from the database.
+	 *
+	 * @param start        The beginning of the window
+	 * @param end          The end of the window
+	 * @param campus       The campus the locations must be on, or null or empty for any campus
+	 * @param building     The building the locations must be in, or null or empty for any building
+	 * @param movedSession A teaching session or occurrence whose own location counts as free, such as the one
+	 *                     being edited, or null
+	 * @return Data transfer objects of the free locations, in the order of {@link #fetchAllLocations()}
+	 * @throws IllegalArgumentException if the window is missing or ends before it starts
+	 */
+	public List<LocationDTO> fetchAvailableLocations(LocalDateTime start, LocalDateTime end, String campus,
+	                                                 String building, TeachingSessionDTO movedSession) {
+		if (start == null || end == null) {
+			throw new IllegalArgumentException("Start and end of the window cannot be null.");
+		}
+		if (end.isBefore(start)) {
+			throw new IllegalArgumentException("End of the window cannot be before its start.");
+		}
+
+		return OccupancyIndex.findAvailable(start, end,
+		                                    location -> matches(campus, location.campus()) &&
+		                                                matches(building, location.building()),
+		                                    movedSession);
+	}
+
+	private static boolean matches(String filter, String value) {
+		return filter == null || filter.isEmpty() || filter.equals(value);
+	}
+
 	/**
 	 * Adds a new location to the system.
 	 * Only teachers are allowed to add locations.
@@ -54,6 +89,7 @@ public class LocationModel {
 
 		LocationEntity location = convertToLocationEntity(locationDTO);
 		locationDAO.persist(location);
+		OccupancyIndex.addLocation(locationDTO);
 	}
 
 	/**
@@ -92,6 +128,8 @@ public class LocationModel {
 		locationEntity.setBuilding(location.building());
 
 		locationDAO.update(locationEntity);
+		ReferenceDataCache.invalidateLocation(currentName);
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -108,6 +146,8 @@ public class LocationModel {
 
 		LocationEntity location = convertToLocationEntity(locationDTO);
 		locationDAO.delete(location);
+		ReferenceDataCache.invalidateLocation(locationDTO.name());
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -135,5 +175,7 @@ public class LocationModel {
 	 */
 	public void deleteAllLocations() {
 		locationDAO.deleteAll();
+		ReferenceDataCache.invalidateAllLocations();
+		EventCache.invalidateAll();
 	}
 }
@@ -0,0 +1,325 @@
+package model;
+
+import dao.TimetableDAO;
+import dto.ConflictDTO;
+import dto.LocationDTO;
+import dto.TeachingSessionDTO;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the times every location and every timetable is occupied by a teaching session, so free rooms and
+ * double bookings can be found without querying the database.
+ * <p>
+ * The locations, the teachers of the timetables and the teaching sessions of a range of weeks are loaded once,
+ * with recurring series expanded into their occurrences. For every location and every timetable the sessions
+ * are kept in a map ordered by start, together with the length of the longest one. A session can only overlap
+ * a window if it starts before the end of the window and no longer than that length before its start, so each
+ * check is a single ordered range lookup and checking hundreds of locations takes well under a millisecond.
+ * </p>
+ * <p>
+ * Adding, changing or deleting a single teaching session or occurrence updates the index in place. Changes
+ * that can affect many sessions at once, such as changing a series or renaming a location, drop the whole
+ * index through {@link EventCache#invalidateAll()}, and it is loaded again on the next lookup. Like the week
+ * cache it expires after a few minutes so changes made by other clients are picked up.
+ * </p>
+ */
+final class OccupancyIndex {
+
+	private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+	// Roughly one term, so moving between weeks while scheduling does not reload the index
+	static final int LOADED_WEEKS = 26;
+	// Sessions end on the day they start, so this catches the ones running over the start of the range
+	static final Duration LOAD_MARGIN = Duration.ofDays(1);
+
+	private static final LocationModel locationModel = new LocationModel();
+	private static final EventModel eventModel = new EventModel();
+	private static final TimetableDAO timetableDAO = new TimetableDAO();
+
+	private static final Map<String, Intervals> byLocation = new HashMap<>();
+	private static final Map<Long, Intervals> byTimetable = new HashMap<>();
+	private static final Map<OccupancyKey, TeachingSessionDTO> occupancies = new HashMap<>();
+	private static final List<LocationDTO> allLocations = new ArrayList<>();
+	private static final Map<Long, Long> teacherByTimetable = new HashMap<>();
+	private static final Map<Long, Set<Long>> timetablesByTeacher = new HashMap<>();
+	private static LocalDateTime loadedStart;
+	private static LocalDateTime loadedEnd;
+	private static long loadedAt;
+
+	private OccupancyIndex() {
+	}
+
+	/**
+	 * Identifies a teaching session, or one occurrence of a series by its original start.
+	 */
+	private record OccupancyKey(long teachingSessionId, LocalDateTime originalStart) {
+	}
+
+	/**
+	 * The sessions of one location or timetable, ordered by start.
+	 */
+	private static final class Intervals {
+		private final NavigableMap<LocalDateTime, List<TeachingSessionDTO>> byStart = new TreeMap<>();
+		// Only grows, a longer bound than needed just widens the range that is looked at
+		private Duration longest = Duration.ZERO;
+
+		private void add(TeachingSessionDTO teachingSession) {
+			byStart.computeIfAbsent(teachingSession.startDate(), start -> new ArrayList<>(1)).add(teachingSession);
+			Duration length = Duration.between(teachingSession.startDate(), teachingSession.endDate());
+			if (length.compareTo(longest) > 0) {
+				longest = length;
+			}
+		}
+
+		private void remove(TeachingSessionDTO teachingSession) {
+			List<TeachingSessionDTO> starting = byStart.get(teachingSession.startDate());
+			if (starting != null && starting.remove(teachingSession) && starting.isEmpty()) {
+				byStart.remove(teachingSession.startDate());
+			}
+		}
+
+		private void forEachOverlapping(LocalDateTime start, LocalDateTime end, Predicate<TeachingSessionDTO> ignored,
+		                                Consumer<TeachingSessionDTO> action) {
+			for (List<TeachingSessionDTO> starting : byStart.subMap(start.minus(longest), true, end, false).values()) {
+				for (TeachingSessionDTO teachingSession : starting) {
+					if (teachingSession.endDate().isAfter(start) && !ignored.test(teachingSession)) {
+						action.accept(teachingSession);
+					}
+				}
+			}
+		}
+
+		private boolean isOccupied(LocalDateTime start, LocalDateTime end, Predicate<TeachingSessionDTO> ignored) {
+			for (List<TeachingSessionDTO> starting : byStart.subMap(start.minus(longest), true, end, false).values()) {
+				for (TeachingSessionDTO teachingSession : starting) {
+					if (teachingSession.endDate().isAfter(start) && !ignored.test(teachingSession)) {
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the locations that are not occupied at any point of a window.
+	 * Sessions that end when the window starts, or start when it ends, do not occupy it.
+	 *
+	 * @param start   The beginning of the window
+	 * @param end     The end of the window
+	 * @param filter  Selects the locations to consider, for example by campus
+	 * @param ignored A teaching session or occurrence that does not count, such as the one being moved, or null
+	 * @return The free locations, in the order they were loaded
+	 */
+	static synchronized List<LocationDTO> findAvailable(LocalDateTime start, LocalDateTime end,
+	                                                    Predicate<LocationDTO> filter, TeachingSessionDTO ignored) {
+		ensureLoaded(start, end);
+
+		Predicate<TeachingSessionDTO> isIgnored = sameSessionAs(ignored);
+		List<LocationDTO> available = new ArrayList<>();
+		for (LocationDTO location : allLocations) {
+			if (filter.test(location)) {
+				Intervals intervals = byLocation.get(location.name());
+				if (intervals == null || !intervals.isOccupied(start, end, isIgnored)) {
+					available.add(location);
+				}
+			}
+		}
+		return available;
+	}
+
+	/**
+	 * Finds the teaching sessions that would be double-booked with a new or changed one: sessions in the same
+	 * location, in the same timetable, or taught by the same teacher at an overlapping time. A series is checked
+	 * with each of its occurrences within the loaded weeks. The previous version of the session itself does not
+	 * count.
+	 *
+	 * @param teachingSession The teaching session, occurrence or series to check
+	 * @return The conflicts, with the checked session or occurrence first in each
+	 */
+	static synchronized List<ConflictDTO> findConflicts(TeachingSessionDTO teachingSession) {
+		ensureLoaded(teachingSession.startDate(), teachingSession.endDate());
+
+		List<TeachingSessionDTO> occurrences = List.of(teachingSession);
+		if (teachingSession.recurrence() != null && !teachingSession.isOccurrence()) {
+			occurrences = RecurrenceExpander.expand(occurrences, List.of(), teachingSession.startDate(), loadedEnd);
+		}
+
+		Predicate<TeachingSessionDTO> isIgnored = sameSessionAs(teachingSession);
+		List<ConflictDTO> conflicts = new ArrayList<>();
+		for (TeachingSessionDTO occurrence : occurrences) {
+			LocalDateTime start = occurrence.startDate();
+			LocalDateTime end = occurrence.endDate();
+
+			Intervals location = occurrence.locationName() == null ? null : byLocation.get(occurrence.locationName());
+			if (location != null) {
+				location.forEachOverlapping(start, end, isIgnored, other -> conflicts.add(
+						new ConflictDTO(ConflictDTO.Kind.LOCATION, occurrence, other)));
+			}
+
+			Intervals timetable = byTimetable.get(occurrence.timetableId());
+			if (timetable != null) {
+				timetable.forEachOverlapping(start, end, isIgnored, other -> conflicts.add(
+						new ConflictDTO(ConflictDTO.Kind.TIMETABLE, occurrence, other)));
+			}
+
+			Long teacherId = teacherByTimetable.get(occurrence.timetableId());
+			if (teacherId != null) {
+				for (long timetableId : timetablesByTeacher.get(teacherId)) {
+					Intervals taught = byTimetable.get(timetableId);
+					if (timetableId != occurrence.timetableId() && taught != null) {
+						taught.forEachOverlapping(start, end, isIgnored, other -> conflicts.add(
+								new ConflictDTO(ConflictDTO.Kind.TEACHER, occurrence, other)));
+					}
+				}
+			}
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Adds a new location, which is free until a teaching session is put there.
+	 *
+	 * @param location The location that was added
+	 */
+	static synchronized void addLocation(LocationDTO location) {
+		if (loadedStart != null) {
+			allLocations.add(location);
+		}
+	}
+
+	/**
+	 * Records the new time and location of a teaching session or occurrence, replacing its previous one.
+	 * A series can have occurrences in any week, so it drops the index instead.
+	 *
+	 * @param teachingSession The teaching session that was added or changed, with its ID
+	 */
+	static synchronized void put(TeachingSessionDTO teachingSession) {
+		if (teachingSession.recurrence() != null && !teachingSession.isOccurrence()) {
+			invalidate();
+			return;
+		}
+		if (loadedStart == null || teachingSession.id() == null) {
+			return;
+		}
+
+		OccupancyKey key = keyOf(teachingSession);
+		remove(key);
+		if (teachingSession.startDate().isAfter(loadedEnd) || teachingSession.endDate().isBefore(loadedStart)) {
+			return;
+		}
+
+		occupancies.put(key, teachingSession);
+		if (teachingSession.locationName() != null) {
+			byLocation.computeIfAbsent(teachingSession.locationName(), name -> new Intervals()).add(teachingSession);
+		}
+		byTimetable.computeIfAbsent(teachingSession.timetableId(), id -> new Intervals()).add(teachingSession);
+	}
+
+	/**
+	 * Removes a deleted teaching session. Deleting a series removes all of its occurrences, deleting an
+	 * occurrence only removes that one.
+	 *
+	 * @param teachingSession The teaching session or occurrence that was deleted
+	 */
+	static synchronized void remove(TeachingSessionDTO teachingSession) {
+		if (loadedStart == null || teachingSession.id() == null) {
+			return;
+		}
+
+		if (teachingSession.isOccurrence()) {
+			remove(keyOf(teachingSession));
+		} else {
+			List<OccupancyKey> keys = occupancies.keySet().stream()
+			                                     .filter(key -> key.teachingSessionId() == teachingSession.id())
+			                                     .toList();
+			keys.forEach(OccupancyIndex::remove);
+		}
+	}
+
+	/**
+	 * Drops the index so it is loaded again on the next lookup.
+	 */
+	static synchronized void invalidate() {
+		byLocation.clear();
+		byTimetable.clear();
+		occupancies.clear();
+		allLocations.clear();
+		teacherByTimetable.clear();
+		timetablesByTeacher.clear();
+		loadedStart = null;
+		loadedEnd = null;
+	}
+
+	private static void remove(OccupancyKey key) {
+		TeachingSessionDTO previous = occupancies.remove(key);
+		if (previous != null) {
+			if (previous.locationName() != null) {
+				byLocation.get(previous.locationName()).remove(previous);
+			}
+			byTimetable.get(previous.timetableId()).remove(previous);
+		}
+	}
+
+	private static void ensureLoaded(LocalDateTime start, LocalDateTime end) {
+		long now = System.nanoTime();
+		if (loadedStart != null && now - loadedAt < TIME_TO_LIVE.toNanos() &&
+		    !start.isBefore(loadedStart) && !end.isAfter(loadedEnd)) {
+			return;
+		}
+
+		LocalDateTime rangeStart = start.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+		                                .atStartOfDay();
+		LocalDateTime rangeEnd = rangeStart.plusWeeks(LOADED_WEEKS);
+		if (rangeEnd.isBefore(end)) {
+			rangeEnd = end;
+		}
+
+		List<LocationDTO> locations = locationModel.fetchAllLocations();
+		Map<Long, Long> teachers = timetableDAO.findAllTeacherIdsByTimetableId();
+		List<TeachingSessionDTO> teachingSessions =
+				eventModel.loadAllTeachingSessions(rangeStart.minus(LOAD_MARGIN), rangeEnd);
+
+		invalidate();
+		loadedStart = rangeStart;
+		loadedEnd = rangeEnd;
+		loadedAt = now;
+		allLocations.addAll(locations);
+		teacherByTimetable.putAll(teachers);
+		teachers.forEach((timetableId, teacherId) -> timetablesByTeacher.computeIfAbsent(teacherId,
+		                                                                                  id -> new HashSet<>())
+		                                                                 .add(timetableId));
+		teachingSessions.forEach(OccupancyIndex::put);
+	}
+
+	/**
+	 * Matches the stored versions of a teaching session: every occurrence of a series, or the one occurrence
+	 * or single session with the same ID.
+	 */
+	static Predicate<TeachingSessionDTO> sameSessionAs(TeachingSessionDTO teachingSession) {
+		if (teachingSession == null || teachingSession.id() == null) {
+			return stored -> false;
+		}
+		return stored -> stored.id().equals(teachingSession.id()) &&
+		                 (!teachingSession.isOccurrence() ||
+		                  Objects.equals(stored.originalStart(), teachingSession.originalStart()));
+	}
+
+	private static OccupancyKey keyOf(TeachingSessionDTO teachingSession) {
+		return new OccupancyKey(teachingSession.id(), teachingSession.originalStart());
+	}
+}
@@ -0,0 +1,136 @@
+package model;
+
+import dto.RecurrenceDTO;
+import dto.TeachingSessionDTO;
+import dto.TeachingSessionOverrideDTO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expands recurring teaching sessions into the occurrences that start within a period.
+ * <p>
+ * A series is stored as a single row with its first occurrence and its {@link RecurrenceDTO}. Only the
+ * occurrences inside the requested period are computed, jumping straight to the first one, so the cost
+ * depends on the length of the period and not on how long the series runs. Changed and cancelled
+ * occurrences are applied from their {@link TeachingSessionOverrideDTO}, matched by the original start.
+ * </p>
+ */
+final class RecurrenceExpander {
+
+	private RecurrenceExpander() {
+	}
+
+	/**
+	 * Replaces every recurring teaching session by its occurrences that start within a period.
+	 * Sessions that do not repeat are returned unchanged.
+	 *
+	 * @param teachingSessions The teaching sessions loaded for the period, including the series that may have
+	 *                         occurrences in it
+	 * @param overrides        The overrides of the series that concern the period
+	 * @param start            The beginning of the period
+	 * @param end              The end of the period
+	 * @return The teaching sessions and occurrences that start within the period
+	 */
+	static List<TeachingSessionDTO> expand(List<TeachingSessionDTO> teachingSessions,
+	                                       List<TeachingSessionOverrideDTO> overrides, LocalDateTime start,
+	                                       LocalDateTime end) {
+		Map<Long, Map<LocalDateTime, TeachingSessionOverrideDTO>> overridesBySeries = new HashMap<>();
+		for (TeachingSessionOverrideDTO override : overrides) {
+			overridesBySeries.computeIfAbsent(override.teachingSessionId(), id -> new HashMap<>())
+			                 .put(override.originalStart(), override);
+		}
+
+		List<TeachingSessionDTO> expanded = new ArrayList<>(teachingSessions.size());
+		for (TeachingSessionDTO teachingSession : teachingSessions) {
+			if (teachingSession.recurrence() == null) {
+				expanded.add(teachingSession);
+			} else {
+				expandSeries(teachingSession, overridesBySeries.getOrDefault(teachingSession.id(), Map.of()), start,
+				             end, expanded);
+			}
+		}
+		return expanded;
+	}
+
+	private static void expandSeries(TeachingSessionDTO series, Map<LocalDateTime, TeachingSessionOverrideDTO> overrides,
+	                                 LocalDateTime start, LocalDateTime end, List<TeachingSessionDTO> expanded) {
+		RecurrenceDTO recurrence = series.recurrence();
+		LocalDateTime last = recurrence.until() != null && recurrence.until().isBefore(end) ? recurrence.until() : end;
+
+		long index = firstIndexFrom(series, start);
+		LocalDateTime occurrenceStart = recurrence.occurrenceStart(series.startDate(), index);
+		while (!occurrenceStart.isAfter(last)) {
+			if (!overrides.containsKey(occurrenceStart)) {
+				expanded.add(occurrence(series, occurrenceStart));
+			}
+			occurrenceStart = recurrence.occurrenceStart(series.startDate(), ++index);
+		}
+
+		// Changed occurrences are placed by their new start, which may lie outside the period they came from
+		for (TeachingSessionOverrideDTO override : overrides.values()) {
+			if (override.cancelled() || !isOccurrence(series, override.originalStart())) {
+				continue;
+			}
+
+			TeachingSessionDTO changed = applyOverride(series, override);
+			if (!changed.startDate().isBefore(start) && !changed.startDate().isAfter(end)) {
+				expanded.add(changed);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the first occurrence that does not start before a given moment.
+	 */
+	private static long firstIndexFrom(TeachingSessionDTO series, LocalDateTime from) {
+		RecurrenceDTO recurrence = series.recurrence();
+		long days = ChronoUnit.DAYS.between(series.startDate().toLocalDate(), from.toLocalDate());
+		long index = Math.max(0, days / recurrence.stepDays());
+
+		while (recurrence.occurrenceStart(series.startDate(), index).isBefore(from)) {
+			index++;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns whether a series has an occurrence starting at the given moment.
+	 */
+	static boolean isOccurrence(TeachingSessionDTO series, LocalDateTime occurrenceStart) {
+		RecurrenceDTO recurrence = series.recurrence();
+		if (occurrenceStart.isBefore(series.startDate()) ||
+		    (recurrence.until() != null && occurrenceStart.isAfter(recurrence.until())) ||
+		    !occurrenceStart.toLocalTime().equals(series.startDate().toLocalTime())) {
+			return false;
+		}
+
+		long days = ChronoUnit.DAYS.between(series.startDate().toLocalDate(), occurrenceStart.toLocalDate());
+		return days % recurrence.stepDays() == 0;
+	}
+
+	private static TeachingSessionDTO occurrence(TeachingSessionDTO series, LocalDateTime occurrenceStart) {
+		Duration length = Duration.between(series.startDate(), series.endDate());
+		return new TeachingSessionDTO(series.id(), occurrenceStart, occurrenceStart.plus(length), series.locationName(),
+		                              series.subjectCode(), series.description(), series.timetableId(),
+		                              series.localeCode(), series.recurrence(), occurrenceStart);
+	}
+
+	private static TeachingSessionDTO applyOverride(TeachingSessionDTO series, TeachingSessionOverrideDTO override) {
+		Duration length = Duration.between(series.startDate(), series.endDate());
+		LocalDateTime startDate = override.startDate() != null ? override.startDate() : override.originalStart();
+		LocalDateTime endDate = override.endDate() != null ? override.endDate() : startDate.plus(length);
+
+		return new TeachingSessionDTO(series.id(), startDate, endDate,
+		                              override.locationName() != null ? override.locationName() : series.locationName(),
+		                              series.subjectCode(),
+		                              override.description() != null ? override.description() : series.description(),
+		                              series.timetableId(), series.localeCode(), series.recurrence(),
+		                              override.originalStart());
+	}
+}
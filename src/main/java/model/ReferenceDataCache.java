@@ -0,0 +1,156 @@
+package model;
+
+import dao.LocationDAO;
+import dao.SubjectDAO;
+import dao.TimetableDAO;
+import entity.LocationEntity;
+import entity.SubjectEntity;
+import entity.TimetableEntity;
+import util.ExpiringCache;
+
+import java.time.Duration;
+
+/**
+ * Caches the reference data looked up whenever an event is saved: subjects by code, locations by name
+ * and timetables by ID.
+ * <p>
+ * The cached entities are detached and only used as references for new or updated events, so they are
+ * never modified. The models that change subjects, locations and timetables invalidate the affected entries;
+ * the time-to-live bounds how long a change made by another client can go unnoticed.
+ * </p>
+ */
+public final class ReferenceDataCache {
+
+	private static final int MAX_SIZE = 512;
+	private static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+	private static final SubjectDAO subjectDAO = new SubjectDAO();
+	private static final LocationDAO locationDAO = new LocationDAO();
+	private static final TimetableDAO timetableDAO = new TimetableDAO();
+
+	private static final ExpiringCache<String, SubjectEntity> subjects = new ExpiringCache<>(MAX_SIZE, TIME_TO_LIVE);
+	private static final ExpiringCache<String, LocationEntity> locations = new ExpiringCache<>(MAX_SIZE, TIME_TO_LIVE);
+	private static final ExpiringCache<Long, TimetableEntity> timetables = new ExpiringCache<>(MAX_SIZE, TIME_TO_LIVE);
+
+	private ReferenceDataCache() {
+	}
+
+	/**
+	 * Hit and miss counters of one of the caches.
+	 *
+	 * @param size   number of entries currently cached
+	 * @param hits   lookups answered from the cache
+	 * @param misses lookups that went to the database
+	 */
+	public record Stats(int size, long hits, long misses) {
+	}
+
+	/**
+	 * Finds a subject by its code.
+	 *
+	 * @param code The subject code
+	 * @return The subject, or null if no subject has this code
+	 */
+	static SubjectEntity findSubjectByCode(String code) {
+		return subjects.get(code, subjectDAO::findByCode);
+	}
+
+	/**
+	 * Finds a location by its name.
+	 *
+	 * @param name The location name
+	 * @return The location, or null if no location has this name
+	 */
+	static LocationEntity findLocationByName(String name) {
+		return locations.get(name, locationDAO::findByName);
+	}
+
+	/**
+	 * Finds a timetable by its ID.
+	 *
+	 * @param id The timetable ID
+	 * @return The timetable, or null if it does not exist
+	 */
+	static TimetableEntity findTimetableById(long id) {
+		return timetables.get(id, timetableDAO::findById);
+	}
+
+	/**
+	 * Removes a subject from the cache after it was changed or deleted.
+	 *
+	 * @param code The code the subject was cached under
+	 */
+	static void invalidateSubject(String code) {
+		subjects.invalidate(code);
+	}
+
+	/**
+	 * Removes every subject from the cache.
+	 */
+	static void invalidateAllSubjects() {
+		subjects.invalidateAll();
+	}
+
+	/**
+	 * Removes a location from the cache after it was changed or deleted.
+	 *
+	 * @param name The name the location was cached under
+	 */
+	static void invalidateLocation(String name) {
+		locations.invalidate(name);
+	}
+
+	/**
+	 * Removes every location from the cache.
+	 */
+	static void invalidateAllLocations() {
+		locations.invalidateAll();
+	}
+
+	/**
+	 * Removes a timetable from the cache after it was deleted.
+	 *
+	 * @param id The timetable ID
+	 */
+	static void invalidateTimetable(long id) {
+		timetables.invalidate(id);
+	}
+
+	/**
+	 * Removes every timetable from the cache.
+	 */
+	static void invalidateAllTimetables() {
+		timetables.invalidateAll();
+	}
+
+	/**
+	 * Returns the counters of the subject cache.
+	 *
+	 * @return The subject cache statistics
+	 */
+	public static Stats getSubjectStats() {
+		return statsOf(subjects);
+	}
+
+	/**
+	 * Returns the counters of the location cache.
+	 *
+	 * @return The location cache statistics
+	 */
+	public static Stats getLocationStats() {
+		return statsOf(locations);
+	}
+
+	/**
+	 * Returns the counters of the timetable cache.
+	 *
+	 * @return The timetable cache statistics
+	 */
+	public static Stats getTimetableStats() {
+		return statsOf(timetables);
+	}
+
+	private static Stats statsOf(ExpiringCache<?, ?> cache) {
+		return new Stats(cache.size(), cache.getHits(), cache.getMisses());
+	}
+}
@@ -113,6 +113,8 @@ public class SubjectModel {
 		subject.setCode(subjectDTO.code());
 
 		subjectDAO.update(subject);
+		ReferenceDataCache.invalidateSubject(currentCode);
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -128,6 +130,8 @@ public class SubjectModel {
 
 		SubjectEntity subject = convertToSubjectEntity(subjectDTO);
 		subjectDAO.delete(subject);
+		ReferenceDataCache.invalidateSubject(subjectDTO.code());
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -135,6 +139,8 @@ public class SubjectModel {
 	 */
 	public void deleteAllSubjects() {
 		subjectDAO.deleteAll();
+		ReferenceDataCache.invalidateAllSubjects();
+		EventCache.invalidateAll();
 	}
 
 	/**
@@ -0,0 +1,409 @@
+package model;
+
+import dto.ScheduleProgressDTO;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Places the one-hour lessons of a term into the hours of a teaching week and into rooms, so that no room,
+ * group or teacher is booked twice at the same hour.
+ * <p>
+ * The search is a min-conflicts local search with a short tabu list. Each step takes a lesson that is in a
+ * clash, or failing that one that shares a day with another lesson of its subject, and moves it to the
+ * hour and room that lowers the cost the most. Clashes always weigh more than an uneven spread over the week.
+ * When the search stops improving it restarts from the best timetable found, with some lessons moved at random.
+ * </p>
+ * <p>
+ * One independent search with its own random seed runs on every core. The searches stop as soon as one of them
+ * finds a timetable without clashes and with the best possible spread, or when the time budget is used up, and
+ * the best timetable of all of them is returned.
+ * </p>
+ */
+final class TermScheduler {
+
+	static final LocalTime DAY_START = LocalTime.of(8, 0);
+	static final int HOURS_PER_DAY = 10;
+	static final int DAYS = 5;
+	static final int SLOTS = DAYS * HOURS_PER_DAY;
+
+	// A single clash must outweigh any spread penalty
+	private static final int CLASH_WEIGHT = 10_000;
+	private static final int TABU_TENURE = 10;
+	private static final double RANDOM_MOVE_PROBABILITY = 0.02;
+	private static final int STAGNATION_LIMIT = 2_000;
+	private static final double PERTURBED_SHARE = 0.05;
+
+	private TermScheduler() {
+	}
+
+	/**
+	 * A one-hour lesson to place.
+	 *
+	 * @param requirement The index of the weekly requirement the lesson belongs to
+	 * @param group       The index of the group that is taught
+	 * @param teacher     The index of the teacher of the group
+	 * @param slots       The weekly hours the lesson may be placed in
+	 * @param rooms       The indices of the rooms that are large enough for the group
+	 */
+	record Lesson(int requirement, int group, int teacher, int[] slots, int[] rooms) {
+	}
+
+	/**
+	 * The lessons of a term and the resources they compete for.
+	 *
+	 * @param lessons      The lessons to place
+	 * @param groups       The number of groups
+	 * @param teachers     The number of teachers
+	 * @param requirements The number of weekly requirements
+	 * @param roomBookings The number of existing bookings of each room in each weekly hour
+	 */
+	record Problem(List<Lesson> lessons, int groups, int teachers, int requirements, int[][] roomBookings) {
+
+		int rooms() {
+			return roomBookings.length;
+		}
+
+		/**
+		 * Returns the lowest spread penalty possible, reached when the hours of every requirement are spread
+		 * as evenly as possible over the days it can be taught on.
+		 */
+		int minimumPenalty() {
+			int[] hours = new int[requirements];
+			int[] days = new int[requirements];
+			for (Lesson lesson : lessons) {
+				hours[lesson.requirement()]++;
+				// The lessons of a requirement share the hours they may be placed in
+				days[lesson.requirement()] = (int) Arrays.stream(lesson.slots())
+				                                         .map(TermScheduler::dayOf)
+				                                         .distinct()
+				                                         .count();
+			}
+
+			int penalty = 0;
+			for (int requirement = 0; requirement < requirements; requirement++) {
+				if (hours[requirement] == 0) {
+					continue;
+				}
+				int perDay = hours[requirement] / days[requirement];
+				int longerDays = hours[requirement] % days[requirement];
+				penalty += longerDays * pairs(perDay + 1) + (days[requirement] - longerDays) * pairs(perDay);
+			}
+			return penalty;
+		}
+	}
+
+	/**
+	 * A placement of every lesson.
+	 *
+	 * @param slots     The weekly hour of each lesson
+	 * @param rooms     The room index of each lesson
+	 * @param conflicts The number of clashes of a room, group or teacher
+	 * @param penalty   The number of pairs of lessons of the same requirement on the same day
+	 */
+	record Solution(int[] slots, int[] rooms, int conflicts, int penalty) {
+
+		long cost() {
+			return (long) conflicts * CLASH_WEIGHT + penalty;
+		}
+	}
+
+	/**
+	 * Searches for the best placement of the lessons within a time budget.
+	 *
+	 * @param problem    The lessons and resources
+	 * @param timeBudget The wall-clock time the search may take
+	 * @param threads    The number of searches to run in parallel
+	 * @param seed       The seed of the first search, the others use the following seeds
+	 * @param progress   Called from the search threads whenever a better timetable is found, and once at the end
+	 * @return The best placement found, which still has conflicts if none without was found in time
+	 */
+	static Solution solve(Problem problem, Duration timeBudget, int threads, long seed,
+	                      Consumer<ScheduleProgressDTO> progress) {
+		SharedBest shared = new SharedBest(problem.minimumPenalty(), System.nanoTime(),
+		                                   System.nanoTime() + timeBudget.toNanos(), progress);
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+			for (int i = 0; i < threads; i++) {
+				long searchSeed = seed + i;
+				executor.execute(() -> new Search(problem, new Random(searchSeed), shared).run());
+			}
+		}
+
+		Solution best = shared.best;
+		progress.accept(new ScheduleProgressDTO(shared.elapsed(), best.conflicts(), best.penalty(), true));
+		return best;
+	}
+
+	private static int pairs(int count) {
+		return count * (count - 1) / 2;
+	}
+
+	private static int dayOf(int slot) {
+		return slot / HOURS_PER_DAY;
+	}
+
+	/**
+	 * Returns the day of the week of a weekly hour.
+	 */
+	static DayOfWeek dayOfWeek(int slot) {
+		return DayOfWeek.MONDAY.plus(dayOf(slot));
+	}
+
+	/**
+	 * Returns the time of day a weekly hour starts at.
+	 */
+	static LocalTime startOf(int slot) {
+		return DAY_START.plusHours(slot % HOURS_PER_DAY);
+	}
+
+	/**
+	 * Returns the weekly hour that starts on a day at a time.
+	 *
+	 * @return The index of the hour, or -1 if it is outside the teaching week
+	 */
+	static int slotOf(DayOfWeek day, LocalTime start) {
+		int dayIndex = day.getValue() - DayOfWeek.MONDAY.getValue();
+		if (dayIndex >= DAYS || start.isBefore(DAY_START) || start.getMinute() != 0) {
+			return -1;
+		}
+		int hour = start.getHour() - DAY_START.getHour();
+		return hour < HOURS_PER_DAY ? dayIndex * HOURS_PER_DAY + hour : -1;
+	}
+
+	/**
+	 * The best placement found by any of the searches.
+	 */
+	private static final class SharedBest {
+		private final int minimumPenalty;
+		private final long startedAt;
+		private final long deadline;
+		private final Consumer<ScheduleProgressDTO> progress;
+		private final AtomicBoolean solved = new AtomicBoolean();
+		private Solution best;
+
+		private SharedBest(int minimumPenalty, long startedAt, long deadline,
+		                   Consumer<ScheduleProgressDTO> progress) {
+			this.minimumPenalty = minimumPenalty;
+			this.startedAt = startedAt;
+			this.deadline = deadline;
+			this.progress = progress;
+		}
+
+		private boolean isDone() {
+			return solved.get() || System.nanoTime() >= deadline;
+		}
+
+		private synchronized void offer(Solution solution) {
+			if (best != null && solution.cost() >= best.cost()) {
+				return;
+			}
+
+			best = solution;
+			if (solution.conflicts() == 0 && solution.penalty() <= minimumPenalty) {
+				solved.set(true);
+			}
+			progress.accept(new ScheduleProgressDTO(elapsed(), solution.conflicts(), solution.penalty(), false));
+		}
+
+		private Duration elapsed() {
+			return Duration.ofNanos(System.nanoTime() - startedAt);
+		}
+	}
+
+	/**
+	 * One local search, confined to a single thread.
+	 */
+	private static final class Search {
+		private final Random random;
+		private final SharedBest shared;
+		private final List<Lesson> lessons;
+
+		private final int[] slots;
+		private final int[] rooms;
+		// How many lessons and existing bookings use each room, group, teacher and day of a requirement
+		private final int[][] roomUse;
+		private final int[][] groupUse;
+		private final int[][] teacherUse;
+		private final int[][] dayUse;
+		private final long[][] tabuUntil;
+		private int conflicts;
+		private int penalty;
+
+		private Solution best;
+		private long iteration;
+
+		private Search(Problem problem, Random random, SharedBest shared) {
+			this.random = random;
+			this.shared = shared;
+			this.lessons = problem.lessons();
+
+			int size = lessons.size();
+			slots = new int[size];
+			rooms = new int[size];
+			roomUse = new int[problem.rooms()][];
+			for (int room = 0; room < problem.rooms(); room++) {
+				roomUse[room] = problem.roomBookings()[room].clone();
+			}
+			groupUse = new int[problem.groups()][SLOTS];
+			teacherUse = new int[problem.teachers()][SLOTS];
+			dayUse = new int[problem.requirements()][DAYS];
+			tabuUntil = new long[size][SLOTS];
+		}
+
+		private void run() {
+			for (int lesson = 0; lesson < lessons.size(); lesson++) {
+				Lesson l = lessons.get(lesson);
+				place(lesson, pick(l.slots()), pick(l.rooms()));
+			}
+			best = snapshot();
+			shared.offer(best);
+
+			long lastImprovement = 0;
+			while (!shared.isDone()) {
+				iteration++;
+				int lesson = pickLessonToMove();
+				if (lesson < 0) {
+					break;
+				}
+				move(lesson);
+
+				if (cost() < best.cost()) {
+					best = snapshot();
+					shared.offer(best);
+					lastImprovement = iteration;
+				} else if (iteration - lastImprovement > STAGNATION_LIMIT) {
+					restartFromBest();
+					lastImprovement = iteration;
+				}
+			}
+		}
+
+		/**
+		 * Picks a random lesson in a clash, or if there are none a random lesson sharing its day with another
+		 * lesson of the same requirement that could still be spread better.
+		 *
+		 * @return The index of the lesson, or -1 if the placement cannot be improved
+		 */
+		private int pickLessonToMove() {
+			int chosen = -1;
+			int candidates = 0;
+			boolean clashing = conflicts > 0;
+			if (!clashing && penalty <= shared.minimumPenalty) {
+				return -1;
+			}
+
+			for (int lesson = 0; lesson < lessons.size(); lesson++) {
+				Lesson l = lessons.get(lesson);
+				int slot = slots[lesson];
+				boolean candidate = clashing
+						? roomUse[rooms[lesson]][slot] > 1 || groupUse[l.group()][slot] > 1 ||
+						  teacherUse[l.teacher()][slot] > 1
+						: dayUse[l.requirement()][dayOf(slot)] > 1;
+				// Reservoir sampling, so each candidate is equally likely without collecting them
+				if (candidate && random.nextInt(++candidates) == 0) {
+					chosen = lesson;
+				}
+			}
+			return chosen;
+		}
+
+		/**
+		 * Moves a lesson to the best hour and room that is not tabu, or with a small probability to a random one.
+		 * A tabu hour is still taken if it leads to a better placement than any found so far.
+		 */
+		private void move(int lesson) {
+			Lesson l = lessons.get(lesson);
+			int fromSlot = slots[lesson];
+			int fromRoom = rooms[lesson];
+			unplace(lesson);
+
+			if (random.nextDouble() < RANDOM_MOVE_PROBABILITY) {
+				place(lesson, pick(l.slots()), pick(l.rooms()));
+				return;
+			}
+
+			long base = cost();
+			long bestDelta = Long.MAX_VALUE;
+			int bestSlot = fromSlot;
+			int bestRoom = fromRoom;
+			int ties = 0;
+			for (int slot : l.slots()) {
+				int slotClashes = groupUse[l.group()][slot] + teacherUse[l.teacher()][slot];
+				int spread = dayUse[l.requirement()][dayOf(slot)];
+				boolean tabu = tabuUntil[lesson][slot] > iteration;
+
+				for (int room : l.rooms()) {
+					if (slot == fromSlot && room == fromRoom) {
+						continue;
+					}
+					long delta = (long) (slotClashes + roomUse[room][slot]) * CLASH_WEIGHT + spread;
+					if (tabu && base + delta >= best.cost()) {
+						continue;
+					}
+					if (delta < bestDelta) {
+						bestDelta = delta;
+						bestSlot = slot;
+						bestRoom = room;
+						ties = 1;
+					} else if (delta == bestDelta && random.nextInt(++ties) == 0) {
+						bestSlot = slot;
+						bestRoom = room;
+					}
+				}
+			}
+
+			tabuUntil[lesson][fromSlot] = iteration + TABU_TENURE + random.nextInt(TABU_TENURE);
+			place(lesson, bestSlot, bestRoom);
+		}
+
+		private void restartFromBest() {
+			for (int lesson = 0; lesson < lessons.size(); lesson++) {
+				unplace(lesson);
+			}
+			for (int lesson = 0; lesson < lessons.size(); lesson++) {
+				Lesson l = lessons.get(lesson);
+				if (random.nextDouble() < PERTURBED_SHARE) {
+					place(lesson, pick(l.slots()), pick(l.rooms()));
+				} else {
+					place(lesson, best.slots()[lesson], best.rooms()[lesson]);
+				}
+			}
+		}
+
+		private void place(int lesson, int slot, int room) {
+			Lesson l = lessons.get(lesson);
+			conflicts += roomUse[room][slot]++ + groupUse[l.group()][slot]++ + teacherUse[l.teacher()][slot]++;
+			penalty += dayUse[l.requirement()][dayOf(slot)]++;
+			slots[lesson] = slot;
+			rooms[lesson] = room;
+		}
+
+		private void unplace(int lesson) {
+			Lesson l = lessons.get(lesson);
+			int slot = slots[lesson];
+			conflicts -= --roomUse[rooms[lesson]][slot] + --groupUse[l.group()][slot] + --teacherUse[l.teacher()][slot];
+			penalty -= --dayUse[l.requirement()][dayOf(slot)];
+		}
+
+		private long cost() {
+			return (long) conflicts * CLASH_WEIGHT + penalty;
+		}
+
+		private Solution snapshot() {
+			return new Solution(slots.clone(), rooms.clone(), conflicts, penalty);
+		}
+
+		private int pick(int[] values) {
+			return values[random.nextInt(values.length)];
+		}
+	}
+}
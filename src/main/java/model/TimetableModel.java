@@ -1,6 +1,27 @@
 package model;
 
 import dao.TimetableDAO;
+import dto.GroupDTO;
+import dto.LocationDTO;
+import dto.RecurrenceDTO;
+import dto.ScheduleProgressDTO;
+import dto.TeachingSessionDTO;
+import dto.TermPlanDTO;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
 /**
  * Manages timetable operations for users and groups.
@@ -11,6 +32,9 @@ public class TimetableModel {
 	private static final TimetableDAO timetableDAO = new TimetableDAO();
 
 	private static final UserModel userModel = new UserModel();
+	private static final GroupModel groupModel = new GroupModel();
+	private static final LocationModel locationModel = new LocationModel();
+	private static final EventModel eventModel = new EventModel();
 
 	/**
 	 * Retrieves the timetable ID for the currently logged-in user.
@@ -51,11 +75,193 @@ public class TimetableModel {
 		return timetableId;
 	}
 
+	/**
+	 * Retrieves the users of many timetables at once, see {@link TimetableDAO#findUserIdsByTimetableIds(Collection)}.
+	 *
+	 * @param timetableIds The IDs of the timetables
+	 * @return The IDs of the users of each timetable
+	 * @throws jakarta.persistence.PersistenceException if the database cannot be queried
+	 */
+	public Map<Long, Set<Long>> fetchUserIdsByTimetableIds(Collection<Long> timetableIds) {
+		return timetableDAO.findUserIdsByTimetableIds(timetableIds);
+	}
+
+	/**
+	 * Generates the teaching sessions of a term from the weekly hours every group needs, and stores them.
+	 * <p>
+	 * Every required hour becomes a weekly teaching session that repeats until the end of the term. The hours
+	 * and rooms are chosen by a parallel local search, see {@link TermScheduler}, so that no location, group or
+	 * teacher is booked twice, every group fits its room, and no teacher teaches while unavailable. The
+	 * teaching sessions already stored for the term are respected: an hour in which a location, timetable or
+	 * teacher is booked in any week of the term is not used for it.
+	 * </p>
+	 * <p>
+	 * Nothing is stored unless a timetable without double bookings is found within the time budget. The
+	 * teaching sessions are then inserted in one batch, all of them or none, see
+	 * {@link EventModel#addEvents(Collection)}.
+	 * </p>
+	 *
+	 * @param plan       The term, the required hours, and the room capacities and teacher availability
+	 * @param timeBudget The wall-clock time the search may take
+	 * @param progress   Called with the best timetable found so far, from the search threads
+	 * @return The stored teaching sessions, with their IDs
+	 * @throws IllegalArgumentException if a group cannot be placed at all, or no timetable without double
+	 *                                  bookings is found in time
+	 * @throws jakarta.persistence.PersistenceException if the teaching sessions cannot be stored
+	 */
+	public List<TeachingSessionDTO> generateTermTimetable(TermPlanDTO plan, Duration timeBudget,
+	                                                      Consumer<ScheduleProgressDTO> progress) {
+		List<LocationDTO> locations = locationModel.fetchAllLocations();
+		if (locations.isEmpty()) {
+			throw new IllegalArgumentException("There are no locations to schedule in.");
+		}
+		Map<String, Integer> roomIndices = new HashMap<>();
+		for (LocationDTO location : locations) {
+			roomIndices.put(location.name(), roomIndices.size());
+		}
+
+		List<GroupDTO> groups = new ArrayList<>();
+		List<Long> groupTimetables = new ArrayList<>();
+		Map<String, Integer> groupIndices = new HashMap<>();
+		Map<Long, Integer> teacherIndices = new HashMap<>();
+		for (TermPlanDTO.Requirement requirement : plan.requirements()) {
+			if (requirement.weeklyHours() < 0) {
+				throw new IllegalArgumentException("Weekly hours cannot be negative.");
+			}
+			if (!groupIndices.containsKey(requirement.groupName())) {
+				GroupDTO group = groupModel.fetchGroupByName(requirement.groupName());
+				groupIndices.put(group.name(), groups.size());
+				groups.add(group);
+				groupTimetables.add(fetchTimetableForGroup(group.name()));
+				teacherIndices.putIfAbsent(group.teacherId(), teacherIndices.size());
+			}
+		}
+
+		// Hours in which existing teaching sessions occupy a location, timetable or teacher in any week
+		int[][] roomBookings = new int[locations.size()][TermScheduler.SLOTS];
+		Map<Long, BitSet> bookedTimetableSlots = new HashMap<>();
+		Map<Long, BitSet> bookedTeacherSlots = new HashMap<>();
+		Map<Long, Long> teacherByTimetable = timetableDAO.findAllTeacherIdsByTimetableId();
+		LocalDateTime termStart = plan.termStart().atStartOfDay();
+		LocalDateTime termEnd = plan.termEnd().plusDays(1).atStartOfDay();
+		for (TeachingSessionDTO existing : eventModel.loadAllTeachingSessions(termStart, termEnd)) {
+			BitSet slots = slotsOverlapping(existing);
+			Integer room = roomIndices.get(existing.locationName());
+			if (room != null) {
+				slots.stream().forEach(slot -> roomBookings[room][slot] = 1);
+			}
+			bookedTimetableSlots.computeIfAbsent(existing.timetableId(), id -> new BitSet()).or(slots);
+			Long teacherId = teacherByTimetable.get(existing.timetableId());
+			if (teacherId != null) {
+				bookedTeacherSlots.computeIfAbsent(teacherId, id -> new BitSet()).or(slots);
+			}
+		}
+
+		List<TermScheduler.Lesson> lessons = new ArrayList<>();
+		for (int requirementIndex = 0; requirementIndex < plan.requirements().size(); requirementIndex++) {
+			TermPlanDTO.Requirement requirement = plan.requirements().get(requirementIndex);
+			int groupIndex = groupIndices.get(requirement.groupName());
+			GroupDTO group = groups.get(groupIndex);
+
+			BitSet blocked = new BitSet();
+			blocked.or(bookedTimetableSlots.getOrDefault(groupTimetables.get(groupIndex), new BitSet()));
+			blocked.or(bookedTeacherSlots.getOrDefault(group.teacherId(), new BitSet()));
+			Set<TermPlanDTO.WeeklySlot> unavailableSlots =
+					plan.teacherUnavailable().getOrDefault(group.teacherId(), Set.of());
+			for (TermPlanDTO.WeeklySlot unavailable : unavailableSlots) {
+				int slot = TermScheduler.slotOf(unavailable.day(), unavailable.start());
+				if (slot >= 0) {
+					blocked.set(slot);
+				}
+			}
+			int[] slots = new int[TermScheduler.SLOTS - blocked.cardinality()];
+			for (int slot = 0, i = 0; slot < TermScheduler.SLOTS; slot++) {
+				if (!blocked.get(slot)) {
+					slots[i++] = slot;
+				}
+			}
+			int[] rooms = locations.stream()
+			                       .filter(location -> plan.roomCapacities().getOrDefault(location.name(),
+			                                                                              Integer.MAX_VALUE) >=
+			                                           group.capacity())
+			                       .mapToInt(location -> roomIndices.get(location.name()))
+			                       .toArray();
+			if (slots.length == 0) {
+				throw new IllegalArgumentException("Group " + group.name() + " has no free hour in the week.");
+			}
+			if (rooms.length == 0) {
+				throw new IllegalArgumentException("No location is large enough for group " + group.name() + ".");
+			}
+
+			for (int hour = 0; hour < requirement.weeklyHours(); hour++) {
+				lessons.add(new TermScheduler.Lesson(requirementIndex, groupIndex,
+				                                     teacherIndices.get(group.teacherId()), slots, rooms));
+			}
+		}
+
+		TermScheduler.Problem problem = new TermScheduler.Problem(lessons, groups.size(), teacherIndices.size(),
+		                                                          plan.requirements().size(), roomBookings);
+		TermScheduler.Solution solution =
+				TermScheduler.solve(problem, timeBudget, Runtime.getRuntime().availableProcessors(),
+				                    ThreadLocalRandom.current().nextLong(), progress);
+		if (solution.conflicts() > 0) {
+			throw new IllegalArgumentException("No timetable without double bookings was found within the time " +
+			                                   "budget, " + solution.conflicts() + " clashes are left.");
+		}
+
+		RecurrenceDTO weekly = new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1, plan.termEnd().atTime(23, 59));
+		List<TeachingSessionDTO> teachingSessions = new ArrayList<>(lessons.size());
+		for (int i = 0; i < lessons.size(); i++) {
+			TermScheduler.Lesson lesson = lessons.get(i);
+			TermPlanDTO.Requirement requirement = plan.requirements().get(lesson.requirement());
+			int slot = solution.slots()[i];
+			LocalDate firstDay = plan.termStart().with(TemporalAdjusters.nextOrSame(TermScheduler.dayOfWeek(slot)));
+			LocalDateTime start = firstDay.atTime(TermScheduler.startOf(slot));
+			String subjectCode = requirement.subjectCode() != null
+					? requirement.subjectCode()
+					: groups.get(lesson.group()).subjectCode();
+
+			teachingSessions.add(new TeachingSessionDTO(
+					null, start, start.plusHours(1), locations.get(solution.rooms()[i]).name(), subjectCode, null,
+					groupTimetables.get(lesson.group()), plan.localeCode(), weekly, null));
+		}
+
+		return eventModel.addEvents(teachingSessions).stream().map(TeachingSessionDTO.class::cast).toList();
+	}
+
+	/**
+	 * Returns the weekly hours that a teaching session or occurrence overlaps.
+	 *
+	 * @param teachingSession The teaching session
+	 * @return The indices of the overlapped hours of the teaching week
+	 */
+	private static BitSet slotsOverlapping(TeachingSessionDTO teachingSession) {
+		BitSet slots = new BitSet();
+		LocalDate day = teachingSession.startDate().toLocalDate();
+		LocalTime start = teachingSession.startDate().toLocalTime();
+		LocalTime end = teachingSession.endDate().toLocalDate().isAfter(day)
+				? LocalTime.MAX
+				: teachingSession.endDate().toLocalTime();
+
+		for (int hour = 0; hour < TermScheduler.HOURS_PER_DAY; hour++) {
+			LocalTime hourStart = TermScheduler.DAY_START.plusHours(hour);
+			if (hourStart.isBefore(end) && hourStart.plusHours(1).isAfter(start)) {
+				int slot = TermScheduler.slotOf(day.getDayOfWeek(), hourStart);
+				if (slot >= 0) {
+					slots.set(slot);
+				}
+			}
+		}
+		return slots;
+	}
+
 	/**
 	 * Deletes all timetables in the system and logs out the current user.
 	 */
 	public void deleteAllTimetables() {
 		timetableDAO.deleteAll();
+		ReferenceDataCache.invalidateAllTimetables();
+		EventCache.invalidateAll();
 		userModel.logout();
 	}
 }
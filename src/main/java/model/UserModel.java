@@ -65,7 +65,7 @@ public class UserModel {
 	 * @throws IllegalArgumentException if the group does not exist
 	 */
 	public Set<UserDTO> fetchStudentsInGroup(String groupName) {
-		UserGroupEntity group = groupDAO.findByName(groupName);
+		UserGroupEntity group = groupDAO.findByNameWithStudents(groupName);
 
 		if (group == null) {
 			throw new IllegalArgumentException("Group does not exist.");
@@ -288,6 +288,8 @@ public class UserModel {
 	public void deleteAllUsers() {
 		userDAO.deleteAll();
 		timetableDAO.deleteAll();
+		ReferenceDataCache.invalidateAllTimetables();
+		EventCache.invalidateAll();
 		logout();
 	}
 
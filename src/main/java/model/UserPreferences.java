@@ -13,7 +13,15 @@ public final class UserPreferences {
 	private static final String USER_ID_KEY = "user_id";
 	private static final String ROLE = "role";
 	private static final String LOCALE = "locale";
+	private static final String CANVAS_TIMETABLE = "canvas_timetable";
 	private static final Preferences preferences = Preferences.userNodeForPackage(UserPreferences.class);
+	private static final ThreadLocal<Session> threadSession = new ThreadLocal<>();
+
+	/**
+	 * The logged-in user of a thread that does not share the session stored in the preferences.
+	 */
+	private record Session(long userId, Role role) {
+	}
 
 	/**
 	 * Private constructor to prevent instantiation of this utility class.
@@ -29,6 +37,10 @@ public final class UserPreferences {
 	 * @param role   The role of the logged-in user
 	 */
 	public static void setUser(long userId, Role role) {
+		if (threadSession.get() != null) {
+			threadSession.set(new Session(userId, role));
+			return;
+		}
 		preferences.put(USER_ID_KEY, String.valueOf(userId));
 		preferences.put(ROLE, role.toString());
 	}
@@ -39,6 +51,10 @@ public final class UserPreferences {
 	 * @return The user ID, or -1 if no user is logged in
 	 */
 	public static long getUserId() {
+		Session session = threadSession.get();
+		if (session != null) {
+			return session.userId();
+		}
 		return Long.parseLong(preferences.get(USER_ID_KEY, "-1"));
 	}
 
@@ -48,6 +64,10 @@ public final class UserPreferences {
 	 * @return The user's role, defaults to STUDENT if not set
 	 */
 	public static Role getUserRole() {
+		Session session = threadSession.get();
+		if (session != null) {
+			return session.role() != null ? session.role() : Role.STUDENT;
+		}
 		return Role.valueOf(preferences.get(ROLE, "STUDENT"));
 	}
 
@@ -55,10 +75,29 @@ public final class UserPreferences {
 	 * Removes user session data during logout.
 	 */
 	public static void deleteUser() {
+		if (threadSession.get() != null) {
+			threadSession.set(new Session(-1, null));
+			return;
+		}
 		preferences.remove(USER_ID_KEY);
 		preferences.remove(ROLE);
 	}
 
+	/**
+	 * Keeps the session of the calling thread in memory instead of the stored preferences, starting logged out.
+	 * This lets several users be logged in at once in one process, such as the clients of a load simulation.
+	 */
+	public static void useThreadSession() {
+		threadSession.set(new Session(-1, null));
+	}
+
+	/**
+	 * Returns the calling thread to the session stored in the preferences.
+	 */
+	public static void clearThreadSession() {
+		threadSession.remove();
+	}
+
 	/**
 	 * Retrieves the user's locale preference.
 	 *
@@ -76,4 +115,22 @@ public final class UserPreferences {
 	public static void setLocale(String locale) {
 		preferences.put(LOCALE, locale);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Checks whether the timetable should be drawn on a canvas.
+	 *
+	 * @return true if the canvas renderer is selected, defaults to false
+	 */
+	public static boolean isCanvasTimetable() {
+		return preferences.getBoolean(CANVAS_TIMETABLE, false);
+	}
+
+	/**
+	 * Sets whether the timetable should be drawn on a canvas.
+	 *
+	 * @param canvasTimetable true to select the canvas renderer
+	 */
+	public static void setCanvasTimetable(boolean canvasTimetable) {
+		preferences.putBoolean(CANVAS_TIMETABLE, canvasTimetable);
+	}
+}
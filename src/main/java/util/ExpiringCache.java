@@ -0,0 +1,139 @@
+package util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A small in-process cache with a size bound and a time-to-live.
+ * <p>
+ * Entries are kept in access order, so once the cache is full the least recently used entry is evicted.
+ * An entry older than the time-to-live is treated as missing and reloaded. {@code null} values are never
+ * cached, so a lookup that found nothing is retried the next time.
+ * </p>
+ * <p>
+ * Values are loaded outside the cache lock. A load that overlaps an invalidation may have read the data from before
+ * the change, so its value is returned to the caller but not cached.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+	private final int maxSize;
+	private final long ttlNanos;
+	private final Map<K, Entry<V>> entries;
+	private long invalidations;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Creates an empty cache.
+	 *
+	 * @param maxSize    the maximum number of entries kept
+	 * @param timeToLive how long an entry stays valid after it was loaded
+	 */
+	public ExpiringCache(int maxSize, Duration timeToLive) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Cache size must be positive");
+		}
+
+		this.maxSize = maxSize;
+		this.ttlNanos = timeToLive.toNanos();
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				return size() > ExpiringCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached value for a key, loading and caching it if it is missing or expired.
+	 * The loader runs outside the cache lock, so a slow lookup does not block other keys.
+	 *
+	 * @param key    the key to look up
+	 * @param loader loads the value when it is not cached; may return {@code null}
+	 * @return the cached or freshly loaded value, or {@code null} if the loader found nothing
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		long now = System.nanoTime();
+		long stamp;
+
+		synchronized (this) {
+			Entry<V> entry = entries.get(key);
+			if (entry != null && now - entry.loadedAt < ttlNanos) {
+				hits.increment();
+				return entry.value;
+			}
+			entries.remove(key);
+			stamp = invalidations;
+		}
+
+		misses.increment();
+		V value = loader.apply(key);
+
+		if (value != null) {
+			synchronized (this) {
+				// An invalidation during the load may have been for this key, so the value could be stale
+				if (stamp == invalidations) {
+					entries.put(key, new Entry<>(value, now));
+				}
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Removes a single key from the cache.
+	 *
+	 * @param key the key to remove
+	 */
+	public synchronized void invalidate(K key) {
+		entries.remove(key);
+		invalidations++;
+	}
+
+	/**
+	 * Removes every entry from the cache. The hit and miss counters are kept.
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+		invalidations++;
+	}
+
+	/**
+	 * Returns the number of entries currently cached, including expired ones not yet looked up or evicted.
+	 *
+	 * @return the entry count
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns how many lookups were answered from the cache.
+	 *
+	 * @return the hit count
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns how many lookups had to call the loader.
+	 *
+	 * @return the miss count
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	private record Entry<V>(V value, long loadedAt) {
+	}
+}
@@ -0,0 +1,125 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe latency histogram with fixed millisecond buckets.
+ * <p>
+ * Recording only increments a counter, so it can sit on a hot path. Percentiles are estimated as the upper
+ * bound of the bucket they fall in, which is precise enough to tell a 2 ms query from a 200 ms one.
+ * </p>
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Upper bounds of the buckets in milliseconds. Latencies above the last bound go to an overflow bucket.
+	 */
+	private static final double[] BOUNDS_MILLIS = {0.5, 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+	private static final long[] BOUNDS_NANOS = Arrays.stream(BOUNDS_MILLIS)
+	                                                 .mapToLong(millis -> (long) (millis * 1_000_000))
+	                                                 .toArray();
+
+	private final LongAdder[] buckets = new LongAdder[BOUNDS_MILLIS.length + 1];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Creates an empty histogram.
+	 */
+	public LatencyHistogram() {
+		Arrays.setAll(buckets, i -> new LongAdder());
+	}
+
+	/**
+	 * Returns the upper bounds of the buckets, the overflow bucket excluded.
+	 *
+	 * @return the bounds in milliseconds, in increasing order
+	 */
+	public static double[] getBoundsMillis() {
+		return BOUNDS_MILLIS.clone();
+	}
+
+	/**
+	 * Records one latency.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		int bucket = Arrays.binarySearch(BOUNDS_NANOS, nanos);
+		buckets[bucket >= 0 ? bucket : -bucket - 1].increment();
+		count.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Returns the number of latencies recorded.
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Returns the number of latencies in each bucket.
+	 *
+	 * @return one count per bound of {@link #getBoundsMillis()}, followed by the overflow count
+	 */
+	public long[] getBucketCounts() {
+		return Arrays.stream(buckets).mapToLong(LongAdder::sum).toArray();
+	}
+
+	/**
+	 * Returns the average latency.
+	 *
+	 * @return the average in milliseconds, or 0 if nothing was recorded
+	 */
+	public double getAverageMillis() {
+		long recorded = count.sum();
+		return recorded == 0 ? 0 : toMillis(totalNanos.sum()) / recorded;
+	}
+
+	/**
+	 * Returns the longest latency recorded.
+	 *
+	 * @return the maximum in milliseconds
+	 */
+	public double getMaxMillis() {
+		return toMillis(maxNanos.get());
+	}
+
+	/**
+	 * Estimates a percentile as the upper bound of the bucket it falls in. A percentile in the overflow
+	 * bucket is reported as the maximum latency.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the estimate in milliseconds, or 0 if nothing was recorded
+	 */
+	public double getPercentileMillis(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100");
+		}
+
+		long[] counts = getBucketCounts();
+		long recorded = Arrays.stream(counts).sum();
+		long rank = Math.max((long) Math.ceil(percentile / 100 * recorded), 1);
+		long seen = 0;
+		for (int i = 0; i < BOUNDS_MILLIS.length && recorded > 0; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(BOUNDS_MILLIS[i], getMaxMillis());
+			}
+		}
+		return recorded == 0 ? 0 : getMaxMillis();
+	}
+
+	private static double toMillis(long nanos) {
+		return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
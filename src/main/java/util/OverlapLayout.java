@@ -0,0 +1,97 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToIntFunction;
+
+/**
+ * Packs overlapping intervals side by side, like events in one day of a calendar.
+ * <p>
+ * The intervals are swept once in order of their start. Every interval takes the lowest position that is
+ * free when it starts, and positions are released as the intervals using them end. Intervals that overlap
+ * directly or through a chain of other intervals form a cluster, and every interval in a cluster is given
+ * the same number of positions so the columns line up. With n intervals this takes O(n log n).
+ * </p>
+ * <p>
+ * Interval bounds are inclusive: two intervals overlap when one starts at or before the end of the other.
+ * </p>
+ */
+public final class OverlapLayout {
+
+	private OverlapLayout() {
+	}
+
+	/**
+	 * The place of an interval within its cluster.
+	 *
+	 * @param position      the 1-based position of the interval, from the left
+	 * @param numberOfSlots the number of positions the cluster is split into
+	 */
+	public record Slot(int position, int numberOfSlots) {
+	}
+
+	/**
+	 * Computes the position of every item.
+	 *
+	 * @param items the items to lay out, in any order
+	 * @param start the inclusive start of an item
+	 * @param end   the inclusive end of an item, not before its start
+	 * @param <T>   the item type
+	 * @return the slot of each item, in the same order as the items
+	 */
+	public static <T> List<Slot> layout(List<T> items, ToIntFunction<? super T> start, ToIntFunction<? super T> end) {
+		int count = items.size();
+		int[] starts = new int[count];
+		int[] ends = new int[count];
+		for (int i = 0; i < count; i++) {
+			starts[i] = start.applyAsInt(items.get(i));
+			ends[i] = end.applyAsInt(items.get(i));
+		}
+
+		Integer[] order = new Integer[count];
+		Arrays.setAll(order, i -> i);
+		Arrays.sort(order, Comparator.<Integer>comparingInt(i -> starts[i]).thenComparingInt(i -> ends[i]));
+
+		int[] positions = new int[count];
+		int[] clusterSizes = new int[count];
+
+		// Items still running, ordered by end, and positions given back by items that ended
+		PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.comparingInt(i -> ends[i]));
+		PriorityQueue<Integer> freePositions = new PriorityQueue<>();
+		List<Integer> cluster = new ArrayList<>();
+		int usedPositions = 0;
+
+		for (int index : order) {
+			while (!active.isEmpty() && ends[active.peek()] < starts[index]) {
+				freePositions.add(positions[active.poll()]);
+			}
+
+			if (active.isEmpty()) {
+				closeCluster(cluster, usedPositions, clusterSizes);
+				freePositions.clear();
+				usedPositions = 0;
+			}
+
+			positions[index] = freePositions.isEmpty() ? ++usedPositions : freePositions.poll();
+			active.add(index);
+			cluster.add(index);
+		}
+		closeCluster(cluster, usedPositions, clusterSizes);
+
+		List<Slot> slots = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			slots.add(new Slot(positions[i], clusterSizes[i]));
+		}
+		return slots;
+	}
+
+	private static void closeCluster(List<Integer> cluster, int usedPositions, int[] clusterSizes) {
+		for (int index : cluster) {
+			clusterSizes[index] = usedPositions;
+		}
+		cluster.clear();
+	}
+}
@@ -0,0 +1,121 @@
+package view.controllers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs database work for a view on a virtual thread and hands the result back to the JavaFX application thread.
+ * <p>
+ * Each loader tracks a single request at a time: starting a new request cancels the previous one, and the
+ * result of a request that was superseded is dropped instead of being applied. A view keeps one loader per
+ * independent piece of data it shows, so clicking through weeks only ever renders the last week requested.
+ * Writes go through {@link #write(Runnable, Runnable, Consumer)} instead, which never drops them.
+ * </p>
+ * <p>
+ * All methods must be called on the JavaFX application thread.
+ * </p>
+ */
+public class AsyncLoader {
+	private static final Logger logger = LoggerFactory.getLogger(AsyncLoader.class);
+	private static final ExecutorService executor =
+			Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("view-loader-", 0).factory());
+
+	private long generation;
+	private Future<?> pending;
+
+	/**
+	 * Starts loading data in the background and cancels any request that is still running.
+	 *
+	 * @param query     The work to run off the application thread
+	 * @param onSuccess Applies the result on the application thread
+	 * @param onFailure Handles a failed request on the application thread
+	 * @param <T>       The type of the loaded data
+	 */
+	public <T> void load(Supplier<T> query, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+		cancel();
+		long request = generation;
+
+		pending = executor.submit(() -> {
+			try {
+				T result = query.get();
+				Platform.runLater(() -> {
+					if (request == generation) {
+						pending = null;
+						onSuccess.accept(result);
+					}
+				});
+			} catch (RuntimeException e) {
+				logger.error("Error loading view data: {}", e.getMessage());
+				Platform.runLater(() -> {
+					if (request == generation) {
+						pending = null;
+						onFailure.accept(e);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Starts loading data in the background, logging failures.
+	 *
+	 * @param query     The work to run off the application thread
+	 * @param onSuccess Applies the result on the application thread
+	 * @param <T>       The type of the loaded data
+	 */
+	public <T> void load(Supplier<T> query, Consumer<T> onSuccess) {
+		load(query, onSuccess, e -> {
+		});
+	}
+
+	/**
+	 * Runs a write in the background and reports its outcome on the application thread.
+	 * <p>
+	 * Unlike a load, a write is never cancelled or superseded by a later request: it is always carried out and
+	 * its outcome is always reported, so a view can reload the data it changed once the write is done.
+	 * </p>
+	 *
+	 * @param command   The write to run off the application thread
+	 * @param onSuccess Runs on the application thread once the write is done
+	 * @param onFailure Handles a failed write on the application thread
+	 */
+	public static void write(Runnable command, Runnable onSuccess, Consumer<Throwable> onFailure) {
+		executor.execute(() -> {
+			try {
+				command.run();
+				Platform.runLater(onSuccess);
+			} catch (RuntimeException e) {
+				logger.error("Error writing view data: {}", e.getMessage());
+				Platform.runLater(() -> onFailure.accept(e));
+			}
+		});
+	}
+
+	/**
+	 * Cancels the running request, if any. Its result will not be applied.
+	 * A query that already started is left to finish rather than interrupted, since interrupting a thread
+	 * blocked on a socket would close the pooled database connection.
+	 */
+	public void cancel() {
+		generation++;
+		if (pending != null) {
+			pending.cancel(false);
+			pending = null;
+		}
+	}
+
+	/**
+	 * Returns whether a request is still waiting for its result.
+	 *
+	 * @return true if a request is running
+	 */
+	public boolean isLoading() {
+		return pending != null;
+	}
+}
@@ -0,0 +1,218 @@
+package view.controllers.components;
+
+import dto.AssignmentDTO;
+import dto.Event;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import javafx.geometry.VPos;
+import javafx.scene.Cursor;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Tooltip;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * EventCanvas draws the events of a timetable on a single canvas instead of one label per event.
+ * It spans every day column and hour row of the timetable grid and does its own hit-testing,
+ * so a week with thousands of events costs one node instead of thousands.
+ */
+public final class EventCanvas extends Pane {
+    // Same colours as the teaching-session-label and assignment-label styles
+    private static final Color TEACHING_SESSION_COLOR = Color.web("#77C3EC");
+    private static final Color ASSIGNMENT_COLOR = Color.web("#FCBE85");
+    private static final Color HOVER_COLOR = Color.web("#e36486");
+    private static final Font FONT = Font.font(11);
+    private static final double PADDING = 5;
+
+    private final Canvas canvas = new Canvas();
+    private final Tooltip tooltip = new Tooltip();
+    private final int columns;
+    private final int rows;
+
+    private List<DrawnEvent> events = List.of();
+    private List<String> texts = List.of();
+    // Indices of the events covering each row of each column, used for hit-testing
+    private List<List<List<Integer>>> eventsByCell = List.of();
+    private DrawnEvent hoveredEvent;
+    private Consumer<Event> onEventClicked = event -> {
+    };
+
+    /**
+     * The position of an event on the canvas, in grid units.
+     *
+     * @param event         The event to draw
+     * @param column        The 0-based day column
+     * @param top           The start of the event, in rows from the top of the canvas
+     * @param height        The length of the event, in rows
+     * @param position      The 1-based position of the event among overlapping events
+     * @param numberOfSlots The number of positions the overlapping events share
+     */
+    public record DrawnEvent(Event event, int column, double top, double height, int position, int numberOfSlots) {
+    }
+
+    public EventCanvas(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+
+        getChildren().add(canvas);
+        setMinSize(0, 0);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+
+        widthProperty().addListener((observable, oldValue, newValue) -> draw());
+        heightProperty().addListener((observable, oldValue, newValue) -> draw());
+
+        setOnMouseMoved(this::handleMouseMoved);
+        setOnMouseExited(mouseEvent -> setHoveredEvent(null));
+        setOnMouseClicked(mouseEvent -> {
+            DrawnEvent clicked = findEventAt(mouseEvent.getX(), mouseEvent.getY());
+            if (clicked != null) {
+                onEventClicked.accept(clicked.event());
+            }
+        });
+    }
+
+    public void setOnEventClicked(Consumer<Event> onEventClicked) {
+        this.onEventClicked = onEventClicked;
+    }
+
+    /**
+     * Replaces the events on the canvas and redraws it.
+     *
+     * @param events The events to draw
+     */
+    public void setEvents(List<DrawnEvent> events) {
+        this.events = List.copyOf(events);
+        this.texts = this.events.stream().map(event -> EventLabel.textOf(event.event())).toList();
+        this.hoveredEvent = null;
+        indexEvents();
+        draw();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        canvas.setWidth(getWidth());
+        canvas.setHeight(getHeight());
+    }
+
+    private void indexEvents() {
+        List<List<List<Integer>>> cells = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            List<List<Integer>> columnCells = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                columnCells.add(new ArrayList<>());
+            }
+            cells.add(columnCells);
+        }
+
+        for (int i = 0; i < events.size(); i++) {
+            DrawnEvent event = events.get(i);
+            if (event.column() < 0 || event.column() >= columns) {
+                continue;
+            }
+
+            int firstRow = Math.max(0, (int) event.top());
+            int lastRow = Math.min(rows - 1, (int) Math.ceil(event.top() + event.height()) - 1);
+            for (int row = firstRow; row <= lastRow; row++) {
+                cells.get(event.column()).get(row).add(i);
+            }
+        }
+
+        eventsByCell = cells;
+    }
+
+    private DrawnEvent findEventAt(double x, double y) {
+        double cellWidth = getWidth() / columns;
+        double cellHeight = getHeight() / rows;
+        int column = (int) (x / cellWidth);
+        int row = (int) (y / cellHeight);
+
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return null;
+        }
+
+        for (int index : eventsByCell.get(column).get(row)) {
+            DrawnEvent event = events.get(index);
+            double left = getLeft(event, cellWidth);
+            double top = event.top() * cellHeight;
+
+            if (x >= left && x < left + cellWidth / event.numberOfSlots() &&
+                y >= top && y < top + event.height() * cellHeight) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    private void handleMouseMoved(MouseEvent mouseEvent) {
+        setHoveredEvent(findEventAt(mouseEvent.getX(), mouseEvent.getY()));
+    }
+
+    private void setHoveredEvent(DrawnEvent event) {
+        if (event == hoveredEvent) {
+            return;
+        }
+
+        hoveredEvent = event;
+        setCursor(event == null ? Cursor.DEFAULT : Cursor.HAND);
+        if (event == null) {
+            Tooltip.uninstall(this, tooltip);
+        } else {
+            tooltip.setText(EventLabel.textOf(event.event()));
+            Tooltip.install(this, tooltip);
+        }
+        draw();
+    }
+
+    private void draw() {
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        double width = getWidth();
+        double height = getHeight();
+        graphics.clearRect(0, 0, width, height);
+
+        if (events.isEmpty() || width <= 0 || height <= 0) {
+            return;
+        }
+
+        double cellWidth = width / columns;
+        double cellHeight = height / rows;
+        graphics.setFont(FONT);
+        graphics.setTextAlign(TextAlignment.LEFT);
+        graphics.setTextBaseline(VPos.TOP);
+
+        for (int i = 0; i < events.size(); i++) {
+            DrawnEvent event = events.get(i);
+            double left = getLeft(event, cellWidth);
+            double top = event.top() * cellHeight;
+            double eventWidth = cellWidth / event.numberOfSlots();
+            double eventHeight = event.height() * cellHeight;
+
+            graphics.setFill(event.event() instanceof AssignmentDTO ? ASSIGNMENT_COLOR : TEACHING_SESSION_COLOR);
+            graphics.fillRect(left, top, eventWidth, eventHeight);
+
+            if (event == hoveredEvent) {
+                graphics.setStroke(HOVER_COLOR);
+                graphics.setLineWidth(2);
+                graphics.strokeRect(left + 1, top + 1, eventWidth - 2, eventHeight - 2);
+            }
+
+            if (eventWidth > 2 * PADDING && eventHeight > 2 * PADDING) {
+                graphics.save();
+                graphics.beginPath();
+                graphics.rect(left, top, eventWidth, eventHeight);
+                graphics.clip();
+                graphics.setFill(Color.BLACK);
+                graphics.fillText(texts.get(i), left + PADDING, top + PADDING);
+                graphics.restore();
+            }
+        }
+    }
+
+    private static double getLeft(DrawnEvent event, double cellWidth) {
+        return event.column() * cellWidth + (double) (event.position() - 1) / event.numberOfSlots() * cellWidth;
+    }
+}
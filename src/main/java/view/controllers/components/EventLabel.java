@@ -29,20 +29,30 @@ public class EventLabel extends Label {
         this.height = height;
         this.topOffset = topOffset;
 
-        switch (event) {
+        this.setText(textOf(event));
+    }
+
+    /**
+     * Returns the text shown for an event, also used by the canvas renderer.
+     *
+     * @param event The event to describe
+     * @return The lines of text describing the event
+     */
+    public static String textOf(Event event) {
+        return switch (event) {
             case TeachingSessionDTO teachingSession -> {
                 String startTime = TimeFormatterUtil.getTimeFromDateTime(teachingSession.startDate());
                 String endTime = TimeFormatterUtil.getTimeFromDateTime(teachingSession.endDate());
 
-                this.setText(teachingSession.subjectCode() + "\n" + startTime + " – " + endTime + "\n" + teachingSession.locationName());
+                yield teachingSession.subjectCode() + "\n" + startTime + " – " + endTime + "\n" + teachingSession.locationName();
             }
             case AssignmentDTO assignment -> {
                 String dueTime = TimeFormatterUtil.getTimeFromDateTime(assignment.deadline());
 
-                this.setText(assignment.assignmentName() + "\n" + assignment.subjectCode() + "\n" + dueTime);
+                yield assignment.assignmentName() + "\n" + assignment.subjectCode() + "\n" + dueTime;
             }
-            default -> this.setText("Unknown Event");
-        }
+            default -> "Unknown Event";
+        };
     }
 
     public Event getEvent() {
@@ -8,6 +8,7 @@ import controller.LocationController;
 import controller.SubjectController;
 import controller.TimetableController;
 import dto.AssignmentDTO;
+import dto.ConflictDTO;
 import dto.Event;
 import dto.GroupDTO;
 import dto.LocationDTO;
@@ -23,21 +24,28 @@ import javafx.scene.control.ButtonType;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
+import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import util.TimeFormatterUtil;
+import view.controllers.AsyncLoader;
 import view.controllers.pages.main.TimetableViewController;
 
 
@@ -61,6 +69,11 @@ public class EventPopupViewController {
     private TimetableViewController timetableViewController;
 
     private Event event;
+    private List<GroupDTO> groups = List.of();
+    private final AsyncLoader popupLoader = new AsyncLoader();
+    private final AsyncLoader availabilityLoader = new AsyncLoader();
+    private final AsyncLoader conflictLoader = new AsyncLoader();
+    private Set<String> occupiedLocations = Set.of();
     private final TimeTextField startTimeField = new TimeTextField();
     private final TimeTextField endTimeField = new TimeTextField();
 
@@ -173,91 +186,181 @@ public class EventPopupViewController {
             eventComboBox.addEventHandler(ActionEvent.ACTION, actionEvent -> handleEventChange());
             scheduleComboBox.addEventHandler(ActionEvent.ACTION, actionEvent -> handleScheduleChange());
             groupComboBox.addEventHandler(ActionEvent.ACTION, actionEvent -> handleGroupChange());
+            locationComboBox.setCellFactory(listView -> new LocationCell());
+            locationComboBox.setOnShowing(showingEvent -> loadOccupiedLocations());
 
-            // Fetch data from the database
-            subjectComboBox.getItems().addAll(
-                    subjectController.fetchSubjectsByUser().stream()
-                            .map(SubjectDTO::code)
-                            .toList()
-            );
-            locationComboBox.getItems().addAll(
-                    locationController.fetchAllLocations().stream()
-                            .map(LocationDTO::name)
-                            .toList()
-            );
-            groupComboBox.getItems().addAll(
-                    groupController.fetchGroupsByUser().stream()
-                            .map(GroupDTO::name)
-                            .toList()
-            );
+            // Fetch data from the database in the background, the form is filled in once it arrives
+            showLoadingPlaceholders(true);
+            popupLoader.load(this::fetchPopupData, this::applyPopupData);
+        });
+    }
 
-            if (event == null) {
-                eventComboBox.setValue(viewText.getString(EVENT_CLASS));
+    /**
+     * The data the form needs from the database, loaded in the background.
+     *
+     * @param subjects       The subject codes of the user
+     * @param locations      The location names
+     * @param groups         The groups of the user
+     * @param eventGroupName The group the edited event belongs to, or null if it is in the user's own timetable
+     */
+    private record PopupData(List<String> subjects, List<String> locations, List<GroupDTO> groups,
+                             String eventGroupName) {
+    }
+
+    // Runs on a background thread
+    private PopupData fetchPopupData() {
+        List<String> subjects = subjectController.fetchSubjectsByUser().stream().map(SubjectDTO::code).toList();
+        List<String> locations = locationController.fetchAllLocations().stream().map(LocationDTO::name).toList();
+        List<GroupDTO> userGroups = groupController.fetchGroupsByUser();
+
+        if (event == null) {
+            return new PopupData(subjects, locations, userGroups, null);
+        }
+
+        long eventTimetableId = switch (event) {
+            case TeachingSessionDTO teachingSession -> teachingSession.timetableId();
+            case AssignmentDTO assignment -> assignment.timetableId();
+            default -> -1;
+        };
+        String eventGroupName = eventTimetableId == timetableController.fetchTimetableForUser()
+                ? null
+                : groupController.fetchGroupByTimetableId(eventTimetableId).name();
+
+        return new PopupData(subjects, locations, userGroups, eventGroupName);
+    }
+
+    /**
+     * Looks up which rooms are taken during the entered time, so they are greyed out in the location list.
+     * Nothing is marked while the date or times are incomplete.
+     */
+    private void loadOccupiedLocations() {
+        LocalDate date = startDatePicker.getValue();
+        String startText = startTimeField.getText();
+        String endText = endTimeField.getText();
+        if (date == null || startText == null || endText == null ||
+            !startText.matches("\\d{2}:\\d{2}") || !endText.matches("\\d{2}:\\d{2}")) {
+            occupiedLocations = Set.of();
+            return;
+        }
+
+        LocalDateTime start = LocalDateTime.of(date, TimeFormatterUtil.getTimeFromString(startText));
+        LocalDateTime end = LocalDateTime.of(date, TimeFormatterUtil.getTimeFromString(endText));
+        if (end.isBefore(start)) {
+            occupiedLocations = Set.of();
+            return;
+        }
+
+        TeachingSessionDTO moved = event instanceof TeachingSessionDTO teachingSession ? teachingSession : null;
+        List<String> locations = List.copyOf(locationComboBox.getItems());
+        availabilityLoader.load(() -> {
+            Set<String> occupied = new HashSet<>(locations);
+            locationController.fetchAvailableLocations(start, end, moved)
+                              .forEach(location -> occupied.remove(location.name()));
+            return occupied;
+        }, occupied -> {
+            occupiedLocations = occupied;
+            // Recreate the cells so they pick up the new state
+            locationComboBox.setCellFactory(listView -> new LocationCell());
+        });
+    }
+
+    /**
+     * A location in the list, disabled when the room is taken during the entered time.
+     */
+    private final class LocationCell extends ListCell<String> {
+        @Override
+        protected void updateItem(String location, boolean empty) {
+            super.updateItem(location, empty);
+            setText(empty ? null : location);
+            setDisable(!empty && occupiedLocations.contains(location));
+        }
+    }
+
+    private void showLoadingPlaceholders(boolean loading) {
+        String prompt = loading ? viewText.getString("common.loading") : null;
+        subjectComboBox.setPromptText(prompt);
+        locationComboBox.setPromptText(prompt);
+        groupComboBox.setPromptText(prompt);
+        saveButton.setDisable(loading);
+        deleteButton.setDisable(loading);
+    }
+
+    private void applyPopupData(PopupData data) {
+        showLoadingPlaceholders(false);
+        groups = data.groups();
+
+        subjectComboBox.getItems().addAll(data.subjects());
+        locationComboBox.getItems().addAll(data.locations());
+        groupComboBox.getItems().addAll(groups.stream().map(GroupDTO::name).toList());
+
+        Locale currentLocale = localeController.getUserLocale();
+
+        if (event == null) {
+            eventComboBox.setValue(viewText.getString(EVENT_CLASS));
+            scheduleComboBox.setValue(viewText.getString(EVENT_MYSELF));
+            Locale locale = localeController.getUserLocale();
+            languageComboBox.setValue(locale.getDisplayLanguage(locale));
+            deleteButton.setVisible(false);
+            deleteButton.setManaged(false);
+            return;
+        }
+
+        eventComboBox.setDisable(true);
+        scheduleComboBox.setDisable(true);
+        groupComboBox.setDisable(true);
+
+        if (event instanceof TeachingSessionDTO teachingSession) {
+            LocalDateTime startDateTime = teachingSession.startDate();
+            LocalDateTime endDateTime = teachingSession.endDate();
+            String location = teachingSession.locationName();
+            String subject = teachingSession.subjectCode();
+            Locale eventLocale = Locale.forLanguageTag(teachingSession.localeCode());
+            String description = teachingSession.description();
+
+            eventComboBox.setValue(viewText.getString(EVENT_CLASS));
+            startDatePicker.setValue(startDateTime.toLocalDate());
+            startTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(startDateTime));
+            endTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(endDateTime));
+            locationComboBox.setValue(location);
+            languageComboBox.setValue(eventLocale.getDisplayLanguage(currentLocale));
+            descriptionTextArea.setText(description);
+
+            if (data.eventGroupName() == null) {
                 scheduleComboBox.setValue(viewText.getString(EVENT_MYSELF));
-                Locale locale = localeController.getUserLocale();
-                languageComboBox.setValue(locale.getDisplayLanguage(locale));
-                deleteButton.setVisible(false);
-                deleteButton.setManaged(false);
-                return;
+            } else {
+                scheduleComboBox.setValue(viewText.getString(EVENT_GROUP));
+                groupComboBox.setValue(data.eventGroupName());
+                subjectComboBox.setDisable(true);
             }
-
-            eventComboBox.setDisable(true);
-            scheduleComboBox.setDisable(true);
-            groupComboBox.setDisable(true);
-
-            if (event instanceof TeachingSessionDTO teachingSession) {
-                LocalDateTime startDateTime = teachingSession.startDate();
-                LocalDateTime endDateTime = teachingSession.endDate();
-                String location = teachingSession.locationName();
-                String subject = teachingSession.subjectCode();
-                Locale eventLocale = Locale.forLanguageTag(teachingSession.localeCode());
-                String description = teachingSession.description();
-
-                eventComboBox.setValue(viewText.getString(EVENT_CLASS));
-                startDatePicker.setValue(startDateTime.toLocalDate());
-                startTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(startDateTime));
-                endTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(endDateTime));
-                locationComboBox.setValue(location);
-                languageComboBox.setValue(eventLocale.getDisplayLanguage(currentLocale));
-                descriptionTextArea.setText(description);
-
-                if (teachingSession.timetableId() == timetableController.fetchTimetableForUser()) {
-                    scheduleComboBox.setValue(viewText.getString(EVENT_MYSELF));
-                } else {
-                    scheduleComboBox.setValue(viewText.getString(EVENT_GROUP));
-                    groupComboBox.setValue(groupController.fetchGroupByTimetableId(teachingSession.timetableId()).name());
-                    subjectComboBox.setDisable(true);
-                }
-                subjectComboBox.setValue(subject);
-            } else if (event instanceof AssignmentDTO assignment) {
-                LocalDateTime publishingDateTime = assignment.publishingDate();
-                LocalDateTime deadlineDateTime = assignment.deadline();
-                String assignmentName = assignment.assignmentName();
-                String assignmentType = assignment.type();
-                String subject = assignment.subjectCode();
-                Locale eventLocale = Locale.forLanguageTag(assignment.localeCode());
-                String description = assignment.description();
-
-                eventComboBox.setValue(viewText.getString(EVENT_ASSIGNMENT));
-                startDatePicker.setValue(publishingDateTime.toLocalDate());
-                startTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(publishingDateTime));
-                endDatePicker.setValue(deadlineDateTime.toLocalDate());
-                endTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(deadlineDateTime));
-                nameTextField.setText(assignmentName);
-                assignmentComboBox.setValue(assignmentType);
-                languageComboBox.setValue(eventLocale.getDisplayLanguage(currentLocale));
-                descriptionTextArea.setText(description);
-
-                if (assignment.timetableId() == timetableController.fetchTimetableForUser()) {
-                    scheduleComboBox.setValue(viewText.getString(EVENT_MYSELF));
-                } else {
-                    scheduleComboBox.setValue(viewText.getString(EVENT_GROUP));
-                    groupComboBox.setValue(groupController.fetchGroupByTimetableId(assignment.timetableId()).name());
-                    subjectComboBox.setDisable(true);
-                }
-                subjectComboBox.setValue(subject);
+            subjectComboBox.setValue(subject);
+        } else if (event instanceof AssignmentDTO assignment) {
+            LocalDateTime publishingDateTime = assignment.publishingDate();
+            LocalDateTime deadlineDateTime = assignment.deadline();
+            String assignmentName = assignment.assignmentName();
+            String assignmentType = assignment.type();
+            String subject = assignment.subjectCode();
+            Locale eventLocale = Locale.forLanguageTag(assignment.localeCode());
+            String description = assignment.description();
+
+            eventComboBox.setValue(viewText.getString(EVENT_ASSIGNMENT));
+            startDatePicker.setValue(publishingDateTime.toLocalDate());
+            startTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(publishingDateTime));
+            endDatePicker.setValue(deadlineDateTime.toLocalDate());
+            endTimeField.setText(TimeFormatterUtil.getTimeFromDateTime(deadlineDateTime));
+            nameTextField.setText(assignmentName);
+            assignmentComboBox.setValue(assignmentType);
+            languageComboBox.setValue(eventLocale.getDisplayLanguage(currentLocale));
+            descriptionTextArea.setText(description);
+
+            if (data.eventGroupName() == null) {
+                scheduleComboBox.setValue(viewText.getString(EVENT_MYSELF));
+            } else {
+                scheduleComboBox.setValue(viewText.getString(EVENT_GROUP));
+                groupComboBox.setValue(data.eventGroupName());
+                subjectComboBox.setDisable(true);
             }
-        });
+            subjectComboBox.setValue(subject);
+        }
     }
 
     private void handleEventChange() {
@@ -298,8 +401,10 @@ public class EventPopupViewController {
         String groupName = groupComboBox.getValue();
 
         if (groupName != null) {
-            GroupDTO group = groupController.fetchGroupByName(groupName);
-            subjectComboBox.setValue(group.subjectCode());
+            groups.stream()
+                  .filter(group -> group.name().equals(groupName))
+                  .findFirst()
+                  .ifPresent(group -> subjectComboBox.setValue(group.subjectCode()));
         }
     }
 
@@ -317,12 +422,69 @@ public class EventPopupViewController {
             return;
         }
 
-        if (event == null) {
-            eventController.addEvent(newEvent);
+        // The conflict check may have to load the occupancy index, so it runs in the background like the save
+        saveButton.setDisable(true);
+        if (newEvent instanceof TeachingSessionDTO teachingSession) {
+            conflictLoader.load(() -> eventController.findConflicts(teachingSession), conflicts -> {
+                if (hasConflicts(conflicts)) {
+                    saveButton.setDisable(false);
+                } else {
+                    saveEvent(newEvent);
+                }
+            }, this::handleSaveFailure);
         } else {
-            eventController.updateEvent(newEvent);
+            saveEvent(newEvent);
         }
-        leaveAndUpdate();
+    }
+
+    /**
+     * Stores the event in the background and closes the popup once it is stored.
+     * The model checks a teaching session for double bookings against the database again before storing it.
+     */
+    private void saveEvent(Event newEvent) {
+        AsyncLoader.write(() -> {
+            if (event == null) {
+                eventController.addEvent(newEvent);
+            } else {
+                eventController.updateEvent(newEvent);
+            }
+        }, this::leaveAndUpdate, this::handleSaveFailure);
+    }
+
+    private void handleSaveFailure(Throwable e) {
+        saveButton.setDisable(false);
+        displayErrorAlert(
+                viewText.getString(ERROR_TITLE),
+                e instanceof IllegalArgumentException ? e.getMessage() : viewText.getString("error.unexpectedError")
+        );
+    }
+
+    /**
+     * Shows the first double booking of a teaching session, so the popup stays open to pick another room or time.
+     *
+     * @param conflicts The double bookings found for the teaching session
+     * @return Whether there was a double booking to show
+     */
+    private boolean hasConflicts(List<ConflictDTO> conflicts) {
+        if (conflicts.isEmpty()) {
+            return false;
+        }
+
+        ConflictDTO conflict = conflicts.getFirst();
+        String key = switch (conflict.kind()) {
+            case LOCATION -> "error.event.conflict.location";
+            case TIMETABLE -> "error.event.conflict.timetable";
+            case TEACHER -> "error.event.conflict.teacher";
+        };
+        DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
+                                                       .withLocale(viewText.getLocale());
+        displayErrorAlert(
+                viewText.getString(ERROR_TITLE),
+                MessageFormat.format(viewText.getString(key),
+                                     formatter.format(conflict.conflictingEvent().startDate()),
+                                     formatter.format(conflict.conflictingEvent().endDate()))
+        );
+        return true;
     }
 
     private boolean validateBasicFields() {
@@ -447,6 +609,8 @@ public class EventPopupViewController {
         LocalDateTime startDateTime = LocalDateTime.of(startDate, startTime);
         LocalDateTime endDateTime = LocalDateTime.of(startDate, endTime);
 
+        // An edited occurrence of a recurring session stays part of its series and only changes itself
+        TeachingSessionDTO edited = event instanceof TeachingSessionDTO teachingSession ? teachingSession : null;
         return new TeachingSessionDTO(
                 id,
                 startDateTime,
@@ -455,7 +619,9 @@ public class EventPopupViewController {
                 subjectComboBox.getValue(),
                 descriptionTextArea.getText(),
                 timetableId,
-                eventLocale.toLanguageTag()
+                eventLocale.toLanguageTag(),
+                edited != null ? edited.recurrence() : null,
+                edited != null ? edited.originalStart() : null
         );
     }
 
@@ -0,0 +1,110 @@
+package view.controllers.pages.main;
+
+import controller.BaseController;
+import controller.SettingsController;
+import datasource.ConnectionPoolStats;
+import datasource.DaoMethodStats;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+import java.util.function.Function;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import view.controllers.ControllerAware;
+
+public class DiagnosticsViewController implements ControllerAware {
+    private SettingsController settingsController;
+    private ResourceBundle viewText;
+
+    @FXML
+    private Label titleLabel;
+    @FXML
+    private TableView<DaoMethodStats> metricsTable;
+    @FXML
+    private TableColumn<DaoMethodStats, String> methodColumn;
+    @FXML
+    private TableColumn<DaoMethodStats, Long> callsColumn;
+    @FXML
+    private TableColumn<DaoMethodStats, String> averageColumn;
+    @FXML
+    private TableColumn<DaoMethodStats, String> p95Column;
+    @FXML
+    private TableColumn<DaoMethodStats, String> maxColumn;
+    @FXML
+    private TableColumn<DaoMethodStats, Long> rowsColumn;
+    @FXML
+    private TableColumn<DaoMethodStats, Long> statementsColumn;
+    @FXML
+    private TableColumn<DaoMethodStats, String> transactionsColumn;
+    @FXML
+    private TableColumn<DaoMethodStats, String> acquireColumn;
+    @FXML
+    private Label poolLabel;
+    @FXML
+    private Button refreshButton;
+    @FXML
+    private Button resetButton;
+
+    @FXML
+    private void initialize() {
+        bind(methodColumn, DaoMethodStats::method);
+        bind(callsColumn, DaoMethodStats::calls);
+        bind(averageColumn, stats -> formatMillis(stats.averageMillis()));
+        bind(p95Column, stats -> formatMillis(stats.p95Millis()));
+        bind(maxColumn, stats -> formatMillis(stats.maxMillis()));
+        bind(rowsColumn, DaoMethodStats::rows);
+        bind(statementsColumn, DaoMethodStats::statements);
+        bind(transactionsColumn, stats -> stats.commits() + " / " + stats.rollbacks());
+        bind(acquireColumn, stats -> formatMillis(stats.acquireMillis()));
+    }
+
+    @Override
+    public void setBaseController(BaseController baseController) {
+        this.settingsController = baseController.getSettingsController();
+        this.viewText = baseController.getLocaleController().getUIBundle();
+        updateTranslations();
+        handleRefresh();
+    }
+
+    @FXML
+    private void handleRefresh() {
+        metricsTable.setItems(FXCollections.observableArrayList(settingsController.fetchDaoMetrics()));
+
+        ConnectionPoolStats pool = settingsController.fetchPoolStats();
+        poolLabel.setText(MessageFormat.format(viewText.getString("diagnostics.pool"), pool.activeConnections(),
+                pool.idleConnections(), pool.threadsAwaitingConnection()));
+    }
+
+    @FXML
+    private void handleReset() {
+        settingsController.resetDaoMetrics();
+        handleRefresh();
+    }
+
+    private static <T> void bind(TableColumn<DaoMethodStats, T> column, Function<DaoMethodStats, T> value) {
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+    }
+
+    private static String formatMillis(double millis) {
+        return String.format("%.2f", millis);
+    }
+
+    private void updateTranslations() {
+        titleLabel.setText(viewText.getString("diagnostics.title"));
+        methodColumn.setText(viewText.getString("diagnostics.method"));
+        callsColumn.setText(viewText.getString("diagnostics.calls"));
+        averageColumn.setText(viewText.getString("diagnostics.average"));
+        p95Column.setText(viewText.getString("diagnostics.p95"));
+        maxColumn.setText(viewText.getString("diagnostics.max"));
+        rowsColumn.setText(viewText.getString("diagnostics.rows"));
+        statementsColumn.setText(viewText.getString("diagnostics.statements"));
+        transactionsColumn.setText(viewText.getString("diagnostics.transactions"));
+        acquireColumn.setText(viewText.getString("diagnostics.acquire"));
+        refreshButton.setText(viewText.getString("diagnostics.refresh"));
+        resetButton.setText(viewText.getString("diagnostics.reset"));
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.function.Supplier;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.Node;
@@ -30,6 +31,7 @@ import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import view.controllers.AsyncLoader;
 import view.controllers.ControllerAware;
 
 public class GroupsViewController implements ControllerAware {
@@ -43,7 +45,10 @@ public class GroupsViewController implements ControllerAware {
     private GroupController groupController;
     private SubjectController subjectController;
     private UserController userController;
-    private List<GroupDTO> groups;
+    private final AsyncLoader groupLoader = new AsyncLoader();
+    private final AsyncLoader subjectLoader = new AsyncLoader();
+    private final AsyncLoader studentLoader = new AsyncLoader();
+    private List<GroupDTO> groups = List.of();
     private boolean isEditingMode;
     private int currentIndex;
     private int rowIndex = 0;
@@ -171,8 +176,11 @@ public class GroupsViewController implements ControllerAware {
 
             changeButtonVisibility(false);
 
-            List<SubjectDTO> subjects = subjectController.fetchAllSubjects();
-            subjects.forEach(subject -> subjectComboBox.getItems().add(subject.code()));
+            subjectComboBox.setPromptText(viewText.getString("common.loading"));
+            subjectLoader.load(subjectController::fetchAllSubjects, subjects -> {
+                subjectComboBox.setPromptText(null);
+                subjects.forEach(subject -> subjectComboBox.getItems().add(subject.code()));
+            });
         });
     }
 
@@ -184,9 +192,28 @@ public class GroupsViewController implements ControllerAware {
     }
 
     private void loadGroups() {
-        groups = groupController.fetchAllGroups();
+        loadGroups(groupController::fetchAllGroups);
+    }
+
+    private void loadGroups(Supplier<List<GroupDTO>> query) {
+        loadGroups(query, () -> {
+            // Nothing to do once the list is shown
+        });
+    }
+
+    private void loadGroups(Supplier<List<GroupDTO>> query, Runnable onLoaded) {
         itemView.getItems().clear();
-        groups.forEach(group -> itemView.getItems().add(group.name()));
+        itemView.setPlaceholder(new Label(viewText.getString("common.loading")));
+
+        groupLoader.load(query, result -> {
+            groups = result;
+            itemView.getItems().setAll(result.stream().map(GroupDTO::name).toList());
+            onLoaded.run();
+        }, e -> itemView.setPlaceholder(new Label(viewText.getString("error.unexpectedError"))));
+    }
+
+    private GroupDTO findLoadedGroup(String name) {
+        return groups.stream().filter(group -> group.name().equals(name)).findFirst().orElse(null);
     }
 
     @FXML
@@ -280,8 +307,10 @@ public class GroupsViewController implements ControllerAware {
         }
 
         GroupDTO group = new GroupDTO(name, code, capacity, userId, subjectCode);
-        groupController.addGroup(group);
-        loadGroups();
+        loadGroups(() -> {
+            groupController.addGroup(group);
+            return groupController.fetchAllGroups();
+        });
         clearFields();
     }
 
@@ -300,9 +329,11 @@ public class GroupsViewController implements ControllerAware {
 
         try {
             GroupDTO updatedGroup = createUpdatedGroup(selectedIndex);
-            updateExistingGroup(updatedGroup, selectedIndex);
-            loadGroups();
-            itemView.getSelectionModel().select(selectedIndex);
+            String currentName = groups.get(selectedIndex).name();
+            loadGroups(() -> {
+                groupController.updateGroup(updatedGroup, currentName);
+                return groupController.fetchAllGroups();
+            }, () -> itemView.getSelectionModel().select(selectedIndex));
         } catch (ValidationException e) {
             showErrorAlert(ERROR_TITLE, e.getMessage());
         }
@@ -330,11 +361,6 @@ public class GroupsViewController implements ControllerAware {
         return new GroupDTO(name, code, capacity, userId, subjectCode);
     }
 
-    private void updateExistingGroup(GroupDTO updatedGroup, int selectedIndex) {
-        String currentName = groups.get(selectedIndex).name();
-        groupController.updateGroup(updatedGroup, currentName);
-    }
-
 
     private int validateCapacity(String capacityStr) throws ValidationException {
         try {
@@ -374,8 +400,7 @@ public class GroupsViewController implements ControllerAware {
 
         int selectedIndex = itemView.getSelectionModel().getSelectedIndex();
         if (selectedIndex != -1) {
-            String name = itemView.getSelectionModel().getSelectedItem();
-            GroupDTO group = groupController.fetchGroupByName(name);
+            GroupDTO group = groups.get(selectedIndex);
 
             Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
             alert.setTitle(viewText.getString("confirmation.group.delete"));
@@ -384,8 +409,10 @@ public class GroupsViewController implements ControllerAware {
 
             Optional<ButtonType> result = alert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                groupController.deleteGroup(group);
-                loadGroups();
+                loadGroups(() -> {
+                    groupController.deleteGroup(group);
+                    return groupController.fetchAllGroups();
+                });
                 clearFields();
                 changeButtonVisibility(false);
             }
@@ -439,12 +466,13 @@ public class GroupsViewController implements ControllerAware {
             return;
         }
 
-        String groupName = itemView.getSelectionModel().getSelectedItem();
-        GroupDTO group = groupController.fetchGroupByName(groupName);
+        GroupDTO group = findLoadedGroup(itemView.getSelectionModel().getSelectedItem());
 
         String studentUsername = addStudentComboBox.getValue();
-        groupController.addStudentToGroup(group, studentUsername);
-        updateStudentBoxes();
+        loadStudentBoxes(() -> {
+            groupController.addStudentToGroup(group, studentUsername);
+            return fetchStudentChoices(group.name());
+        });
     }
 
     private void handleRemoveStudent() {
@@ -461,33 +489,49 @@ public class GroupsViewController implements ControllerAware {
             return;
         }
 
-        String groupName = itemView.getSelectionModel().getSelectedItem();
-        GroupDTO group = groupController.fetchGroupByName(groupName);
+        GroupDTO group = findLoadedGroup(itemView.getSelectionModel().getSelectedItem());
 
         String studentUsername = removeStudentComboBox.getValue();
-        groupController.removeStudentFromGroup(group, studentUsername);
-        updateStudentBoxes();
+        loadStudentBoxes(() -> {
+            groupController.removeStudentFromGroup(group, studentUsername);
+            return fetchStudentChoices(group.name());
+        });
     }
 
     private void updateStudentBoxes() {
+        String groupName = itemView.getSelectionModel().getSelectedItem();
+        loadStudentBoxes(() -> fetchStudentChoices(groupName));
+    }
+
+    private void loadStudentBoxes(Supplier<StudentChoices> query) {
         addStudentComboBox.getItems().clear();
         removeStudentComboBox.getItems().clear();
+        addStudentComboBox.setPromptText(viewText.getString("common.loading"));
+        removeStudentComboBox.setPromptText(viewText.getString("common.loading"));
+
+        studentLoader.load(query, choices -> {
+            addStudentComboBox.setPromptText(null);
+            removeStudentComboBox.setPromptText(null);
+            addStudentComboBox.getItems().setAll(choices.addable());
+            removeStudentComboBox.getItems().setAll(choices.removable());
+        });
+    }
 
+    // Runs on a background thread
+    private StudentChoices fetchStudentChoices(String groupName) {
         UserDTO currentUser = userController.getLoggedInUser();
         List<UserDTO> students = userController.fetchAllStudents();
-        Set<UserDTO> groupStudents = userController.fetchStudentsInGroup(itemView.getSelectionModel().getSelectedItem());
+        Set<UserDTO> groupStudents = userController.fetchStudentsInGroup(groupName);
 
-        if (students != null) {
-            students.forEach(student -> {
-                if (!student.username().equals(currentUser.username()) && student.role().equals("STUDENT") && !groupStudents.contains(student)) {
-                    addStudentComboBox.getItems().add(student.username());
-                }
-            });
-        }
+        List<String> addable = students == null ? List.of() : students.stream()
+                .filter(student -> !student.username().equals(currentUser.username()) && student.role().equals("STUDENT") && !groupStudents.contains(student))
+                .map(UserDTO::username)
+                .toList();
+        List<String> removable = groupStudents == null ? List.of() : groupStudents.stream()
+                .map(UserDTO::username)
+                .toList();
 
-        if (groupStudents != null) {
-            groupStudents.forEach(student -> removeStudentComboBox.getItems().add(student.username()));
-        }
+        return new StudentChoices(addable, removable);
     }
 
     private void clearFields() {
@@ -551,6 +595,9 @@ public class GroupsViewController implements ControllerAware {
         return false;
     }
 
+    private record StudentChoices(List<String> addable, List<String> removable) {
+    }
+
     private static class ValidationException extends Exception {
         public ValidationException(String message) {
             super(message);
@@ -6,6 +6,7 @@ import dto.LocationDTO;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.function.Supplier;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -17,6 +18,7 @@ import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import view.controllers.AsyncLoader;
 import view.controllers.ControllerAware;
 
 public class LocationsViewController implements ControllerAware {
@@ -24,7 +26,8 @@ public class LocationsViewController implements ControllerAware {
 
 	private ResourceBundle viewText;
 	private LocationController locationController;
-	private List<LocationDTO> locations;
+	private final AsyncLoader locationLoader = new AsyncLoader();
+	private List<LocationDTO> locations = List.of();
 	private boolean isEditingMode;
 	private int currentIndex;
 	private TextField nameTextField;
@@ -107,9 +110,43 @@ public class LocationsViewController implements ControllerAware {
 	}
 
 	private void loadLocations() {
-		locations = locationController.fetchAllLocations();
+		loadLocations(locationController::fetchAllLocations);
+	}
+
+	private void loadLocations(Supplier<List<LocationDTO>> query) {
+		loadLocations(query, () -> {
+			// Nothing to do once the list is shown
+		});
+	}
+
+	private void loadLocations(Supplier<List<LocationDTO>> query, Runnable onLoaded) {
 		itemView.getItems().clear();
-		locations.forEach(location -> itemView.getItems().add(location.name()));
+		itemView.setPlaceholder(new Label(viewText.getString("common.loading")));
+
+		locationLoader.load(query, result -> {
+			locations = result;
+			itemView.getItems().setAll(result.stream().map(LocationDTO::name).toList());
+			onLoaded.run();
+		}, e -> itemView.setPlaceholder(new Label(viewText.getString("error.unexpectedError"))));
+	}
+
+	private void writeLocations(Runnable write) {
+		writeLocations(write, () -> {
+			// Nothing to do once the list is shown
+		});
+	}
+
+	/*
+	 * Runs a write on its own task, which reloading the list cannot cancel, and reloads the list once it is done.
+	 */
+	private void writeLocations(Runnable write, Runnable onLoaded) {
+		AsyncLoader.write(write, () -> loadLocations(locationController::fetchAllLocations, onLoaded), e -> {
+			Alert alert = new Alert(Alert.AlertType.ERROR);
+			alert.setTitle(viewText.getString(ERROR_TITLE));
+			alert.setHeaderText(null);
+			alert.setContentText(viewText.getString("error.unexpectedError"));
+			alert.showAndWait();
+		});
 	}
 
 	@FXML
@@ -160,8 +197,7 @@ public class LocationsViewController implements ControllerAware {
 		}
 
 		LocationDTO locationDTO = new LocationDTO(name, campus, building);
-		locationController.addLocation(locationDTO);
-		loadLocations();
+		writeLocations(() -> locationController.addLocation(locationDTO));
 		clearFields();
 	}
 
@@ -195,10 +231,8 @@ public class LocationsViewController implements ControllerAware {
 			}
 
 			LocationDTO locationDTO = new LocationDTO(name, campus, building);
-			locationController.updateLocation(locationDTO, currentName);
-			loadLocations();
-
-			itemView.getSelectionModel().select(selectedIndex);
+			writeLocations(() -> locationController.updateLocation(locationDTO, currentName),
+			               () -> itemView.getSelectionModel().select(selectedIndex));
 		}
 	}
 
@@ -213,8 +247,8 @@ public class LocationsViewController implements ControllerAware {
 
 			Optional<ButtonType> result = alert.showAndWait();
 			if (result.isPresent() && result.get() == ButtonType.OK) {
-				locationController.deleteLocation(locations.get(selectedIndex));
-				loadLocations();
+				LocationDTO location = locations.get(selectedIndex);
+				writeLocations(() -> locationController.deleteLocation(location));
 				clearFields();
 				changeButtonVisibility(false);
 			}
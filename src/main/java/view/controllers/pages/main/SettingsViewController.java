@@ -2,21 +2,35 @@ package view.controllers.pages.main;
 
 import controller.BaseController;
 import controller.LocaleController;
+import controller.SettingsController;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import java.io.IOException;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import view.controllers.ControllerAware;
 import view.controllers.SidebarControllerAware;
 import view.controllers.components.SidebarViewController;
 
 
 public class SettingsViewController implements ControllerAware, SidebarControllerAware {
+    private static final Logger logger = LoggerFactory.getLogger(SettingsViewController.class);
+    private BaseController baseController;
     private LocaleController localeController;
+    private SettingsController settingsController;
     private SidebarViewController sidebarViewController;
 
     @FXML
@@ -25,6 +39,10 @@ public class SettingsViewController implements ControllerAware, SidebarControlle
     private Label languageLabel;
     @FXML
     private ComboBox<String> languageComboBox;
+    @FXML
+    private CheckBox canvasTimetableCheckBox;
+    @FXML
+    private Button diagnosticsButton;
 
     @FXML
     private void initialize() {
@@ -37,13 +55,19 @@ public class SettingsViewController implements ControllerAware, SidebarControlle
 
             Locale currentLocale = localeController.getUserLocale();
             languageComboBox.setValue(currentLocale.getDisplayLanguage(currentLocale));
+
+            canvasTimetableCheckBox.setSelected(settingsController.isCanvasTimetable());
+            canvasTimetableCheckBox.setOnAction(event ->
+                    settingsController.setCanvasTimetable(canvasTimetableCheckBox.isSelected()));
             updateTranslations();
         });
     }
 
     @Override
     public void setBaseController(BaseController baseController) {
+        this.baseController = baseController;
         this.localeController = baseController.getLocaleController();
+        this.settingsController = baseController.getSettingsController();
     }
 
     @Override
@@ -63,11 +87,33 @@ public class SettingsViewController implements ControllerAware, SidebarControlle
         updateTranslations();
     }
 
+    @FXML
+    private void handleShowDiagnostics() {
+        try {
+            FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/layouts/pages/main/diagnostics.fxml"));
+            Parent parent = fxmlLoader.load();
+
+            DiagnosticsViewController diagnosticsViewController = fxmlLoader.getController();
+            diagnosticsViewController.setBaseController(baseController);
+
+            Stage diagnosticsStage = new Stage();
+            diagnosticsStage.initModality(Modality.WINDOW_MODAL);
+            diagnosticsStage.initOwner(settingsLabel.getScene().getWindow());
+            diagnosticsStage.setTitle(localeController.getUIBundle().getString("diagnostics.title"));
+            diagnosticsStage.setScene(new Scene(parent));
+            diagnosticsStage.show();
+        } catch (IOException e) {
+            logger.error("Error showing diagnostics popup: {}", e.getMessage());
+        }
+    }
+
     private void updateTranslations() {
         ResourceBundle viewText = localeController.getUIBundle();
 
         settingsLabel.setText(viewText.getString("settings.title"));
         languageLabel.setText(viewText.getString("settings.language"));
+        canvasTimetableCheckBox.setText(viewText.getString("settings.canvasTimetable"));
+        diagnosticsButton.setText(viewText.getString("settings.diagnostics"));
 
         sidebarViewController.updateTranslations();
     }
@@ -6,6 +6,7 @@ import dto.SubjectDTO;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.function.Supplier;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -17,6 +18,7 @@ import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
+import view.controllers.AsyncLoader;
 import view.controllers.ControllerAware;
 
 
@@ -25,7 +27,8 @@ public class SubjectsViewController implements ControllerAware {
 
 	private ResourceBundle viewText;
 	private SubjectController subjectController;
-	private List<SubjectDTO> subjects;
+	private final AsyncLoader subjectLoader = new AsyncLoader();
+	private List<SubjectDTO> subjects = List.of();
 	private boolean isEditingMode;
 	private int currentIndex;
 
@@ -105,9 +108,43 @@ public class SubjectsViewController implements ControllerAware {
 	}
 
 	private void loadSubjects() {
-		subjects = subjectController.fetchAllSubjects();
+		loadSubjects(subjectController::fetchAllSubjects);
+	}
+
+	private void loadSubjects(Supplier<List<SubjectDTO>> query) {
+		loadSubjects(query, () -> {
+			// Nothing to do once the list is shown
+		});
+	}
+
+	private void loadSubjects(Supplier<List<SubjectDTO>> query, Runnable onLoaded) {
 		itemView.getItems().clear();
-		subjects.forEach(subject -> itemView.getItems().add(subject.name()));
+		itemView.setPlaceholder(new Label(viewText.getString("common.loading")));
+
+		subjectLoader.load(query, result -> {
+			subjects = result;
+			itemView.getItems().setAll(result.stream().map(SubjectDTO::name).toList());
+			onLoaded.run();
+		}, e -> itemView.setPlaceholder(new Label(viewText.getString("error.unexpectedError"))));
+	}
+
+	private void writeSubjects(Runnable write) {
+		writeSubjects(write, () -> {
+			// Nothing to do once the list is shown
+		});
+	}
+
+	/*
+	 * Runs a write on its own task, which reloading the list cannot cancel, and reloads the list once it is done.
+	 */
+	private void writeSubjects(Runnable write, Runnable onLoaded) {
+		AsyncLoader.write(write, () -> loadSubjects(subjectController::fetchAllSubjects, onLoaded), e -> {
+			Alert alert = new Alert(Alert.AlertType.ERROR);
+			alert.setTitle(viewText.getString(ERROR_TITLE));
+			alert.setHeaderText(null);
+			alert.setContentText(viewText.getString("error.unexpectedError"));
+			alert.showAndWait();
+		});
 	}
 
 	@FXML
@@ -157,8 +194,7 @@ public class SubjectsViewController implements ControllerAware {
 		}
 
 		SubjectDTO subject = new SubjectDTO(name, code);
-		subjectController.addSubject(subject);
-		loadSubjects();
+		writeSubjects(() -> subjectController.addSubject(subject));
 		clearFields();
 	}
 
@@ -191,10 +227,8 @@ public class SubjectsViewController implements ControllerAware {
 			}
 
 			SubjectDTO subject = new SubjectDTO(name, code);
-			subjectController.updateSubject(subject, currentCode);
-			loadSubjects();
-
-			itemView.getSelectionModel().select(selectedIndex);
+			writeSubjects(() -> subjectController.updateSubject(subject, currentCode),
+			              () -> itemView.getSelectionModel().select(selectedIndex));
 		}
 	}
 
@@ -209,8 +243,8 @@ public class SubjectsViewController implements ControllerAware {
 
 			Optional<ButtonType> result = alert.showAndWait();
 			if (result.isPresent() && result.get() == ButtonType.OK) {
-				subjectController.deleteSubject(subjects.get(selectedIndex));
-				loadSubjects();
+				SubjectDTO subject = subjects.get(selectedIndex);
+				writeSubjects(() -> subjectController.deleteSubject(subject));
 				clearFields();
 				changeButtonVisibility(false);
 			}
@@ -3,6 +3,7 @@ package view.controllers.pages.main;
 import controller.BaseController;
 import controller.EventController;
 import controller.LocaleController;
+import controller.SettingsController;
 import controller.UserController;
 import dto.AssignmentDTO;
 import dto.Event;
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -21,12 +23,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
-import java.util.Set;
+import java.util.function.Supplier;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -42,7 +43,10 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import util.OverlapLayout;
+import view.controllers.AsyncLoader;
 import view.controllers.ControllerAware;
+import view.controllers.components.EventCanvas;
 import view.controllers.components.EventLabel;
 import view.controllers.components.EventPopupViewController;
 
@@ -57,9 +61,17 @@ public class TimetableViewController implements ControllerAware {
 	private EventController eventController;
 	private LocaleController localeController;
 	private UserController userController;
+	private SettingsController settingsController;
 	private LocalDateTime startDate;
 	private LocalDateTime endDate;
 	private double cellWidth;
+	private final AsyncLoader eventLoader = new AsyncLoader();
+	// The labels currently in the grid, so a reload only touches the events that changed
+	private Map<EventKey, EventLabel> renderedLabels = new HashMap<>();
+	private LocalDateTime renderedWeekStart;
+	private Label loadingPlaceholder;
+	// Only created when the canvas renderer is selected in the settings
+	private EventCanvas eventCanvas;
 
 	@FXML
 	private HBox topbar;
@@ -108,6 +120,7 @@ public class TimetableViewController implements ControllerAware {
 		this.eventController = baseController.getEventController();
 		this.localeController = baseController.getLocaleController();
 		this.userController = baseController.getUserController();
+		this.settingsController = baseController.getSettingsController();
 		this.viewText = baseController.getLocaleController().getUIBundle();
 	}
 
@@ -272,50 +285,101 @@ public class TimetableViewController implements ControllerAware {
 	}
 
 	public void loadTimetable() {
-		if (!userController.isUserLoggedIn()) {
-			return;
+		// Labels of another week are never reused, the same week is updated in place once the events arrive
+		boolean weekChanged = !Objects.equals(renderedWeekStart, startDate);
+		if (weekChanged) {
+			clearTimetable();
 		}
+		showLoadingPlaceholder();
+
+		// The events are loaded in the background; a newer request replaces this one if the week changes first
+		LocalDateTime weekStart = startDate;
+		Supplier<List<Event>> query = eventQuery(startDate, endDate, selectedLocaleTag());
+		eventLoader.load(() -> userController.isUserLoggedIn() ? query.get() : List.<Event>of(), events -> {
+			removeLoadingPlaceholder();
+			boolean fullRender = renderedLabels.isEmpty();
+			renderedWeekStart = weekStart;
+			renderEvents(events);
+
+			if (fullRender) {
+				updateEventHeight();
+				updateEventWidth();
+			}
+		}, e -> clearTimetable());
+	}
 
-		clearTimetable();
-		List<Event> events = fetchEvents();
+	private void showLoadingPlaceholder() {
+		removeLoadingPlaceholder();
+		loadingPlaceholder = new Label(viewText.getString("common.loading"));
+		loadingPlaceholder.setMouseTransparent(true);
+		timetableGrid.add(loadingPlaceholder, 1, 1, timetableGrid.getColumnCount() - 1, 1);
+		GridPane.setHalignment(loadingPlaceholder, javafx.geometry.HPos.CENTER);
+	}
 
-		for (Event event : events) {
-			processEvent(event);
+	private void removeLoadingPlaceholder() {
+		if (loadingPlaceholder != null) {
+			timetableGrid.getChildren().remove(loadingPlaceholder);
+			loadingPlaceholder = null;
 		}
+	}
 
-		updateEventHeight();
-		updateEventWidth();
+	private Supplier<List<Event>> eventQuery(LocalDateTime start, LocalDateTime end, String localeTag) {
+		return localeTag == null
+		       ? () -> eventController.fetchEventsByUser(start, end)
+		       : () -> eventController.fetchEventsByUserAndLocale(start, end, localeTag);
 	}
 
-	private List<Event> fetchEvents() {
+	private String selectedLocaleTag() {
 		String language = languageComboBox.getValue();
 		Locale currentLocale = baseController.getLocaleController().getUserLocale();
 
 		if (language.equals(viewText.getString(TIMETABLE_ALL_LANGUAGES))) {
-			return eventController.fetchEventsByUser(startDate, endDate);
+			return null;
 		}
 
-		Locale selectedLocale = localeController.getAvailableLocales().stream()
-		                                        .filter(locale -> locale.getDisplayLanguage(currentLocale)
-		                                                                .equals(language))
-		                                        .findFirst()
-		                                        .orElse(null);
-
-		return selectedLocale != null
-		       ? eventController.fetchEventsByUserAndLocale(startDate, endDate, selectedLocale.toLanguageTag())
-		       : eventController.fetchEventsByUser(startDate, endDate);
+		return localeController.getAvailableLocales().stream()
+		                       .filter(locale -> locale.getDisplayLanguage(currentLocale).equals(language))
+		                       .findFirst()
+		                       .map(Locale::toLanguageTag)
+		                       .orElse(null);
 	}
 
-	private void processEvent(Event event) {
-		EventLabel eventLabel = createEventLabel(event);
-		if (eventLabel == null) {
+	private void renderEvents(List<Event> events) {
+		// The overlap layout is computed per day before any label is created, so each label is placed once
+		Map<Integer, List<PlacedEvent>> eventsByColumn = new HashMap<>();
+		for (Event event : events) {
+			PlacedEvent placedEvent = placeEvent(event);
+			if (placedEvent != null) {
+				eventsByColumn.computeIfAbsent(placedEvent.column(), column -> new ArrayList<>()).add(placedEvent);
+			}
+		}
+
+		if (settingsController.isCanvasTimetable()) {
+			drawEvents(eventsByColumn);
 			return;
 		}
+		removeEventCanvas();
+
+		// Labels of unchanged events are kept; whatever is left in the previous index was changed or removed
+		Map<EventKey, EventLabel> previousLabels = renderedLabels;
+		renderedLabels = new HashMap<>();
+		eventsByColumn.values().forEach(dayEvents -> addDayToGrid(dayEvents, previousLabels));
+
+		if (!previousLabels.isEmpty()) {
+			timetableGrid.getChildren().removeAll(new HashSet<>(previousLabels.values()));
+		}
+	}
+
+	private PlacedEvent placeEvent(Event event) {
+		if (!(event instanceof TeachingSessionDTO) && !(event instanceof AssignmentDTO)) {
+			logger.info("An event with an unknown type was found");
+			return null;
+		}
 
 		int column = calculateEventColumn(event);
 		if (!isColumnValid(column)) {
 			logger.info("An event with a date outside the timetable range was found");
-			return;
+			return null;
 		}
 
 		int[] rows = calculateEventRows(event);
@@ -324,11 +388,88 @@ public class TimetableViewController implements ControllerAware {
 
 		if (startRow == -1 || endRow == -1) {
 			logger.error("An invalid event was found");
-			return;
+			return null;
 		}
 
-		handleEventOverlap(eventLabel, column, startRow, endRow);
-		addEventToGrid(eventLabel, column, startRow, endRow);
+		return new PlacedEvent(event, column, startRow, endRow);
+	}
+
+	private void drawEvents(Map<Integer, List<PlacedEvent>> eventsByColumn) {
+		if (!renderedLabels.isEmpty()) {
+			timetableGrid.getChildren().removeAll(new HashSet<>(renderedLabels.values()));
+			renderedLabels.clear();
+		}
+
+		// Same overlap layout as the labels, but converted to row units for the canvas
+		List<EventCanvas.DrawnEvent> drawnEvents = new ArrayList<>();
+		for (List<PlacedEvent> dayEvents : eventsByColumn.values()) {
+			List<OverlapLayout.Slot> slots = OverlapLayout.layout(dayEvents, PlacedEvent::startRow, PlacedEvent::endRow);
+
+			for (int i = 0; i < dayEvents.size(); i++) {
+				PlacedEvent placedEvent = dayEvents.get(i);
+				OverlapLayout.Slot slot = slots.get(i);
+				TimeRange timeRange = getEventTimeRange(placedEvent.event());
+				double[] sizeAndOffset = getEventHeightAndOffset(timeRange.start(), timeRange.end());
+
+				drawnEvents.add(new EventCanvas.DrawnEvent(placedEvent.event(), placedEvent.column() - 1,
+				                                           placedEvent.startRow() - 1 + sizeAndOffset[1],
+				                                           sizeAndOffset[0], slot.position(), slot.numberOfSlots()));
+			}
+		}
+
+		getEventCanvas().setEvents(drawnEvents);
+	}
+
+	private EventCanvas getEventCanvas() {
+		if (eventCanvas == null) {
+			int columns = timetableGrid.getColumnCount() - 1;
+			int rows = timetableGrid.getRowCount() - 1;
+
+			eventCanvas = new EventCanvas(columns, rows);
+			eventCanvas.setOnEventClicked(this::handleEditEvent);
+			timetableGrid.add(eventCanvas, 1, 1, columns, rows);
+		}
+		return eventCanvas;
+	}
+
+	private void removeEventCanvas() {
+		if (eventCanvas != null) {
+			timetableGrid.getChildren().remove(eventCanvas);
+			eventCanvas = null;
+		}
+	}
+
+	private void addDayToGrid(List<PlacedEvent> dayEvents, Map<EventKey, EventLabel> previousLabels) {
+		List<OverlapLayout.Slot> slots = OverlapLayout.layout(dayEvents, PlacedEvent::startRow, PlacedEvent::endRow);
+		double cellHeight = getCellHeight();
+
+		for (int i = 0; i < dayEvents.size(); i++) {
+			PlacedEvent placedEvent = dayEvents.get(i);
+			OverlapLayout.Slot slot = slots.get(i);
+			EventKey key = EventKey.of(placedEvent.event());
+			EventLabel eventLabel = previousLabels.get(key);
+
+			if (eventLabel != null && eventLabel.getEvent().equals(placedEvent.event())) {
+				// Unchanged event, only its width can change if the events around it did
+				previousLabels.remove(key);
+				if (eventLabel.getLabelPosition() != slot.position() ||
+				    eventLabel.getNumberOfLabels() != slot.numberOfSlots()) {
+					eventLabel.updateLabelPosition(slot.position(), slot.numberOfSlots());
+					eventLabel.updateLabelWidth(cellWidth);
+				}
+			} else if (!renderedLabels.containsKey(key)) {
+				eventLabel = createEventLabel(placedEvent.event());
+				eventLabel.updateLabelPosition(slot.position(), slot.numberOfSlots());
+				eventLabel.updateLabelHeight(cellHeight);
+				eventLabel.updateLabelWidth(cellWidth);
+				addEventToGrid(eventLabel, placedEvent.column(), placedEvent.startRow(), placedEvent.endRow());
+			} else {
+				logger.info("A duplicate event was found");
+				continue;
+			}
+
+			renderedLabels.put(key, eventLabel);
+		}
 	}
 
 	private EventLabel createEventLabel(Event event) {
@@ -400,58 +541,24 @@ public class TimetableViewController implements ControllerAware {
 	}
 
 	private int[] calculateEventRows(Event event) {
-		LocalDateTime start;
-		LocalDateTime end;
-
-		switch (event) {
-			case TeachingSessionDTO teachingSession -> {
-				start = teachingSession.startDate();
-				end = teachingSession.endDate();
-			}
-			case AssignmentDTO assignment -> {
-				TimeRange timeRange = calculateAssignmentTimeRange(assignment.deadline());
-				start = timeRange.start();
-				end = timeRange.end();
-			}
-			default -> {
-				return new int[]{-1, -1};
-			}
+		TimeRange timeRange = getEventTimeRange(event);
+		if (timeRange == null) {
+			return new int[]{-1, -1};
 		}
 
 		return new int[]{
-				getRowIndex(start, true),
-				getRowIndex(end, false)
+				getRowIndex(timeRange.start(), true),
+				getRowIndex(timeRange.end(), false)
 		};
 	}
 
-	private void handleEventOverlap(EventLabel eventLabel, int column, int startRow, int endRow) {
-		Set<EventLabel> overlappingEvents = getEventLabelsInRange(column, startRow, endRow);
-		if (overlappingEvents.isEmpty()) {
-			return;
-		}
-
-		int maxLabelPosition = overlappingEvents.stream()
-		                                        .mapToInt(EventLabel::getNumberOfLabels)
-		                                        .max()
-		                                        .orElse(1);
-
-		boolean positioned = false;
-		for (int i = 1; i <= maxLabelPosition; i++) {
-			int finalI = i;
-			if (overlappingEvents.stream().noneMatch(existing -> existing.getLabelPosition() == finalI)) {
-				eventLabel.updateLabelPosition(i, maxLabelPosition);
-				positioned = true;
-				break;
-			}
-		}
-
-		if (!positioned) {
-			int newMaxPosition = maxLabelPosition + 1;
-			eventLabel.updateLabelPosition(newMaxPosition, newMaxPosition);
-			overlappingEvents.forEach(existing ->
-					                          existing.updateLabelPosition(existing.getLabelPosition(),
-					                                                       newMaxPosition));
-		}
+	private TimeRange getEventTimeRange(Event event) {
+		return switch (event) {
+			case TeachingSessionDTO teachingSession ->
+					new TimeRange(teachingSession.startDate(), teachingSession.endDate());
+			case AssignmentDTO assignment -> calculateAssignmentTimeRange(assignment.deadline());
+			default -> null;
+		};
 	}
 
 	private void addEventToGrid(EventLabel eventLabel, int column, int startRow, int endRow) {
@@ -463,6 +570,12 @@ public class TimetableViewController implements ControllerAware {
 	}
 
 	private void clearTimetable() {
+		renderedLabels.clear();
+		renderedWeekStart = null;
+		loadingPlaceholder = null;
+		if (eventCanvas != null) {
+			eventCanvas.setEvents(List.of());
+		}
 		timetableGrid.getChildren().removeIf(node -> {
 			Integer column = GridPane.getColumnIndex(node);
 			Integer row = GridPane.getRowIndex(node);
@@ -490,9 +603,12 @@ public class TimetableViewController implements ControllerAware {
 		return new double[]{height, offset};
 	}
 
+	private double getCellHeight() {
+		return timetableGrid.getHeight() / timetableGrid.getRowCount();
+	}
+
 	private void updateEventHeight() {
-		double cellHeight;
-		cellHeight = timetableGrid.getHeight() / timetableGrid.getRowCount();
+		double cellHeight = getCellHeight();
 		timetableGrid.getChildren().stream()
 		             .filter(EventLabel.class::isInstance)
 		             .forEach(node -> ((EventLabel) node).updateLabelHeight(cellHeight));
@@ -521,28 +637,22 @@ public class TimetableViewController implements ControllerAware {
 		}
 	}
 
-	private Set<EventLabel> getEventLabelsInRange(int column, int startRow, int endRow) {
-		Set<EventLabel> uniqueEventLabels = new HashSet<>();
+	private record TimeRange(LocalDateTime start, LocalDateTime end) {
+	}
 
-		for (Node node : timetableGrid.getChildren()) {
-			Integer colIndex = GridPane.getColumnIndex(node);
-			Integer rowIndex = GridPane.getRowIndex(node);
-			Integer rowSpan = GridPane.getRowSpan(node);
+	private record PlacedEvent(Event event, int column, int startRow, int endRow) {
+	}
 
-			if (colIndex != null && rowIndex != null && rowSpan != null) {
-				int nodeEndRow = rowIndex + rowSpan - 1;
+	// Identifies a rendered event across reloads; the date is included so a moved event gets a new label
+	private record EventKey(Class<? extends Event> type, Long id, LocalDateTime date) {
 
-				if (colIndex == column &&
-				    ((rowIndex >= startRow && rowIndex <= endRow) || (nodeEndRow >= startRow && nodeEndRow <= endRow) ||
-				     (rowIndex <= startRow && nodeEndRow >= endRow)) && node instanceof EventLabel eventLabel) {
-					uniqueEventLabels.add(eventLabel);
-				}
-			}
+		private static EventKey of(Event event) {
+			return switch (event) {
+				case TeachingSessionDTO teachingSession ->
+						new EventKey(TeachingSessionDTO.class, teachingSession.id(), teachingSession.startDate());
+				case AssignmentDTO assignment -> new EventKey(AssignmentDTO.class, assignment.id(), assignment.deadline());
+				default -> throw new IllegalArgumentException("Unknown event type: " + event.getClass().getName());
+			};
 		}
-
-		return uniqueEventLabels;
-	}
-
-	private record TimeRange(LocalDateTime start, LocalDateTime end) {
 	}
 }
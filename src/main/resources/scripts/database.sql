@@ -31,7 +31,11 @@ CREATE TABLE assignment
     deadline        TIMESTAMP    NOT NULL,
     timetable_id    INT          NOT NULL,
     subject_id      INT          NOT NULL,
+    locale_code     VARCHAR(255) NOT NULL,
     PRIMARY KEY (id),
+    INDEX idx_assignment_deadline (deadline),
+    INDEX idx_assignment_timetable_deadline (timetable_id, deadline),
+    INDEX idx_assignment_timetable_locale_deadline (timetable_id, locale_code, deadline),
     FOREIGN KEY (timetable_id) REFERENCES timetable (id),
     FOREIGN KEY (subject_id) REFERENCES subject (id)
 );
@@ -73,12 +77,36 @@ CREATE TABLE teaching_session
     subject_id   INT       NOT NULL,
     location_id  INT,
     timetable_id INT       NOT NULL,
+    recurrence_frequency VARCHAR(255),
+    recurrence_interval  INT,
+    recurrence_until     TIMESTAMP NULL,
+    locale_code          VARCHAR(255) NOT NULL,
     PRIMARY KEY (id),
+    INDEX idx_teaching_session_start (start_date),
+    INDEX idx_teaching_session_timetable_start (timetable_id, start_date),
+    INDEX idx_teaching_session_timetable_locale_start (timetable_id, locale_code, start_date),
+    INDEX idx_teaching_session_recurrence (recurrence_frequency, start_date),
     FOREIGN KEY (subject_id) REFERENCES subject (id),
     FOREIGN KEY (location_id) REFERENCES location (id),
     FOREIGN KEY (timetable_id) REFERENCES timetable (id)
 );
 
+CREATE TABLE teaching_session_override
+(
+    id                  INT       NOT NULL AUTO_INCREMENT,
+    teaching_session_id INT       NOT NULL,
+    original_start      TIMESTAMP NOT NULL,
+    cancelled           BOOLEAN   NOT NULL,
+    start_date          TIMESTAMP NULL,
+    end_date            TIMESTAMP NULL,
+    location_id         INT,
+    description         VARCHAR(255),
+    PRIMARY KEY (id),
+    UNIQUE (teaching_session_id, original_start),
+    FOREIGN KEY (teaching_session_id) REFERENCES teaching_session (id) ON DELETE CASCADE,
+    FOREIGN KEY (location_id) REFERENCES location (id)
+);
+
 CREATE TABLE belongs_to
 (
     user_id  INT NOT NULL,
@@ -95,4 +123,10 @@ CREATE TABLE teaches
     PRIMARY KEY (user_id, class_id),
     FOREIGN KEY (user_id) REFERENCES user (id),
     FOREIGN KEY (class_id) REFERENCES teaching_session (id)
-);
\ No newline at end of file
+);
+CREATE TABLE id_generator
+(
+    name     VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (name)
+);
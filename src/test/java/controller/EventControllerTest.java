@@ -1,16 +1,28 @@
 package controller;
 
+import dao.LocationDAO;
+import dao.SubjectDAO;
+import dao.TeachingSessionDAO;
+import dao.TimetableDAO;
 import datasource.MariaDBConnection;
 import dto.*;
+import entity.TeachingSessionEntity;
+import jakarta.persistence.PersistenceException;
+import model.ReferenceDataCache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class EventControllerTest {
 	private static final BaseController baseController = new BaseController();
@@ -104,6 +116,54 @@ class EventControllerTest {
 		                                                  LocalDateTime.parse("2023-11-01T12:00:00")).size());
 	}
 
+	@Test
+	void addEventReusesCachedReferenceData() {
+		UserDTO teacher = createTeacher();
+		userController.registerUser(teacher);
+		userController.authenticateUser("teacher", "password");
+		long teacherId = userController.fetchCurrentUserId();
+
+		LocationDTO location = new LocationDTO("B2005", "Metropolia Myllypuro", "Building B");
+		locationController.addLocation(location);
+
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+
+		GroupDTO group = new GroupDTO("Group1", "TST1", 10, teacherId, subject.code());
+		groupController.addGroup(group);
+
+		long groupTimetableId = timetableController.fetchTimetableForGroup(group.name());
+
+		for (int day = 1; day <= 2; day++) {
+			eventController.addEvent(new TeachingSessionDTO(null, LocalDateTime.of(2023, 10, day, 10, 0),
+			                                                LocalDateTime.of(2023, 10, day, 12, 0), location.name(),
+			                                                subject.code(), "Lecture", groupTimetableId, "en"));
+		}
+
+		ReferenceDataCache.Stats subjects = ReferenceDataCache.getSubjectStats();
+		ReferenceDataCache.Stats locations = ReferenceDataCache.getLocationStats();
+		ReferenceDataCache.Stats timetables = ReferenceDataCache.getTimetableStats();
+
+		eventController.addEvent(new TeachingSessionDTO(null, LocalDateTime.parse("2023-10-03T10:00:00"),
+		                                                LocalDateTime.parse("2023-10-03T12:00:00"), location.name(),
+		                                                subject.code(), "Lecture", groupTimetableId, "en"));
+
+		assertEquals(subjects.misses(), ReferenceDataCache.getSubjectStats().misses());
+		assertEquals(locations.misses(), ReferenceDataCache.getLocationStats().misses());
+		assertEquals(timetables.misses(), ReferenceDataCache.getTimetableStats().misses());
+		assertEquals(timetables.hits() + 1, ReferenceDataCache.getTimetableStats().hits());
+		assertEquals(3, eventController.fetchEventsByUser(LocalDateTime.parse("2023-10-01T00:00:00"),
+		                                                  LocalDateTime.parse("2023-10-04T00:00:00")).size());
+
+		subjectController.deleteSubject(subject);
+		subjectController.addSubject(subject);
+		eventController.addEvent(new TeachingSessionDTO(null, LocalDateTime.parse("2023-10-04T10:00:00"),
+		                                                LocalDateTime.parse("2023-10-04T12:00:00"), location.name(),
+		                                                subject.code(), "Lecture", groupTimetableId, "en"));
+
+		assertEquals(subjects.misses() + 1, ReferenceDataCache.getSubjectStats().misses());
+	}
+
 	@Test
 	void addEventTeachingSession() {
 		UserDTO student = createStudent();
@@ -311,6 +371,45 @@ class EventControllerTest {
 		assertEquals(updatedAssignment.type(), fetchedAssignment.type());
 	}
 
+	@Test
+	void updateEventMovesBetweenCachedWeeks() {
+		UserDTO teacher = createTeacher();
+		userController.registerUser(teacher);
+		userController.authenticateUser("teacher", "password");
+		long teacherId = userController.fetchCurrentUserId();
+
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+
+		GroupDTO group = new GroupDTO("Group1", "TST1", 10, teacherId, subject.code());
+		groupController.addGroup(group);
+
+		long groupTimetableId = timetableController.fetchTimetableForGroup(group.name());
+
+		LocalDateTime monday = LocalDateTime.parse("2023-10-02T00:00:00");
+		LocalDateTime sunday = LocalDateTime.parse("2023-10-08T23:59:59");
+
+		assertEquals(0, eventController.fetchEventsByUser(monday, sunday).size());
+
+		eventController.addEvent(new TeachingSessionDTO(null, LocalDateTime.parse("2023-10-03T10:00:00"),
+		                                                LocalDateTime.parse("2023-10-03T12:00:00"), null,
+		                                                subject.code(), "Lecture", groupTimetableId, "en"));
+
+		TeachingSessionDTO teachingSession =
+				(TeachingSessionDTO) eventController.fetchEventsByUser(monday, sunday).getFirst();
+		assertEquals(0, eventController.fetchEventsByUser(monday.plusWeeks(1), sunday.plusWeeks(1)).size());
+
+		eventController.updateEvent(new TeachingSessionDTO(teachingSession.id(),
+		                                                   teachingSession.startDate().plusWeeks(1),
+		                                                   teachingSession.endDate().plusWeeks(1), null,
+		                                                   subject.code(), "Lecture", groupTimetableId, "en"));
+
+		assertEquals(0, eventController.fetchEventsByUser(monday, sunday).size());
+		assertEquals(1, eventController.fetchEventsByUser(monday.plusWeeks(1), sunday.plusWeeks(1)).size());
+		assertEquals(1, eventController.fetchEventsByUser(LocalDateTime.parse("2023-10-10T00:00:00"),
+		                                                  LocalDateTime.parse("2023-10-10T23:59:59")).size());
+	}
+
 	@Test
 	void deleteEventTeachingSession() {
 		UserDTO student = createStudent();
@@ -410,4 +509,285 @@ class EventControllerTest {
 
 		assertEquals(0, eventController.fetchEventsByUser(assignment.publishingDate(), assignment.deadline()).size());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void fetchEventsByUserStatementCount() {
+		UserDTO student = createStudent();
+		userController.registerUser(student);
+
+		UserDTO teacher = createTeacher();
+		userController.registerUser(teacher);
+		userController.authenticateUser("teacher", "password");
+		long teacherId = userController.fetchCurrentUserId();
+
+		LocationDTO location = new LocationDTO("B2005", "Metropolia Myllypuro", "Building B");
+		locationController.addLocation(location);
+
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+
+		for (int i = 1; i <= 3; i++) {
+			GroupDTO group = new GroupDTO("Group" + i, "TST" + i, 10, teacherId, subject.code());
+			groupController.addGroup(group);
+			groupController.addStudentToGroup(group, student.username());
+
+			long groupTimetableId = timetableController.fetchTimetableForGroup(group.name());
+
+			eventController.addEvent(
+					new TeachingSessionDTO(null, LocalDateTime.parse("2023-10-0" + i + "T10:00:00"),
+					                       LocalDateTime.parse("2023-10-0" + i + "T12:00:00"), location.name(),
+					                       subject.code(), "Session " + i, groupTimetableId, "en"));
+			eventController.addEvent(
+					new AssignmentDTO(null, "Individual", LocalDateTime.parse("2023-10-0" + i + "T10:00:00"),
+					                  LocalDateTime.parse("2023-10-0" + i + "T12:00:00"), "Assignment " + i,
+					                  subject.code(), "Assignment " + i, groupTimetableId, "en"));
+		}
+
+		userController.logout();
+		userController.authenticateUser(student.username(), student.password());
+
+		Statistics statistics =
+				MariaDBConnection.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		List<Event> events = eventController.fetchEventsByUser(LocalDateTime.parse("2023-09-01T10:00:00"),
+		                                                       LocalDateTime.parse("2023-11-01T12:00:00"));
+		long statementCount = statistics.getPrepareStatementCount();
+
+		assertEquals(6, events.size());
+		// One statement for the teaching sessions and one for the assignments, regardless of the number of groups
+		assertEquals(2, statementCount);
+	}
+
+	@Test
+	void recurringTeachingSessionExpandsWithinPeriod() {
+		userController.registerUser(createTeacher());
+		userController.authenticateUser("teacher", "password");
+
+		LocationDTO location = new LocationDTO("B2005", "Metropolia Myllypuro", "Building B");
+		locationController.addLocation(location);
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+		long timetableId = timetableController.fetchTimetableForUser();
+
+		// Every other Monday, without an end
+		RecurrenceDTO recurrence = new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 2, null);
+		eventController.addEvent(new TeachingSessionDTO(null, LocalDateTime.parse("2025-01-06T10:00:00"),
+		                                                LocalDateTime.parse("2025-01-06T12:00:00"), location.name(),
+		                                                subject.code(), "Lecture", timetableId, "en", recurrence,
+		                                                null));
+
+		assertEquals(0, eventController.fetchEventsByUser(LocalDateTime.parse("2030-01-07T00:00:00"),
+		                                                  LocalDateTime.parse("2030-01-13T23:59:59")).size());
+
+		List<Event> week = eventController.fetchEventsByUser(LocalDateTime.parse("2030-01-14T00:00:00"),
+		                                                     LocalDateTime.parse("2030-01-20T23:59:59"));
+		assertEquals(1, week.size());
+		TeachingSessionDTO occurrence = (TeachingSessionDTO) week.getFirst();
+		assertEquals(LocalDateTime.parse("2030-01-14T10:00:00"), occurrence.startDate());
+		assertEquals(LocalDateTime.parse("2030-01-14T12:00:00"), occurrence.endDate());
+		assertEquals(occurrence.startDate(), occurrence.originalStart());
+		assertEquals("Lecture", occurrence.description());
+	}
+
+	@Test
+	void recurringTeachingSessionOverridesAndCancellations() {
+		userController.registerUser(createTeacher());
+		userController.authenticateUser("teacher", "password");
+
+		LocationDTO location = new LocationDTO("B2005", "Metropolia Myllypuro", "Building B");
+		locationController.addLocation(location);
+		LocationDTO otherLocation = new LocationDTO("A1001", "Metropolia Myllypuro", "Building A");
+		locationController.addLocation(otherLocation);
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+		long timetableId = timetableController.fetchTimetableForUser();
+
+		// A weekly lecture from January 6 to April 14, 15 occurrences stored as one row
+		RecurrenceDTO recurrence =
+				new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1, LocalDateTime.parse("2025-04-14T23:59:59"));
+		eventController.addEvent(new TeachingSessionDTO(null, LocalDateTime.parse("2025-01-06T10:00:00"),
+		                                                LocalDateTime.parse("2025-01-06T12:00:00"), location.name(),
+		                                                subject.code(), "Lecture", timetableId, "en", recurrence,
+		                                                null));
+
+		LocalDateTime termStart = LocalDateTime.parse("2025-01-01T00:00:00");
+		LocalDateTime termEnd = LocalDateTime.parse("2025-05-31T23:59:59");
+		assertEquals(15, eventController.fetchEventsByUser(termStart, termEnd).size());
+
+		// Move one occurrence to Tuesday afternoon in another room
+		TeachingSessionDTO occurrence = (TeachingSessionDTO) eventController.fetchEventsByUser(
+				LocalDateTime.parse("2025-02-10T00:00:00"), LocalDateTime.parse("2025-02-16T23:59:59")).getFirst();
+		eventController.updateEvent(new TeachingSessionDTO(occurrence.id(), LocalDateTime.parse("2025-02-11T14:00:00"),
+		                                                   LocalDateTime.parse("2025-02-11T16:00:00"),
+		                                                   otherLocation.name(), subject.code(), "Moved lecture",
+		                                                   timetableId, "en", occurrence.recurrence(),
+		                                                   occurrence.originalStart()));
+
+		List<Event> movedWeek = eventController.fetchEventsByUser(LocalDateTime.parse("2025-02-10T00:00:00"),
+		                                                          LocalDateTime.parse("2025-02-16T23:59:59"));
+		assertEquals(1, movedWeek.size());
+		TeachingSessionDTO moved = (TeachingSessionDTO) movedWeek.getFirst();
+		assertEquals(LocalDateTime.parse("2025-02-11T14:00:00"), moved.startDate());
+		assertEquals(otherLocation.name(), moved.locationName());
+		assertEquals("Moved lecture", moved.description());
+		assertEquals(occurrence.originalStart(), moved.originalStart());
+
+		// Cancel the next occurrence
+		TeachingSessionDTO cancelled = (TeachingSessionDTO) eventController.fetchEventsByUser(
+				LocalDateTime.parse("2025-02-17T00:00:00"), LocalDateTime.parse("2025-02-23T23:59:59")).getFirst();
+		eventController.deleteEvent(cancelled);
+
+		assertEquals(0, eventController.fetchEventsByUser(LocalDateTime.parse("2025-02-17T00:00:00"),
+		                                                  LocalDateTime.parse("2025-02-23T23:59:59")).size());
+		assertEquals(14, eventController.fetchEventsByUser(termStart, termEnd).size());
+	}
+
+	@Test
+	void addEventRejectsDoubleBooking() {
+		userController.registerUser(createTeacher());
+		userController.authenticateUser("teacher", "password");
+		long teacherId = userController.fetchCurrentUserId();
+		long timetableId = timetableController.fetchTimetableForUser();
+
+		LocationDTO room = new LocationDTO("B2005", "Metropolia Myllypuro", "Building B");
+		LocationDTO otherRoom = new LocationDTO("A1001", "Metropolia Myllypuro", "Building A");
+		locationController.addLocation(room);
+		locationController.addLocation(otherRoom);
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+		GroupDTO group = new GroupDTO("Group1", "TST1", 10, teacherId, subject.code());
+		groupController.addGroup(group);
+		long groupTimetableId = timetableController.fetchTimetableForGroup(group.name());
+
+		LocalDateTime start = LocalDateTime.parse("2025-03-03T10:00:00");
+		eventController.addEvent(new TeachingSessionDTO(null, start, start.plusHours(2), room.name(), subject.code(),
+		                                                "Lecture", timetableId, "en"));
+
+		// Same room, same timetable and, through the group, the same teacher
+		TeachingSessionDTO sameRoom = new TeachingSessionDTO(null, start.plusHours(1), start.plusHours(3), room.name(),
+		                                                     subject.code(), "Lab", groupTimetableId, "en");
+		assertEquals(List.of(ConflictDTO.Kind.LOCATION, ConflictDTO.Kind.TEACHER),
+		             eventController.findConflicts(sameRoom).stream().map(ConflictDTO::kind).toList());
+		TeachingSessionDTO sameTimetable = new TeachingSessionDTO(null, start.plusHours(1), start.plusHours(3),
+		                                                          otherRoom.name(), subject.code(), "Lab",
+		                                                          timetableId, "en");
+		assertEquals(List.of(ConflictDTO.Kind.TIMETABLE),
+		             eventController.findConflicts(sameTimetable).stream().map(ConflictDTO::kind).toList());
+
+		IllegalArgumentException exception =
+				assertThrows(IllegalArgumentException.class, () -> eventController.addEvent(sameRoom));
+		assertEquals("Invalid teaching session data: Location B2005 is already booked at 2025-03-03T10:00 - " +
+		             "2025-03-03T12:00.", exception.getMessage());
+
+		// Back to back is fine, and so is moving a session over its own previous time
+		eventController.addEvent(new TeachingSessionDTO(null, start.plusHours(2), start.plusHours(4), room.name(),
+		                                                subject.code(), "Lab", groupTimetableId, "en"));
+		TeachingSessionDTO lecture = (TeachingSessionDTO) eventController.fetchEventsByUser(start, start).getFirst();
+		assertEquals(List.of(), eventController.findConflicts(
+				new TeachingSessionDTO(lecture.id(), start.minusMinutes(30), start.plusMinutes(90), room.name(),
+				                       subject.code(), "Lecture", timetableId, "en")));
+
+		// A weekly series is checked with every occurrence
+		RecurrenceDTO weekly = new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1, null);
+		List<ConflictDTO> seriesConflicts = eventController.findConflicts(
+				new TeachingSessionDTO(null, start.minusWeeks(2), start.minusWeeks(2).plusHours(1), otherRoom.name(),
+				                       subject.code(), "Seminar", groupTimetableId, "en", weekly, null));
+		assertEquals(1, seriesConflicts.size());
+		assertEquals(ConflictDTO.Kind.TEACHER, seriesConflicts.getFirst().kind());
+		assertEquals(start, seriesConflicts.getFirst().event().startDate());
+	}
+
+	@Test
+	void addEventRejectsDoubleBookingStoredByAnotherClient() {
+		userController.registerUser(createTeacher());
+		userController.authenticateUser("teacher", "password");
+		long timetableId = timetableController.fetchTimetableForUser();
+		LocationDTO room = new LocationDTO("B2005", "Metropolia Myllypuro", "Building B");
+		locationController.addLocation(room);
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+
+		// Warm the occupancy index, then store a lecture behind its back as another client would
+		LocalDateTime start = LocalDateTime.parse("2025-03-03T10:00:00");
+		TeachingSessionDTO lab = new TeachingSessionDTO(null, start.plusHours(1), start.plusHours(3), room.name(),
+		                                                subject.code(), "Lab", timetableId, "en");
+		assertEquals(List.of(), eventController.findConflicts(lab));
+		new TeachingSessionDAO().persist(
+				new TeachingSessionEntity(Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)), "Lecture",
+				                          new LocationDAO().findByName(room.name()),
+				                          new TimetableDAO().findById(timetableId),
+				                          new SubjectDAO().findByCode(subject.code()), "en"));
+		assertEquals(List.of(), eventController.findConflicts(lab));
+
+		IllegalArgumentException exception =
+				assertThrows(IllegalArgumentException.class, () -> eventController.addEvent(lab));
+		assertEquals("Invalid teaching session data: Location B2005 is already booked at 2025-03-03T10:00 - " +
+		             "2025-03-03T12:00.", exception.getMessage());
+	}
+
+	@Test
+	void auditConflictsOverTerm() {
+		userController.registerUser(createTeacher());
+		userController.authenticateUser("teacher", "password");
+		long teacherId = userController.fetchCurrentUserId();
+		long timetableId = timetableController.fetchTimetableForUser();
+
+		LocationDTO room = new LocationDTO("B2005", "Metropolia Myllypuro", "Building B");
+		LocationDTO otherRoom = new LocationDTO("A1001", "Metropolia Myllypuro", "Building A");
+		locationController.addLocation(room);
+		locationController.addLocation(otherRoom);
+		SubjectDTO subject = new SubjectDTO("ICT", "ICT101");
+		subjectController.addSubject(subject);
+		GroupDTO group = new GroupDTO("Group1", "TST1", 10, teacherId, subject.code());
+		groupController.addGroup(group);
+		long groupTimetableId = timetableController.fetchTimetableForGroup(group.name());
+
+		// Imported in bulk, so nothing was checked on save
+		LocalDateTime monday = LocalDateTime.parse("2025-03-03T10:00:00");
+		RecurrenceDTO weekly = new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1, monday.plusWeeks(9));
+		eventController.addEvents(List.of(
+				new TeachingSessionDTO(null, monday, monday.plusHours(2), room.name(), subject.code(), "Lecture",
+				                       timetableId, "en", weekly, null),
+				new TeachingSessionDTO(null, monday.plusWeeks(3).plusHours(1), monday.plusWeeks(3).plusHours(3),
+				                       room.name(), subject.code(), "Exam", groupTimetableId, "en"),
+				new TeachingSessionDTO(null, monday.plusDays(1), monday.plusDays(1).plusHours(2), room.name(),
+				                       subject.code(), "Lab", groupTimetableId, "en"),
+				new TeachingSessionDTO(null, monday.plusDays(1).plusHours(1), monday.plusDays(1).plusHours(2),
+				                       otherRoom.name(), subject.code(), "Lab", groupTimetableId, "en"),
+				new TeachingSessionDTO(null, monday.plusDays(2), monday.plusDays(2).plusHours(2), otherRoom.name(),
+				                       subject.code(), "Lab", groupTimetableId, "en")));
+
+		List<ConflictDTO> conflicts = eventController.auditConflicts(monday.minusWeeks(1), monday.plusWeeks(12));
+
+		// The exam overlaps the fourth lecture in its room and for its teacher, the two labs share a timetable
+		assertEquals(3, conflicts.size());
+		assertEquals(2, conflicts.stream().filter(conflict -> conflict.event().startDate()
+		                                                              .equals(monday.plusWeeks(3))).count());
+		assertEquals(List.of(ConflictDTO.Kind.TIMETABLE),
+		             conflicts.stream().filter(conflict -> conflict.event().startDate().equals(monday.plusDays(1)))
+		                      .map(ConflictDTO::kind).toList());
+	}
+
+	@Test
+	void addEventsStoresNothingWhenAnInsertFails() {
+		userController.registerUser(createTeacher());
+		userController.authenticateUser("teacher", "password");
+		long teacherId = userController.fetchCurrentUserId();
+		locationController.addLocation(new LocationDTO("B2005", "Metropolia Myllypuro", "Building B"));
+		subjectController.addSubject(new SubjectDTO("ICT", "ICT101"));
+		GroupDTO group = new GroupDTO("Group1", "TST1", 10, teacherId, "ICT101");
+		groupController.addGroup(group);
+		long groupTimetableId = timetableController.fetchTimetableForGroup(group.name());
+
+		LocalDateTime monday = LocalDateTime.parse("2025-03-03T10:00:00");
+		TeachingSessionDTO lecture = new TeachingSessionDTO(null, monday, monday.plusHours(2), "B2005", "ICT101",
+		                                                    "Lecture", groupTimetableId, "en");
+		// Valid, but its timetable does not exist, so the insert fails after the lecture was inserted
+		AssignmentDTO orphan = new AssignmentDTO(null, "Individual", monday, monday.plusWeeks(1), "Essay", "ICT101",
+		                                         "Essay", groupTimetableId + 1000, "en");
+
+		assertThrows(PersistenceException.class, () -> eventController.addEvents(List.of(lecture, orphan)));
+		assertEquals(List.of(), eventController.fetchAllEvents(monday.minusDays(1), monday.plusWeeks(2)));
+	}
+}
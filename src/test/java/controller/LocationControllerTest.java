@@ -2,7 +2,13 @@ package controller;
 
 import datasource.MariaDBConnection;
 import dto.LocationDTO;
+import dto.RecurrenceDTO;
+import dto.SubjectDTO;
+import dto.TeachingSessionDTO;
 import dto.UserDTO;
+import model.ModelCaches;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +16,8 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -17,10 +25,15 @@ class LocationControllerTest {
 	private static final BaseController baseController = new BaseController();
 	private static final LocationController locationController = baseController.getLocationController();
 	private static final UserController userController = baseController.getUserController();
+	private static final EventController eventController = baseController.getEventController();
+	private static final SubjectController subjectController = baseController.getSubjectController();
+	private static final TimetableController timetableController = baseController.getTimetableController();
 
 
 	private static void resetDatabase() {
+		eventController.deleteAllEvents();
 		locationController.deleteAllLocations();
+		subjectController.deleteAllSubjects();
 		userController.deleteAllUsers();
 	}
 
@@ -173,6 +186,38 @@ class LocationControllerTest {
 		assertEquals(0, locationController.fetchAllLocations().size());
 	}
 
+	@Test
+	void deleteLocationKeepsMovedOccurrence() {
+		UserDTO teacher = createTeacher();
+		userController.registerUser(teacher);
+		userController.authenticateUser(teacher.username(), teacher.password());
+		long timetableId = timetableController.fetchTimetableForUser();
+
+		LocationDTO room1 = createLocationDTO("B2005");
+		LocationDTO room2 = createLocationDTO("B7035");
+		locationController.addLocation(room1);
+		locationController.addLocation(room2);
+		subjectController.addSubject(new SubjectDTO("ICT", "ICT101"));
+
+		LocalDateTime start = LocalDateTime.parse("2023-10-02T10:00:00");
+		RecurrenceDTO weekly = new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1, start.plusWeeks(3));
+		eventController.addEvent(new TeachingSessionDTO(null, start, start.plusHours(2), room1.name(), "ICT101",
+		                                                "Lecture", timetableId, "en", weekly, null));
+		TeachingSessionDTO occurrence = (TeachingSessionDTO) eventController.fetchEventsByUser(
+				start.plusWeeks(1), start.plusWeeks(1).plusHours(2)).getFirst();
+		eventController.updateEvent(new TeachingSessionDTO(occurrence.id(), occurrence.startDate(),
+		                                                   occurrence.endDate(), room2.name(), "ICT101", "Lecture",
+		                                                   timetableId, "en", weekly, occurrence.originalStart()));
+
+		// The moved occurrence still needs the room, so it is not deleted and the occurrence is not moved back
+		locationController.deleteLocation(room2);
+
+		assertEquals(List.of(room1, room2), locationController.fetchAllLocations());
+		TeachingSessionDTO moved = (TeachingSessionDTO) eventController.fetchEventsByUser(
+				start.plusWeeks(1), start.plusWeeks(1).plusHours(2)).getFirst();
+		assertEquals(room2.name(), moved.locationName());
+	}
+
 	@Test
 	void deleteLocationUnauthorized() {
 		userController.registerUser(createTeacher());
@@ -207,4 +252,130 @@ class LocationControllerTest {
 
 		assertEquals(0, locationController.fetchAllLocations().size());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void fetchAvailableLocations() {
+		UserDTO teacher = createTeacher();
+		userController.registerUser(teacher);
+		userController.authenticateUser(teacher.username(), teacher.password());
+		long timetableId = timetableController.fetchTimetableForUser();
+
+		LocationDTO room1 = createLocationDTO("B2005");
+		LocationDTO room2 = createLocationDTO("B7035");
+		LocationDTO room3 = new LocationDTO("A1001", "Metropolia Karamalmi", "Building A");
+		locationController.addLocation(room1);
+		locationController.addLocation(room2);
+		locationController.addLocation(room3);
+		subjectController.addSubject(new SubjectDTO("ICT", "ICT101"));
+
+		LocalDateTime start = LocalDateTime.parse("2023-10-02T10:00:00");
+		eventController.addEvent(new TeachingSessionDTO(null, start, start.plusHours(2), room1.name(), "ICT101",
+		                                                "Lecture", timetableId, "en"));
+
+		assertEquals(List.of(room2, room3),
+		             locationController.fetchAvailableLocations(start.plusHours(1), start.plusHours(3), null, null));
+		assertEquals(List.of(room2),
+		             locationController.fetchAvailableLocations(start.plusHours(1), start.plusHours(3),
+		                                                        "Metropolia Myllypuro", "Building B"));
+		// A session ending when the window starts does not occupy it
+		assertEquals(3, locationController.fetchAvailableLocations(start.plusHours(2), start.plusHours(3), null,
+		                                                           null).size());
+
+		// Moving the session updates the index without loading it again
+		TeachingSessionDTO lecture = eventController.fetchEventsByUser(start, start.plusHours(2)).stream()
+		                                            .map(TeachingSessionDTO.class::cast).findFirst().orElseThrow();
+		assertEquals(List.of(room1, room2, room3),
+		             locationController.fetchAvailableLocations(start, start.plusHours(2), lecture));
+		eventController.updateEvent(new TeachingSessionDTO(lecture.id(), start, start.plusHours(2), room2.name(),
+		                                                   "ICT101", "Lecture", timetableId, "en"));
+		assertEquals(List.of(room1, room3),
+		             locationController.fetchAvailableLocations(start, start.plusHours(2), null, null));
+
+		eventController.deleteEvent(new TeachingSessionDTO(lecture.id(), start, start.plusHours(2), room2.name(),
+		                                                   "ICT101", "Lecture", timetableId, "en"));
+		assertEquals(3, locationController.fetchAvailableLocations(start, start.plusHours(2), null, null).size());
+	}
+
+	@Test
+	void fetchAvailableLocationsWithRecurringSession() {
+		UserDTO teacher = createTeacher();
+		userController.registerUser(teacher);
+		userController.authenticateUser(teacher.username(), teacher.password());
+		long timetableId = timetableController.fetchTimetableForUser();
+
+		LocationDTO room1 = createLocationDTO("B2005");
+		LocationDTO room2 = createLocationDTO("B7035");
+		locationController.addLocation(room1);
+		locationController.addLocation(room2);
+		subjectController.addSubject(new SubjectDTO("ICT", "ICT101"));
+
+		LocalDateTime start = LocalDateTime.parse("2023-10-02T10:00:00");
+		RecurrenceDTO weekly = new RecurrenceDTO(RecurrenceDTO.Frequency.WEEKLY, 1, null);
+		eventController.addEvent(new TeachingSessionDTO(null, start, start.plusHours(2), room1.name(), "ICT101",
+		                                                "Lecture", timetableId, "en", weekly, null));
+
+		LocalDateTime fifthWeek = start.plusWeeks(4);
+		assertEquals(List.of(room2),
+		             locationController.fetchAvailableLocations(fifthWeek, fifthWeek.plusHours(1), null, null));
+
+		TeachingSessionDTO occurrence = eventController.fetchEventsByUser(fifthWeek, fifthWeek.plusHours(2)).stream()
+		                                               .map(TeachingSessionDTO.class::cast).findFirst()
+		                                               .orElseThrow();
+		eventController.deleteEvent(occurrence);
+
+		assertEquals(List.of(room1, room2),
+		             locationController.fetchAvailableLocations(fifthWeek, fifthWeek.plusHours(1), null, null));
+		assertEquals(List.of(room2), locationController.fetchAvailableLocations(fifthWeek.plusWeeks(1),
+		                                                                        fifthWeek.plusWeeks(1).plusHours(1),
+		                                                                        null, null));
+	}
+
+	@Test
+	void fetchAvailableLocationsWithHundredsOfRoomsFromTheIndex() {
+		UserDTO teacher = createTeacher();
+		userController.registerUser(teacher);
+		userController.authenticateUser(teacher.username(), teacher.password());
+		long timetableId = timetableController.fetchTimetableForUser();
+		subjectController.addSubject(new SubjectDTO("ICT", "ICT101"));
+
+		int rooms = 300;
+		LocalDateTime monday = LocalDateTime.parse("2023-10-02T08:00:00");
+		List<TeachingSessionDTO> teachingSessions = new ArrayList<>();
+		int occupiedRooms = 0;
+		for (int i = 0; i < rooms; i++) {
+			LocationDTO room = createLocationDTO("Room" + i);
+			locationController.addLocation(room);
+			for (int day = 0; day < 5; day++) {
+				LocalDateTime start = monday.plusDays(day).plusHours((i + day) % 8);
+				teachingSessions.add(new TeachingSessionDTO(null, start, start.plusHours(2), room.name(), "ICT101",
+				                                            "Lecture", timetableId, "en"));
+			}
+			// The Monday sessions starting at 10:00 or 11:00 overlap the searched window from 11:00 to 12:00
+			if (i % 8 == 2 || i % 8 == 3) {
+				occupiedRooms++;
+			}
+		}
+		eventController.addEvents(teachingSessions);
+
+		LocalDateTime windowStart = monday.plusHours(3);
+		LocalDateTime windowEnd = windowStart.plusHours(1);
+		List<LocationDTO> available = locationController.fetchAvailableLocations(windowStart, windowEnd, null, null);
+
+		Statistics statistics =
+				MariaDBConnection.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		ModelCaches.awaitBackgroundLoads();
+		long statementsBefore = statistics.getPrepareStatementCount();
+		List<LocationDTO> availableAgain = locationController.fetchAvailableLocations(windowStart, windowEnd, null,
+		                                                                              null);
+		List<LocationDTO> availableOnTuesday = locationController.fetchAvailableLocations(windowStart.plusDays(1),
+		                                                                                  windowEnd.plusDays(1),
+		                                                                                  null, null);
+		long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+		assertEquals(rooms - occupiedRooms, available.size());
+		assertEquals(available, availableAgain);
+		assertEquals(rooms - occupiedRooms, availableOnTuesday.size());
+		// Once the occupancy index is built, searches within the loaded weeks do not go back to the database
+		assertEquals(0, statements);
+	}
+}
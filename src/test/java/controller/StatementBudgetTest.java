@@ -0,0 +1,192 @@
+package controller;
+
+import dao.AssignmentDAO;
+import dao.LocationDAO;
+import dao.SubjectDAO;
+import dao.TeachingSessionDAO;
+import dao.TimetableDAO;
+import dao.UserDAO;
+import dao.UserGroupDAO;
+import datasource.MariaDBConnection;
+import datasource.SyntheticDataGenerator;
+import dto.AssignmentDTO;
+import dto.GroupDTO;
+import dto.TeachingSessionDTO;
+import entity.AssignmentEntity;
+import entity.Role;
+import entity.UserEntity;
+import entity.UserGroupEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Fails when a controller operation needs more database work than it did when its budget was set, to catch
+ * N+1 queries before they reach a hot path.
+ * <p>
+ * Every operation runs with empty caches against the same generated data, and is given a budget of JDBC
+ * statements and of rows read. Raise a budget only in the change that needs the extra queries, and lower it
+ * when a change makes an operation cheaper.
+ * </p>
+ */
+class StatementBudgetTest {
+
+	private static final BaseController baseController = new BaseController();
+	private static final EventController eventController = baseController.getEventController();
+	private static final GroupController groupController = baseController.getGroupController();
+	private static final UserController userController = baseController.getUserController();
+	private static final TimetableController timetableController = baseController.getTimetableController();
+
+	private static final String PASSWORD = "password";
+	// A connection the pool opens during an operation reads a row of server settings
+	private static final long ROW_SLACK = 2;
+	private static final LocalDate TERM_START = LocalDate.of(2025, 9, 1);
+	private static final LocalDateTime WEEK_START = TERM_START.plusWeeks(1).atStartOfDay();
+	private static final LocalDateTime WEEK_END = WEEK_START.plusWeeks(1);
+	// After the generated term, so the added session is not double-booked
+	private static final LocalDateTime ADDED_START = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+	private static String student;
+	private static String teacher;
+	// Another student of the group, removed from it and added back
+	private static String member;
+	private static GroupDTO group;
+	private static long timetableId;
+	private static String locationName;
+	private static AssignmentDTO updatedAssignment;
+	private static AssignmentDTO deletedAssignment;
+
+	private static void resetDatabase() {
+		new AssignmentDAO().deleteAll();
+		new TeachingSessionDAO().deleteAll();
+		new TimetableDAO().deleteAll();
+		new LocationDAO().deleteAll();
+		new SubjectDAO().deleteAll();
+	}
+
+	@BeforeAll
+	static void seedDatabase() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+		new SyntheticDataGenerator().generate(new SyntheticDataGenerator.Config(
+				1, 60, 5, 8, 5, 5, TERM_START, 4, 2, 3, 4, List.of("en-US", "ja-JP", "km-KH"), PASSWORD));
+
+		UserGroupDAO userGroupDAO = new UserGroupDAO();
+		List<UserEntity> students = new UserDAO().findAll()
+		                                         .stream()
+		                                         .filter(user -> user.getRole() == Role.STUDENT)
+		                                         .toList();
+		UserGroupEntity groupEntity = userGroupDAO.findAllByUserId(students.getFirst().getId()).getFirst();
+		student = students.getFirst().getUsername();
+		teacher = groupEntity.getTeacher().getUsername();
+		member = students.stream()
+		                 .skip(1)
+		                 .filter(user -> userGroupDAO.findAllByUserId(user.getId())
+		                                             .stream()
+		                                             .anyMatch(g -> g.getId().equals(groupEntity.getId())))
+		                 .findFirst()
+		                 .orElseThrow()
+		                 .getUsername();
+		group = groupController.fetchGroupByName(groupEntity.getName());
+		timetableId = groupEntity.getTimetable().getId();
+		locationName = new LocationDAO().findAll().getFirst().getName();
+
+		List<AssignmentDTO> assignments = new AssignmentDAO().findAll()
+		                                                     .stream()
+		                                                     .filter(a -> a.getTimetable().getId() == timetableId)
+		                                                     .map(StatementBudgetTest::toDTO)
+		                                                     .toList();
+		updatedAssignment = assignments.get(0);
+		deletedAssignment = assignments.get(1);
+	}
+
+	@AfterAll
+	static void tearDown() {
+		userController.logout();
+		resetDatabase();
+	}
+
+	private static AssignmentDTO toDTO(AssignmentEntity assignment) {
+		return new AssignmentDTO(assignment.getId(), assignment.getType(),
+		                         assignment.getPublishingDate().toLocalDateTime(),
+		                         assignment.getDeadline().toLocalDateTime(), assignment.getName(),
+		                         assignment.getSubject().getCode(), assignment.getDescription(),
+		                         assignment.getTimetable().getId(), assignment.getLocaleCode());
+	}
+
+	/**
+	 * Declares the budget of an operation run by a logged-in user.
+	 */
+	private static DynamicTest budget(String operation, String username, long statements, long rows,
+	                                  Runnable call) {
+		return dynamicTest(operation, () -> {
+			userController.authenticateUser(username, PASSWORD);
+
+			StatementCounter.Usage usage = StatementCounter.measure(call);
+
+			assertTrue(usage.statements() <= statements,
+			           () -> "%s prepared %d statements, its budget is %d".formatted(operation, usage.statements(),
+			                                                                         statements));
+			assertTrue(usage.rows() <= rows + ROW_SLACK,
+			           () -> "%s read %d rows, its budget is %d".formatted(operation, usage.rows(), rows));
+		});
+	}
+
+	@TestFactory
+	Stream<DynamicTest> budgets() {
+		TeachingSessionDTO addedSession = new TeachingSessionDTO(null, ADDED_START, ADDED_START.plusHours(2),
+		                                                         locationName, group.subjectCode(), "Lecture",
+		                                                         timetableId, "en-US");
+		AssignmentDTO addedAssignment = new AssignmentDTO(null, "Homework", ADDED_START, ADDED_START.plusWeeks(1),
+		                                                  "Added", group.subjectCode(), "Homework", timetableId,
+		                                                  "en-US");
+
+		return Stream.of(
+				budget("UserController.authenticateUser", student, 1, 1,
+				       () -> userController.authenticateUser(student, PASSWORD)),
+				budget("UserController.isUserLoggedIn", student, 1, 1, userController::isUserLoggedIn),
+				budget("UserController.getLoggedInUser", student, 1, 1, userController::getLoggedInUser),
+				budget("UserController.fetchAllStudents", teacher, 1, 60, userController::fetchAllStudents),
+				budget("UserController.fetchStudentsInGroup", teacher, 1, 19,
+				       () -> userController.fetchStudentsInGroup(group.name())),
+				budget("TimetableController.fetchTimetableForUser", student, 1, 1,
+				       timetableController::fetchTimetableForUser),
+				budget("EventController.fetchEventsByUser", student, 12, 76,
+				       () -> eventController.fetchEventsByUser(WEEK_START, WEEK_END)),
+				budget("EventController.fetchEventsByUserAndLocale", student, 12, 25,
+				       () -> eventController.fetchEventsByUserAndLocale(WEEK_START, WEEK_END, "en-US")),
+				budget("EventController.fetchAllEvents", teacher, 3, 31,
+				       () -> eventController.fetchAllEvents(WEEK_START, WEEK_END)),
+				budget("EventController.findConflicts", teacher, 3, 13,
+				       () -> eventController.findConflicts(addedSession)),
+				budget("EventController.addEvent(TeachingSessionDTO)", teacher, 7, 16,
+				       () -> eventController.addEvent(addedSession)),
+				budget("EventController.addEvent(AssignmentDTO)", teacher, 2, 1,
+				       () -> eventController.addEvent(addedAssignment)),
+				budget("EventController.updateEvent(AssignmentDTO)", teacher, 2, 2,
+				       () -> eventController.updateEvent(updatedAssignment)),
+				budget("EventController.deleteEvent(AssignmentDTO)", teacher, 4, 4,
+				       () -> eventController.deleteEvent(deletedAssignment)),
+				budget("GroupController.fetchGroupsByUser", student, 1, 5, groupController::fetchGroupsByUser),
+				budget("GroupController.fetchGroupByName", student, 1, 1,
+				       () -> groupController.fetchGroupByName(group.name())),
+				budget("GroupController.fetchAllGroups", teacher, 1, 8, groupController::fetchAllGroups),
+				budget("GroupController.removeStudentFromGroup", teacher, 5, 40,
+				       () -> groupController.removeStudentFromGroup(group, member)),
+				budget("GroupController.addStudentToGroup", teacher, 6, 39,
+				       () -> groupController.addStudentToGroup(group, member)));
+	}
+}
@@ -0,0 +1,65 @@
+package controller;
+
+import datasource.MariaDBConnection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import model.ModelCaches;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Counts the JDBC statements Hibernate prepares, and the rows the database sends back, while an operation runs.
+ * Every cache is emptied first, so the counts are those of a cold start and do not depend on earlier tests.
+ * <p>
+ * The rows are read from the server-wide Rows_sent counter of MariaDB, so nothing else may use the test
+ * database while an operation is measured.
+ * </p>
+ */
+final class StatementCounter {
+
+	private static final EntityManagerFactory emf = MariaDBConnection.getEntityManagerFactory();
+	private static final Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+	private StatementCounter() {
+	}
+
+	/**
+	 * The database work of an operation.
+	 *
+	 * @param statements The number of JDBC statements prepared
+	 * @param rows       The number of rows sent by the database
+	 */
+	record Usage(long statements, long rows) {
+	}
+
+	/**
+	 * Runs an operation with empty caches and counts its statements and rows, including those of the weeks
+	 * the event cache prefetches in the background.
+	 *
+	 * @param operation The operation to measure
+	 * @return The database work of the operation
+	 */
+	static Usage measure(Runnable operation) {
+		ModelCaches.awaitBackgroundLoads();
+		ModelCaches.clearAll();
+		long rowsBefore = rowsSent();
+		statistics.clear();
+
+		operation.run();
+		ModelCaches.awaitBackgroundLoads();
+
+		long statements = statistics.getPrepareStatementCount();
+		// The row sent back by the first reading of the counter is only counted by the second one
+		return new Usage(statements, rowsSent() - rowsBefore - 1);
+	}
+
+	private static long rowsSent() {
+		EntityManager em = emf.createEntityManager();
+		try {
+			Object[] row = (Object[]) em.createNativeQuery("SHOW GLOBAL STATUS LIKE 'Rows_sent'").getSingleResult();
+			return Long.parseLong(row[1].toString());
+		} finally {
+			em.close();
+		}
+	}
+}
@@ -1,8 +1,13 @@
 package controller;
 
 import datasource.MariaDBConnection;
+import dto.ConflictDTO;
 import dto.GroupDTO;
+import dto.LocationDTO;
+import dto.ScheduleProgressDTO;
 import dto.SubjectDTO;
+import dto.TeachingSessionDTO;
+import dto.TermPlanDTO;
 import dto.UserDTO;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -10,10 +15,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TimetableControllerTest {
 	private static final BaseController baseController = new BaseController();
@@ -21,6 +39,8 @@ class TimetableControllerTest {
 	private static final UserController userController = baseController.getUserController();
 	private static final GroupController groupController = baseController.getGroupController();
 	private static final SubjectController subjectController = baseController.getSubjectController();
+	private static final LocationController locationController = baseController.getLocationController();
+	private static final EventController eventController = baseController.getEventController();
 
 	private static UserDTO createTeacher() {
 		return new UserDTO("testTimetable", "testPassword", "Test", "Teacher",
@@ -28,6 +48,8 @@ class TimetableControllerTest {
 	}
 
 	private static void resetDatabase() {
+		eventController.deleteAllEvents();
+		locationController.deleteAllLocations();
 		subjectController.deleteAllSubjects();
 		userController.deleteAllUsers();
 		timetableController.deleteAllTimetables();
@@ -110,4 +132,89 @@ class TimetableControllerTest {
 
 		assertThrows(NullPointerException.class, () -> timetableController.fetchTimetableForGroup("invalidGroup"));
 	}
-}
\ No newline at end of file
+
+	private long loginNewTeacher(String username, String socialNumber) {
+		UserDTO teacher = new UserDTO(username, "testPassword", "Test", "Teacher", LocalDateTime.of(2000, 1, 1, 0, 0),
+		                              socialNumber, "TEACHER");
+		userController.registerUser(teacher);
+		userController.authenticateUser(teacher.username(), teacher.password());
+		return userController.fetchCurrentUserId();
+	}
+
+	@Test
+	void generateTermTimetable() {
+		long mathTeacher = loginNewTeacher("mathTeacher", "BA000000001");
+		subjectController.addSubject(new SubjectDTO("Math", "MATH101"));
+		subjectController.addSubject(new SubjectDTO("Physics", "PHYS101"));
+		locationController.addLocation(new LocationDTO("Hall", "Karamalmi", "A"));
+		locationController.addLocation(new LocationDTO("Lab", "Karamalmi", "B"));
+		groupController.addGroup(new GroupDTO("mathGroup", "mathGroup", 60, mathTeacher, "MATH101"));
+		groupController.addGroup(new GroupDTO("mathGroup2", "mathGroup2", 20, mathTeacher, "MATH101"));
+
+		long physicsTeacher = loginNewTeacher("physicsTeacher", "BA000000002");
+		groupController.addGroup(new GroupDTO("physicsGroup", "physicsGroup", 20, physicsTeacher, "PHYS101"));
+
+		// The teacher of both math groups cannot teach on Mondays, and only the hall seats the large group
+		Set<TermPlanDTO.WeeklySlot> mondays = IntStream.range(0, 24)
+		                                               .mapToObj(hour -> new TermPlanDTO.WeeklySlot(
+				                                               DayOfWeek.MONDAY, LocalTime.of(hour, 0)))
+		                                               .collect(Collectors.toSet());
+		LocalDate termStart = LocalDate.of(2025, 9, 1);
+		TermPlanDTO plan = new TermPlanDTO(
+				termStart, termStart.plusWeeks(12), "en",
+				List.of(new TermPlanDTO.Requirement("mathGroup", "MATH101", 12),
+				        new TermPlanDTO.Requirement("mathGroup2", "MATH101", 12),
+				        new TermPlanDTO.Requirement("physicsGroup", "PHYS101", 20)),
+				Map.of("Hall", 100, "Lab", 30), Map.of(mathTeacher, mondays));
+
+		List<ScheduleProgressDTO> progress = new CopyOnWriteArrayList<>();
+		List<TeachingSessionDTO> generated =
+				timetableController.generateTermTimetable(plan, Duration.ofSeconds(10), progress::add);
+
+		assertEquals(44, generated.size());
+		assertTrue(progress.getLast().finished());
+		assertEquals(0, progress.getLast().conflicts());
+
+		long mathTimetable = timetableController.fetchTimetableForGroup("mathGroup");
+		long mathTimetable2 = timetableController.fetchTimetableForGroup("mathGroup2");
+		for (TeachingSessionDTO teachingSession : generated) {
+			assertNotNull(teachingSession.id());
+			assertNotNull(teachingSession.recurrence());
+			if (teachingSession.timetableId() == mathTimetable || teachingSession.timetableId() == mathTimetable2) {
+				assertFalse(teachingSession.startDate().getDayOfWeek() == DayOfWeek.MONDAY);
+			}
+			if (teachingSession.timetableId() == mathTimetable) {
+				assertEquals("Hall", teachingSession.locationName());
+			}
+		}
+
+		List<ConflictDTO> conflicts = eventController.auditConflicts(termStart.atStartOfDay(),
+		                                                             termStart.plusWeeks(12).atStartOfDay());
+		assertTrue(conflicts.isEmpty(), () -> "Unexpected conflicts: " + conflicts);
+	}
+
+	@Test
+	void generateTermTimetableWithoutEnoughRooms() {
+		long mathTeacher = loginNewTeacher("mathTeacher", "BA000000001");
+		subjectController.addSubject(new SubjectDTO("Math", "MATH101"));
+		locationController.addLocation(new LocationDTO("Hall", "Karamalmi", "A"));
+		groupController.addGroup(new GroupDTO("mathGroup", "mathGroup", 60, mathTeacher, "MATH101"));
+
+		long otherTeacher = loginNewTeacher("otherTeacher", "BA000000002");
+		groupController.addGroup(new GroupDTO("otherGroup", "otherGroup", 20, otherTeacher, "MATH101"));
+
+		LocalDate termStart = LocalDate.of(2025, 9, 1);
+		// Two groups need more hours than the only room has in a week
+		TermPlanDTO plan = new TermPlanDTO(
+				termStart, termStart.plusWeeks(12), "en",
+				List.of(new TermPlanDTO.Requirement("mathGroup", "MATH101", 30),
+				        new TermPlanDTO.Requirement("otherGroup", "MATH101", 30)),
+				Map.of(), Map.of());
+
+		assertThrows(IllegalArgumentException.class,
+		             () -> timetableController.generateTermTimetable(plan, Duration.ofMillis(300), progress -> {
+		             }));
+		assertTrue(eventController.fetchAllEvents(termStart.atStartOfDay(),
+		                                          termStart.plusWeeks(12).atStartOfDay()).isEmpty());
+	}
+}
@@ -0,0 +1,166 @@
+package controller.notifications;
+
+import controller.BaseController;
+import controller.EventController;
+import controller.GroupController;
+import controller.LocationController;
+import controller.SubjectController;
+import controller.TimetableController;
+import controller.UserController;
+import datasource.MariaDBConnection;
+import dto.AssignmentDTO;
+import dto.Event;
+import dto.GroupDTO;
+import dto.LocationDTO;
+import dto.SubjectDTO;
+import dto.TeachingSessionDTO;
+import dto.UserDTO;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDispatcherTest {
+	private static final BaseController baseController = new BaseController();
+	private static final EventController eventController = baseController.getEventController();
+	private static final LocationController locationController = baseController.getLocationController();
+	private static final UserController userController = baseController.getUserController();
+	private static final SubjectController subjectController = baseController.getSubjectController();
+	private static final GroupController groupController = baseController.getGroupController();
+	private static final TimetableController timetableController = baseController.getTimetableController();
+
+	private static final LocalDateTime START = LocalDateTime.of(2030, 1, 14, 10, 0);
+
+	private final Map<Long, List<Integer>> notificationsByUser = new HashMap<>();
+	private final NotificationDispatcher dispatcher = new NotificationDispatcher(
+			eventController, timetableController,
+			userId -> (event, time) -> notificationsByUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(time),
+			Duration.ofMinutes(1));
+
+	private long teacherId;
+	private long studentId;
+	private long groupTimetableId;
+
+	private static void resetDatabase() {
+		eventController.deleteAllEvents();
+		locationController.deleteAllLocations();
+		subjectController.deleteAllSubjects();
+		userController.deleteAllUsers();
+		timetableController.deleteAllTimetables();
+	}
+
+	@BeforeAll
+	static void ensureDatabase() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@AfterAll
+	static void teardown() {
+		resetDatabase();
+	}
+
+	@BeforeEach
+	void setup() {
+		resetDatabase();
+
+		userController.registerUser(new UserDTO("student", "password", "John", "Doe",
+		                                        LocalDateTime.now().minusYears(16), "123456789AB", "STUDENT"));
+		userController.authenticateUser("student", "password");
+		studentId = userController.fetchCurrentUserId();
+		userController.logout();
+
+		userController.registerUser(new UserDTO("teacher", "password", "John", "Doe",
+		                                        LocalDateTime.now().minusYears(32), "987654321BA", "TEACHER"));
+		userController.authenticateUser("teacher", "password");
+		teacherId = userController.fetchCurrentUserId();
+
+		locationController.addLocation(new LocationDTO("B2005", "Metropolia Myllypuro", "Building B"));
+		subjectController.addSubject(new SubjectDTO("ICT", "ICT101"));
+
+		GroupDTO group = new GroupDTO("Group1", "TST1", 10, teacherId, "ICT101");
+		groupController.addGroup(group);
+		groupController.addStudentToGroup(group, "student");
+		groupTimetableId = timetableController.fetchTimetableForGroup(group.name());
+
+		eventController.addEvent(new TeachingSessionDTO(null, START, START.plusHours(2), "B2005", "ICT101", "Lecture",
+		                                                groupTimetableId, "en"));
+		userController.logout();
+	}
+
+	@Test
+	void dispatchFansOutToEveryUserOfTheTimetable() {
+		int sent = dispatcher.dispatch(START.minusMinutes(31), START.minusMinutes(30));
+
+		assertEquals(2, sent);
+		assertEquals(List.of(30), notificationsByUser.get(studentId));
+		assertEquals(List.of(30), notificationsByUser.get(teacherId));
+	}
+
+	@Test
+	void dispatchSkipsWindowsWithoutThresholds() {
+		assertEquals(0, dispatcher.dispatch(START.minusMinutes(29), START.minusMinutes(11)));
+		assertTrue(notificationsByUser.isEmpty());
+	}
+
+	@Test
+	void dispatchNotifiesOnceForThresholdsInTheSameWindow() {
+		eventController.addEvent(new AssignmentDTO(null, "Individual", START.minusDays(7), START.plusMinutes(52),
+		                                           "Essay", "ICT101", "Essay", groupTimetableId, "en"));
+
+		// Covers the 10 and 5 minute thresholds of the session and the 60 minute threshold of the assignment
+		int sent = dispatcher.dispatch(START.minusMinutes(11), START.minusMinutes(5));
+
+		assertEquals(4, sent);
+		assertEquals(2, notificationsByUser.get(studentId).size());
+	}
+
+	@Test
+	void failedTickIsRetriedInTheNextOne() {
+		AtomicBoolean databaseDown = new AtomicBoolean(true);
+		EventController failingEventController = new EventController() {
+			@Override
+			public List<Event> fetchAllEvents(LocalDateTime startDate, LocalDateTime endDate) {
+				if (databaseDown.get()) {
+					throw new PersistenceException("Connection refused");
+				}
+				return super.fetchAllEvents(startDate, endDate);
+			}
+		};
+		NotificationDispatcher failingDispatcher = new NotificationDispatcher(
+				failingEventController, timetableController,
+				userId -> (event, time) -> notificationsByUser.computeIfAbsent(userId, id -> new ArrayList<>())
+				                                              .add(time),
+				Duration.ofMinutes(1));
+		LocalDateTime from = START.minusMinutes(31);
+
+		LocalDateTime next = failingDispatcher.tick(from, START.minusMinutes(30).minusSeconds(30));
+
+		assertEquals(from, next);
+		assertTrue(notificationsByUser.isEmpty());
+
+		databaseDown.set(false);
+		LocalDateTime now = START.minusMinutes(29).minusSeconds(30);
+		next = failingDispatcher.tick(next, now);
+
+		assertEquals(now, next);
+		assertEquals(List.of(30), notificationsByUser.get(studentId));
+		assertEquals(List.of(30), notificationsByUser.get(teacherId));
+	}
+}
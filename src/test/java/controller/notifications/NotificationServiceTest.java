@@ -0,0 +1,199 @@
+package controller.notifications;
+
+import controller.BaseController;
+import controller.EventController;
+import controller.LocationController;
+import controller.SubjectController;
+import controller.TimetableController;
+import controller.UserController;
+import datasource.MariaDBConnection;
+import dto.Event;
+import dto.LocationDTO;
+import dto.SubjectDTO;
+import dto.TeachingSessionDTO;
+import dto.UserDTO;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationServiceTest {
+	private static final BaseController baseController = new BaseController();
+	private static final EventController eventController = baseController.getEventController();
+	private static final LocationController locationController = baseController.getLocationController();
+	private static final UserController userController = baseController.getUserController();
+	private static final SubjectController subjectController = baseController.getSubjectController();
+	private static final TimetableController timetableController = baseController.getTimetableController();
+
+	private record Notification(Event event, int time) {
+	}
+
+	private final BlockingQueue<Notification> notifications = new LinkedBlockingQueue<>();
+	private NotificationService notificationService;
+	private long timetableId;
+
+	private static void resetDatabase() {
+		eventController.deleteAllEvents();
+		locationController.deleteAllLocations();
+		subjectController.deleteAllSubjects();
+		userController.deleteAllUsers();
+		timetableController.deleteAllTimetables();
+	}
+
+	@BeforeAll
+	static void ensureDatabase() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@AfterAll
+	static void teardown() {
+		resetDatabase();
+	}
+
+	@BeforeEach
+	void setup() {
+		resetDatabase();
+
+		userController.registerUser(new UserDTO("teacher", "password", "John", "Doe",
+		                                        LocalDateTime.now().minusYears(32), "987654321BA", "TEACHER"));
+		userController.authenticateUser("teacher", "password");
+		timetableId = timetableController.fetchTimetableForUser();
+
+		locationController.addLocation(new LocationDTO("B2005", "Metropolia Myllypuro", "Building B"));
+		subjectController.addSubject(new SubjectDTO("ICT", "ICT101"));
+	}
+
+	@AfterEach
+	void stopService() {
+		if (notificationService != null) {
+			notificationService.shutdown();
+		}
+		userController.logout();
+	}
+
+	/*
+	 * An event controller whose user-scoped loads fail while the database is down.
+	 */
+	private static EventController eventControllerFailingWhile(AtomicBoolean databaseDown) {
+		return new EventController() {
+			@Override
+			public List<Event> fetchEventsByUser(LocalDateTime startDate, LocalDateTime endDate) {
+				if (databaseDown.get()) {
+					throw new PersistenceException("Connection refused");
+				}
+				return super.fetchEventsByUser(startDate, endDate);
+			}
+		};
+	}
+
+	private TeachingSessionDTO sessionStartingIn(int minutes) {
+		LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusMinutes(minutes);
+		return new TeachingSessionDTO(null, start, start.plusHours(1), "B2005", "ICT101", "Lecture", timetableId, "en");
+	}
+
+	@Test
+	void notifiesOnceForThresholdsAlreadyPassed() throws InterruptedException {
+		eventController.addEvent(sessionStartingIn(7));
+
+		notificationService = new NotificationService((event, time) -> notifications.add(new Notification(event, time)),
+		                                              eventController);
+
+		Notification notification = notifications.poll(5, TimeUnit.SECONDS);
+		assertNotNull(notification);
+		assertTrue(notification.time() >= 6 && notification.time() <= 7);
+		// The 60, 30 and 10 minute thresholds were all passed, but only one notification is sent
+		assertNull(notifications.poll(500, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void reloadsWhenAnEventIsAdded() throws InterruptedException {
+		notificationService = new NotificationService((event, time) -> notifications.add(new Notification(event, time)),
+		                                              eventController);
+		assertNull(notifications.poll(500, TimeUnit.MILLISECONDS));
+
+		eventController.addEvent(sessionStartingIn(3));
+
+		Notification notification = notifications.poll(5, TimeUnit.SECONDS);
+		assertNotNull(notification);
+		assertEquals("ICT101", ((TeachingSessionDTO) notification.event()).subjectCode());
+	}
+
+	@Test
+	void doesNotNotifyAgainAfterRestart() throws InterruptedException {
+		eventController.addEvent(sessionStartingIn(20));
+
+		notificationService = new NotificationService((event, time) -> notifications.add(new Notification(event, time)),
+		                                              eventController);
+		assertNotNull(notifications.poll(5, TimeUnit.SECONDS));
+		notificationService.shutdown();
+
+		notificationService = new NotificationService((event, time) -> notifications.add(new Notification(event, time)),
+		                                              eventController);
+		assertNull(notifications.poll(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void ignoresEventsOutsideThresholds() throws InterruptedException {
+		eventController.addEvent(sessionStartingIn(90));
+
+		notificationService = new NotificationService((event, time) -> notifications.add(new Notification(event, time)),
+		                                              eventController);
+
+		assertNull(notifications.poll(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void retriesAFailedLoad() throws InterruptedException {
+		eventController.addEvent(sessionStartingIn(7));
+		AtomicBoolean databaseDown = new AtomicBoolean(true);
+
+		notificationService = new NotificationService((event, time) -> notifications.add(new Notification(event, time)),
+		                                              eventControllerFailingWhile(databaseDown), Duration.ofMillis(200));
+		assertNull(notifications.poll(500, TimeUnit.MILLISECONDS));
+
+		databaseDown.set(false);
+		assertNotNull(notifications.poll(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void keepsQueuedNotificationsWhenAReloadFails() throws InterruptedException {
+		TeachingSessionDTO session = sessionStartingIn(10);
+		eventController.addEvent(new TeachingSessionDTO(null, session.startDate().plusSeconds(2),
+		                                                session.endDate(), "B2005", "ICT101", "Lecture", timetableId,
+		                                                "en"));
+		AtomicBoolean databaseDown = new AtomicBoolean(false);
+
+		notificationService = new NotificationService((event, time) -> notifications.add(new Notification(event, time)),
+		                                              eventControllerFailingWhile(databaseDown), Duration.ofMinutes(1));
+		// The 60 and 30 minute thresholds have passed, the 10 minute one is two seconds away
+		assertNotNull(notifications.poll(5, TimeUnit.SECONDS));
+
+		databaseDown.set(true);
+		notificationService.reset();
+
+		Notification notification = notifications.poll(5, TimeUnit.SECONDS);
+		assertNotNull(notification);
+		assertEquals(10, notification.time());
+	}
+}
@@ -11,6 +11,8 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -45,6 +47,26 @@ class AssignmentDAOTest {
 		resetDatabase();
 	}
 
+	@Test
+	void persistAll() {
+		SubjectEntity math = new SubjectEntity("Math", "Mathematics-101");
+		subjectDAO.persist(math);
+
+		TimetableEntity timetable = new TimetableEntity();
+		timeTableDAO.persist(timetable);
+
+		List<AssignmentEntity> assignments = new ArrayList<>();
+		for (int i = 0; i < 45; i++) {
+			assignments.add(new AssignmentEntity("Assignment " + i, "Individual", Timestamp.valueOf("2025-02-11 00:00:00"),
+			                                     Timestamp.valueOf("2025-02-25 00:00:00"), null, math, timetable, "en"));
+		}
+		assignmentDAO.persistAll(assignments);
+
+		for (AssignmentEntity assignment : assignments) {
+			assertEquals(assignment.getName(), assignmentDAO.findById(assignment.getId()).getName());
+		}
+	}
+
 	@Test
 	void persist() {
 		SubjectEntity math = new SubjectEntity("Math", "Mathematics-101");
@@ -2,14 +2,17 @@ package dao;
 
 import datasource.MariaDBConnection;
 import entity.LocationEntity;
+import jakarta.persistence.PersistenceException;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class LocationDAOTest {
 
@@ -66,6 +69,16 @@ class LocationDAOTest {
 		assertEquals(location.getBuilding(), foundLocation.getBuilding());
 	}
 
+	@Test
+	void persistAllStoresNothingWhenAnInsertFails() {
+		List<LocationEntity> locations = List.of(new LocationEntity("MPA5026", "Metropolia Myllypuro", "A"),
+		                                         new LocationEntity("MPA5027", "Metropolia Myllypuro", "A"),
+		                                         new LocationEntity("MPA5026", "Metropolia Myllypuro", "B"));
+
+		assertThrows(PersistenceException.class, () -> locationDAO.persistAll(locations));
+		assertEquals(0, locationDAO.findAll().size());
+	}
+
 	@Test
 	void findById() {
 		LocationEntity location = new LocationEntity("MPA5026", "Metropolia Myllypuro", "A");
@@ -0,0 +1,363 @@
+package dao;
+
+import datasource.MariaDBConnection;
+import entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs EXPLAIN on the SQL of the DAO queries against a seeded database and fails when a query reads
+ * a whole table, or a whole index, of a table with more than a handful of rows, or when its joins
+ * together examine a large part of the biggest table they read.
+ * <p>
+ * Hibernate binds the parameters itself, so the recorded SQL only contains placeholders. Each placeholder
+ * is replaced by a value from the column it is compared with: dates by a one-week period and other columns
+ * by a value that exists in the table, so the optimizer sees the same kind of lookup as in production.
+ * </p>
+ */
+class QueryPlanTest {
+
+	private static final TeachingSessionDAO teachingSessionDAO = new TeachingSessionDAO();
+	private static final TeachingSessionOverrideDAO teachingSessionOverrideDAO = new TeachingSessionOverrideDAO();
+	private static final AssignmentDAO assignmentDAO = new AssignmentDAO();
+	private static final TimetableDAO timetableDAO = new TimetableDAO();
+	private static final UserDAO userDAO = new UserDAO();
+	private static final UserGroupDAO userGroupDAO = new UserGroupDAO();
+	private static final SubjectDAO subjectDAO = new SubjectDAO();
+	private static final LocationDAO locationDAO = new LocationDAO();
+
+	// Scanning tables this small is cheaper than an index lookup, so the optimizer is free to do it
+	private static final long MAX_SCANNED_ROWS = 100;
+
+	private static final int SUBJECTS = 10;
+	private static final int LOCATIONS = 10;
+	private static final int STUDENTS = 50;
+	private static final int TEACHERS = 10;
+	private static final int GROUPS = 20;
+	private static final int STUDENTS_PER_GROUP = 10;
+	private static final int SESSIONS_PER_TIMETABLE = 40;
+	private static final int ASSIGNMENTS_PER_TIMETABLE = 20;
+	private static final List<String> LOCALES = List.of("en", "fi", "ja");
+
+	private static final LocalDateTime TERM_START = LocalDateTime.of(2025, 1, 6, 8, 0);
+	private static final Timestamp WEEK_START = Timestamp.valueOf("2025-03-03 00:00:00");
+	private static final Timestamp WEEK_END = Timestamp.valueOf("2025-03-09 23:59:59");
+
+	private static final Pattern PLACEHOLDER = Pattern.compile("\\?");
+	private static final Pattern COLUMN = Pattern.compile("(\\w+)\\.(\\w+)");
+	private static final Pattern TABLE_ALIAS = Pattern.compile("(?:from|join)\\s+`?(\\w+)`?\\s+(\\w+)");
+	private static final Pattern SECOND_BOUND = Pattern.compile("between\\s+\\?\\s+and\\s*$");
+	// Seeded once, so the counts only need to be read once
+	private static final Map<String, Long> ROW_COUNTS = new HashMap<>();
+
+	private static UserEntity student;
+	private static UserEntity teacher;
+	private static UserGroupEntity group;
+	private static SubjectEntity subject;
+	private static LocationEntity location;
+	private static TeachingSessionEntity series;
+
+	private static void resetDatabase() {
+		teachingSessionDAO.deleteAll();
+		assignmentDAO.deleteAll();
+		userGroupDAO.deleteAll();
+		userDAO.deleteAll();
+		locationDAO.deleteAll();
+		subjectDAO.deleteAll();
+		timetableDAO.deleteAll();
+	}
+
+	@BeforeAll
+	static void seedDatabase() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+		resetDatabase();
+
+		List<LocationEntity> locations = new ArrayList<>();
+		for (int i = 0; i < LOCATIONS; i++) {
+			LocationEntity room = new LocationEntity("Room" + i, "Metropolia Myllypuro", "B");
+			locationDAO.persist(room);
+			locations.add(room);
+		}
+		List<SubjectEntity> subjects = new ArrayList<>();
+		for (int i = 0; i < SUBJECTS; i++) {
+			SubjectEntity course = new SubjectEntity("Subject" + i, "SUB" + i);
+			subjectDAO.persist(course);
+			subjects.add(course);
+		}
+		location = locations.getFirst();
+		subject = subjects.getFirst();
+
+		Timestamp dateOfBirth = Timestamp.valueOf("2000-01-01 00:00:00");
+		List<TimetableEntity> timetables = new ArrayList<>();
+		List<UserEntity> students = new ArrayList<>();
+		List<UserEntity> teachers = new ArrayList<>();
+		for (int i = 0; i < STUDENTS + TEACHERS; i++) {
+			TimetableEntity timetable = new TimetableEntity();
+			timetableDAO.persist(timetable);
+			timetables.add(timetable);
+
+			boolean isTeacher = i >= STUDENTS;
+			UserEntity user = new UserEntity("First" + i, "Last" + i, "user" + i, "password", dateOfBirth,
+			                                 "SSN" + i, isTeacher ? Role.TEACHER : Role.STUDENT, timetable);
+			userDAO.persist(user);
+			(isTeacher ? teachers : students).add(user);
+		}
+
+		List<UserGroupEntity> groups = new ArrayList<>();
+		for (int i = 0; i < GROUPS; i++) {
+			TimetableEntity timetable = new TimetableEntity();
+			timetableDAO.persist(timetable);
+			timetables.add(timetable);
+
+			Set<UserEntity> members = new HashSet<>();
+			for (int j = 0; j < STUDENTS_PER_GROUP; j++) {
+				members.add(students.get((i * 3 + j) % STUDENTS));
+			}
+			UserGroupEntity userGroup = new UserGroupEntity("Group" + i, "GRP" + i, 30, teachers.get(i % TEACHERS),
+			                                                members, subjects.get(i % SUBJECTS), timetable);
+			userGroupDAO.persist(userGroup);
+			groups.add(userGroup);
+		}
+
+		List<TeachingSessionEntity> teachingSessions = new ArrayList<>();
+		List<AssignmentEntity> assignments = new ArrayList<>();
+		for (int t = 0; t < timetables.size(); t++) {
+			TimetableEntity timetable = timetables.get(t);
+			for (int i = 0; i < SESSIONS_PER_TIMETABLE; i++) {
+				LocalDateTime start = TERM_START.plusDays(i * 4L + t % 4).plusHours(t % 8);
+				teachingSessions.add(new TeachingSessionEntity(Timestamp.valueOf(start),
+				                                               Timestamp.valueOf(start.plusHours(2)), "Session",
+				                                               locations.get((t + i) % LOCATIONS), timetable,
+				                                               subjects.get((t + i) % SUBJECTS),
+				                                               LOCALES.get((t + i) % LOCALES.size())));
+			}
+			for (int i = 0; i < ASSIGNMENTS_PER_TIMETABLE; i++) {
+				LocalDateTime deadline = TERM_START.plusDays(i * 7L + t % 7);
+				assignments.add(new AssignmentEntity("Assignment" + i, "Individual",
+				                                     Timestamp.valueOf(deadline.minusDays(14)),
+				                                     Timestamp.valueOf(deadline), null,
+				                                     subjects.get((t + i) % SUBJECTS), timetable,
+				                                     LOCALES.get((t + i) % LOCALES.size())));
+			}
+		}
+
+		series = new TeachingSessionEntity(Timestamp.valueOf(TERM_START), Timestamp.valueOf(TERM_START.plusHours(2)),
+		                                   "Weekly lecture", location, groups.getFirst().getTimetable(), subject, "en");
+		series.setRecurrenceFrequency("WEEKLY");
+		series.setRecurrenceInterval(1);
+		teachingSessions.add(series);
+
+		teachingSessionDAO.persistAll(teachingSessions);
+		assignmentDAO.persistAll(assignments);
+		teachingSessionOverrideDAO.save(
+				new TeachingSessionOverrideEntity(series, Timestamp.valueOf(TERM_START.plusWeeks(8)), true));
+
+		student = students.getFirst();
+		teacher = teachers.getFirst();
+		group = groups.getFirst();
+
+		// Refresh the index statistics so the plans do not depend on when InnoDB sampled the tables
+		runNative(em -> em.createNativeQuery("ANALYZE TABLE teaching_session, teaching_session_override, assignment, " +
+		                                     "timetable, user, user_group, belongs_to, subject, location")
+		                  .getResultList());
+	}
+
+	@AfterAll
+	static void tearDown() {
+		resetDatabase();
+	}
+
+	@Test
+	void teachingSessionQueriesUseIndexes() {
+		long timetableId = group.getTimetable().getId();
+
+		assertNoFullScans(() -> teachingSessionDAO.findById(series.getId()));
+		assertNoFullScans(() -> teachingSessionDAO.findBySubjectId(subject.getId()));
+		assertNoFullScans(() -> teachingSessionDAO.findByLocationId(location.getId()));
+		assertNoFullScans(() -> teachingSessionDAO.findAllByTimetableId(timetableId));
+		assertNoFullScans(() -> teachingSessionDAO.findAllByTimetableIdDuringPeriod(timetableId, WEEK_START, WEEK_END));
+		assertNoFullScans(() -> teachingSessionDAO.findAllByLocaleDuringPeriod(WEEK_START, WEEK_END, "en", timetableId));
+		assertNoFullScans(() -> teachingSessionDAO.findAllDTOsDuringPeriod(WEEK_START, WEEK_END));
+		assertNoFullScans(() -> teachingSessionDAO.findAllDTOsByTimetableIdDuringPeriod(timetableId, WEEK_START,
+		                                                                                 WEEK_END));
+		assertNoFullScans(() -> teachingSessionDAO.findAllDTOsByUserIdDuringPeriod(student.getId(), WEEK_START,
+		                                                                            WEEK_END));
+		assertNoFullScans(() -> teachingSessionDAO.findAllDTOsByUserIdAndLocaleDuringPeriod(student.getId(),
+		                                                                                     WEEK_START, WEEK_END,
+		                                                                                     "en"));
+		assertNoFullScans(() -> teachingSessionOverrideDAO.findAllDTOsByTeachingSessionIdsDuringPeriod(
+				List.of(series.getId()), WEEK_START, WEEK_END));
+	}
+
+	@Test
+	void assignmentQueriesUseIndexes() {
+		long timetableId = group.getTimetable().getId();
+
+		assertNoFullScans(() -> assignmentDAO.findAllByTimetableIdDuringPeriod(timetableId, WEEK_START, WEEK_END));
+		assertNoFullScans(() -> assignmentDAO.findAllByLocaleDuringPeriod(WEEK_START, WEEK_END, "en", timetableId));
+		assertNoFullScans(() -> assignmentDAO.findAllDTOsDuringPeriod(WEEK_START, WEEK_END));
+		assertNoFullScans(() -> assignmentDAO.findAllDTOsByTimetableIdDuringPeriod(timetableId, WEEK_START, WEEK_END));
+		assertNoFullScans(() -> assignmentDAO.findAllDTOsByUserIdDuringPeriod(student.getId(), WEEK_START, WEEK_END));
+		assertNoFullScans(() -> assignmentDAO.findAllDTOsByUserIdAndLocaleDuringPeriod(student.getId(), WEEK_START,
+		                                                                               WEEK_END, "en"));
+	}
+
+	@Test
+	void userAndGroupQueriesUseIndexes() {
+		assertNoFullScans(() -> timetableDAO.findAllByUserId(student.getId()));
+		assertNoFullScans(() -> timetableDAO.findUserIdsByTimetableIds(List.of(group.getTimetable().getId(),
+		                                                                       student.getTimetable().getId())));
+		assertNoFullScans(() -> timetableDAO.findByUserId(student.getId()));
+		assertNoFullScans(() -> timetableDAO.findByGroupName(group.getName()));
+		assertNoFullScans(() -> userGroupDAO.findByTimetableId(group.getTimetable().getId()));
+		assertNoFullScans(() -> userGroupDAO.findByName(group.getName()));
+		assertNoFullScans(() -> userGroupDAO.findByNameWithStudents(group.getName()));
+		assertNoFullScans(() -> userGroupDAO.findAllByUserId(student.getId()));
+		assertNoFullScans(() -> userDAO.findTeacherById(teacher.getId()));
+		assertNoFullScans(() -> userDAO.findByUsername(student.getUsername()));
+		assertNoFullScans(() -> userDAO.findBySocialNumber("SSN0"));
+		assertNoFullScans(() -> subjectDAO.findAllByUserId(teacher.getId()));
+		assertNoFullScans(() -> subjectDAO.findByCode(subject.getCode()));
+		assertNoFullScans(() -> locationDAO.findByName(location.getName()));
+	}
+
+	/**
+	 * Runs a DAO call, then explains every statement it sent and fails if one of them scans a large table.
+	 */
+	private static void assertNoFullScans(Runnable daoCall) {
+		RecordingStatementInspector.start();
+		try {
+			daoCall.run();
+		} catch (RuntimeException e) {
+			// Only the plans matter here, not whether a single result was unique
+		} finally {
+			List<String> statements = RecordingStatementInspector.stop();
+			assertFalse(statements.isEmpty(), "The DAO call did not send any statement");
+			statements.forEach(QueryPlanTest::assertNoFullScan);
+		}
+	}
+
+	private static void assertNoFullScan(String sql) {
+		String explained = bindPlaceholders(sql);
+		Map<String, String> tablesByAlias = tablesByAlias(sql);
+		List<Object[]> plan = runNative(em -> {
+			@SuppressWarnings("unchecked")
+			List<Object[]> rows = em.createNativeQuery("EXPLAIN " + explained).getResultList();
+			return rows;
+		});
+
+		// Rows examined by each select: a nested loop reads the rows of every table once per row of the previous
+		Map<Object, Long> examinedBySelect = new HashMap<>();
+		Map<Object, Long> largestTableBySelect = new HashMap<>();
+		for (Object[] row : plan) {
+			// id, select_type, table, type, possible_keys, key, key_len, ref, rows, Extra
+			String type = (String) row[3];
+			long rows = row[8] == null ? 1 : Math.max(1, ((Number) row[8]).longValue());
+			if (("ALL".equals(type) || "index".equals(type)) && rows > MAX_SCANNED_ROWS) {
+				fail("Full scan of " + row[2] + " (" + rows + " rows) in:\n" + explained);
+			}
+			examinedBySelect.merge(row[0], rows, Math::multiplyExact);
+			largestTableBySelect.merge(row[0], countRows(tablesByAlias.get((String) row[2])), Math::max);
+		}
+
+		// An index that only narrows the rows down through a join still reads most of the table
+		examinedBySelect.forEach((select, examined) -> {
+			if (examined > MAX_SCANNED_ROWS && examined * 4 > largestTableBySelect.get(select)) {
+				fail("Select " + select + " examines about " + examined + " rows in:\n" + explained);
+			}
+		});
+	}
+
+	private static long countRows(String table) {
+		if (table == null) {
+			return 0;
+		}
+		return ROW_COUNTS.computeIfAbsent(table, name -> runNative(
+				em -> ((Number) em.createNativeQuery("SELECT COUNT(*) FROM " + name).getSingleResult()).longValue()));
+	}
+
+	private static Map<String, String> tablesByAlias(String sql) {
+		Map<String, String> tablesByAlias = new HashMap<>();
+		Matcher aliases = TABLE_ALIAS.matcher(sql);
+		while (aliases.find()) {
+			tablesByAlias.put(aliases.group(2), aliases.group(1));
+		}
+		return tablesByAlias;
+	}
+
+	/**
+	 * Replaces the placeholders of a statement with values taken from the columns they are compared with.
+	 */
+	private static String bindPlaceholders(String sql) {
+		Map<String, String> tablesByAlias = tablesByAlias(sql);
+
+		StringBuilder bound = new StringBuilder();
+		Matcher placeholders = PLACEHOLDER.matcher(sql);
+		int last = 0;
+		while (placeholders.find()) {
+			String before = sql.substring(0, placeholders.start());
+			Matcher columns = COLUMN.matcher(before);
+			String alias = null;
+			String column = null;
+			while (columns.find()) {
+				alias = columns.group(1);
+				column = columns.group(2);
+			}
+
+			bound.append(sql, last, placeholders.start())
+			     .append(sampleValue(tablesByAlias.get(alias), column, SECOND_BOUND.matcher(before).find()));
+			last = placeholders.end();
+		}
+		return bound.append(sql.substring(last)).toString();
+	}
+
+	private static String sampleValue(String table, String column, boolean upperBound) {
+		if (column == null || table == null) {
+			return "0";
+		}
+		if (column.endsWith("date") || column.equals("deadline") || column.endsWith("until") ||
+		    column.equals("original_start")) {
+			return "'" + (upperBound ? WEEK_END : WEEK_START) + "'";
+		}
+
+		Object value = runNative(em -> {
+			List<?> values = em.createNativeQuery("SELECT " + column + " FROM " + table + " LIMIT 1").getResultList();
+			return values.isEmpty() ? null : values.getFirst();
+		});
+		if (value == null) {
+			return "NULL";
+		}
+		return value instanceof Number ? value.toString() : "'" + value + "'";
+	}
+
+	private static <T> T runNative(Function<EntityManager, T> work) {
+		EntityManager em = MariaDBConnection.getEntityManagerFactory().createEntityManager();
+		try {
+			return work.apply(em);
+		} finally {
+			em.close();
+		}
+	}
+}
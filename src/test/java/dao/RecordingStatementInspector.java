@@ -0,0 +1,38 @@
+package dao;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL that Hibernate sends while recording is switched on.
+ * Registered for the tests in hibernate.properties.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+	@Serial
+	private static final long serialVersionUID = 1L;
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+	private static volatile boolean recording;
+
+	static void start() {
+		statements.clear();
+		recording = true;
+	}
+
+	static List<String> stop() {
+		recording = false;
+		return List.copyOf(statements);
+	}
+
+	@Override
+	public String inspect(String sql) {
+		if (recording) {
+			statements.add(sql);
+		}
+		return sql;
+	}
+}
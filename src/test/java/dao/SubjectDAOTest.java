@@ -1,7 +1,10 @@
 package dao;
 
+import datasource.CacheStats;
 import datasource.MariaDBConnection;
 import entity.SubjectEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -107,4 +110,26 @@ class SubjectDAOTest {
 
 		assertEquals(0, subjectDAO.findAll().size());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void findByCodeServedFromCache() {
+		SubjectEntity subject = new SubjectEntity("Math", "Mathematics-101");
+		subjectDAO.persist(subject);
+
+		Statistics statistics =
+				MariaDBConnection.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		subjectDAO.findByCode("Mathematics-101");
+
+		long statements = statistics.getPrepareStatementCount();
+		CacheStats before = MariaDBConnection.getCacheStats();
+
+		assertEquals("Math", subjectDAO.findByCode("Mathematics-101").getName());
+		assertEquals(statements, statistics.getPrepareStatementCount());
+		assertEquals(before.queryHits() + 1, MariaDBConnection.getCacheStats().queryHits());
+
+		subject.setName("Advanced Math");
+		subjectDAO.update(subject);
+
+		assertEquals("Advanced Math", subjectDAO.findByCode("Mathematics-101").getName());
+	}
+}
@@ -1,10 +1,13 @@
 package dao;
 
 import datasource.MariaDBConnection;
+import dto.TeachingSessionDTO;
 import entity.LocationEntity;
 import entity.SubjectEntity;
 import entity.TeachingSessionEntity;
 import entity.TimetableEntity;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,8 +15,12 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TeachingSessionDAOTest {
 	private static final TeachingSessionDAO teachingSessionDAO = new TeachingSessionDAO();
@@ -47,6 +54,36 @@ class TeachingSessionDAOTest {
 		resetDatabase();
 	}
 
+	@Test
+	void persistAllBatchesInserts() {
+		LocationEntity location = new LocationEntity("MPA5026", "Metropolia Myllypuro", "A");
+		locationDAO.persist(location);
+
+		SubjectEntity subject = new SubjectEntity("Math", "Mathematics-101");
+		subjectDAO.persist(subject);
+
+		TimetableEntity timetable = new TimetableEntity();
+		timetableDAO.persist(timetable);
+
+		LocalDateTime firstStart = LocalDateTime.of(2025, 2, 3, 8, 0);
+		List<TeachingSessionEntity> teachingSessions = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			LocalDateTime start = firstStart.plusHours(i);
+			teachingSessions.add(new TeachingSessionEntity(Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+			                                               "Session " + i, location, timetable, subject, "en"));
+		}
+
+		Statistics statistics = MariaDBConnection.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		long statementsBefore = statistics.getPrepareStatementCount();
+		teachingSessionDAO.persistAll(teachingSessions);
+		long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+		assertEquals(500, teachingSessionDAO.findAll().size());
+		assertEquals(500, teachingSessions.stream().map(TeachingSessionEntity::getId).distinct().count());
+		// One statement per batch of inserts plus the id blocks, instead of one statement per row
+		assertTrue(statements < 100, "persistAll prepared " + statements + " statements");
+	}
+
 	@Test
 	void persist() {
 		LocationEntity location = new LocationEntity("MPA5026", "Metropolia Myllypuro", "A");
@@ -313,4 +350,37 @@ class TeachingSessionDAOTest {
 		assertEquals(1, teachingSessionDAO.findAllByTimetableId(timetable.getId()).size());
 		assertEquals(1, teachingSessionDAO.findAllByTimetableId(timetable2.getId()).size());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void findAllDTOsByTimetableIdDuringPeriod() {
+		LocationEntity location = new LocationEntity("MPA5026", "Metropolia Myllypuro", "A");
+		locationDAO.persist(location);
+
+		SubjectEntity subject = new SubjectEntity("Math", "Mathematics-101");
+		subjectDAO.persist(subject);
+
+		TimetableEntity timetable = new TimetableEntity();
+		timetableDAO.persist(timetable);
+
+		Timestamp start = Timestamp.valueOf("2025-02-11 12:00:00");
+		Timestamp end = Timestamp.valueOf("2025-02-11 15:00:00");
+
+		teachingSessionDAO.persist(
+				new TeachingSessionEntity(start, end, "Math class", location, timetable, subject, "en"));
+		teachingSessionDAO.persist(
+				new TeachingSessionEntity(start, end, "Online class", null, timetable, subject, "en"));
+
+		List<TeachingSessionDTO> sessions = teachingSessionDAO.findAllDTOsByTimetableIdDuringPeriod(
+				timetable.getId(), Timestamp.valueOf("2025-02-11 00:00:00"), Timestamp.valueOf("2025-02-12 00:00:00"));
+
+		assertEquals(2, sessions.size());
+		TeachingSessionDTO session = sessions.stream().filter(s -> s.locationName() != null).findFirst().orElseThrow();
+		assertEquals("Mathematics-101", session.subjectCode());
+		assertEquals("MPA5026", session.locationName());
+		assertEquals(start.toLocalDateTime(), session.startDate());
+		assertEquals(timetable.getId(), session.timetableId());
+		assertEquals(0, teachingSessionDAO.findAllDTOsByTimetableIdDuringPeriod(
+				timetable.getId(), Timestamp.valueOf("2025-03-01 00:00:00"), Timestamp.valueOf("2025-03-02 00:00:00"))
+		                                  .size());
+	}
+}
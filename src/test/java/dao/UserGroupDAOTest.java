@@ -12,6 +12,7 @@ import java.sql.Timestamp;
 import java.util.HashSet;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 class UserGroupDAOTest {
 
@@ -462,4 +463,48 @@ class UserGroupDAOTest {
 
 		assertEquals(0, userGroupDAO.findAll().size());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void findByNameWithStudents() {
+		TimetableEntity timetable1 = new TimetableEntity();
+		TimetableEntity timetable2 = new TimetableEntity();
+		TimetableEntity timetable3 = new TimetableEntity();
+		TimetableEntity timetable4 = new TimetableEntity();
+
+		timetableDAO.persist(timetable1);
+		timetableDAO.persist(timetable2);
+		timetableDAO.persist(timetable3);
+		timetableDAO.persist(timetable4);
+
+		Timestamp dOB = Timestamp.valueOf("2000-01-01 00:00:00");
+
+		UserEntity user1 =
+				new UserEntity("John", "Doe", "JohnDoe", "password1", dOB, "987654321", Role.STUDENT, timetable1);
+		UserEntity user2 = new UserEntity("Matti", "Meikäläinen", "MattiMeikäläinen", "password2", dOB, "123456789AB",
+		                                  Role.STUDENT, timetable2);
+
+		HashSet<UserEntity> students = new HashSet<>();
+		students.add(user1);
+		students.add(user2);
+
+		userDAO.persist(user1);
+		userDAO.persist(user2);
+
+		UserEntity teacher =
+				new UserEntity("Jane", "Doe", "JaneDoe", "password", dOB, "9876543321BA", Role.TEACHER, timetable3);
+		userDAO.persist(teacher);
+
+		SubjectEntity subject = new SubjectEntity("ICT", "ICT1006");
+		subjectDAO.persist(subject);
+
+		UserGroupEntity userGroup =
+				new UserGroupEntity("Group 1", "ICT3003", 34, teacher, students, subject, timetable4);
+		userGroupDAO.persist(userGroup);
+
+		UserGroupEntity foundUserGroup = userGroupDAO.findByNameWithStudents("Group 1");
+
+		assertEquals(userGroup.getId(), foundUserGroup.getId());
+		assertEquals(2, foundUserGroup.getStudents().size());
+		assertNull(userGroupDAO.findByNameWithStudents("Group 2"));
+	}
+}
@@ -0,0 +1,112 @@
+package datasource;
+
+import dao.LocationDAO;
+import entity.LocationEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DaoMetricsTest {
+
+	private static final LocationDAO locationDAO = new LocationDAO();
+
+	@BeforeAll
+	static void ensureDatabase() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@AfterAll
+	static void tearDown() {
+		locationDAO.deleteAll();
+	}
+
+	@BeforeEach
+	void setUp() {
+		locationDAO.deleteAll();
+		MariaDBConnection.resetDaoMetrics();
+	}
+
+	private static DaoMethodStats stats(String method) {
+		return MariaDBConnection.getDaoMetrics()
+		                        .stream()
+		                        .filter(stats -> stats.method().equals(method))
+		                        .findFirst()
+		                        .orElseThrow(() -> new AssertionError(method + " was not measured"));
+	}
+
+	@Test
+	void recordsCallsTransactionsAndRows() {
+		locationDAO.persistAll(List.of(new LocationEntity("A1", "Myllypuro", "A"),
+		                               new LocationEntity("A2", "Myllypuro", "A"),
+		                               new LocationEntity("A3", "Myllypuro", "A")));
+		// The name is unique, so the second insert is rolled back
+		locationDAO.persist(new LocationEntity("B1", "Karamalmi", "B"));
+		locationDAO.persist(new LocationEntity("B1", "Karamalmi", "B"));
+
+		List<LocationEntity> locations = locationDAO.findAll();
+
+		DaoMethodStats persist = stats("LocationDAO.persist");
+		assertEquals(2, persist.calls());
+		assertEquals(1, persist.commits());
+		assertEquals(1, persist.rollbacks());
+
+		DaoMethodStats findAll = stats("LocationDAO.findAll");
+		assertEquals(1, findAll.calls());
+		assertEquals(locations.size(), findAll.rows());
+		assertEquals(1, findAll.statements());
+		assertTrue(findAll.maxMillis() >= findAll.averageMillis());
+		assertTrue(findAll.p99Millis() <= findAll.maxMillis());
+	}
+
+	@Test
+	void countsFailedCallsOfTheCurrentThread() {
+		long failedCalls = MariaDBConnection.getFailedDaoCalls();
+
+		locationDAO.persist(new LocationEntity("B1", "Karamalmi", "B"));
+		// Not finding a location is an answer, not a failure
+		locationDAO.findByName("B2");
+		assertEquals(failedCalls, MariaDBConnection.getFailedDaoCalls());
+
+		// The DAO only logs the rolled back insert of a duplicate name
+		locationDAO.persist(new LocationEntity("B1", "Karamalmi", "B"));
+		assertEquals(failedCalls + 1, MariaDBConnection.getFailedDaoCalls());
+	}
+
+	@Test
+	void ignoresSessionsOutsideDaos() {
+		MariaDBConnection.getEntityManagerFactory().createEntityManager().close();
+
+		assertTrue(MariaDBConnection.getDaoMetrics().isEmpty());
+	}
+
+	@Test
+	void publishesMethodsOverJmx() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName("stms:type=DaoMethod,name=" + ObjectName.quote("LocationDAO.findAll"));
+
+		locationDAO.findAll();
+
+		assertEquals(1L, server.getAttribute(name, "Calls"));
+		assertTrue(server.isRegistered(new ObjectName("stms:type=Database")));
+
+		MariaDBConnection.resetDaoMetrics();
+
+		assertFalse(server.isRegistered(name));
+	}
+}
@@ -0,0 +1,122 @@
+package datasource;
+
+import dao.AssignmentDAO;
+import dao.LocationDAO;
+import dao.SubjectDAO;
+import dao.TeachingSessionDAO;
+import dao.TimetableDAO;
+import dao.UserDAO;
+import dao.UserGroupDAO;
+import entity.UserGroupEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SyntheticDataGeneratorTest {
+
+	private static final SyntheticDataGenerator generator = new SyntheticDataGenerator();
+	private static final UserDAO userDAO = new UserDAO();
+	private static final UserGroupDAO userGroupDAO = new UserGroupDAO();
+	private static final TeachingSessionDAO teachingSessionDAO = new TeachingSessionDAO();
+	private static final AssignmentDAO assignmentDAO = new AssignmentDAO();
+
+	@BeforeAll
+	static void ensureDatabase() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@AfterAll
+	static void tearDown() {
+		new AssignmentDAO().deleteAll();
+		new TeachingSessionDAO().deleteAll();
+		new TimetableDAO().deleteAll();
+		new LocationDAO().deleteAll();
+		new SubjectDAO().deleteAll();
+	}
+
+	private static SyntheticDataGenerator.Config smallConfig(long seed) {
+		return new SyntheticDataGenerator.Config(seed, 60, 5, 4, 3, 2, LocalDate.of(2025, 9, 1), 2, 2, 3, 2,
+		                                         List.of("en-US", "ja-JP", "km-KH"), "password");
+	}
+
+	/*
+	 * Describes the generated data without the database IDs and password salts, which differ between runs.
+	 */
+	private static List<String> snapshot() {
+		List<String> rows = new ArrayList<>();
+		userDAO.findAll().forEach(user -> {
+			List<String> groupCodes = userGroupDAO.findAllByUserId(user.getId())
+			                                      .stream()
+			                                      .map(UserGroupEntity::getCode)
+			                                      .sorted()
+			                                      .toList();
+			rows.add("user " + user.getUsername() + " " + user.getFirstName() + " " + user.getLastName() + " "
+					         + user.getDateOfBirth() + " " + user.getRole() + " " + groupCodes);
+		});
+		userGroupDAO.findAll().forEach(group -> rows.add(
+				"group " + group.getCode() + " " + group.getCapacity() + " " + group.getTeacher().getUsername() + " "
+						+ group.getSubject().getCode()));
+		teachingSessionDAO.findAll().forEach(session -> rows.add(
+				"session " + session.getStartDate() + " " + session.getEndDate() + " " + session.getLocation().getName()
+						+ " " + session.getSubject().getCode() + " " + session.getLocaleCode() + " "
+						+ session.getRecurrenceFrequency()));
+		assignmentDAO.findAll().forEach(assignment -> rows.add(
+				"assignment " + assignment.getName() + " " + assignment.getDeadline() + " "
+						+ assignment.getSubject().getCode() + " " + assignment.getLocaleCode()));
+		rows.sort(null);
+		return rows;
+	}
+
+	@Test
+	void generate() {
+		SyntheticDataGenerator.Summary summary = generator.generate(smallConfig(7));
+
+		assertEquals(60, summary.users());
+		assertEquals(4, summary.groups());
+		assertEquals(20, summary.teachingSessions());
+		assertEquals(8, summary.assignments());
+		assertEquals(60, userDAO.findAll().size());
+		assertEquals(4, userGroupDAO.findAll().size());
+		assertEquals(20, teachingSessionDAO.findAll().size());
+		assertEquals(8, assignmentDAO.findAll().size());
+	}
+
+	@Test
+	void generateIsDeterministic() {
+		generator.generate(smallConfig(7));
+		List<String> first = snapshot();
+		generator.generate(smallConfig(7));
+		List<String> second = snapshot();
+		generator.generate(smallConfig(8));
+		List<String> otherSeed = snapshot();
+
+		assertEquals(first, second);
+		assertNotEquals(first, otherSeed);
+	}
+
+	@Test
+	void parseConfig() {
+		SyntheticDataGenerator.Config config =
+				SyntheticDataGenerator.parseConfig("--generate-data", "--seed=3", "--users=100",
+				                                   "--teachers=10", "--locales=en-US");
+
+		assertEquals(3, config.seed());
+		assertEquals(100, config.users());
+		assertEquals(800, config.groups());
+		assertEquals(List.of("en-US"), config.localeCodes());
+		assertThrows(IllegalArgumentException.class, () -> SyntheticDataGenerator.parseConfig("--userz=100"));
+	}
+}
@@ -0,0 +1,95 @@
+package loadtest;
+
+import dao.AssignmentDAO;
+import dao.LocationDAO;
+import dao.SubjectDAO;
+import dao.TeachingSessionDAO;
+import dao.TimetableDAO;
+import datasource.MariaDBConnection;
+import datasource.SyntheticDataGenerator;
+import model.UserPreferences;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadSimulationTest {
+
+	private static final LocalDate TERM_START = LocalDate.of(2025, 9, 1);
+
+	@BeforeAll
+	static void ensureDatabase() {
+		try {
+			new MariaDBConnection().verifyDatabase();
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	@AfterAll
+	static void tearDown() {
+		new AssignmentDAO().deleteAll();
+		new TeachingSessionDAO().deleteAll();
+		new TimetableDAO().deleteAll();
+		new LocationDAO().deleteAll();
+		new SubjectDAO().deleteAll();
+	}
+
+	private static LoadSimulation.Report report(int clients, double throughput, int errors) {
+		int count = (int) throughput * 10;
+		return new LoadSimulation.Report(clients, Duration.ofSeconds(10), List.of(
+				new LoadSimulation.OperationStats(LoadSimulation.Operation.BROWSE_WEEK, count, errors,
+				                                  Duration.ZERO, Duration.ZERO, Duration.ZERO)), 20);
+	}
+
+	@Test
+	void percentiles() {
+		LatencyRecorder recorder = new LatencyRecorder();
+		for (int i = 100; i >= 1; i--) {
+			recorder.record(i, i % 10 != 0);
+		}
+
+		assertEquals(100, recorder.count());
+		assertEquals(10, recorder.errors());
+		assertArrayEquals(new long[]{1, 50, 95, 99, 100}, recorder.percentiles(0, 50, 95, 99, 100));
+		assertArrayEquals(new long[]{0}, new LatencyRecorder().percentiles(50));
+	}
+
+	@Test
+	void findSaturationPoint() {
+		assertEquals(OptionalInt.empty(),
+		             LoadSimulation.findSaturationPoint(List.of(report(10, 5, 0), report(20, 10, 0))));
+		assertEquals(OptionalInt.of(40), LoadSimulation.findSaturationPoint(
+				List.of(report(10, 5, 0), report(20, 10, 0), report(40, 12, 0))));
+		assertEquals(OptionalInt.of(20),
+		             LoadSimulation.findSaturationPoint(List.of(report(10, 5, 0), report(20, 10, 50))));
+	}
+
+	@Test
+	void run() {
+		new SyntheticDataGenerator().generate(new SyntheticDataGenerator.Config(
+				1, 40, 4, 6, 3, 3, TERM_START, 2, 1, 2, 4, List.of("en-US"), "password"));
+		long storedUserId = UserPreferences.getUserId();
+
+		LoadSimulation.Config config = new LoadSimulation.Config(
+				List.of(4), Duration.ofSeconds(2), Duration.ZERO, Duration.ofMillis(20), 0.5, 36, 4, "password",
+				TERM_START, 2, 1);
+		LoadSimulation.Report report = new LoadSimulation(config).run(4);
+
+		assertTrue(report.operations().stream()
+		                 .anyMatch(stats -> stats.operation() == LoadSimulation.Operation.LOGIN));
+		assertTrue(report.throughput() > 0);
+		assertEquals(0, report.errorRate());
+		// The clients keep their sessions to their own threads
+		assertEquals(storedUserId, UserPreferences.getUserId());
+	}
+}
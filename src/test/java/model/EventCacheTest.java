@@ -0,0 +1,47 @@
+package model;
+
+import dto.AssignmentDTO;
+import dto.Event;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventCacheTest {
+
+	private static final long USER_ID = -1;
+	private static final LocalDateTime WEEK_START = LocalDateTime.of(2025, 9, 1, 0, 0);
+
+	private static final Event ASSIGNMENT =
+			new AssignmentDTO(1L, "Homework", WEEK_START, WEEK_START.plusDays(2), "Exercises", "MATH101", "", 1,
+			                  "en-US");
+
+	@AfterEach
+	void tearDown() {
+		EventCache.awaitPrefetches();
+		EventCache.invalidateAll();
+	}
+
+	@Test
+	void failedLoadIsNotCachedAsAnEmptyWeek() {
+		AtomicBoolean databaseDown = new AtomicBoolean(true);
+		EventCache.EventLoader loader = (start, end) -> {
+			if (databaseDown.get()) {
+				throw new PersistenceException("Connection refused");
+			}
+			return List.of(ASSIGNMENT);
+		};
+
+		assertThrows(PersistenceException.class,
+		             () -> EventCache.fetch(USER_ID, null, WEEK_START, WEEK_START.plusDays(6), loader));
+
+		databaseDown.set(false);
+		assertEquals(List.of(ASSIGNMENT), EventCache.fetch(USER_ID, null, WEEK_START, WEEK_START.plusDays(6), loader));
+	}
+}
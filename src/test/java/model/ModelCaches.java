@@ -0,0 +1,32 @@
+package model;
+
+import datasource.MariaDBConnection;
+
+/**
+ * Lets tests outside the model package start from empty caches, so what they measure does not depend on
+ * which tests ran before.
+ */
+public final class ModelCaches {
+
+	private ModelCaches() {
+	}
+
+	/**
+	 * Waits for the weeks the event cache prefetches in the background.
+	 */
+	public static void awaitBackgroundLoads() {
+		EventCache.awaitPrefetches();
+	}
+
+	/**
+	 * Empties the event cache, the reference data cache, the occupancy index and the second-level cache.
+	 */
+	public static void clearAll() {
+		EventCache.invalidateAll();
+		ReferenceDataCache.invalidateAllSubjects();
+		ReferenceDataCache.invalidateAllLocations();
+		ReferenceDataCache.invalidateAllTimetables();
+		OccupancyIndex.invalidate();
+		MariaDBConnection.getEntityManagerFactory().getCache().evictAll();
+	}
+}
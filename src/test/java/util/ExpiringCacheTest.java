@@ -0,0 +1,79 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExpiringCacheTest {
+
+	@Test
+	void cachesLoadedValues() {
+		ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals(1, cache.get("a", key -> loads.incrementAndGet()));
+		assertEquals(1, cache.get("a", key -> loads.incrementAndGet()));
+
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void doesNotCacheNull() {
+		ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+		assertNull(cache.get("a", key -> null));
+		assertEquals(2, cache.get("a", key -> 2));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsed() {
+		ExpiringCache<String, Integer> cache = new ExpiringCache<>(2, Duration.ofMinutes(1));
+		cache.get("a", key -> 1);
+		cache.get("b", key -> 2);
+		cache.get("a", key -> 1);
+		cache.get("c", key -> 3);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.get("a", key -> 10));
+		assertEquals(20, cache.get("b", key -> 20));
+	}
+
+	@Test
+	void reloadsExpiredValues() {
+		ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, Duration.ZERO);
+		cache.get("a", key -> 1);
+
+		assertEquals(2, cache.get("a", key -> 2));
+	}
+
+	@Test
+	void loadOverlappingInvalidateIsNotCached() {
+		ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+		// The key is invalidated after the loader read the old value but before it was cached
+		assertEquals(1, cache.get("a", key -> {
+			cache.invalidate(key);
+			return 1;
+		}));
+
+		assertEquals(0, cache.size());
+		assertEquals(2, cache.get("a", key -> 2));
+	}
+
+	@Test
+	void loadOverlappingInvalidateAllIsNotCached() {
+		ExpiringCache<String, Integer> cache = new ExpiringCache<>(10, Duration.ofMinutes(1));
+
+		assertEquals(1, cache.get("a", key -> {
+			cache.invalidateAll();
+			return 1;
+		}));
+
+		assertEquals(2, cache.get("a", key -> 2));
+	}
+}
@@ -0,0 +1,76 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LatencyHistogramTest {
+
+	private static long millis(double millis) {
+		return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+	}
+
+	@Test
+	void emptyHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getAverageMillis());
+		assertEquals(0, histogram.getPercentileMillis(99));
+	}
+
+	@Test
+	void countsLatenciesIntoBuckets() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		// A latency on a bound belongs to that bound's bucket
+		histogram.record(millis(1));
+		histogram.record(millis(1.5));
+		histogram.record(millis(7000));
+
+		long[] expected = new long[LatencyHistogram.getBoundsMillis().length + 1];
+		expected[1] = 1;
+		expected[2] = 1;
+		expected[expected.length - 1] = 1;
+		assertArrayEquals(expected, histogram.getBucketCounts());
+		assertEquals(3, histogram.getCount());
+		assertEquals(7000, histogram.getMaxMillis());
+		assertEquals((1 + 1.5 + 7000) / 3, histogram.getAverageMillis(), 1e-9);
+	}
+
+	@Test
+	void estimatesPercentilesFromBuckets() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		IntStream.range(0, 90).forEach(i -> histogram.record(millis(3)));
+		IntStream.range(0, 9).forEach(i -> histogram.record(millis(40)));
+		histogram.record(millis(6000));
+
+		assertEquals(5, histogram.getPercentileMillis(50));
+		assertEquals(5, histogram.getPercentileMillis(90));
+		assertEquals(50, histogram.getPercentileMillis(95));
+		assertEquals(50, histogram.getPercentileMillis(99));
+		assertEquals(6000, histogram.getPercentileMillis(100));
+	}
+
+	@Test
+	void percentileNeverExceedsMaximum() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(millis(120));
+
+		assertEquals(120, histogram.getPercentileMillis(50));
+		assertEquals(0, Arrays.stream(histogram.getBucketCounts()).limit(8).sum());
+	}
+
+	@Test
+	void rejectsInvalidPercentile() {
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileMillis(101));
+	}
+}
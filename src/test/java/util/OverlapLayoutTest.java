@@ -0,0 +1,121 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverlapLayoutTest {
+
+	// Same shape as the timetable grid: 7 day columns and 48 half-hour rows
+	private static final int DAYS = 7;
+	private static final int ROWS = 48;
+	private static final int EVENTS_PER_WEEK = 500;
+
+	private record Interval(int day, int start, int end) {
+	}
+
+	@Test
+	void layoutWithoutOverlap() {
+		List<Interval> intervals = List.of(new Interval(0, 1, 2), new Interval(0, 3, 4), new Interval(0, 5, 8));
+
+		List<OverlapLayout.Slot> slots = OverlapLayout.layout(intervals, Interval::start, Interval::end);
+
+		slots.forEach(slot -> assertEquals(new OverlapLayout.Slot(1, 1), slot));
+	}
+
+	@Test
+	void layoutTreatsSharedRowAsOverlap() {
+		List<Interval> intervals = List.of(new Interval(0, 1, 3), new Interval(0, 3, 4));
+
+		List<OverlapLayout.Slot> slots = OverlapLayout.layout(intervals, Interval::start, Interval::end);
+
+		assertEquals(new OverlapLayout.Slot(1, 2), slots.get(0));
+		assertEquals(new OverlapLayout.Slot(2, 2), slots.get(1));
+	}
+
+	@Test
+	void layoutReusesFreedPositionsWithinCluster() {
+		// Positions are freed as soon as an interval ends, so the cluster needs three positions, not five
+		List<Interval> intervals = List.of(
+				new Interval(0, 7, 7),
+				new Interval(0, 1, 10),
+				new Interval(0, 2, 3),
+				new Interval(0, 4, 6),
+				new Interval(0, 5, 8),
+				new Interval(0, 12, 13)
+		);
+
+		List<OverlapLayout.Slot> slots = OverlapLayout.layout(intervals, Interval::start, Interval::end);
+
+		assertEquals(new OverlapLayout.Slot(1, 3), slots.get(1));
+		assertEquals(new OverlapLayout.Slot(2, 3), slots.get(2));
+		assertEquals(new OverlapLayout.Slot(2, 3), slots.get(3));
+		assertEquals(new OverlapLayout.Slot(3, 3), slots.get(4));
+		assertEquals(new OverlapLayout.Slot(2, 3), slots.get(0));
+		assertEquals(new OverlapLayout.Slot(1, 1), slots.get(5));
+		assertValidLayout(intervals, slots);
+	}
+
+	@Test
+	void layoutReadsEachBoundOnceWith500EventsPerWeek() {
+		List<List<Interval>> week = randomWeek(new Random(42));
+		AtomicInteger startReads = new AtomicInteger();
+		AtomicInteger endReads = new AtomicInteger();
+
+		for (List<Interval> day : week) {
+			List<OverlapLayout.Slot> slots = OverlapLayout.layout(day, interval -> {
+				startReads.incrementAndGet();
+				return interval.start();
+			}, interval -> {
+				endReads.incrementAndGet();
+				return interval.end();
+			});
+			assertValidLayout(day, slots);
+		}
+
+		// The bounds are copied once before the sweep, the old layout read them again for every pair of events.
+		// The speed of the layout is measured by OverlapLayoutBenchmark.
+		assertEquals(EVENTS_PER_WEEK, startReads.get());
+		assertEquals(EVENTS_PER_WEEK, endReads.get());
+	}
+
+	private static List<List<Interval>> randomWeek(Random random) {
+		List<List<Interval>> week = new ArrayList<>();
+		for (int day = 0; day < DAYS; day++) {
+			week.add(new ArrayList<>());
+		}
+
+		for (int i = 0; i < EVENTS_PER_WEEK; i++) {
+			int day = random.nextInt(DAYS);
+			int start = 1 + random.nextInt(ROWS);
+			int end = Math.min(ROWS, start + random.nextInt(6));
+			week.get(day).add(new Interval(day, start, end));
+		}
+		return week;
+	}
+
+	private static void assertValidLayout(List<Interval> intervals, List<OverlapLayout.Slot> slots) {
+		assertEquals(intervals.size(), slots.size());
+
+		for (int i = 0; i < intervals.size(); i++) {
+			OverlapLayout.Slot slot = slots.get(i);
+			assertTrue(slot.position() >= 1 && slot.position() <= slot.numberOfSlots());
+
+			for (int j = i + 1; j < intervals.size(); j++) {
+				Interval a = intervals.get(i);
+				Interval b = intervals.get(j);
+				if (a.start() <= b.end() && b.start() <= a.end()) {
+					assertNotEquals(slot.position(), slots.get(j).position());
+					assertEquals(slot.numberOfSlots(), slots.get(j).numberOfSlots());
+				}
+			}
+		}
+	}
+}